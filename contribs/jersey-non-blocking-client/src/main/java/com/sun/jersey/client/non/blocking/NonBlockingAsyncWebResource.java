@@ -1,7 +1,7 @@
 /*
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
  *
- * Copyright (c) 2010-2011 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2010-2013 Oracle and/or its affiliates. All rights reserved.
  *
  * The contents of this file are subject to the terms of either the GNU
  * General Public License Version 2 only ("GPL") or the Common Development
@@ -83,6 +83,11 @@ public class NonBlockingAsyncWebResource extends AsyncWebResource {
         this.client = that.client;
     }
 
+    private NonBlockingAsyncWebResource(NonBlockingAsyncWebResource that, URI u) {
+        super(that, u);
+        this.client = that.client;
+    }
+
     /**
      * Unsupported.
      * <p />
@@ -197,6 +202,11 @@ public class NonBlockingAsyncWebResource extends AsyncWebResource {
         return new NonBlockingAsyncWebResource(this, getUriBuilder().path(path));
     }
 
+    @Override
+    public AsyncWebResource path(String template, Object... values) {
+        return new NonBlockingAsyncWebResource(this, getUriBuilder().path(template).build(values));
+    }
+
     @Override
     public Future<ClientResponse> handle(ClientRequest request, final FutureListener<ClientResponse> l) {
         Request r = client.getRequest(request);
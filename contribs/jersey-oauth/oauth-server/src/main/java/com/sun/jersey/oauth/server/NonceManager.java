@@ -1,7 +1,7 @@
 /*
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
  *
- * Copyright (c) 2010-2012 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2010-2013 Oracle and/or its affiliates. All rights reserved.
  *
  * The contents of this file are subject to the terms of either the GNU
  * General Public License Version 2 only ("GPL") or the Common Development
@@ -40,23 +40,34 @@
 
 package com.sun.jersey.oauth.server;
 
-import java.util.HashMap;
-import java.util.HashSet;
+import com.sun.jersey.oauth.server.spi.OAuthNonceStore;
+import java.util.Iterator;
 import java.util.Map;
-import java.util.Set;
-import java.util.SortedMap;
-import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Tracks the nonces for a given consumer key and/or token. Automagically
  * ensures timestamp is monotonically increasing and tracks all nonces
  * for a given timestamp.
+ * <p>
+ * Nonces are kept in buckets, one per timestamp, so that concurrent
+ * verifications do not contend on a single lock and expired nonces are
+ * discarded a bucket at a time. Garbage collection is performed by at most
+ * one verifying thread at a time and never blocks other verifications.
+ * <p>
+ * The number of tracked nonces may be bounded. If the bound is reached
+ * and no nonces can be discarded then further nonces are rejected until
+ * tracked nonces expire.
  *
  * @author Paul C. Bryan
  * @author Martin Matula (martin.matula at oracle.com)
  * @author Thomas Meire
  */
-public final class NonceManager {
+public final class NonceManager implements OAuthNonceStore {
     /**
      * The maximum valid age of a nonce timestamp, in milliseconds.
      */
@@ -67,29 +78,56 @@ public final class NonceManager {
      */
     private final int gcPeriod;
 
+    /**
+     * The maximum number of nonces to track.
+     */
+    private final long maxNonces;
+
     /**
      * Counts number of verification requests performed to schedule garbage collection.
      */
-    private int gcCounter = 0;
+    private final AtomicInteger gcCounter = new AtomicInteger();
 
     /**
-     * Maps timestamps to key-nonce pairs.
+     * Set while a garbage collection is in progress.
      */
-    private final SortedMap<Long, Map<String, Set<String>>> tsToKeyNoncePairs = new TreeMap<Long, Map<String, Set<String>>>();
+    private final AtomicBoolean gcActive = new AtomicBoolean();
 
     /**
-     * TODO: Description.
+     * Number of currently tracked timestamp-key-nonce tuples.
+     */
+    private final AtomicLong size = new AtomicLong();
+
+    /**
+     * Maps timestamps to buckets of key-nonce pairs.
+     */
+    private final ConcurrentMap<Long, Bucket> tsToBuckets = new ConcurrentHashMap<Long, Bucket>();
+
+    /**
+     * Create a nonce manager that tracks an unbounded number of nonces.
      *
      * @param maxAge   the maximum valid age of a nonce timestamp, in milliseconds.
      * @param gcPeriod verifications to perform on average before performing garbage collection.
      */
     public NonceManager(long maxAge, int gcPeriod) {
-        if (maxAge <= 0 || gcPeriod <= 0) {
+        this(maxAge, gcPeriod, Long.MAX_VALUE);
+    }
+
+    /**
+     * Create a nonce manager that tracks a bounded number of nonces.
+     *
+     * @param maxAge    the maximum valid age of a nonce timestamp, in milliseconds.
+     * @param gcPeriod  verifications to perform on average before performing garbage collection.
+     * @param maxNonces the maximum number of nonces to track.
+     */
+    public NonceManager(long maxAge, int gcPeriod, long maxNonces) {
+        if (maxAge <= 0 || gcPeriod <= 0 || maxNonces <= 0) {
             throw new IllegalArgumentException();
         }
 
         this.maxAge = maxAge;
         this.gcPeriod = gcPeriod;
+        this.maxNonces = maxNonces;
     }
 
     /**
@@ -101,7 +139,8 @@ public final class NonceManager {
      * @param nonce     the oauth_nonce value for a given consumer request.
      * @return true if the timestamp/nonce are valid.
      */
-    public synchronized boolean verify(String key, String timestamp, String nonce) {
+    @Override
+    public boolean verify(String key, String timestamp, String nonce) {
         long now = System.currentTimeMillis();
 
         // convert timestamp to milliseconds since epoch to deal with uniformly
@@ -112,22 +151,18 @@ public final class NonceManager {
             return false;
         }
 
-        Map<String, Set<String>> keyToNonces = tsToKeyNoncePairs.get(stamp);
-        if (keyToNonces == null) {
-            keyToNonces = new HashMap<String, Set<String>>();
-            tsToKeyNoncePairs.put(stamp, keyToNonces);
+        // no room left for the nonce even after garbage collection; invalid
+        if (!reserve(now)) {
+            return false;
         }
 
-        Set<String> nonces = keyToNonces.get(key);
-        if (nonces == null) {
-            nonces = new HashSet<String>();
-            keyToNonces.put(key, nonces);
+        boolean result = add(stamp, new KeyNonce(key, nonce));
+        if (!result) {
+            size.decrementAndGet();
         }
 
-        boolean result = nonces.add(nonce);
-
         // perform garbage collection if counter is up to established number of passes
-        if (++gcCounter >= gcPeriod) {
+        if (gcCounter.incrementAndGet() >= gcPeriod) {
             gc(now);
         }
 
@@ -136,14 +171,30 @@ public final class NonceManager {
     }
 
     /**
-     * Deletes all nonces older than maxAge.
+     * Deletes all nonces older than maxAge. If garbage collection is already
+     * being performed by another thread then this method returns immediately.
      * This method is package private (instead of private) for testability purposes.
      *
      * @param now milliseconds since epoch representing "now"
      */
     void gc(long now) {
-        gcCounter = 0;
-        tsToKeyNoncePairs.headMap(now - maxAge).clear();
+        if (!gcActive.compareAndSet(false, true)) {
+            return;
+        }
+
+        try {
+            gcCounter.set(0);
+            long oldest = now - maxAge;
+            Iterator<Map.Entry<Long, Bucket>> i = tsToBuckets.entrySet().iterator();
+            while (i.hasNext()) {
+                Map.Entry<Long, Bucket> e = i.next();
+                if (e.getKey() < oldest && tsToBuckets.remove(e.getKey(), e.getValue())) {
+                    size.addAndGet(-e.getValue().expire());
+                }
+            }
+        } finally {
+            gcActive.set(false);
+        }
     }
 
     /**
@@ -151,11 +202,50 @@ public final class NonceManager {
      * @return number of currently tracked timestamp-key-nonce tuples.
      */
     long size() {
-        long size = 0;
-        for (Map<String, Set<String>> keyToNonces : tsToKeyNoncePairs.values()) {
-            size += keyToNonces.values().size();
+        return size.get();
+    }
+
+    /**
+     * Reserves room for a nonce, performing garbage collection if the maximum
+     * number of nonces is already tracked.
+     *
+     * @param now milliseconds since epoch representing "now"
+     * @return true if room is reserved.
+     */
+    private boolean reserve(long now) {
+        if (size.incrementAndGet() <= maxNonces) {
+            return true;
+        }
+        size.decrementAndGet();
+
+        gc(now);
+        if (size.incrementAndGet() <= maxNonces) {
+            return true;
+        }
+        size.decrementAndGet();
+        return false;
+    }
+
+    private boolean add(long stamp, KeyNonce keyNonce) {
+        Long ts = stamp;
+        while (true) {
+            Bucket bucket = tsToBuckets.get(ts);
+            if (bucket == null) {
+                Bucket b = new Bucket();
+                bucket = tsToBuckets.putIfAbsent(ts, b);
+                if (bucket == null) {
+                    bucket = b;
+                }
+            }
+
+            if (bucket.keyNonces.putIfAbsent(keyNonce, Boolean.TRUE) != null) {
+                return false;
+            }
+            if (bucket.size.getAndIncrement() >= 0) {
+                return true;
+            }
+            // the bucket was concurrently expired; track the nonce in a new bucket
         }
-        return size;
     }
 
     private static long longValue(String value) {
@@ -165,5 +255,55 @@ public final class NonceManager {
             return -1;
         }
     }
-}
 
+    /**
+     * The key-nonce pairs for a timestamp.
+     */
+    private static final class Bucket {
+        final ConcurrentMap<KeyNonce, Boolean> keyNonces = new ConcurrentHashMap<KeyNonce, Boolean>();
+
+        /**
+         * Number of key-nonce pairs, negative once the bucket is expired.
+         */
+        final AtomicInteger size = new AtomicInteger();
+
+        /**
+         * Marks the bucket as expired.
+         *
+         * @return the number of key-nonce pairs tracked by the bucket.
+         */
+        int expire() {
+            return size.getAndSet(Integer.MIN_VALUE);
+        }
+    }
+
+    private static final class KeyNonce {
+        private final String key;
+        private final String nonce;
+        private final int hash;
+
+        KeyNonce(String key, String nonce) {
+            this.key = key;
+            this.nonce = nonce;
+            this.hash = 31 * (key == null ? 0 : key.hashCode()) + (nonce == null ? 0 : nonce.hashCode());
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof KeyNonce)) {
+                return false;
+            }
+            KeyNonce that = (KeyNonce) o;
+            return hash == that.hash && equal(key, that.key) && equal(nonce, that.nonce);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        private static boolean equal(String a, String b) {
+            return a == null ? b == null : a.equals(b);
+        }
+    }
+}
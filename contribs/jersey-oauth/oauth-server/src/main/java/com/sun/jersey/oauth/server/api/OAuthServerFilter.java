@@ -46,18 +46,22 @@ import com.sun.jersey.spi.container.ContainerRequest;
 import java.util.HashSet;
 import java.util.regex.Pattern;
 import com.sun.jersey.api.core.ResourceConfig;
+import com.sun.jersey.core.spi.component.ProviderServices;
 import com.sun.jersey.oauth.server.NonceManager;
 import com.sun.jersey.oauth.server.OAuthException;
 import com.sun.jersey.oauth.server.OAuthSecurityContext;
 import com.sun.jersey.oauth.server.OAuthServerRequest;
 import com.sun.jersey.oauth.server.spi.OAuthConsumer;
+import com.sun.jersey.oauth.server.spi.OAuthNonceStore;
 import com.sun.jersey.oauth.signature.OAuthParameters;
 import com.sun.jersey.oauth.signature.OAuthSecrets;
 import com.sun.jersey.oauth.signature.OAuthSignature;
 import com.sun.jersey.oauth.signature.OAuthSignatureException;
 import com.sun.jersey.spi.container.ContainerRequestFilter;
 import java.util.Collections;
+import java.util.Iterator;
 import java.util.Set;
+import java.util.logging.Logger;
 import javax.ws.rs.WebApplicationException;
 import javax.ws.rs.core.Context;
 import javax.ws.rs.core.Response;
@@ -80,6 +84,11 @@ import javax.ws.rs.ext.Provider;
  * included in the list of providers of the application (e.g. by annotating it
  * using the {@link Provider} annotation and having it on the scanning classpath).
  * <p>
+ * Nonces of incoming requests are tracked in memory by default. An implementation
+ * of {@link OAuthNonceStore} may be included in the list of providers of the application,
+ * in the same manner as {@link OAuthProvider}, to track nonces in a store that is
+ * shared by several nodes.
+ * <p>
  * The constants in this class indicate how you can parameterize this filter. E.g. when an application
  * is deployed as a Servlet or Filter you can set the path patern to be ignored by this filter
  * using the following initialization parameter:
@@ -94,6 +103,8 @@ import javax.ws.rs.ext.Provider;
  * @author Martin Matula
  */
 public class OAuthServerFilter implements ContainerRequestFilter {
+    private static final Logger LOGGER = Logger.getLogger(OAuthServerFilter.class.getName());
+
     /** OAuth realm. Default is set to "default". */
     public static final String PROPERTY_REALM = "com.sun.jersey.config.property.oauth.realm";
     /** Property that can be set to a regular expression used to match the path (relative to the base URI) this
@@ -103,6 +114,10 @@ public class OAuthServerFilter implements ContainerRequestFilter {
     public static final String PROPERTY_MAX_AGE = "com.sun.jersey.config.property.oauth.maxAge";
     /** Property that can be set to frequency of collecting nonces exceeding max. age (default = 100 = every 100 requests). */
     public static final String PROPERTY_GC_PERIOD = "com.sun.jersey.config.property.oauth.gcPeriod";
+    /** Can be set to max. number of nonces that should be tracked (default = 1000000). If this number of nonces
+     * not exceeding max. age is tracked then requests are rejected until some of the nonces exceed max. age.
+     * Not applicable if an {@link OAuthNonceStore} is provided by the application. */
+    public static final String PROPERTY_MAX_NONCES = "com.sun.jersey.config.property.oauth.maxNonces";
     /** If set to true makes the correct OAuth authentication optional - i.e. instead of returning the appropriate status code
      * ({@link Response.Status#BAD_REQUEST} or {@link Response.Status#UNAUTHORIZED}) the filter
      * will ignore this request (as if it was not authenticated) and let the web application deal with it. */
@@ -112,7 +127,7 @@ public class OAuthServerFilter implements ContainerRequestFilter {
     private final OAuthProvider provider;
 
     /** Manages and validates incoming nonces. */
-    private final NonceManager nonces;
+    private final OAuthNonceStore nonces;
 
     /** Maximum age (in milliseconds) of timestamp to accept in incoming messages. */
     private final int maxAge;
@@ -120,6 +135,9 @@ public class OAuthServerFilter implements ContainerRequestFilter {
     /** Average requests to process between nonce garbage collection passes. */
     private final int gcPeriod;
 
+    /** Maximum number of nonces to track. */
+    private final int maxNonces;
+
     /** Value to return in www-authenticate header when 401 response returned. */
     private final String wwwAuthenticateHeader;
 
@@ -132,6 +150,11 @@ public class OAuthServerFilter implements ContainerRequestFilter {
     private final boolean optional;
 
     public OAuthServerFilter(@Context ResourceConfig rc, @Context OAuthProvider provider) {
+        this(rc, provider, null);
+    }
+
+    public OAuthServerFilter(@Context ResourceConfig rc, @Context OAuthProvider provider,
+            @Context ProviderServices ps) {
         this.provider = provider;
 
         // establish supported OAuth protocol versions
@@ -144,10 +167,11 @@ public class OAuthServerFilter implements ContainerRequestFilter {
         String realm = defaultInitParam(rc, PROPERTY_REALM, "default");
         maxAge = intValue(defaultInitParam(rc, PROPERTY_MAX_AGE, "300000")); // 5 minutes
         gcPeriod = intValue(defaultInitParam(rc, PROPERTY_GC_PERIOD, "100")); // every 100 on average
+        maxNonces = intValue(defaultInitParam(rc, PROPERTY_MAX_NONCES, "1000000"));
         ignorePathPattern = pattern(defaultInitParam(rc, PROPERTY_IGNORE_PATH_PATTERN, null)); // no pattern
         optional = rc.getFeature(FEATURE_NO_FAIL);
 
-        nonces = new NonceManager(maxAge, gcPeriod);
+        nonces = nonceStore(ps, maxAge, gcPeriod, maxNonces);
 
         // www-authenticate header for the life of the object
         wwwAuthenticateHeader = "OAuth realm=\"" + realm + "\"";
@@ -244,6 +268,25 @@ public class OAuthServerFilter implements ContainerRequestFilter {
         return sc;
     }
 
+    private static OAuthNonceStore nonceStore(ProviderServices ps, int maxAge, int gcPeriod, int maxNonces) {
+        if (ps != null) {
+            Iterator<OAuthNonceStore> stores = ps.getProviders(OAuthNonceStore.class).iterator();
+            if (stores.hasNext()) {
+                OAuthNonceStore store = stores.next();
+                if (stores.hasNext()) {
+                    StringBuilder sb = new StringBuilder("More than one OAuthNonceStore implementations registered: ");
+                    sb.append(store.getClass().getName());
+                    while (stores.hasNext()) {
+                        sb.append(", ").append(stores.next().getClass().getName());
+                    }
+                    LOGGER.warning(sb.toString());
+                }
+                return store;
+            }
+        }
+        return new NonceManager(maxAge, gcPeriod, maxNonces);
+    }
+
     private static String defaultInitParam(ResourceConfig config, String name, String value) {
         String v = (String) config.getProperty(name);
         if (v == null || v.length() == 0) {
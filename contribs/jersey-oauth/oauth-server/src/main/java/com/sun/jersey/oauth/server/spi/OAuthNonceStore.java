@@ -0,0 +1,75 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2026 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+
+package com.sun.jersey.oauth.server.spi;
+
+/** Contract for a store that tracks the nonces of incoming OAuth requests
+ * and so detects replayed requests.
+ * <p>
+ * By default {@link com.sun.jersey.oauth.server.api.OAuthServerFilter} uses
+ * an in-memory store local to the application. To share nonces between several
+ * nodes (e.g. by means of an external cache or database) add an
+ * {@code OAuthNonceStore} implementation to the list of providers of the
+ * application, e.g. by annotating the implementation class with
+ * {@code &#64;Provider}.
+ * <p>
+ * Implementations must be thread-safe; the store is invoked concurrently for
+ * every OAuth-signed request.
+ *
+ * @author agent@local
+ */
+public interface OAuthNonceStore {
+
+    /** Evaluates the timestamp/nonce combination for validity and records the
+     * nonce. A store is responsible for rejecting timestamps that are older than
+     * the maximum age it tracks nonces for, and for expiring the nonces it has
+     * recorded.
+     *
+     * @param key the oauth_consumer_key value (prefixed with "c:") or the
+     *      oauth_token value (prefixed with "t:") of a given consumer request
+     * @param timestamp the oauth_timestamp value for a given consumer request,
+     *      in seconds since epoch
+     * @param nonce the oauth_nonce value for a given consumer request
+     * @return {@literal true} if the timestamp is valid and the nonce has not
+     *      been encountered before for the given key and timestamp,
+     *      otherwise {@literal false}
+     */
+    boolean verify(String key, String timestamp, String nonce);
+}
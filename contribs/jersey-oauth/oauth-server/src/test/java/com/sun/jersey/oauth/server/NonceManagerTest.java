@@ -40,6 +40,12 @@
 
 package com.sun.jersey.oauth.server;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import org.junit.Test;
 import static org.junit.Assert.*;
 
@@ -141,4 +147,74 @@ public class NonceManagerTest {
         nonces.gc(System.currentTimeMillis());
         assertEquals(0, nonces.size());
     }
+
+    @Test
+    public void testSameNonceDifferentKeys() {
+        NonceManager nonces = new NonceManager(1000, 50);
+
+        String stamp = stamp();
+        assertTrue(nonces.verify("nonce-key-1", stamp, "nonce"));
+        assertTrue(nonces.verify("nonce-key-2", stamp, "nonce"));
+        assertFalse(nonces.verify("nonce-key-1", stamp, "nonce"));
+        assertEquals(2, nonces.size());
+    }
+
+    @Test
+    public void testMaxNonces() {
+        NonceManager nonces = new NonceManager(1000, 5000, 10);
+
+        for (int i = 0; i < 10; i++) {
+            assertTrue(nonces.verify("testing-" + i, stamp(), Integer.toString(i)));
+        }
+        assertEquals(10, nonces.size());
+
+        // no more room for valid nonces
+        assertFalse(nonces.verify("testing-10", stamp(), "10"));
+        assertEquals(10, nonces.size());
+
+        try {
+            Thread.sleep(1100);
+        } catch (Exception e) {
+            fail("Can't guarantee we slept long enough...");
+        }
+
+        // expired nonces make room for new ones
+        assertTrue(nonces.verify("testing-10", stamp(), "10"));
+        assertEquals(1, nonces.size());
+    }
+
+    @Test
+    public void testConcurrentNonces() throws Exception {
+        final NonceManager nonces = new NonceManager(60000, 100);
+        final String stamp = stamp();
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Integer>> results = new ArrayList<Future<Integer>>();
+            for (int t = 0; t < 8; t++) {
+                results.add(executor.submit(new Callable<Integer>() {
+                    @Override
+                    public Integer call() {
+                        int accepted = 0;
+                        for (int i = 0; i < 1000; i++) {
+                            if (nonces.verify("testing-" + (i % 10), stamp, Integer.toString(i))) {
+                                accepted++;
+                            }
+                        }
+                        return accepted;
+                    }
+                }));
+            }
+
+            // each nonce is accepted by exactly one of the threads
+            int accepted = 0;
+            for (Future<Integer> result : results) {
+                accepted += result.get();
+            }
+            assertEquals(1000, accepted);
+            assertEquals(1000, nonces.size());
+        } finally {
+            executor.shutdown();
+        }
+    }
 }
@@ -1,7 +1,7 @@
 /*
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
  *
- * Copyright (c) 2010-2011 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2010-2013 Oracle and/or its affiliates. All rights reserved.
  *
  * The contents of this file are subject to the terms of either the GNU
  * General Public License Version 2 only ("GPL") or the Common Development
@@ -41,8 +41,11 @@
 package com.sun.jersey.oauth.signature;
 
 import java.io.IOException;
+import java.io.UnsupportedEncodingException;
+import java.lang.ref.SoftReference;
 import java.security.InvalidKeyException;
 import java.security.KeyFactory;
+import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.security.Signature;
 import java.security.SignatureException;
@@ -51,6 +54,8 @@ import java.security.interfaces.RSAPublicKey;
 import java.security.spec.EncodedKeySpec;
 import java.security.spec.InvalidKeySpecException;
 import java.security.spec.PKCS8EncodedKeySpec;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import java.security.cert.*;
@@ -60,6 +65,13 @@ import java.io.ByteArrayInputStream;
 
 /**
  * An OAuth signature method that implements RSA-SHA1.
+ * <p>
+ * The {@link Signature}, {@link KeyFactory} and {@link CertificateFactory}
+ * instances are obtained once per thread. Decoded private and public keys are
+ * cached, so that the key material of a consumer is parsed only once. The
+ * caches are keyed by the SHA-256 digest of the secret or certificate the key
+ * is decoded from, rather than the secret itself, and hold the keys softly so
+ * that they can be reclaimed under memory pressure.
  *
  * @author Hubert A. Le Van Gong <hubert.levangong at Sun.COM>
  * @author Paul C. Bryan <pbryan@sun.com>
@@ -74,6 +86,65 @@ public class RSA_SHA1 implements OAuthSignatureMethod {
 
     private static final String BEGIN_CERT = "-----BEGIN CERTIFICATE";
 
+    /**
+     * The maximum number of decoded keys of each kind to cache.
+     */
+    private static final int MAX_KEYS = 256;
+
+    private static final ThreadLocal<Signature> SIGNATURE = new ThreadLocal<Signature>() {
+        @Override
+        protected Signature initialValue() {
+            try {
+                return Signature.getInstance(SIGNATURE_ALGORITHM);
+            }
+            catch (NoSuchAlgorithmException nsae) {
+                throw new IllegalStateException(nsae);
+            }
+        }
+    };
+
+    private static final ThreadLocal<KeyFactory> KEY_FACTORY = new ThreadLocal<KeyFactory>() {
+        @Override
+        protected KeyFactory initialValue() {
+            try {
+                return KeyFactory.getInstance(KEY_TYPE);
+            }
+            catch (NoSuchAlgorithmException nsae) {
+                throw new IllegalStateException(nsae);
+            }
+        }
+    };
+
+    private static final ThreadLocal<CertificateFactory> CERTIFICATE_FACTORY = new ThreadLocal<CertificateFactory>() {
+        @Override
+        protected CertificateFactory initialValue() {
+            try {
+                return CertificateFactory.getInstance("X.509");
+            }
+            catch (CertificateException ce) {
+                throw new IllegalStateException(ce);
+            }
+        }
+    };
+
+    private static final ThreadLocal<MessageDigest> DIGEST = new ThreadLocal<MessageDigest>() {
+        @Override
+        protected MessageDigest initialValue() {
+            try {
+                return MessageDigest.getInstance("SHA-256");
+            }
+            catch (NoSuchAlgorithmException nsae) {
+                throw new IllegalStateException(nsae);
+            }
+        }
+    };
+
+    private static final ConcurrentMap<String, SoftReference<RSAPrivateKey>> privateKeys =
+            new ConcurrentHashMap<String, SoftReference<RSAPrivateKey>>();
+
+    private static final ConcurrentMap<String, SoftReference<RSAPublicKey>> publicKeys =
+            new ConcurrentHashMap<String, SoftReference<RSAPublicKey>>();
+
     public RSA_SHA1() {
     }
 
@@ -93,43 +164,9 @@ public class RSA_SHA1 implements OAuthSignatureMethod {
     @Override
     public String sign(String elements, OAuthSecrets secrets) throws InvalidSecretException {
     
-        Signature sig;
-
-        try {
-            sig = Signature.getInstance(SIGNATURE_ALGORITHM);
-        }
-        catch (NoSuchAlgorithmException nsae) {
-            throw new IllegalStateException(nsae);
-        }
-
-        byte[] decodedPrivKey;
-
-        try {
-            decodedPrivKey = Base64.decode(secrets.getConsumerSecret());
-        }
-        catch (IOException ioe) {
-            throw new InvalidSecretException("invalid consumer secret");
-        }
-
-        KeyFactory keyf;
-
-        try {
-            keyf = KeyFactory.getInstance(KEY_TYPE);
-        }
-        catch (NoSuchAlgorithmException nsae) {
-            throw new IllegalStateException(nsae);
-        }
-
-        EncodedKeySpec keySpec = new PKCS8EncodedKeySpec(decodedPrivKey);
-        
-        RSAPrivateKey rsaPrivKey;
+        Signature sig = SIGNATURE.get();
 
-        try {
-            rsaPrivKey = (RSAPrivateKey) keyf.generatePrivate(keySpec);
-        }
-        catch (InvalidKeySpecException ikse) {
-            throw new IllegalStateException(ikse);
-        }
+        RSAPrivateKey rsaPrivKey = getPrivateKey(secrets.getConsumerSecret());
 
         try {
             sig.initSign(rsaPrivKey);
@@ -168,36 +205,9 @@ public class RSA_SHA1 implements OAuthSignatureMethod {
     @Override
     public boolean verify(String elements, OAuthSecrets secrets, String signature) throws InvalidSecretException {
 
-        Signature sig;
-
-        try {
-            sig = Signature.getInstance(SIGNATURE_ALGORITHM);
-        }
-        catch (NoSuchAlgorithmException nsae) {
-            throw new IllegalStateException(nsae);
-        }
-
-        RSAPublicKey rsaPubKey = null;
-
-        String tmpkey = secrets.getConsumerSecret();
-        if (tmpkey.startsWith(BEGIN_CERT)) {
-            try {
-                Certificate cert = null;
-                ByteArrayInputStream bais = new ByteArrayInputStream(tmpkey.getBytes());
-                BufferedInputStream bis = new BufferedInputStream(bais);
-                CertificateFactory certfac = CertificateFactory.getInstance("X.509");
-                while (bis.available() > 0) {
-                    cert = certfac.generateCertificate(bis);
-                }
-                rsaPubKey = (RSAPublicKey) cert.getPublicKey();
-            } catch (IOException ex) {
-                Logger.getLogger(RSA_SHA1.class.getName()).log(Level.SEVERE, null, ex);
-            } catch (CertificateException ex) {
-                Logger.getLogger(RSA_SHA1.class.getName()).log(Level.SEVERE, null, ex);
-            }
-            
-        }
+        Signature sig = SIGNATURE.get();
 
+        RSAPublicKey rsaPubKey = getPublicKey(secrets.getConsumerSecret());
 
         byte[] decodedSignature;
 
@@ -229,4 +239,107 @@ public class RSA_SHA1 implements OAuthSignatureMethod {
             throw new IllegalStateException(se);
         }
     }
+
+    private static RSAPrivateKey getPrivateKey(String secret) throws InvalidSecretException {
+        final String digest = (secret == null) ? null : digest(secret);
+        RSAPrivateKey rsaPrivKey = (digest == null) ? null : cached(privateKeys, digest);
+        if (rsaPrivKey != null) {
+            return rsaPrivKey;
+        }
+
+        byte[] decodedPrivKey;
+
+        try {
+            decodedPrivKey = Base64.decode(secret);
+        }
+        catch (IOException ioe) {
+            throw new InvalidSecretException("invalid consumer secret");
+        }
+
+        EncodedKeySpec keySpec = new PKCS8EncodedKeySpec(decodedPrivKey);
+        
+        try {
+            rsaPrivKey = (RSAPrivateKey) KEY_FACTORY.get().generatePrivate(keySpec);
+        }
+        catch (InvalidKeySpecException ikse) {
+            throw new IllegalStateException(ikse);
+        }
+
+        if (digest != null) {
+            cache(privateKeys, digest, rsaPrivKey);
+        }
+        return rsaPrivKey;
+    }
+
+    private static RSAPublicKey getPublicKey(String secret) {
+        final String digest = digest(secret);
+        RSAPublicKey rsaPubKey = cached(publicKeys, digest);
+        if (rsaPubKey != null) {
+            return rsaPubKey;
+        }
+
+        if (secret.startsWith(BEGIN_CERT)) {
+            try {
+                Certificate cert = null;
+                ByteArrayInputStream bais = new ByteArrayInputStream(secret.getBytes());
+                BufferedInputStream bis = new BufferedInputStream(bais);
+                CertificateFactory certfac = CERTIFICATE_FACTORY.get();
+                while (bis.available() > 0) {
+                    cert = certfac.generateCertificate(bis);
+                }
+                rsaPubKey = (RSAPublicKey) cert.getPublicKey();
+            } catch (IOException ex) {
+                Logger.getLogger(RSA_SHA1.class.getName()).log(Level.SEVERE, null, ex);
+            } catch (CertificateException ex) {
+                Logger.getLogger(RSA_SHA1.class.getName()).log(Level.SEVERE, null, ex);
+            }
+            
+        }
+
+        if (rsaPubKey != null) {
+            cache(publicKeys, digest, rsaPubKey);
+        }
+        return rsaPubKey;
+    }
+
+    /**
+     * Returns the hex-encoded SHA-256 digest of a secret, used as the cache key
+     * so that the secrets themselves are not retained by the caches.
+     */
+    private static String digest(String secret) {
+        final MessageDigest md = DIGEST.get();
+        final byte[] hash;
+        try {
+            hash = md.digest(secret.getBytes("UTF-8"));
+        }
+        catch (UnsupportedEncodingException uee) {
+            throw new IllegalStateException(uee);
+        }
+
+        final StringBuilder sb = new StringBuilder(hash.length * 2);
+        for (byte b : hash) {
+            sb.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return sb.toString();
+    }
+
+    private static <K> K cached(ConcurrentMap<String, SoftReference<K>> keys, String digest) {
+        final SoftReference<K> ref = keys.get(digest);
+        if (ref == null) {
+            return null;
+        }
+
+        final K key = ref.get();
+        if (key == null) {
+            keys.remove(digest, ref);
+        }
+        return key;
+    }
+
+    private static <K> void cache(ConcurrentMap<String, SoftReference<K>> keys, String digest, K key) {
+        if (keys.size() >= MAX_KEYS) {
+            keys.clear();
+        }
+        keys.put(digest, new SoftReference<K>(key));
+    }
 }
@@ -182,6 +182,64 @@ public class SignatureTest extends TestCase {
     }
     
 
+    public void testHMACSHA256() {
+
+        DummyRequest request = new DummyRequest().requestMethod("GET").
+         requestURL("http://photos.example.net/photos").
+         parameterValue("file", "vacation.jpg").parameterValue("size", "original");
+
+        OAuthParameters params = new OAuthParameters().realm(REALM).
+         consumerKey(CONSUMER_KEY).token(ACCESS_TOKEN).
+         signatureMethod(HMAC_SHA256.NAME).timestamp(TIMESTAMP).
+         nonce(NONCE).version(VERSION);
+
+        OAuthSecrets secrets = new OAuthSecrets().consumerSecret("kd94hf93k423kf44").
+         tokenSecret("pfkkdhi9sl3r4s00");
+
+        String signature = null;
+
+        try {
+            signature = OAuthSignature.generate(request, params, secrets);
+        }
+        catch (OAuthSignatureException se) {
+            fail(se.getMessage());
+        }
+
+        assertEquals(signature, "WVPzl1j6ZsnkIjWr7e3OZ3jkenL57KwaLFhYsroX1hg=");
+
+        try {
+            OAuthSignature.sign(request, params, secrets);
+        }
+        catch (OAuthSignatureException se) {
+            fail(se.getMessage());
+        }
+
+        params = new OAuthParameters();
+        params.readRequest(request);
+        assertEquals(params.getSignatureMethod(), HMAC_SHA256.NAME);
+
+        try {
+            // verify signature using request that was just signed
+            assertTrue(OAuthSignature.verify(request, params, secrets));
+        }
+        catch (OAuthSignatureException se) {
+            fail(se.getMessage());
+        }
+    }
+
+    public void testRSASHA1RepeatedWithDecodedKeys() throws Exception {
+        RSA_SHA1 method = new RSA_SHA1();
+        OAuthSecrets privateSecrets = new OAuthSecrets().consumerSecret(RSA_PRIVKEY);
+        OAuthSecrets publicSecrets = new OAuthSecrets().consumerSecret(RSA_CERTIFICATE);
+
+        // the second pass uses the keys decoded by the first pass
+        for (int i = 0; i < 2; i++) {
+            String signature = method.sign("elements", privateSecrets);
+            assertTrue(method.verify("elements", publicSecrets, signature));
+            assertFalse(method.verify("other elements", publicSecrets, signature));
+        }
+    }
+
     public void testRSASHA1() {
         DummyRequest request = new DummyRequest().requestMethod("GET").
          requestURL("http://photos.example.net/photos").
@@ -515,9 +515,14 @@ public class AsyncViewResource extends Filterable implements
     // AsyncClientHandler
 
     public Future<ClientResponse> handle(final ClientRequest request, final FutureListener<ClientResponse> l) {
+        final ClientHandler h = getHeadHandler();
+        if (h instanceof AsyncClientHandler) {
+            return ((AsyncClientHandler)h).handle(request, l);
+        }
+
         Callable c = new Callable() {
             public Object call() throws Exception {
-                return getHeadHandler().handle(request);
+                return h.handle(request);
             }
         };
         FutureTask<ClientResponse> ft = new FutureTask<ClientResponse>(c) {
@@ -94,6 +94,8 @@ public class AsyncWebResource extends Filterable implements
 
     private CopyOnWriteHashMap<String, Object> properties;
 
+    private volatile PathCache pathCache;
+
     protected AsyncWebResource(Client c,  CopyOnWriteHashMap<String, Object> properties, URI u) {
         super((ClientHandler)c);
         this.executorService = c.getExecutorService();
@@ -102,9 +104,13 @@ public class AsyncWebResource extends Filterable implements
     }
 
     protected AsyncWebResource(AsyncWebResource that, UriBuilder ub) {
+        this(that, ub.build());
+    }
+
+    protected AsyncWebResource(AsyncWebResource that, URI u) {
         super(that);
         this.executorService = that.executorService;
-        this.u = ub.build();
+        this.u = u;
         this.properties = that.properties.clone();
     }
 
@@ -411,7 +417,30 @@ public class AsyncWebResource extends Filterable implements
      * @return the new web resource.
      */
     public AsyncWebResource path(String path) {
-        return new AsyncWebResource(this, getUriBuilder().path(path));
+        return new AsyncWebResource(this, getPathCache().path(path));
+    }
+
+    /**
+     * Create a new AsyncWebResource from this web resource with an additional path
+     * template, expanded using template values, added to the URI of this
+     * web resource.
+     * <p>
+     * The path template is compiled once and cached, such that creating
+     * many web resources from the same path template with different template
+     * values does not reparse the path template. The template values are
+     * encoded and assigned in order to the template variables, as if by
+     * <code>getUriBuilder().path(template).build(values)</code>.
+     * <p>
+     * Any filters on this web resource are inherited. Removal of filters
+     * may cause undefined behaviour.
+     *
+     * @param template the additional path template.
+     * @param values the template values.
+     * @return the new web resource.
+     * @throws IllegalArgumentException if a template variable has no value.
+     */
+    public AsyncWebResource path(String template, Object... values) {
+        return new AsyncWebResource(this, getPathCache().path(template, values));
     }
 
     /**
@@ -477,6 +506,14 @@ public class AsyncWebResource extends Filterable implements
         return new AsyncWebResource(this, b);
     }
 
+    private PathCache getPathCache() {
+        PathCache c = pathCache;
+        if (c == null) {
+            pathCache = c = new PathCache(u);
+        }
+        return c;
+    }
+
     // Builder that builds client request and handles it
 
     /**
@@ -792,11 +829,34 @@ public class AsyncWebResource extends Filterable implements
 
     // AsyncClientHandler
 
+    /**
+     * Invoke an asynchronous client request.
+     * <p>
+     * If the head handler is an {@link AsyncClientHandler}, for example if
+     * there are no filters on this web resource, then the request is
+     * dispatched to that handler. Otherwise the request is invoked on a thread
+     * obtained from the {@link Client#getExecutorService() } of the client.
+     * <p>
+     * Client filters are synchronous. If a filter is added to this web
+     * resource, or to the client, then that thread blocks until the response
+     * is received, even if the root handler of the client is an
+     * {@link AsyncClientHandler}.
+     *
+     * @param request the client request.
+     * @param l the future listener that will be notified of the completion
+     *        of the request.
+     * @return the future client response.
+     */
     public Future<ClientResponse> handle(final ClientRequest request, final FutureListener<ClientResponse> l) {
         setProperties(request);
+        final ClientHandler h = getHeadHandler();
+        if (h instanceof AsyncClientHandler) {
+            return ((AsyncClientHandler)h).handle(request, l);
+        }
+
         Callable<ClientResponse> c = new Callable<ClientResponse>() {
             public ClientResponse call() throws Exception {
-                return getHeadHandler().handle(request);
+                return h.handle(request);
             }
         };
         FutureTask<ClientResponse> ft = new FutureTask<ClientResponse>(c) {
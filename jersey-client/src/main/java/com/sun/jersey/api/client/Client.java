@@ -39,6 +39,8 @@
  */
 package com.sun.jersey.api.client;
 
+import com.sun.jersey.api.client.async.AsyncClientHandler;
+import com.sun.jersey.api.client.async.FutureListener;
 import com.sun.jersey.api.client.config.ClientConfig;
 import com.sun.jersey.api.client.config.DefaultClientConfig;
 import com.sun.jersey.api.client.filter.ClientFilter;
@@ -77,6 +79,8 @@ import javax.ws.rs.ext.ExceptionMapper;
 import javax.ws.rs.ext.MessageBodyReader;
 import javax.ws.rs.ext.MessageBodyWriter;
 import javax.ws.rs.ext.Providers;
+import java.io.Closeable;
+import java.io.IOException;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
@@ -85,9 +89,11 @@ import java.net.URI;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -116,10 +122,12 @@ import java.util.logging.Logger;
  *
  * @author Paul.Sandoz@Sun.Com
  */
-public class Client extends Filterable implements ClientHandler {
+public class Client extends Filterable implements ClientHandler, AsyncClientHandler {
 
     private static final Logger LOGGER = Logger.getLogger(Client.class.getName());
 
+    private final ClientHandler root;
+
     private ProviderFactory componentProviderFactory;
 
     private Providers providers;
@@ -184,6 +192,7 @@ public class Client extends Filterable implements ClientHandler {
             final IoCComponentProviderFactory provider) {
         // Defer instantiation of root to component provider
         super(root);
+        this.root = root;
 
         Errors.processWithErrors(new Errors.Closure<Void>() {
             @Override
@@ -388,10 +397,21 @@ public class Client extends Filterable implements ClientHandler {
      * <p>
      * The client must not be reused after this method is called otherwise
      * undefined behavior will occur.
+     * <p>
+     * If the root client handler is {@link Closeable}, for example a
+     * {@link com.sun.jersey.client.nio.NioClientHandler}, then the root
+     * client handler is closed.
      */
     public void destroy() {
         if (!destroyed) {
             componentProviderFactory.destroy();
+            if (root instanceof Closeable) {
+                try {
+                    ((Closeable)root).close();
+                } catch (IOException ex) {
+                    LOGGER.log(Level.WARNING, "Error closing the root client handler", ex);
+                }
+            }
             destroyed = true;
         }
     }
@@ -643,16 +663,85 @@ public class Client extends Filterable implements ClientHandler {
 
     @Override
     public ClientResponse handle(final ClientRequest request) throws ClientHandlerException {
+        setEffectiveProperties(request);
+
+        final ClientResponse response = getHeadHandler().handle(request);
+
+        response.getProperties().put(Client.class.getName(), this);
+        return response;
+    }
+
+    // AsyncClientHandler
+
+    /**
+     * Invoke an asynchronous client request.
+     * <p>
+     * If the head handler is an {@link AsyncClientHandler}, for example if
+     * there are no filters on this client and the root handler is an
+     * {@link AsyncClientHandler}, then the request is dispatched to that
+     * handler and no thread is blocked waiting for the response. Otherwise
+     * the request is invoked on a thread obtained from
+     * {@link #getExecutorService() }.
+     * <p>
+     * Client filters are synchronous. If a filter is added to this client
+     * then the thread obtained from {@link #getExecutorService() } blocks
+     * until the response is received, even if the root handler is an
+     * {@link AsyncClientHandler}.
+     *
+     * @param request the client request.
+     * @param l the future listener that will be notified of the completion
+     *        of the request.
+     * @return the future client response.
+     */
+    @Override
+    public Future<ClientResponse> handle(final ClientRequest request, final FutureListener<ClientResponse> l) {
+        final ClientHandler h = getHeadHandler();
+        if (!(h instanceof AsyncClientHandler)) {
+            final Callable<ClientResponse> c = new Callable<ClientResponse>() {
+                public ClientResponse call() throws Exception {
+                    return handle(request);
+                }
+            };
+            final FutureTask<ClientResponse> ft = new FutureTask<ClientResponse>(c) {
+                @Override
+                protected void done() {
+                    onComplete(l, this);
+                }
+            };
+
+            getExecutorService().submit(ft);
+            return ft;
+        }
+
+        // The handler sets this client as a property of the response, from
+        // the request properties, before the future completes
+        setEffectiveProperties(request);
+        return ((AsyncClientHandler)h).handle(request, new FutureListener<ClientResponse>() {
+            public void onComplete(Future<ClientResponse> f) {
+                Client.onComplete(l, f);
+            }
+        });
+    }
+
+    private void setEffectiveProperties(ClientRequest request) {
         Map<String, Object> effectiveProperties =
                 new HashMap<String, Object>(properties);
         effectiveProperties.put(Client.class.getName(), this);
         effectiveProperties.putAll(request.getProperties());
         request.setProperties(effectiveProperties);
+    }
 
-        final ClientResponse response = getHeadHandler().handle(request);
+    private static void onComplete(FutureListener<ClientResponse> l, Future<ClientResponse> f) {
+        if (l == null)
+            return;
 
-        response.getProperties().put(Client.class.getName(), this);
-        return response;
+        try {
+            l.onComplete(f);
+        } catch (Throwable t) {
+            LOGGER.log(Level.SEVERE,
+                    "Throwable caught on call to ClientResponseListener.onComplete",
+                    t);
+        }
     }
 
     /**
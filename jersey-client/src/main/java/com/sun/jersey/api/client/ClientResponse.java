@@ -41,6 +41,7 @@
 package com.sun.jersey.api.client;
 
 import com.sun.jersey.core.header.InBoundHeaders;
+import com.sun.jersey.core.header.reader.HttpHeaderCache;
 import com.sun.jersey.core.provider.CompletableReader;
 import com.sun.jersey.core.util.ReaderWriter;
 import com.sun.jersey.spi.MessageBodyWorkers;
@@ -692,7 +693,7 @@ public class ClientResponse {
      */
     public MediaType getType() {
         String ct = getHeaders().getFirst("Content-Type");
-        return (ct != null) ? MediaType.valueOf(ct) : null;
+        return (ct != null) ? HttpHeaderCache.readMediaType(ct) : null;
     }
 
     /**
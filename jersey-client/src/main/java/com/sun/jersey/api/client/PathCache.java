@@ -0,0 +1,133 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2026 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+
+package com.sun.jersey.api.client;
+
+import com.sun.jersey.api.uri.CompiledUriTemplate;
+import com.sun.jersey.api.uri.UriBuilderImpl;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import javax.ws.rs.core.UriBuilderException;
+
+/**
+ * A cache of the URIs, and compiled URI templates, of paths relative to
+ * the URI of a web resource.
+ * <p>
+ * Each cache is bounded to {@link #MAX_ENTRIES} entries and is cleared
+ * when full.
+ *
+ * @author agent@local
+ */
+/* package */ final class PathCache {
+
+    /**
+     * The maximum number of paths, and path templates, cached for a web
+     * resource.
+     */
+    static final int MAX_ENTRIES = 64;
+
+    private final URI u;
+
+    private final ConcurrentMap<String, URI> paths =
+            new ConcurrentHashMap<String, URI>();
+
+    private final ConcurrentMap<String, CompiledUriTemplate> templates =
+            new ConcurrentHashMap<String, CompiledUriTemplate>();
+
+    PathCache(URI u) {
+        this.u = u;
+    }
+
+    /**
+     * Get the URI of a path relative to the URI of the web resource.
+     *
+     * @param path the path.
+     * @return the URI.
+     */
+    URI path(String path) {
+        if (path == null)
+            return new UriBuilderImpl().uri(u).path(path).build();
+
+        URI uri = paths.get(path);
+        if (uri == null) {
+            uri = cache(paths, path, new UriBuilderImpl().uri(u).path(path).build());
+        }
+        return uri;
+    }
+
+    /**
+     * Get the URI of a path template, relative to the URI of the web resource,
+     * from an array of template values.
+     * <p>
+     * If there are no template values then the template variables are
+     * encoded, as if by {@link #path(java.lang.String) }.
+     *
+     * @param template the path template.
+     * @param values the template values.
+     * @return the URI.
+     */
+    URI path(String template, Object[] values) {
+        if (values == null || values.length == 0)
+            return path(template);
+
+        CompiledUriTemplate t = templates.get(template);
+        if (t == null) {
+            final UriBuilderImpl b = new UriBuilderImpl();
+            b.uri(u).path(template);
+            t = cache(templates, template, b.compile());
+        }
+
+        try {
+            return new URI(t.createURI(values, true));
+        } catch (URISyntaxException ex) {
+            throw new UriBuilderException(ex);
+        }
+    }
+
+    private static <V> V cache(ConcurrentMap<String, V> m, String key, V value) {
+        if (m.size() >= MAX_ENTRIES) {
+            m.clear();
+        }
+        final V existing = m.putIfAbsent(key, value);
+        return (existing != null) ? existing : value;
+    }
+}
@@ -77,6 +77,8 @@ public class WebResource extends Filterable implements
     private final URI u;
     private CopyOnWriteHashMap<String, Object> properties;
 
+    private volatile PathCache pathCache;
+
     /* package */ WebResource(ClientHandler c, CopyOnWriteHashMap<String, Object> properties, URI u) {
         super(c);
         this.u = u;
@@ -84,8 +86,12 @@ public class WebResource extends Filterable implements
     }
     
     private WebResource(WebResource that, UriBuilder ub) {
+        this(that, ub.build());
+    }
+
+    private WebResource(WebResource that, URI u) {
         super(that);
-        this.u = ub.build();
+        this.u = u;
         properties = (that.properties == null ? null : that.properties.clone());
     }
     
@@ -393,7 +399,30 @@ public class WebResource extends Filterable implements
      * @return the new web resource.
      */
     public WebResource path(String path) {
-        return new WebResource(this, getUriBuilder().path(path));
+        return new WebResource(this, getPathCache().path(path));
+    }
+
+    /**
+     * Create a new WebResource from this web resource with an additional path
+     * template, expanded using template values, added to the URI of this
+     * web resource.
+     * <p>
+     * The path template is compiled once and cached, such that creating
+     * many web resources from the same path template with different template
+     * values does not reparse the path template. The template values are
+     * encoded and assigned in order to the template variables, as if by
+     * <code>getUriBuilder().path(template).build(values)</code>.
+     * <p>
+     * Any filters on this web resource are inherited. Removal of filters
+     * may cause undefined behaviour.
+     *
+     * @param template the additional path template.
+     * @param values the template values.
+     * @return the new web resource.
+     * @throws IllegalArgumentException if a template variable has no value.
+     */
+    public WebResource path(String template, Object... values) {
+        return new WebResource(this, getPathCache().path(template, values));
     }
 
     /**
@@ -459,6 +488,14 @@ public class WebResource extends Filterable implements
         return new WebResource(this, b);
     }
 
+    private PathCache getPathCache() {
+        PathCache c = pathCache;
+        if (c == null) {
+            pathCache = c = new PathCache(u);
+        }
+        return c;
+    }
+
     // Builder that builds client request and handles it
     
     /**
@@ -54,6 +54,12 @@ public interface AsyncClientHandler {
     /**
      * Invoke an asynchronous client request. This method returns without
      * waiting for the client response.
+     * <p>
+     * Before the future completes, the client declared by the request
+     * property whose name is the name of the {@link com.sun.jersey.api.client.Client}
+     * class, if any, should be added to the properties of the client
+     * response, so that {@link ClientResponse#getClient() } returns that
+     * client.
      *
      * @param r the client request.
      * @param l the future listener to receive a completed Future with the
@@ -0,0 +1,169 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2026 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+
+package com.sun.jersey.api.client.filter;
+
+import com.sun.jersey.api.client.AbstractClientRequestAdapter;
+import com.sun.jersey.api.client.ClientHandlerException;
+import com.sun.jersey.api.client.ClientRequest;
+import com.sun.jersey.api.client.ClientRequestAdapter;
+import com.sun.jersey.api.client.ClientResponse;
+import com.sun.jersey.core.util.ContentCoding;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.zip.Deflater;
+import javax.ws.rs.core.HttpHeaders;
+
+/**
+ * A content encoding filter supporting the "gzip" and "deflate" content
+ * codings.
+ * <p>
+ * The request will be modified to set the Accept-Encoding header to
+ * "gzip, deflate" if that header has not already been set by the client.
+ * <p>
+ * If the request contains an entity and a Content-Encoding header of "gzip"
+ * or "deflate" then the entity will be encoded using that content coding.
+ * If configured with a content coding, and there does not exist a
+ * Content-Encoding header, then such a header is added to the request and
+ * the entity will be encoded using the configured content coding.
+ * <p>
+ * If the response has a Content-Encoding header of "gzip" or "deflate" then
+ * the response entity will be decoded.
+ * <p>
+ * Compared to {@link GZIPContentEncodingFilter} entities are
+ * encoded and decoded using pooled deflaters and inflaters, see
+ * {@link ContentCoding}.
+ *
+ * @author agent@local
+ */
+public class ContentEncodingFilter extends ClientFilter {
+
+    private static final class Adapter extends AbstractClientRequestAdapter {
+        private final ContentCoding coding;
+
+        private final int compressionLevel;
+
+        Adapter(ClientRequestAdapter cra, ContentCoding coding, int compressionLevel) {
+            super(cra);
+            this.coding = coding;
+            this.compressionLevel = compressionLevel;
+        }
+
+        @Override
+        public OutputStream adapt(ClientRequest request, OutputStream out) throws IOException {
+            return coding.encode(getAdapter().adapt(request, out), compressionLevel);
+        }
+    }
+
+    private final ContentCoding requestCoding;
+
+    private final int compressionLevel;
+
+    /**
+     * Create a content encoding filter that does not encode the request
+     * entity unless the request has a Content-Encoding header.
+     */
+    public ContentEncodingFilter() {
+        this(null, Deflater.DEFAULT_COMPRESSION);
+    }
+
+    /**
+     * Create a content encoding filter.
+     *
+     * @param requestCoding the content coding to encode the request entity
+     *        (if any) with if the request does not have a Content-Encoding header.
+     *        If null then the request entity is encoded only if there exists a
+     *        Content-Encoding header whose value is "gzip" or "deflate".
+     * @param compressionLevel the compression level, from 0 to 9 or
+     *        {@link Deflater#DEFAULT_COMPRESSION}, to encode request entities with.
+     * @throws IllegalArgumentException if the compression level is invalid.
+     */
+    public ContentEncodingFilter(ContentCoding requestCoding, int compressionLevel) {
+        if (compressionLevel < Deflater.DEFAULT_COMPRESSION || compressionLevel > Deflater.BEST_COMPRESSION)
+            throw new IllegalArgumentException("Invalid compression level: " + compressionLevel);
+
+        this.requestCoding = requestCoding;
+        this.compressionLevel = compressionLevel;
+    }
+
+    @Override
+    public ClientResponse handle(ClientRequest request) throws ClientHandlerException {
+        if (!request.getHeaders().containsKey(HttpHeaders.ACCEPT_ENCODING)) {
+            request.getHeaders().add(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate");
+        }
+
+        if (request.getEntity() != null) {
+            final Object o = request.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING);
+            if (o != null) {
+                final ContentCoding coding = ContentCoding.fromName(o.toString());
+                if (coding != null) {
+                    request.setAdapter(new Adapter(request.getAdapter(), coding, compressionLevel));
+                }
+            } else if (requestCoding != null) {
+                request.getHeaders().add(HttpHeaders.CONTENT_ENCODING, requestCoding.getName());
+                request.setAdapter(new Adapter(request.getAdapter(), requestCoding, compressionLevel));
+            }
+        }
+
+        final ClientResponse response = getNext().handle(request);
+
+        if (response.hasEntity()) {
+            final ContentCoding coding = ContentCoding.fromName(
+                    response.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+            if (coding != null) {
+                response.getHeaders().remove(HttpHeaders.CONTENT_ENCODING);
+                final InputStream entityStream = response.getEntityInputStream();
+                try {
+                    response.setEntityInputStream(coding.decode(entityStream));
+                } catch (IOException ex) {
+                    if (entityStream != null) try {
+                        entityStream.close();
+                    } catch (IOException ioe) {
+                        // ignore
+                    }
+                    throw new ClientHandlerException(ex);
+                }
+            }
+        }
+
+        return response;
+    }
+}
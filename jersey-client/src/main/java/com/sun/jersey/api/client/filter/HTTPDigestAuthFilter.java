@@ -42,11 +42,19 @@ package com.sun.jersey.api.client.filter;
 
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.net.URI;
+import java.net.URISyntaxException;
 import java.nio.charset.Charset;
 import java.security.MessageDigest;
 import java.security.SecureRandom;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import java.util.regex.Matcher;
@@ -62,6 +70,13 @@ import com.sun.jersey.api.client.ClientResponse.Status;
 
 /**
  * Client filter adding HTTP Digest authentication headers in the request
+ * <p>
+ * The challenge of a protection space, identified by the server and realm, is
+ * shared by all threads using the filter. Once a challenge has been received
+ * requests to the protection space are authenticated pre-emptively, without
+ * first being challenged, until the challenge expires, see
+ * {@link #DEFAULT_CHALLENGE_EXPIRY}. The nonce count of a challenge is
+ * incremented atomically.
  *
  * @author raphael.jolivet@gmail.com
  */
@@ -77,6 +92,17 @@ public final class HTTPDigestAuthFilter extends ClientFilter {
     static private final int CNONCE_NB_BYTES = 4;
 
     static private final Charset CHARACTER_SET = Charset.forName("iso-8859-1");
+
+    /**
+     * The default expiry, in milliseconds, of a challenge.
+     */
+    static public final long DEFAULT_CHALLENGE_EXPIRY = 5 * 60 * 1000;
+
+    /**
+     * The maximum number of servers for which challenges are retained
+     */
+    static private final int MAX_SERVERS = 256;
+
     /**
      * Init random generator
      */
@@ -113,26 +139,73 @@ public final class HTTPDigestAuthFilter extends ClientFilter {
 
     private final String user;
     private final byte[] password;
+    private final long challengeExpiry;
 
-    // State
-    private class State {
-        String nextNonce;
-        String realm;
-        String opaque;
-        String algorithm;
-        String domain;
-        QOP qop = null;
-        int counter = 1;
-    }
+    /**
+     * The challenge of a protection space, shared by all threads sending
+     * requests to the protection space.
+     */
+    private static final class Challenge {
+        final String realm;
+        final String nextNonce;
+        final String opaque;
+        final String algorithm;
+        final QOP qop;
+        final String[] domain;
+        final long created;
+        final AtomicInteger counter;
+
+        Challenge(String realm, String nextNonce, String opaque, String algorithm,
+                QOP qop, String[] domain, long created) {
+            this(realm, nextNonce, opaque, algorithm, qop, domain, created,
+                    new AtomicInteger(1));
+        }
 
-    private final ThreadLocal<State> state = new ThreadLocal<State>() {
-        @Override
-        protected State initialValue() {
-            return new State();
+        Challenge(String realm, String nextNonce, String opaque, String algorithm,
+                QOP qop, String[] domain, long created, AtomicInteger counter) {
+            this.realm = realm;
+            this.nextNonce = nextNonce;
+            this.opaque = opaque;
+            this.algorithm = algorithm;
+            this.qop = qop;
+            this.domain = domain;
+            this.created = created;
+            this.counter = counter;
         }
-    };
 
+        boolean hasRealm(String realm) {
+            return (this.realm == null) ? realm == null : this.realm.equals(realm);
+        }
+
+        boolean isExpired(long now, long expiry) {
+            return expiry > 0 && now - created >= expiry;
+        }
 
+        /**
+         * A challenge without a domain protects all paths of the server.
+         * A domain path ending in '/' also protects the path without
+         * the '/'.
+         */
+        boolean protects(String path) {
+            if (domain.length == 0) {
+                return true;
+            }
+            for (String d : domain) {
+                if (path.startsWith(d) ||
+                        (d.endsWith("/") && path.length() == d.length() - 1 && d.startsWith(path))) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    /**
+     * The challenges, most recent first, keyed by the scheme, host and port
+     * of the server, for at most one challenge per realm.
+     */
+    private final ConcurrentMap<String, Challenge[]> challenges =
+            new ConcurrentHashMap<String, Challenge[]>();
 
     // -------------------------------------------------------
     // Constructors
@@ -162,8 +235,48 @@ public final class HTTPDigestAuthFilter extends ClientFilter {
     public HTTPDigestAuthFilter (
             final String user,
             final byte[] password) {
+        this(user, password, DEFAULT_CHALLENGE_EXPIRY, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Creates a new HTTP Digest Authentication filter using provided username
+     * and password credentials, and the expiry of challenges.
+     *
+     * @param user username
+     * @param password password
+     * @param challengeExpiry the time after which a challenge is no longer
+     *        used to pre-emptively authenticate requests, a value of zero
+     *        or less means a challenge never expires.
+     * @param unit the time unit of the challenge expiry.
+     */
+    public HTTPDigestAuthFilter (
+            final String user,
+            final String password,
+            final long challengeExpiry,
+            final TimeUnit unit) {
+        this(user, password.getBytes(CHARACTER_SET), challengeExpiry, unit);
+    }
+
+    /**
+     * Creates a new HTTP Digest Authentication filter using provided username
+     * and password credentials, and the expiry of challenges. This constructor
+     * allows you to avoid storing plain password value in a String variable.
+     *
+     * @param user username
+     * @param password password
+     * @param challengeExpiry the time after which a challenge is no longer
+     *        used to pre-emptively authenticate requests, a value of zero
+     *        or less means a challenge never expires.
+     * @param unit the time unit of the challenge expiry.
+     */
+    public HTTPDigestAuthFilter (
+            final String user,
+            final byte[] password,
+            final long challengeExpiry,
+            final TimeUnit unit) {
         this.user = user;
         this.password = password;
+        this.challengeExpiry = unit.toMillis(challengeExpiry);
     }
 
     /**
@@ -372,26 +485,136 @@ public final class HTTPDigestAuthFilter extends ClientFilter {
         return null;
     }
 
+    // -------------------------------------------------------
+    // Challenge cache
+    // -------------------------------------------------------
+
+    /**
+     * Get the key identifying the server of a URI.
+     */
+    static String getServer(URI uri) {
+        final String scheme = (uri.getScheme() == null) ? "" : uri.getScheme().toLowerCase();
+        final String host = (uri.getHost() == null) ? "" : uri.getHost().toLowerCase();
+        int port = uri.getPort();
+        if (port == -1) {
+            port = scheme.equals("https") ? 443 : 80;
+        }
+        return scheme + "://" + host + ":" + port;
+    }
+
+    /**
+     * Parse the "domain" of a challenge into the path prefixes of the
+     * protection space on the server.
+     * URIs of other servers are ignored. If no path prefix is found then
+     * the protection space is the whole server and an empty array is returned.
+     */
+    static String[] parseDomain(String server, String domain) {
+        if (domain == null) {
+            return new String[0];
+        }
+
+        final List<String> prefixes = new ArrayList<String>();
+        for (String d : domain.trim().split("\\s+")) {
+            try {
+                final URI u = new URI(d);
+                if (u.isAbsolute() && !getServer(u).equals(server)) {
+                    continue;
+                }
+                final String path = u.getRawPath();
+                if (path != null && path.length() > 0) {
+                    prefixes.add(path);
+                }
+            } catch (URISyntaxException ex) {
+                // Ignore
+            }
+        }
+        return prefixes.toArray(new String[prefixes.size()]);
+    }
+
+    /**
+     * Get the most recent challenge, that has not expired, protecting a path
+     * of a server.
+     */
+    private Challenge getChallenge(String server, String path) {
+        final Challenge[] cs = challenges.get(server);
+        if (cs == null) {
+            return null;
+        }
+
+        final long now = System.currentTimeMillis();
+        for (Challenge c : cs) {
+            if (!c.isExpired(now, challengeExpiry) && c.protects(path)) {
+                return c;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Add a challenge of a server, replacing any previous challenge with the
+     * same realm. If the previous challenge has the same nonce then the
+     * nonce count continues from that of the previous challenge.
+     *
+     * @return the challenge added.
+     */
+    private Challenge putChallenge(String server, Challenge challenge) {
+        synchronized (challenges) {
+            final long now = System.currentTimeMillis();
+            final List<Challenge> l = new ArrayList<Challenge>();
+
+            final Challenge[] cs = challenges.get(server);
+            if (cs != null) {
+                for (Challenge c : cs) {
+                    if (!c.hasRealm(challenge.realm)) {
+                        if (!c.isExpired(now, challengeExpiry)) {
+                            l.add(c);
+                        }
+                    } else if (c.nextNonce != null && c.nextNonce.equals(challenge.nextNonce)) {
+                        challenge = new Challenge(challenge.realm, challenge.nextNonce,
+                                challenge.opaque, challenge.algorithm, challenge.qop,
+                                challenge.domain, challenge.created, c.counter);
+                    }
+                }
+            } else if (challenges.size() >= MAX_SERVERS) {
+                challenges.clear();
+            }
+
+            l.add(0, challenge);
+            challenges.put(server, l.toArray(new Challenge[l.size()]));
+            return challenge;
+        }
+    }
+
     // -------------------------------------------------------
     // Main filter method
     // -------------------------------------------------------
 
     @Override
     public ClientResponse handle(final ClientRequest request) throws ClientHandlerException {
+        final String server = getServer(request.getURI());
+
+        // Have we already login ? : Then pre-emptively authenticate with the
+        // challenge of the protection space, if any
+        return handle(request, server,
+                getChallenge(server, request.getURI().getRawPath()));
+    }
+
+    private ClientResponse handle(final ClientRequest request, final String server,
+            final Challenge challenge) throws ClientHandlerException {
 
         // Remember if we sent a request a with headers
         boolean reqHadAuthHeaders = false;
 
-        // Have we already login ? : Then add authorization info to the headers
-        if (state.get().nextNonce != null) {
+        // Have we a challenge ? : Then add authorization info to the headers
+        if (challenge != null) {
 
             // Remember we sent headers
             reqHadAuthHeaders = true;
 
             // Alias to string representation of qop
             String qopStr = null;
-            if (state.get().qop != null) {
-                qopStr = (state.get().qop == QOP.AUTH_INT) ? "auth-int" : "auth";
+            if (challenge.qop != null) {
+                qopStr = (challenge.qop == QOP.AUTH_INT) ? "auth-int" : "auth";
             }
 
             // Init the value of the "authorized" header
@@ -402,18 +625,17 @@ public final class HTTPDigestAuthFilter extends ClientFilter {
 
             // Key/val pairs
             addKeyVal(buff, "username", this.user);
-            addKeyVal(buff, "realm", state.get().realm);
-            addKeyVal(buff, "nonce", state.get().nextNonce);
-            if (state.get().opaque != null) {
-                addKeyVal(buff, "opaque", state.get().opaque);
+            addKeyVal(buff, "realm", challenge.realm);
+            addKeyVal(buff, "nonce", challenge.nextNonce);
+            if (challenge.opaque != null) {
+                addKeyVal(buff, "opaque", challenge.opaque);
             }
-            if (state.get().algorithm != null) {
-                addKeyVal(buff, "algorithm", state.get().algorithm, false);
+            if (challenge.algorithm != null) {
+                addKeyVal(buff, "algorithm", challenge.algorithm, false);
             }
-            if (state.get().qop != null) {
+            if (challenge.qop != null) {
                 addKeyVal(buff, "qop", qopStr, false);
             }
-            //if (this.domain != null) addKeyVal(buff, "domain", this.domain);
 
             // -------------------------------------------------------
             // Compute the Digest Hash
@@ -422,7 +644,7 @@ public final class HTTPDigestAuthFilter extends ClientFilter {
             // HA1
             String HA1 = md5ForJoined(
                     this.user.getBytes(CHARACTER_SET),
-                    state.get().realm.getBytes(CHARACTER_SET),
+                    challenge.realm.getBytes(CHARACTER_SET),
                     this.password);
 
             // Get exact requested URI
@@ -434,7 +656,7 @@ public final class HTTPDigestAuthFilter extends ClientFilter {
 
             // HA2 : Switch on qop
             String HA2;
-            if (state.get().qop == QOP.AUTH_INT && (request.getEntity() != null)) {
+            if (challenge.qop == QOP.AUTH_INT && (request.getEntity() != null)) {
                 HA2 = md5ForJoined(
                         request.getMethod(),
                         uri,
@@ -447,11 +669,11 @@ public final class HTTPDigestAuthFilter extends ClientFilter {
 
             // Compute response
             String response;
-            if (state.get().qop == null) { // Simple response
+            if (challenge.qop == null) { // Simple response
 
                 response = md5ForJoined(
                         HA1,
-                        state.get().nextNonce,
+                        challenge.nextNonce,
                         HA2);
 
             } else { // Quality of protection is set
@@ -459,9 +681,8 @@ public final class HTTPDigestAuthFilter extends ClientFilter {
                 // Generate client nonce (UID)
                 String cnonce = randHexBytes(CNONCE_NB_BYTES);
 
-                // Counter in hexadecimal
-                String nc = String.format("%08x", state.get().counter);
-                state.get().counter += 1;
+                // Counter in hexadecimal, shared by all threads using the nonce
+                String nc = String.format("%08x", challenge.counter.getAndIncrement());
 
                 // Add them to key/value pairs
                 addKeyVal(buff, "cnonce", cnonce);
@@ -469,7 +690,7 @@ public final class HTTPDigestAuthFilter extends ClientFilter {
 
                 response = md5ForJoined(
                         HA1,
-                        state.get().nextNonce,
+                        challenge.nextNonce,
                         nc,
                         cnonce,
                         qopStr,
@@ -483,12 +704,13 @@ public final class HTTPDigestAuthFilter extends ClientFilter {
             buff.deleteCharAt(buff.length() - 1);
             String authLine = buff.toString();
 
-            // Add the whole Authorization line to the header
-            request.getHeaders().add(
+            // Set the whole Authorization line in the header, replacing that
+            // of a previous attempt
+            request.getHeaders().putSingle(
                     HttpHeaders.AUTHORIZATION,
                     authLine);
 
-        } // End of "we already logged in ?"
+        } // End of "we have a challenge ?"
 
         // Forward the request to the next filter and get the result back
         ClientResponse response = getNext().handle(request);
@@ -506,27 +728,31 @@ public final class HTTPDigestAuthFilter extends ClientFilter {
                 return response;
             }
 
-            // Get header values
-            state.get().realm = map.get("realm");
-            state.get().nextNonce = map.get("nonce");
-            state.get().opaque = map.get("opaque");
-            state.get().algorithm = map.get("algorithm");
-            state.get().domain = map.get("domain");
-
             // Parse Qop
-            String qop = map.get("qop");
-            if (qop == null) {
-                state.get().qop = null;
+            QOP qop;
+            String qopStr = map.get("qop");
+            if (qopStr == null) {
+                qop = null;
             } else {
-                if (qop.contains("auth-int")) {
-                    state.get().qop = QOP.AUTH_INT;
-                } else if (qop.contains("auth")) {
-                    state.get().qop = QOP.AUTH;
+                if (qopStr.contains("auth-int")) {
+                    qop = QOP.AUTH_INT;
+                } else if (qopStr.contains("auth")) {
+                    qop = QOP.AUTH;
                 } else {
-                    state.get().qop = null;
+                    qop = null;
                 }
             }
 
+            // Get header values and share the challenge with other threads
+            Challenge newChallenge = putChallenge(server, new Challenge(
+                    map.get("realm"),
+                    map.get("nonce"),
+                    map.get("opaque"),
+                    map.get("algorithm"),
+                    qop,
+                    parseDomain(server, map.get("domain")),
+                    System.currentTimeMillis()));
+
             // Parse "stale"
             String staleStr = map.get("stale");
 
@@ -539,7 +765,7 @@ public final class HTTPDigestAuthFilter extends ClientFilter {
                 // Close previous response
                 response.close();
                 // Then try to resent same request with updated headers
-                return this.handle(request);
+                return handle(request, server, newChallenge);
             } else {
                 // We already tried to log, but the authentication failed :
                 // Just forward this response
@@ -1,7 +1,7 @@
 /*
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
  *
- * Copyright (c) 2010-2011 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2010-2013 Oracle and/or its affiliates. All rights reserved.
  *
  * The contents of this file are subject to the terms of either the GNU
  * General Public License Version 2 only ("GPL") or the Common Development
@@ -73,6 +73,13 @@ public abstract class FutureClientResponseListener<T> extends FutureTask<T>
 
     @Override
     public boolean cancel(boolean mayInterruptIfRunning) {
+        if (f == null) {
+            // The listener may be completed, or cancelled, before the
+            // cancelable future is set, for example if the request
+            // fails immediately
+            return super.cancel(mayInterruptIfRunning);
+        }
+
         if (f.isCancelled()) {
             if (!super.isCancelled()) {
                 super.cancel(true);
@@ -90,6 +97,10 @@ public abstract class FutureClientResponseListener<T> extends FutureTask<T>
 
     @Override
     public boolean isCancelled() {
+        if (f == null) {
+            return super.isCancelled();
+        }
+
         if (f.isCancelled()) {
             if (!super.isCancelled()) {
                 super.cancel(true);
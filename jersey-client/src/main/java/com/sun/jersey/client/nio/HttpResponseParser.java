@@ -0,0 +1,337 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2026 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+
+package com.sun.jersey.client.nio;
+
+import com.sun.jersey.core.header.InBoundHeaders;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.List;
+
+/**
+ * An incremental parser of an HTTP/1.1 response.
+ * <p>
+ * Bytes are parsed as they are received, without blocking, until the
+ * status line, headers and entity of the response have been parsed. The
+ * entity is buffered and may be chunked, delimited by the Content-Length
+ * header, or delimited by the closing of the connection.
+ * <p>
+ * This class is not thread-safe.
+ *
+ * @author agent@local
+ */
+final class HttpResponseParser {
+
+    /**
+     * The maximum length, in characters, of the status line or a header line.
+     */
+    static final int MAX_LINE_LENGTH = 65536;
+
+    private enum State {
+        STATUS_LINE, HEADERS, BODY, BODY_UNTIL_CLOSE,
+        CHUNK_SIZE, CHUNK_DATA, CHUNK_END, TRAILERS, COMPLETE
+    }
+
+    private final boolean noEntity;
+
+    private final StringBuilder line = new StringBuilder();
+
+    private final ByteArrayOutputStream entity = new ByteArrayOutputStream();
+
+    private State state = State.STATUS_LINE;
+
+    private int status;
+
+    private String reasonPhrase;
+
+    private InBoundHeaders headers = new InBoundHeaders();
+
+    private String lastHeaderName;
+
+    private long remaining;
+
+    /**
+     * Create a parser.
+     *
+     * @param noEntity true if the response cannot have an entity, for example
+     *        if the response is to a HEAD request.
+     */
+    HttpResponseParser(boolean noEntity) {
+        this.noEntity = noEntity;
+    }
+
+    /**
+     * Parse bytes of the response.
+     * <p>
+     * All remaining bytes of the buffer are consumed. Bytes received after
+     * the response is complete are ignored.
+     *
+     * @param b the buffer of bytes.
+     * @return true if the response is complete, otherwise false.
+     * @throws IOException if the bytes are not a valid HTTP response.
+     */
+    boolean parse(ByteBuffer b) throws IOException {
+        while (b.hasRemaining() && state != State.COMPLETE) {
+            switch (state) {
+                case STATUS_LINE:
+                    if (readLine(b)) {
+                        parseStatusLine(takeLine());
+                        state = State.HEADERS;
+                    }
+                    break;
+                case HEADERS:
+                    if (readLine(b)) {
+                        final String l = takeLine();
+                        if (l.length() == 0) {
+                            endHeaders();
+                        } else {
+                            parseHeader(l);
+                        }
+                    }
+                    break;
+                case BODY:
+                    remaining -= readEntity(b, remaining);
+                    if (remaining == 0)
+                        state = State.COMPLETE;
+                    break;
+                case BODY_UNTIL_CLOSE:
+                    readEntity(b, Long.MAX_VALUE);
+                    break;
+                case CHUNK_SIZE:
+                    if (readLine(b)) {
+                        remaining = parseChunkSize(takeLine());
+                        state = (remaining == 0) ? State.TRAILERS : State.CHUNK_DATA;
+                    }
+                    break;
+                case CHUNK_DATA:
+                    remaining -= readEntity(b, remaining);
+                    if (remaining == 0)
+                        state = State.CHUNK_END;
+                    break;
+                case CHUNK_END:
+                    if (readLine(b)) {
+                        if (takeLine().length() != 0)
+                            throw new IOException("Invalid chunk, CRLF expected");
+                        state = State.CHUNK_SIZE;
+                    }
+                    break;
+                case TRAILERS:
+                    if (readLine(b)) {
+                        final String l = takeLine();
+                        if (l.length() == 0) {
+                            state = State.COMPLETE;
+                        } else {
+                            parseHeader(l);
+                        }
+                    }
+                    break;
+            }
+        }
+        if (state == State.COMPLETE) {
+            b.position(b.limit());
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Signal the end of the response bytes, when the connection is closed.
+     *
+     * @return true if the response is complete.
+     * @throws EOFException if the connection was closed before the
+     *         response is complete.
+     */
+    boolean eof() throws EOFException {
+        if (state == State.BODY_UNTIL_CLOSE) {
+            state = State.COMPLETE;
+        }
+        if (state != State.COMPLETE)
+            throw new EOFException("The connection was closed before the HTTP response was complete");
+        return true;
+    }
+
+    boolean isComplete() {
+        return state == State.COMPLETE;
+    }
+
+    int getStatus() {
+        return status;
+    }
+
+    String getReasonPhrase() {
+        return reasonPhrase;
+    }
+
+    InBoundHeaders getHeaders() {
+        return headers;
+    }
+
+    byte[] getEntity() {
+        return entity.toByteArray();
+    }
+
+    private boolean readLine(ByteBuffer b) throws IOException {
+        while (b.hasRemaining()) {
+            final char c = (char)(b.get() & 0xFF);
+            if (c == '\n') {
+                final int last = line.length() - 1;
+                if (last >= 0 && line.charAt(last) == '\r')
+                    line.setLength(last);
+                return true;
+            }
+            if (line.length() == MAX_LINE_LENGTH)
+                throw new IOException("The HTTP response line exceeds " + MAX_LINE_LENGTH + " characters");
+            line.append(c);
+        }
+        return false;
+    }
+
+    private String takeLine() {
+        final String l = line.toString();
+        line.setLength(0);
+        return l;
+    }
+
+    private long readEntity(ByteBuffer b, long max) {
+        final int n = (int)Math.min(b.remaining(), max);
+        if (b.hasArray()) {
+            entity.write(b.array(), b.arrayOffset() + b.position(), n);
+            b.position(b.position() + n);
+        } else {
+            final byte[] bytes = new byte[n];
+            b.get(bytes);
+            entity.write(bytes, 0, n);
+        }
+        return n;
+    }
+
+    private void parseStatusLine(String l) throws IOException {
+        // HTTP-Version SP Status-Code SP Reason-Phrase
+        if (!l.startsWith("HTTP/"))
+            throw new IOException("Invalid HTTP status line: " + l);
+
+        final int start = l.indexOf(' ');
+        if (start == -1)
+            throw new IOException("Invalid HTTP status line: " + l);
+        int end = l.indexOf(' ', start + 1);
+        if (end == -1)
+            end = l.length();
+
+        try {
+            status = Integer.parseInt(l.substring(start + 1, end));
+        } catch (NumberFormatException ex) {
+            throw new IOException("Invalid HTTP status code: " + l);
+        }
+        reasonPhrase = (end < l.length()) ? l.substring(end + 1) : null;
+    }
+
+    private void parseHeader(String l) throws IOException {
+        if (l.charAt(0) == ' ' || l.charAt(0) == '\t') {
+            // Continuation of the previous header value
+            if (lastHeaderName == null)
+                throw new IOException("Invalid HTTP header: " + l);
+            final List<String> values = headers.get(lastHeaderName);
+            final int last = values.size() - 1;
+            values.set(last, values.get(last) + ' ' + l.trim());
+            return;
+        }
+
+        final int colon = l.indexOf(':');
+        if (colon <= 0)
+            throw new IOException("Invalid HTTP header: " + l);
+
+        lastHeaderName = l.substring(0, colon).trim();
+        headers.add(lastHeaderName, l.substring(colon + 1).trim());
+    }
+
+    private void endHeaders() throws IOException {
+        lastHeaderName = null;
+
+        if (status >= 100 && status < 200) {
+            // Ignore an informational response, such as 100 Continue,
+            // and parse the final response
+            headers = new InBoundHeaders();
+            state = State.STATUS_LINE;
+            return;
+        }
+
+        if (noEntity || status == 204 || status == 304) {
+            state = State.COMPLETE;
+            return;
+        }
+
+        final String transferEncoding = headers.getFirst("Transfer-Encoding");
+        if (transferEncoding != null &&
+                transferEncoding.toLowerCase().contains("chunked")) {
+            state = State.CHUNK_SIZE;
+            return;
+        }
+
+        final String contentLength = headers.getFirst("Content-Length");
+        if (contentLength != null) {
+            try {
+                remaining = Long.parseLong(contentLength.trim());
+            } catch (NumberFormatException ex) {
+                throw new IOException("Invalid Content-Length: " + contentLength);
+            }
+            if (remaining < 0)
+                throw new IOException("Invalid Content-Length: " + contentLength);
+            state = (remaining == 0) ? State.COMPLETE : State.BODY;
+            return;
+        }
+
+        state = State.BODY_UNTIL_CLOSE;
+    }
+
+    private long parseChunkSize(String l) throws IOException {
+        final int extension = l.indexOf(';');
+        final String size = ((extension == -1) ? l : l.substring(0, extension)).trim();
+        try {
+            final long n = Long.parseLong(size, 16);
+            if (n < 0)
+                throw new NumberFormatException();
+            return n;
+        } catch (NumberFormatException ex) {
+            throw new IOException("Invalid chunk size: " + l);
+        }
+    }
+}
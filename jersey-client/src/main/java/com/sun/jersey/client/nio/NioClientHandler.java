@@ -0,0 +1,717 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2026 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+
+package com.sun.jersey.client.nio;
+
+import com.sun.jersey.api.client.Client;
+import com.sun.jersey.api.client.ClientHandlerException;
+import com.sun.jersey.api.client.ClientRequest;
+import com.sun.jersey.api.client.ClientResponse;
+import com.sun.jersey.api.client.Statuses;
+import com.sun.jersey.api.client.TerminatingClientHandler;
+import com.sun.jersey.api.client.async.AsyncClientHandler;
+import com.sun.jersey.api.client.async.FutureListener;
+import com.sun.jersey.api.client.config.ClientConfig;
+import com.sun.jersey.core.header.InBoundHeaders;
+import com.sun.jersey.core.util.ReaderWriter;
+
+import javax.ws.rs.core.MultivaluedMap;
+import javax.ws.rs.core.Response;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.SocketTimeoutException;
+import java.net.URI;
+import java.net.UnknownHostException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * A terminating client handler that uses non-blocking NIO socket channels
+ * to make HTTP requests and receive HTTP responses.
+ * <p>
+ * This handler is an {@link AsyncClientHandler}. When utilized as the root
+ * handler of a {@link Client}, with no filters, asynchronous requests
+ * made using an {@link com.sun.jersey.api.client.AsyncWebResource} do not
+ * block a thread while waiting for the response, and do not utilize the
+ * {@link Client#getExecutorService() } of the client. For example:
+ * <blockquote><pre>
+ *     Client c = new Client(new NioClientHandler());
+ *     Future&lt;String&gt; f = c.asyncResource(u).get(String.class);
+ *     ...
+ *     c.destroy();
+ * </pre></blockquote>
+ * Client filters are synchronous. If a filter is added to the client, or to
+ * the web resource, then each asynchronous request is invoked on a thread
+ * of the executor service of the client and that thread blocks until the
+ * response is received. Only requests made without filters are
+ * non-blocking.
+ * <p>
+ * All requests are processed by a single I/O thread that is started
+ * when this handler is created and stopped when {@link #close() } is
+ * invoked, or when the {@link Client} is destroyed. Host names are
+ * resolved, futures are completed, and listeners, such as instances of
+ * {@link com.sun.jersey.api.client.async.TypeListener}, are notified on
+ * the threads of an executor, never on the I/O thread or the thread making
+ * the request. A synchronous request made using
+ * {@link #handle(ClientRequest) } blocks the calling thread until the
+ * response is received.
+ * <p>
+ * A request entity is serialized before the request is sent. A response
+ * entity is buffered before the response is returned, thus reading the
+ * entity, or mapping the response to a Java type, does not block.
+ * <p>
+ * Only the "http" URI scheme is supported. One connection is utilized for
+ * each request and connections are not kept alive. Redirection is not
+ * performed, and a 3xx response is returned as is. The read and connect
+ * timeouts declared by the properties
+ * {@link ClientConfig#PROPERTY_READ_TIMEOUT} and
+ * {@link ClientConfig#PROPERTY_CONNECT_TIMEOUT} are supported.
+ *
+ * @author agent@local
+ */
+public final class NioClientHandler extends TerminatingClientHandler implements AsyncClientHandler, Closeable {
+
+    private static final Logger LOGGER = Logger.getLogger(NioClientHandler.class.getName());
+
+    private static final Charset ISO_8859_1 = Charset.forName("ISO-8859-1");
+
+    private static final AtomicInteger HANDLER_COUNT = new AtomicInteger();
+
+    private static final Callable<ClientResponse> NO_OP_CALLABLE = new Callable<ClientResponse>() {
+        public ClientResponse call() throws Exception {
+            throw new IllegalStateException();
+        }
+    };
+
+    private final Selector selector;
+
+    private final Thread thread;
+
+    private final ExecutorService executor;
+
+    private final boolean shutdownExecutor;
+
+    private final Queue<Exchange> registrations = new ConcurrentLinkedQueue<Exchange>();
+
+    // The following fields are only accessed from the I/O thread
+
+    private final Set<Exchange> exchanges = new HashSet<Exchange>();
+
+    private final ByteBuffer buffer = ByteBuffer.allocate(ReaderWriter.BUFFER_SIZE);
+
+    private volatile boolean closed;
+
+    /**
+     * Construct a new instance and start the I/O thread.
+     * <p>
+     * Host names are resolved, futures are completed and listeners are
+     * notified on a cached thread pool of daemon threads, which is shut
+     * down when this handler is closed.
+     *
+     * @throws ClientHandlerException if the selector cannot be opened.
+     */
+    public NioClientHandler() {
+        this(null);
+    }
+
+    /**
+     * Construct a new instance and start the I/O thread.
+     *
+     * @param executor the executor on which host names are resolved,
+     *        futures are completed and listeners are notified, for example
+     *        the {@link Client#getExecutorService() } of the client. The
+     *        executor is not shut down when this handler is closed. If null
+     *        a cached thread pool of daemon threads is utilized.
+     * @throws ClientHandlerException if the selector cannot be opened.
+     */
+    public NioClientHandler(ExecutorService executor) {
+        try {
+            this.selector = Selector.open();
+        } catch (IOException ex) {
+            throw new ClientHandlerException(ex);
+        }
+
+        final int id = HANDLER_COUNT.incrementAndGet();
+        this.shutdownExecutor = executor == null;
+        this.executor = (executor != null) ? executor
+                : Executors.newCachedThreadPool(new CallbackThreadFactory(id));
+
+        this.thread = new Thread(new Runnable() {
+            public void run() {
+                select();
+            }
+        }, "jersey-client-nio-" + id);
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    /**
+     * Stop the I/O thread.
+     * <p>
+     * Requests in progress, and requests made after this method is invoked,
+     * complete with a {@link ClientHandlerException}.
+     * <p>
+     * This method is invoked by {@link Client#destroy() } when this handler
+     * is the root handler of the client.
+     */
+    public void close() {
+        closed = true;
+        selector.wakeup();
+    }
+
+    // ClientHandler
+
+    /**
+     * ClientRequest handler.
+     * <p>
+     * The calling thread is blocked until the response is received.
+     *
+     * @param ro ClientRequest
+     * @return Server response represented as ClientResponse
+     * @throws ClientHandlerException if the request fails or the calling
+     *         thread is interrupted.
+     * @throws IllegalStateException if the calling thread is the I/O thread.
+     */
+    @Override
+    public ClientResponse handle(ClientRequest ro) throws ClientHandlerException {
+        if (Thread.currentThread() == thread)
+            throw new IllegalStateException("A synchronous request cannot be made from the I/O thread");
+
+        final Future<ClientResponse> f = handle(ro, null);
+        try {
+            return f.get();
+        } catch (InterruptedException ex) {
+            f.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new ClientHandlerException(ex);
+        } catch (ExecutionException ex) {
+            final Throwable t = ex.getCause();
+            if (t instanceof ClientHandlerException)
+                throw (ClientHandlerException)t;
+            throw new ClientHandlerException(t);
+        }
+    }
+
+    // AsyncClientHandler
+
+    @Override
+    public Future<ClientResponse> handle(ClientRequest ro, FutureListener<ClientResponse> l) {
+        final Exchange e = new Exchange(ro, l);
+        try {
+            e.init();
+        } catch (Exception ex) {
+            e.fail(ex);
+            return e;
+        }
+
+        if (closed) {
+            e.fail(new ClientHandlerException("The client handler is closed"));
+            return e;
+        }
+
+        // Resolving the host name may block
+        dispatch(new Runnable() {
+            public void run() {
+                e.resolve();
+            }
+        });
+        return e;
+    }
+
+    private void register(Exchange e) {
+        registrations.add(e);
+        // If closed the registration may have been missed by the I/O thread
+        if (closed && registrations.remove(e)) {
+            e.fail(new ClientHandlerException("The client handler is closed"));
+            return;
+        }
+
+        selector.wakeup();
+    }
+
+    private void dispatch(Runnable r) {
+        try {
+            executor.execute(r);
+        } catch (RejectedExecutionException ex) {
+            // The executor is shut down
+            r.run();
+        }
+    }
+
+    // I/O thread
+
+    private void select() {
+        try {
+            while (!closed) {
+                selector.select(getSelectTimeout());
+                register();
+                process();
+                expire();
+            }
+        } catch (Throwable t) {
+            LOGGER.log(Level.SEVERE, "Unexpected error on the I/O thread", t);
+        } finally {
+            closed = true;
+
+            final ClientHandlerException ex = new ClientHandlerException("The client handler is closed");
+            for (Exchange e : new ArrayList<Exchange>(exchanges)) {
+                e.fail(ex);
+            }
+            exchanges.clear();
+
+            Exchange e;
+            while ((e = registrations.poll()) != null) {
+                e.fail(ex);
+            }
+
+            try {
+                selector.close();
+            } catch (IOException ioe) {
+                LOGGER.log(Level.FINE, "Error closing the selector", ioe);
+            }
+
+            // Complete the failed requests before the threads are released
+            if (shutdownExecutor)
+                executor.shutdown();
+        }
+    }
+
+    private long getSelectTimeout() {
+        long timeout = Long.MAX_VALUE;
+        final long now = System.nanoTime();
+        for (Exchange e : exchanges) {
+            if (e.timed) {
+                timeout = Math.min(timeout, e.deadline - now);
+            }
+        }
+
+        if (timeout == Long.MAX_VALUE)
+            return 0;
+
+        // A select timeout of 0 blocks indefinitely
+        return Math.max(1, TimeUnit.NANOSECONDS.toMillis(timeout) + 1);
+    }
+
+    private void register() {
+        Exchange e;
+        while ((e = registrations.poll()) != null) {
+            if (e.isFinished())
+                continue;
+
+            exchanges.add(e);
+            try {
+                e.connect();
+            } catch (Exception ex) {
+                e.fail(ex);
+            }
+        }
+    }
+
+    private void process() {
+        final Iterator<SelectionKey> i = selector.selectedKeys().iterator();
+        while (i.hasNext()) {
+            final SelectionKey k = i.next();
+            i.remove();
+
+            final Exchange e = (Exchange)k.attachment();
+            if (!k.isValid() || e.isFinished())
+                continue;
+
+            try {
+                e.process(k);
+            } catch (Exception ex) {
+                e.fail(ex);
+            }
+        }
+    }
+
+    private void expire() {
+        final long now = System.nanoTime();
+        final Iterator<Exchange> i = exchanges.iterator();
+        while (i.hasNext()) {
+            final Exchange e = i.next();
+            if (e.isFinished()) {
+                // Completed, failed or cancelled
+                i.remove();
+                e.closeChannel();
+            } else if (e.timed && now - e.deadline >= 0) {
+                i.remove();
+                e.fail(new SocketTimeoutException(e.connected
+                        ? "Read timed out" : "connect timed out"));
+            }
+        }
+    }
+
+    private final class NioClientResponse extends ClientResponse {
+        private final ClientRequest ro;
+
+        NioClientResponse(Response.StatusType status, InBoundHeaders headers, byte[] entity,
+                ClientRequest ro) {
+            super(status, headers, new ByteArrayInputStream(entity), getMessageBodyWorkers());
+            this.ro = ro;
+        }
+
+        @Override
+        public String toString() {
+            return ro.getMethod() + " " + ro.getURI() + " returned a response status of " + this.getStatus() +
+                    " " + this.getClientResponseStatus();
+        }
+    }
+
+    /**
+     * The exchange of an HTTP request and response, and the future
+     * of the response.
+     */
+    private final class Exchange extends FutureTask<ClientResponse> {
+        private final ClientRequest ro;
+
+        private final FutureListener<ClientResponse> l;
+
+        private final AtomicBoolean finished = new AtomicBoolean();
+
+        private InetSocketAddress address;
+
+        private ByteBuffer request;
+
+        private HttpResponseParser parser;
+
+        private long connectTimeout;
+
+        private long readTimeout;
+
+        // The following fields are only accessed from the I/O thread
+
+        private SocketChannel channel;
+
+        private boolean connected;
+
+        private boolean timed;
+
+        private long deadline;
+
+        Exchange(ClientRequest ro, FutureListener<ClientResponse> l) {
+            super(NO_OP_CALLABLE);
+            this.ro = ro;
+            this.l = l;
+        }
+
+        /**
+         * Serialize the request on the calling thread.
+         */
+        void init() throws IOException {
+            final URI u = ro.getURI();
+            if (!"http".equalsIgnoreCase(u.getScheme()))
+                throw new ClientHandlerException("The URI scheme, " + u.getScheme() +
+                        ", of the URI " + u + " is not supported");
+            if (u.getHost() == null)
+                throw new ClientHandlerException("The URI " + u + " does not declare a host");
+
+            connectTimeout = getTimeout(ClientConfig.PROPERTY_CONNECT_TIMEOUT);
+            readTimeout = getTimeout(ClientConfig.PROPERTY_READ_TIMEOUT);
+
+            parser = new HttpResponseParser(ro.getMethod().equalsIgnoreCase("HEAD"));
+            request = encode(u);
+        }
+
+        /**
+         * Resolve the address on a thread of the executor and register
+         * the exchange with the I/O thread.
+         */
+        void resolve() {
+            if (isFinished())
+                return;
+
+            final URI u = ro.getURI();
+            address = new InetSocketAddress(u.getHost(), (u.getPort() == -1) ? 80 : u.getPort());
+            if (address.isUnresolved()) {
+                fail(new UnknownHostException(u.getHost()));
+                return;
+            }
+
+            register(this);
+        }
+
+        boolean isFinished() {
+            return finished.get() || isDone();
+        }
+
+        private long getTimeout(String name) {
+            final Integer timeout = (Integer)ro.getProperties().get(name);
+            return (timeout == null || timeout <= 0) ? 0 : TimeUnit.MILLISECONDS.toNanos(timeout);
+        }
+
+        private ByteBuffer encode(URI u) throws IOException {
+            // Serialize the entity first, since writing the entity may
+            // modify the request headers
+            final ByteArrayOutputStream entity = (ro.getEntity() != null)
+                    ? new ByteArrayOutputStream() : null;
+            if (entity != null) {
+                writeRequestEntity(ro, new RequestEntityWriterListener() {
+                    public void onRequestEntitySize(long size) {
+                    }
+
+                    public OutputStream onGetOutputStream() {
+                        return entity;
+                    }
+                });
+            }
+
+            final StringBuilder b = new StringBuilder();
+            b.append(ro.getMethod()).append(' ');
+            final String path = u.getRawPath();
+            b.append((path == null || path.length() == 0) ? "/" : path);
+            if (u.getRawQuery() != null)
+                b.append('?').append(u.getRawQuery());
+            b.append(" HTTP/1.1\r\n");
+
+            final MultivaluedMap<String, Object> headers = ro.getHeaders();
+            if (!containsHeader(headers, "Host")) {
+                b.append("Host: ").append(u.getHost());
+                if (u.getPort() != -1)
+                    b.append(':').append(u.getPort());
+                b.append("\r\n");
+            }
+            for (Map.Entry<String, List<Object>> e : headers.entrySet()) {
+                final String name = e.getKey();
+                if (name.equalsIgnoreCase("Content-Length") ||
+                        name.equalsIgnoreCase("Transfer-Encoding") ||
+                        name.equalsIgnoreCase("Connection"))
+                    continue;
+
+                b.append(name).append(": ");
+                boolean add = false;
+                for (Object v : e.getValue()) {
+                    if (add) b.append(',');
+                    add = true;
+                    b.append(ClientRequest.getHeaderValue(v));
+                }
+                b.append("\r\n");
+            }
+            if (entity != null)
+                b.append("Content-Length: ").append(entity.size()).append("\r\n");
+            b.append("Connection: close\r\n\r\n");
+
+            final byte[] head = b.toString().getBytes(ISO_8859_1);
+            final ByteBuffer bb = ByteBuffer.allocate(head.length +
+                    ((entity != null) ? entity.size() : 0));
+            bb.put(head);
+            if (entity != null)
+                bb.put(entity.toByteArray());
+            bb.flip();
+            return bb;
+        }
+
+        private boolean containsHeader(MultivaluedMap<String, Object> headers, String name) {
+            for (String n : headers.keySet()) {
+                if (n.equalsIgnoreCase(name))
+                    return true;
+            }
+            return false;
+        }
+
+        void connect() throws IOException {
+            channel = SocketChannel.open();
+            channel.configureBlocking(false);
+            if (channel.connect(address)) {
+                connected = true;
+                channel.register(selector, SelectionKey.OP_WRITE, this);
+                setDeadline(readTimeout);
+            } else {
+                channel.register(selector, SelectionKey.OP_CONNECT, this);
+                setDeadline(connectTimeout);
+            }
+        }
+
+        void process(SelectionKey k) throws IOException {
+            if (k.isConnectable()) {
+                if (!channel.finishConnect())
+                    return;
+
+                connected = true;
+                k.interestOps(SelectionKey.OP_WRITE);
+                setDeadline(readTimeout);
+                return;
+            }
+
+            if (k.isWritable()) {
+                channel.write(request);
+                if (!request.hasRemaining()) {
+                    k.interestOps(SelectionKey.OP_READ);
+                }
+                setDeadline(readTimeout);
+                return;
+            }
+
+            if (k.isReadable()) {
+                buffer.clear();
+                final int n = channel.read(buffer);
+                if (n == -1) {
+                    parser.eof();
+                    complete();
+                } else if (n > 0) {
+                    buffer.flip();
+                    if (parser.parse(buffer)) {
+                        complete();
+                    } else {
+                        setDeadline(readTimeout);
+                    }
+                }
+            }
+        }
+
+        private void setDeadline(long timeout) {
+            timed = timeout > 0;
+            deadline = System.nanoTime() + timeout;
+        }
+
+        private void complete() {
+            closeChannel();
+            if (!finished.compareAndSet(false, true))
+                return;
+
+            final int code = parser.getStatus();
+            final String reasonPhrase = parser.getReasonPhrase();
+            final Response.StatusType status = reasonPhrase == null ?
+                Statuses.from(code) : Statuses.from(code, reasonPhrase);
+            final ClientResponse cr = new NioClientResponse(status, parser.getHeaders(), parser.getEntity(), ro);
+            // The response is not shared until the future completes
+            final Object client = ro.getProperties().get(Client.class.getName());
+            if (client != null)
+                cr.getProperties().put(Client.class.getName(), client);
+            dispatch(new Runnable() {
+                public void run() {
+                    set(cr);
+                }
+            });
+        }
+
+        void fail(Throwable t) {
+            closeChannel();
+            if (!finished.compareAndSet(false, true))
+                return;
+
+            final Throwable ex = (t instanceof ClientHandlerException) ? t : new ClientHandlerException(t);
+            dispatch(new Runnable() {
+                public void run() {
+                    setException(ex);
+                }
+            });
+        }
+
+        void closeChannel() {
+            if (channel != null) {
+                try {
+                    channel.close();
+                } catch (IOException ex) {
+                    LOGGER.log(Level.FINE, "Error closing the channel", ex);
+                }
+            }
+        }
+
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning) {
+            final boolean cancelled = super.cancel(false);
+            if (cancelled) {
+                // Close the channel on the I/O thread
+                selector.wakeup();
+            }
+            return cancelled;
+        }
+
+        @Override
+        protected void done() {
+            if (l == null)
+                return;
+
+            try {
+                l.onComplete(this);
+            } catch (Throwable t) {
+                LOGGER.log(Level.SEVERE,
+                        "Throwable caught on call to ClientResponseListener.onComplete",
+                        t);
+            }
+        }
+    }
+
+    private static final class CallbackThreadFactory implements ThreadFactory {
+        private final String prefix;
+
+        private final AtomicInteger threadNumber = new AtomicInteger();
+
+        CallbackThreadFactory(int id) {
+            this.prefix = "jersey-client-callback-" + id + "-";
+        }
+
+        public Thread newThread(Runnable r) {
+            final Thread t = new Thread(r, prefix + threadNumber.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        }
+    }
+}
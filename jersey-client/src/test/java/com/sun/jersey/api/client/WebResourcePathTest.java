@@ -0,0 +1,94 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2026 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+
+package com.sun.jersey.api.client;
+
+import java.net.URI;
+import junit.framework.TestCase;
+
+/**
+ *
+ * @author agent@local
+ */
+public class WebResourcePathTest extends TestCase {
+
+    public void testPath() {
+        WebResource r = Client.create().resource("http://localhost:8080/base");
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals(URI.create("http://localhost:8080/base/a/b"),
+                    r.path("a/b").getURI());
+            assertEquals(URI.create("http://localhost:8080/base/a%20b"),
+                    r.path("a b").getURI());
+            assertEquals(URI.create("http://localhost:8080/base/%7Bid%7D"),
+                    r.path("{id}").getURI());
+        }
+    }
+
+    public void testPathTemplate() {
+        WebResource r = Client.create().resource("http://localhost:8080/base");
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals(URI.create("http://localhost:8080/base/users/" + i + "/orders/a%20b"),
+                    r.path("users/{id}/orders/{order}", i, "a b").getURI());
+            assertEquals(r.getUriBuilder().path("users/{id}/orders/{order}").build(i, "a b"),
+                    r.path("users/{id}/orders/{order}", i, "a b").getURI());
+        }
+    }
+
+    public void testPathTemplateNoValue() {
+        WebResource r = Client.create().resource("http://localhost:8080/base");
+
+        try {
+            r.path("users/{id}/orders/{order}", 1);
+            fail();
+        } catch (IllegalArgumentException ex) {
+        }
+    }
+
+    public void testAsyncPathTemplate() {
+        AsyncWebResource r = Client.create().asyncResource("http://localhost:8080/base");
+
+        assertEquals(URI.create("http://localhost:8080/base/a/b"),
+                r.path("a/b").getURI());
+        assertEquals(URI.create("http://localhost:8080/base/users/1"),
+                r.path("users/{id}", 1).getURI());
+    }
+}
@@ -1,7 +1,7 @@
 /*
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
  *
- * Copyright (c) 2010-2011 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2010-2013 Oracle and/or its affiliates. All rights reserved.
  *
  * The contents of this file are subject to the terms of either the GNU
  * General Public License Version 2 only ("GPL") or the Common Development
@@ -41,6 +41,7 @@ package com.sun.jersey.api.client.filter;
 
 import junit.framework.TestCase;
 
+import java.net.URI;
 import java.util.Arrays;
 import java.util.HashMap;
 
@@ -112,5 +113,23 @@ public class HTTPDigestAuthFilterTest extends TestCase {
         assertEquals("bar", map.get("foo"));
     }
 
-}
+    public void testGetServer() {
+        assertEquals("http://localhost:80",
+                HTTPDigestAuthFilter.getServer(URI.create("http://LocalHost/a")));
+        assertEquals("https://localhost:443",
+                HTTPDigestAuthFilter.getServer(URI.create("https://localhost/a")));
+        assertEquals("http://localhost:8080",
+                HTTPDigestAuthFilter.getServer(URI.create("http://localhost:8080/a")));
+    }
+
+    public void testParseDomain() {
+        String[] domain = HTTPDigestAuthFilter.parseDomain("http://localhost:80",
+                "/a/  http://localhost/b http://otherhost/c");
+        assertEquals(Arrays.asList("/a/", "/b"), Arrays.asList(domain));
 
+        assertEquals(0, HTTPDigestAuthFilter.parseDomain("http://localhost:80", null).length);
+        assertEquals(0, HTTPDigestAuthFilter.parseDomain("http://localhost:80",
+                "http://otherhost/c").length);
+    }
+
+}
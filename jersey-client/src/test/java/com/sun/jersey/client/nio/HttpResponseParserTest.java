@@ -0,0 +1,144 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2026 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+
+package com.sun.jersey.client.nio;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import junit.framework.TestCase;
+
+/**
+ *
+ * @author agent@local
+ */
+public class HttpResponseParserTest extends TestCase {
+
+    public void testContentLength() throws Exception {
+        HttpResponseParser p = parse(false,
+                "HTTP/1.1 200 OK\r\nContent-Length: 5\r\nX-A: 1\r\nx-a: 2\r\n\r\nhello");
+        assertTrue(p.isComplete());
+        assertEquals(200, p.getStatus());
+        assertEquals("OK", p.getReasonPhrase());
+        assertEquals(2, p.getHeaders().get("X-A").size());
+        assertEquals("hello", new String(p.getEntity(), "US-ASCII"));
+    }
+
+    public void testChunked() throws Exception {
+        HttpResponseParser p = parse(false,
+                "HTTP/1.1 200 OK\r\nTransfer-Encoding: chunked\r\n\r\n" +
+                "5;ext=1\r\nhello\r\n6\r\n world\r\n0\r\nX-Trailer: t\r\n\r\n");
+        assertTrue(p.isComplete());
+        assertEquals("hello world", new String(p.getEntity(), "US-ASCII"));
+        assertEquals("t", p.getHeaders().getFirst("X-Trailer"));
+    }
+
+    public void testInformational() throws Exception {
+        HttpResponseParser p = parse(false,
+                "HTTP/1.1 100 Continue\r\n\r\nHTTP/1.1 201 Created\r\nContent-Length: 0\r\n\r\n");
+        assertTrue(p.isComplete());
+        assertEquals(201, p.getStatus());
+        assertEquals(1, p.getHeaders().size());
+    }
+
+    public void testNoEntity() throws Exception {
+        assertTrue(parse(true, "HTTP/1.1 200 OK\r\nContent-Length: 10\r\n\r\n").isComplete());
+        assertTrue(parse(false, "HTTP/1.1 204 No Content\r\n\r\n").isComplete());
+        assertTrue(parse(false, "HTTP/1.1 304 Not Modified\r\n\r\n").isComplete());
+    }
+
+    public void testUntilClose() throws Exception {
+        HttpResponseParser p = parse(false, "HTTP/1.0 200 OK\r\n\r\nhello");
+        assertFalse(p.isComplete());
+        assertTrue(p.eof());
+        assertEquals("hello", new String(p.getEntity(), "US-ASCII"));
+    }
+
+    public void testTruncated() throws Exception {
+        HttpResponseParser p = parse(false, "HTTP/1.1 200 OK\r\nContent-Length: 10\r\n\r\nhello");
+        assertFalse(p.isComplete());
+        try {
+            p.eof();
+            fail();
+        } catch (EOFException ex) {
+        }
+    }
+
+    public void testNoReasonPhrase() throws Exception {
+        HttpResponseParser p = parse(false, "HTTP/1.1 200\r\nContent-Length: 0\r\n\r\n");
+        assertEquals(200, p.getStatus());
+        assertNull(p.getReasonPhrase());
+    }
+
+    public void testInvalid() throws Exception {
+        try {
+            parse(false, "FOO 200 OK\r\n\r\n");
+            fail();
+        } catch (IOException ex) {
+        }
+        try {
+            parse(false, "HTTP/1.1 200 OK\r\nContent-Length: x\r\n\r\n");
+            fail();
+        } catch (IOException ex) {
+        }
+        try {
+            parse(false, "HTTP/1.1 200 OK\r\nTransfer-Encoding: chunked\r\n\r\nz\r\n");
+            fail();
+        } catch (IOException ex) {
+        }
+    }
+
+    private HttpResponseParser parse(boolean noEntity, String s) throws IOException {
+        byte[] b = s.getBytes("US-ASCII");
+
+        // Parse one byte at a time
+        HttpResponseParser p = new HttpResponseParser(noEntity);
+        for (int i = 0; i < b.length && !p.isComplete(); i++) {
+            p.parse(ByteBuffer.wrap(b, i, 1));
+        }
+
+        // Parse all bytes at once
+        HttpResponseParser all = new HttpResponseParser(noEntity);
+        all.parse(ByteBuffer.wrap(b));
+        assertEquals(p.isComplete(), all.isComplete());
+        assertEquals(new String(p.getEntity(), "US-ASCII"), new String(all.getEntity(), "US-ASCII"));
+        return p;
+    }
+}
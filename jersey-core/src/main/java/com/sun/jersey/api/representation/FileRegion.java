@@ -0,0 +1,126 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2026 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+
+package com.sun.jersey.api.representation;
+
+import java.io.File;
+
+/**
+ * A region of a file, that is a sequence of bytes of a file starting
+ * at a position in the file.
+ * <p>
+ * A file region may be returned as a response entity, or utilized as a
+ * request entity, when the bytes of the region are written directly from
+ * the file. If supported by the underlying container, or client, the bytes
+ * are transferred from the file to the connection without copying the bytes
+ * to the Java heap, see {@link com.sun.jersey.core.util.FileRegionTransferable}.
+ *
+ * @author agent@local
+ */
+public final class FileRegion {
+
+    private final File file;
+
+    private final long position;
+
+    private final long length;
+
+    /**
+     * Create a file region of all the bytes of a file.
+     *
+     * @param file the file.
+     */
+    public FileRegion(File file) {
+        this(file, 0, file.length());
+    }
+
+    /**
+     * Create a file region.
+     *
+     * @param file the file.
+     * @param position the position of the first byte of the region.
+     * @param length the number of bytes of the region.
+     * @throws IllegalArgumentException if the position or length is negative.
+     */
+    public FileRegion(File file, long position, long length) {
+        if (file == null)
+            throw new IllegalArgumentException("File is null");
+        if (position < 0)
+            throw new IllegalArgumentException("Position is negative: " + position);
+        if (length < 0)
+            throw new IllegalArgumentException("Length is negative: " + length);
+
+        this.file = file;
+        this.position = position;
+        this.length = length;
+    }
+
+    /**
+     * Get the file.
+     *
+     * @return the file.
+     */
+    public File getFile() {
+        return file;
+    }
+
+    /**
+     * Get the position of the first byte of the region.
+     *
+     * @return the position.
+     */
+    public long getPosition() {
+        return position;
+    }
+
+    /**
+     * Get the number of bytes of the region.
+     *
+     * @return the length.
+     */
+    public long getLength() {
+        return length;
+    }
+
+    @Override
+    public String toString() {
+        return file + "[" + position + ", " + (position + length) + ")";
+    }
+}
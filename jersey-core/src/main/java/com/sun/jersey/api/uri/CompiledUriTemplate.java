@@ -0,0 +1,375 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2026 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+
+package com.sun.jersey.api.uri;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.regex.Matcher;
+
+/**
+ * A compiled URI template for creating URIs from template values.
+ * <p>
+ * The component parts of the URI template are parsed once, when the template
+ * is compiled, into literal characters and template variables. A URI is
+ * created from the compiled template in one pass, appending the literal
+ * characters and the encoded template values to a single string builder.
+ * <p>
+ * A URI created from a compiled template is identical to that created by
+ * the corresponding <code>createURI</code> method of {@link UriTemplate}.
+ * Instances are immutable and may be shared between threads.
+ * <p>
+ * Compiled templates of component parts containing template variables are
+ * cached, keyed by the component parts. The cache is bounded to
+ * {@link #MAX_ENTRIES} entries and is cleared when full.
+ *
+ * @author agent@local
+ * @see UriBuilderImpl#compile()
+ */
+public final class CompiledUriTemplate {
+
+    /**
+     * The maximum number of compiled templates that are cached.
+     */
+    public static final int MAX_ENTRIES = 256;
+
+    private static final ConcurrentMap<List<String>, CompiledUriTemplate> templates =
+            new ConcurrentHashMap<List<String>, CompiledUriTemplate>();
+
+    private static final Object[] EMPTY_VALUES = new Object[0];
+
+    private static final class Variable {
+        final int index;
+
+        final UriComponent.Type type;
+
+        final boolean contextualEncode;
+
+        Variable(int index, UriComponent.Type type, boolean contextualEncode) {
+            this.index = index;
+            this.type = type;
+            this.contextualEncode = contextualEncode;
+        }
+    }
+
+    /**
+     * The literal strings and template variables, in order.
+     */
+    private final Object[] parts;
+
+    /**
+     * The template variable names in the order of first occurrence.
+     */
+    private final String[] names;
+
+    private final int literalLength;
+
+    private CompiledUriTemplate(Object[] parts, String[] names, int literalLength) {
+        this.parts = parts;
+        this.names = names;
+        this.literalLength = literalLength;
+    }
+
+    /**
+     * Compile a URI template from the component parts each of which may
+     * contain template variables.
+     *
+     * @param scheme the URI scheme component
+     * @param authority the URI authority component
+     * @param userInfo the URI user info component
+     * @param host the URI host component
+     * @param port the URI port component
+     * @param path the URI path component
+     * @param query the URI query componnet
+     * @param fragment the URI fragment component
+     * @return the compiled URI template.
+     * @throws IllegalArgumentException if a component part is not a valid
+     *         template.
+     */
+    public static CompiledUriTemplate compile(
+            final String scheme, final String authority,
+            final String userInfo, final String host, final String port,
+            final String path, final String query, final String fragment) {
+        final List<String> key = Arrays.asList(
+                scheme, authority, userInfo, host, port, path, query, fragment);
+        if (!hasTemplateVariables(key)) {
+            return new Compiler().compile(scheme, authority, userInfo, host, port,
+                    path, query, fragment);
+        }
+
+        CompiledUriTemplate t = templates.get(key);
+        if (t == null) {
+            t = new Compiler().compile(scheme, authority, userInfo, host, port,
+                    path, query, fragment);
+            if (templates.size() >= MAX_ENTRIES) {
+                templates.clear();
+            }
+            final CompiledUriTemplate existing = templates.putIfAbsent(key, t);
+            if (existing != null) {
+                t = existing;
+            }
+        }
+        return t;
+    }
+
+    private static boolean hasTemplateVariables(List<String> components) {
+        for (String c : components) {
+            if (c != null && c.indexOf('{') != -1)
+                return true;
+        }
+        return false;
+    }
+
+    /**
+     * Get the template variable names, in the order of first occurrence,
+     * which is the order in which template values in an array are assigned.
+     *
+     * @return the unmodifiable list of template variable names.
+     */
+    public List<String> getTemplateVariables() {
+        return Collections.unmodifiableList(Arrays.asList(names));
+    }
+
+    /**
+     * Create a URI from an array of template values.
+     * <p>
+     * The template values are an array of Object and each Object instance
+     * MUST support the toString() method to convert the template value to
+     * a String instance. The template values are assigned in order to the
+     * template variables, see {@link #getTemplateVariables() }. Additional
+     * template values are ignored.
+     *
+     * @param values the array of template values
+     * @param encode if true encode a template value according to the correspond
+     *        component type of the associated template variable, otherwise
+     *        contextually encode the template value
+     * @return a URI
+     * @throws IllegalArgumentException if a template variable has no value.
+     */
+    public String createURI(final Object[] values, final boolean encode) {
+        return createURI(values, Collections.<String, Object>emptyMap(), encode);
+    }
+
+    /**
+     * Create a URI from a map of template values.
+     * <p>
+     * A template value is an Object instance that MUST support the toString()
+     * method to convert the template value to a String instance.
+     *
+     * @param values the template variable to value map
+     * @param encode if true encode a template value according to the correspond
+     *        component type of the associated template variable, otherwise
+     *        contextually encode the template value
+     * @return a URI
+     * @throws IllegalArgumentException if a template variable has no value.
+     */
+    public String createURI(final Map<String, ? extends Object> values, final boolean encode) {
+        return createURI(EMPTY_VALUES, values, encode);
+    }
+
+    /* package */ String createURI(final Object[] values,
+            final Map<String, ? extends Object> mapValues,
+            final boolean encode) {
+        if (names.length == 0) {
+            return (String)parts[0];
+        }
+
+        // Obtain the value of each template variable, a value in the map
+        // takes precedence over the next value in the array
+        final String[] stringValues = new String[names.length];
+        int v = 0;
+        for (int i = 0; i < names.length; i++) {
+            Object tValue = mapValues.get(names[i]);
+            if (tValue == null && v < values.length) {
+                tValue = values[v++];
+            }
+            if (tValue == null) {
+                throw templateVariableHasNoValue(names[i]);
+            }
+            stringValues[i] = tValue.toString();
+        }
+
+        final StringBuilder b = new StringBuilder(literalLength + 16 * names.length);
+        for (Object part : parts) {
+            if (part instanceof String) {
+                b.append((String)part);
+            } else {
+                final Variable variable = (Variable)part;
+                final String tValue = stringValues[variable.index];
+                b.append((encode && !variable.contextualEncode)
+                        ? UriComponent.encode(tValue, variable.type)
+                        : UriComponent.contextualEncode(tValue, variable.type));
+            }
+        }
+        return b.toString();
+    }
+
+    private static IllegalArgumentException templateVariableHasNoValue(String tVariable) {
+        return new IllegalArgumentException("The template variable, " +
+                                tVariable + ", has no value");
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder b = new StringBuilder();
+        for (Object part : parts) {
+            if (part instanceof String) {
+                b.append((String)part);
+            } else {
+                b.append('{').append(names[((Variable)part).index]).append('}');
+            }
+        }
+        return b.toString();
+    }
+
+    /**
+     * Parses the component parts of a URI template into literal strings and
+     * template variables, merging adjacent literal strings.
+     */
+    private static final class Compiler {
+        private final List<Object> parts = new ArrayList<Object>();
+
+        private final Map<String, Integer> indexes = new HashMap<String, Integer>();
+
+        private final List<String> names = new ArrayList<String>();
+
+        private final StringBuilder literal = new StringBuilder();
+
+        private int literalLength;
+
+        CompiledUriTemplate compile(
+                final String scheme, final String authority,
+                final String userInfo, final String host, final String port,
+                final String path, final String query, final String fragment) {
+            if (scheme != null) {
+                component(UriComponent.Type.SCHEME, scheme, true);
+                literal.append(':');
+            }
+
+            if (userInfo != null || host != null || port != null) {
+                literal.append("//");
+
+                if (userInfo != null && userInfo.length() > 0) {
+                    component(UriComponent.Type.USER_INFO, userInfo, false);
+                    literal.append('@');
+                }
+
+                if (host != null) {
+                    // TODO check IPv6 address
+                    component(UriComponent.Type.HOST, host, false);
+                }
+
+                if (port != null && port.length() > 0) {
+                    literal.append(':');
+                    component(UriComponent.Type.PORT, port, true);
+                }
+            } else if (authority != null) {
+                literal.append("//");
+
+                component(UriComponent.Type.AUTHORITY, authority, false);
+            }
+
+            if (path != null && path.length() > 0) {
+                if ((literal.length() > 0 || !parts.isEmpty()) && path.charAt(0) != '/') {
+                    literal.append('/');
+                }
+                component(UriComponent.Type.PATH, path, false);
+            }
+
+            if (query != null && query.length() > 0) {
+                literal.append('?');
+                component(UriComponent.Type.QUERY_PARAM, query, false);
+            }
+
+            if (fragment != null && fragment.length() > 0) {
+                literal.append('#');
+                component(UriComponent.Type.FRAGMENT, fragment, false);
+            }
+
+            flushLiteral();
+            if (parts.isEmpty()) {
+                parts.add("");
+            }
+            return new CompiledUriTemplate(parts.toArray(),
+                    names.toArray(new String[names.size()]), literalLength);
+        }
+
+        private void component(final UriComponent.Type t, String template,
+                final boolean contextualEncode) {
+            if (template.indexOf('{') == -1) {
+                literal.append(template);
+                return;
+            }
+
+            template = new UriTemplateParser(template).getNormalizedTemplate();
+            final Matcher m = UriTemplate.TEMPLATE_NAMES_PATTERN.matcher(template);
+            int i = 0;
+            while (m.find()) {
+                literal.append(template, i, m.start());
+                flushLiteral();
+
+                final String tVariable = m.group(1);
+                Integer index = indexes.get(tVariable);
+                if (index == null) {
+                    index = names.size();
+                    indexes.put(tVariable, index);
+                    names.add(tVariable);
+                }
+                parts.add(new Variable(index, t, contextualEncode));
+                i = m.end();
+            }
+            literal.append(template, i, template.length());
+        }
+
+        private void flushLiteral() {
+            if (literal.length() > 0) {
+                parts.add(literal.toString());
+                literalLength += literal.length();
+                literal.setLength(0);
+            }
+        }
+    }
+}
@@ -622,18 +622,7 @@ public class UriBuilderImpl extends UriBuilder {
     }
 
     private URI _buildFromMap(boolean encode, Map<String, ? extends Object> values) {
-        if (ssp != null) {
-            throw new IllegalArgumentException("Schema specific part is opaque");
-        }
-
-        encodeMatrix();
-        encodeQuery();
-
-        String uri = UriTemplate.createURI(
-                scheme, authority,
-                userInfo, host, (port != -1) ? String.valueOf(port) : null,
-                path.toString(), query.toString(), fragment, values, encode);
-        return createURI(uri);
+        return createURI(compile().createURI(values, encode));
     }
 
     @Override
@@ -651,6 +640,20 @@ public class UriBuilderImpl extends UriBuilder {
             return createURI(create());
         }
 
+        return createURI(compile().createURI(values, encode));
+    }
+
+    /**
+     * Compile the URI template of this builder.
+     * <p>
+     * The compiled template is independent of this builder and may be
+     * used to create many URIs from template values without reparsing the
+     * template, for example when the same URI template is built repeatedly.
+     *
+     * @return the compiled URI template.
+     * @throws IllegalArgumentException if the schema specific part is opaque.
+     */
+    public CompiledUriTemplate compile() {
         if (ssp != null) {
             throw new IllegalArgumentException("Schema specific part is opaque");
         }
@@ -658,11 +661,10 @@ public class UriBuilderImpl extends UriBuilder {
         encodeMatrix();
         encodeQuery();
 
-        String uri = UriTemplate.createURI(
+        return CompiledUriTemplate.compile(
                 scheme, authority,
                 userInfo, host, (port != -1) ? String.valueOf(port) : null,
-                path.toString(), query.toString(), fragment, values, encode);
-        return createURI(uri);
+                path.toString(), query.toString(), fragment);
     }
 
     private String create() {
@@ -1,7 +1,7 @@
 /*
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
  *
- * Copyright (c) 2010-2012 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2010-2013 Oracle and/or its affiliates. All rights reserved.
  *
  * The contents of this file are subject to the terms of either the GNU
  * General Public License Version 2 only ("GPL") or the Common Development
@@ -115,7 +115,7 @@ public class UriTemplate {
     /**
      * The regular expression for matching URI templates and names.
      */
-    private static final Pattern TEMPLATE_NAMES_PATTERN = Pattern.compile("\\{(\\w[-\\w\\.]*)\\}");
+    static final Pattern TEMPLATE_NAMES_PATTERN = Pattern.compile("\\{(\\w[-\\w\\.]*)\\}");
 
     /**
      * The empty URI template that matches the null or empty URI path
@@ -718,7 +718,7 @@ public class UriTemplate {
             final String[] values, final boolean encode) {
 
         return createURIWithStringValues(scheme, authority, userInfo, host, port, path, query, fragment, values, encode,
-                new HashMap<String, Object>());
+                Collections.<String, Object>emptyMap());
     }
 
     private static String createURIWithStringValues(
@@ -726,105 +726,7 @@ public class UriTemplate {
             final String path, final String query, final String fragment, final String values[], final boolean encode,
             final Map<String, Object> mapValues) {
 
-        final StringBuilder sb = new StringBuilder();
-        int offset = 0;
-
-        if (scheme != null) {
-            offset = createURIComponent(UriComponent.Type.SCHEME, scheme, values,
-                    offset, false, mapValues, sb);
-            sb.append(':');
-        }
-
-        if (userInfo != null || host != null || port != null) {
-            sb.append("//");
-
-            if (userInfo != null && userInfo.length() > 0) {
-                offset = createURIComponent(UriComponent.Type.USER_INFO, userInfo, values,
-                        offset, encode, mapValues, sb);
-                sb.append('@');
-            }
-
-            if (host != null) {
-                // TODO check IPv6 address
-                offset = createURIComponent(UriComponent.Type.HOST, host, values,
-                        offset, encode, mapValues, sb);
-            }
-
-            if (port != null && port.length() > 0) {
-                sb.append(':');
-                offset = createURIComponent(UriComponent.Type.PORT, port, values,
-                        offset, false, mapValues, sb);
-            }
-        } else if (authority != null) {
-            sb.append("//");
-
-            offset = createURIComponent(UriComponent.Type.AUTHORITY, authority, values,
-                    offset, encode, mapValues, sb);
-        }
-
-        if (path != null && path.length() > 0) {
-            if (sb.length() > 0 && path.charAt(0) != '/') {
-                sb.append('/');
-            }
-            offset = createURIComponent(UriComponent.Type.PATH, path, values,
-                    offset, encode, mapValues, sb);
-        }
-
-        if (query != null && query.length() > 0) {
-            sb.append('?');
-            offset = createURIComponent(UriComponent.Type.QUERY_PARAM, query, values,
-                    offset, encode, mapValues, sb);
-        }
-
-        if (fragment != null && fragment.length() > 0) {
-            sb.append('#');
-            offset = createURIComponent(UriComponent.Type.FRAGMENT, fragment, values,
-                    offset, encode, mapValues, sb);
-        }
-        return sb.toString();
-    }
-
-    private static int createURIComponent(final UriComponent.Type t,
-            String template,
-            final String[] values, final int offset,
-            final boolean encode,
-            final Map<String, Object> mapValues,
-            final StringBuilder b) {
-        if (template.indexOf('{') == -1) {
-            b.append(template);
-            return offset;
-        }
-
-        // Find all template variables
-        template = new UriTemplateParser(template).getNormalizedTemplate();
-        final Matcher m = TEMPLATE_NAMES_PATTERN.matcher(template);
-        int v = offset;
-        int i = 0;
-        while(m.find()) {
-            b.append(template, i, m.start());
-            final String tVariable = m.group(1);
-            // Check if a template variable has already occurred
-            // If so use the value to ensure that two or more declarations of
-            // a template variable have the same value
-            Object tValue = mapValues.get(tVariable);
-            if (tValue == null && v < values.length) {
-                tValue = values[v++];
-            }
-            if (tValue != null) {
-                mapValues.put(tVariable, tValue);
-                tValue = encode ? UriComponent.encode(tValue.toString(), t) : UriComponent.contextualEncode(tValue.toString(), t);
-                b.append(tValue);
-            } else {
-                throw templateVariableHasNoValue(tVariable);
-            }
-            i = m.end();
-        }
-        b.append(template, i, template.length());
-        return v;
-    }
-
-    private static IllegalArgumentException templateVariableHasNoValue(String tVariable) {
-        return new IllegalArgumentException("The template variable, " +
-                                tVariable + ", has no value");
+        return CompiledUriTemplate.compile(scheme, authority, userInfo, host, port, path, query, fragment).
+                createURI(values, mapValues, encode);
     }
 }
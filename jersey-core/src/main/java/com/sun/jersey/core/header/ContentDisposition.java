@@ -199,7 +199,7 @@ public class ContentDisposition {
 
     protected void addDateParameter(StringBuilder sb, String name, Date p) {
         if (p != null)
-            sb.append("; ").append(name).append("=\"").append(HttpDateFormat.getPreferedDateFormat().format(p)).append("\"");
+            sb.append("; ").append(name).append("=\"").append(HttpDateFormat.formatDate(p)).append("\"");
     }
 
     protected void addLongParameter(StringBuilder sb, String name, Long p) {
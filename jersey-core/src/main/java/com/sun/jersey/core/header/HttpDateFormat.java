@@ -1,7 +1,7 @@
 /*
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
  *
- * Copyright (c) 2010-2011 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2010-2013 Oracle and/or its affiliates. All rights reserved.
  *
  * The contents of this file are subject to the terms of either the GNU
  * General Public License Version 2 only ("GPL") or the Common Development
@@ -51,6 +51,11 @@ import java.util.TimeZone;
 
 /**
  * Helper class for HTTP specified date formats.
+ * <p>
+ * Dates in the formats specified by HTTP, in the GMT time zone and from the
+ * year 1583 onwards, are parsed and formatted without the use of
+ * {@link SimpleDateFormat}. Other dates are parsed and formatted using the
+ * date formats returned by {@link #getDateFormats()}.
  *
  * @author Paul.Sandoz@Sun.Com
  */
@@ -132,6 +137,11 @@ public class HttpDateFormat {
      * @throws java.text.ParseException
      */
     public static Date readDate(String date) throws ParseException {
+        final long time = parse(date);
+        if (time != INVALID_DATE) {
+            return new Date(time);
+        }
+
         ParseException pe = null;
         for (SimpleDateFormat f : HttpDateFormat.getDateFormats()) {
             try {
@@ -143,4 +153,337 @@ public class HttpDateFormat {
 
         throw pe;
     }
+
+    /**
+     * Format a date using the preferred HTTP specified date format (RFC 1123).
+     * <p>
+     * The current second and the last other formatted second are cached in
+     * separate slots, hence formatting the current date several times in the
+     * same second, as is the case for response headers, formats the date once
+     * even when other dates are formatted in between.
+     *
+     * @param date the date.
+     * @return the formatted date.
+     */
+    public static String formatDate(Date date) {
+        return formatDate(date.getTime());
+    }
+
+    private static final long INVALID_DATE = Long.MIN_VALUE;
+
+    /**
+     * The first year of the Gregorian calendar that is not affected by the
+     * Julian to Gregorian cutover of {@link java.util.GregorianCalendar}.
+     */
+    private static final int MIN_YEAR = 1583;
+
+    private static final int MAX_YEAR = 9999;
+
+    private static final String[] DAYS = {
+        "Sunday", "Monday", "Tuesday", "Wednesday", "Thursday", "Friday", "Saturday"
+    };
+
+    private static final String[] MONTHS = {
+        "Jan", "Feb", "Mar", "Apr", "May", "Jun",
+        "Jul", "Aug", "Sep", "Oct", "Nov", "Dec"
+    };
+
+    private static final class FormattedDate {
+        final long second;
+        final String text;
+
+        FormattedDate(long second, String text) {
+            this.second = second;
+            this.text = text;
+        }
+    }
+
+    private static volatile FormattedDate currentDate = new FormattedDate(INVALID_DATE, null);
+
+    private static volatile FormattedDate lastFormattedDate = new FormattedDate(INVALID_DATE, null);
+
+    private static String formatDate(long time) {
+        final long second = floorDiv(time, 1000);
+        final FormattedDate current = currentDate;
+        if (current.second == second) {
+            return current.text;
+        }
+        final FormattedDate last = lastFormattedDate;
+        if (last.second == second) {
+            return last.text;
+        }
+
+        final String text = format(time, second);
+        if (second == System.currentTimeMillis() / 1000) {
+            currentDate = new FormattedDate(second, text);
+        } else {
+            lastFormattedDate = new FormattedDate(second, text);
+        }
+        return text;
+    }
+
+    private static String format(long time, long second) {
+        final long days = floorDiv(second, 86400);
+        final int secondOfDay = (int) (second - days * 86400);
+        final long civil = civilFromDays(days);
+        final int year = (int) (civil >> 16);
+        if (year < MIN_YEAR || year > MAX_YEAR) {
+            return getPreferedDateFormat().format(new Date(time));
+        }
+        final int month = (int) ((civil >> 8) & 0xFF);
+        final int day = (int) (civil & 0xFF);
+
+        // 1970-01-01 was a Thursday
+        final String dayName = DAYS[(int) (((days % 7) + 11) % 7)];
+        final String monthName = MONTHS[month - 1];
+
+        final char[] c = new char[29];
+        c[0] = dayName.charAt(0);
+        c[1] = dayName.charAt(1);
+        c[2] = dayName.charAt(2);
+        c[3] = ',';
+        c[4] = ' ';
+        twoDigits(c, 5, day);
+        c[7] = ' ';
+        c[8] = monthName.charAt(0);
+        c[9] = monthName.charAt(1);
+        c[10] = monthName.charAt(2);
+        c[11] = ' ';
+        twoDigits(c, 12, year / 100);
+        twoDigits(c, 14, year % 100);
+        c[16] = ' ';
+        twoDigits(c, 17, secondOfDay / 3600);
+        c[19] = ':';
+        twoDigits(c, 20, (secondOfDay / 60) % 60);
+        c[22] = ':';
+        twoDigits(c, 23, secondOfDay % 60);
+        c[25] = ' ';
+        c[26] = 'G';
+        c[27] = 'M';
+        c[28] = 'T';
+
+        return new String(c);
+    }
+
+    private static void twoDigits(char[] c, int offset, int value) {
+        c[offset] = (char) ('0' + value / 10);
+        c[offset + 1] = (char) ('0' + value % 10);
+    }
+
+    /**
+     * Parse a date in one of the HTTP specified date formats, in the GMT
+     * time zone.
+     *
+     * @param date the date as a string.
+     * @return the milliseconds since the epoch, or {@link #INVALID_DATE} if
+     *         the date is not in one of the formats, or is a date that is to
+     *         be parsed using {@link SimpleDateFormat}.
+     */
+    private static long parse(String date) {
+        final DateParser p = dateParser.get().reset(date);
+        final int comma = date.indexOf(',');
+        if (comma == -1) {
+            // ANSI C asctime(): "Sun Nov  6 08:49:37 1994"
+            if (!p.dayName(false) || !p.space()) return INVALID_DATE;
+            final int month = p.month();
+            if (month == 0 || !p.space()) return INVALID_DATE;
+            p.spaces();
+            final int day = p.number(1, 2);
+            if (day == -1 || !p.space()) return INVALID_DATE;
+            final int secondOfDay = p.time();
+            if (secondOfDay == -1 || !p.space()) return INVALID_DATE;
+            final int year = p.number(4, 4);
+            if (year == -1 || !p.end()) return INVALID_DATE;
+            return toTime(year, month, day, secondOfDay);
+        } else if (comma == 3) {
+            // RFC 1123: "Sun, 06 Nov 1994 08:49:37 GMT"
+            if (!p.dayName(false) || !p.next(',') || !p.space()) return INVALID_DATE;
+            final int day = p.number(1, 2);
+            if (day == -1 || !p.space()) return INVALID_DATE;
+            final int month = p.month();
+            if (month == 0 || !p.space()) return INVALID_DATE;
+            final int year = p.number(4, 4);
+            if (year == -1 || !p.space()) return INVALID_DATE;
+            final int secondOfDay = p.time();
+            if (secondOfDay == -1 || !p.space() || !p.gmt()) return INVALID_DATE;
+            return toTime(year, month, day, secondOfDay);
+        } else {
+            // RFC 1036: "Sunday, 06-Nov-94 08:49:37 GMT"
+            if (!p.dayName(true) || !p.next(',') || !p.space()) return INVALID_DATE;
+            final int day = p.number(1, 2);
+            if (day == -1 || !p.next('-')) return INVALID_DATE;
+            final int month = p.month();
+            if (month == 0 || !p.next('-')) return INVALID_DATE;
+            final int year = p.number(2, 2);
+            if (year == -1 || !p.space()) return INVALID_DATE;
+            final int secondOfDay = p.time();
+            if (secondOfDay == -1 || !p.space() || !p.gmt()) return INVALID_DATE;
+            return toTime(year, month, day, secondOfDay, System.currentTimeMillis());
+        }
+    }
+
+    private static final ThreadLocal<DateParser> dateParser = new ThreadLocal<DateParser>() {
+        @Override
+        protected DateParser initialValue() {
+            return new DateParser();
+        }
+    };
+
+    private static final class DateParser {
+        private String s;
+        private int i;
+
+        DateParser reset(String s) {
+            this.s = s;
+            this.i = 0;
+            return this;
+        }
+
+        boolean end() {
+            return i == s.length();
+        }
+
+        boolean next(char c) {
+            if (i < s.length() && s.charAt(i) == c) {
+                i++;
+                return true;
+            }
+            return false;
+        }
+
+        boolean space() {
+            return next(' ');
+        }
+
+        void spaces() {
+            while (next(' ')) {
+            }
+        }
+
+        boolean gmt() {
+            if (s.length() - i == 3 && s.regionMatches(true, i, "GMT", 0, 3)) {
+                i += 3;
+                return true;
+            }
+            return false;
+        }
+
+        boolean dayName(boolean full) {
+            for (String day : DAYS) {
+                final int length = full ? day.length() : 3;
+                if (s.regionMatches(true, i, day, 0, length)) {
+                    i += length;
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        int month() {
+            for (int m = 0; m < MONTHS.length; m++) {
+                if (s.regionMatches(true, i, MONTHS[m], 0, 3)) {
+                    i += 3;
+                    return m + 1;
+                }
+            }
+            return 0;
+        }
+
+        int number(int minDigits, int maxDigits) {
+            int value = 0;
+            int digits = 0;
+            while (digits < maxDigits && i < s.length()) {
+                final char c = s.charAt(i);
+                if (c < '0' || c > '9') {
+                    break;
+                }
+                value = value * 10 + (c - '0');
+                digits++;
+                i++;
+            }
+            return (digits < minDigits) ? -1 : value;
+        }
+
+        int time() {
+            final int hours = number(2, 2);
+            if (hours == -1 || hours > 23 || !next(':')) return -1;
+            final int minutes = number(2, 2);
+            if (minutes == -1 || minutes > 59 || !next(':')) return -1;
+            final int seconds = number(2, 2);
+            if (seconds == -1 || seconds > 59) return -1;
+            return hours * 3600 + minutes * 60 + seconds;
+        }
+    }
+
+    /**
+     * Get the time of a date with a two digit year. As for
+     * {@link SimpleDateFormat} the date is resolved to be within 80 years
+     * before and 20 years after the current date.
+     */
+    private static long toTime(int twoDigitYear, int month, int day, int secondOfDay, long now) {
+        final long nowDays = floorDiv(now, 86400000L);
+        final long civil = civilFromDays(nowDays);
+        final int startYear = (int) (civil >> 16) - 80;
+        final int startMonth = (int) ((civil >> 8) & 0xFF);
+        final int startDay = Math.min((int) (civil & 0xFF), daysInMonth(startYear, startMonth));
+        final long start = daysFromCivil(startYear, startMonth, startDay) * 86400000L + (now - nowDays * 86400000L);
+
+        final int year = (startYear / 100) * 100 + twoDigitYear;
+        final long time = toTime(year, month, day, secondOfDay);
+        return (time != INVALID_DATE && time < start) ? toTime(year + 100, month, day, secondOfDay) : time;
+    }
+
+    private static long toTime(int year, int month, int day, int secondOfDay) {
+        if (year < MIN_YEAR || year > MAX_YEAR || month < 1 || month > 12 ||
+                day < 1 || day > daysInMonth(year, month)) {
+            return INVALID_DATE;
+        }
+        return (daysFromCivil(year, month, day) * 86400L + secondOfDay) * 1000L;
+    }
+
+    private static int daysInMonth(int year, int month) {
+        switch (month) {
+            case 2:
+                return ((year % 4 == 0 && year % 100 != 0) || year % 400 == 0) ? 29 : 28;
+            case 4: case 6: case 9: case 11:
+                return 30;
+            default:
+                return 31;
+        }
+    }
+
+    /**
+     * Days since 1970-01-01 of a date in the proleptic Gregorian calendar.
+     */
+    private static long daysFromCivil(int year, int month, int day) {
+        year -= (month <= 2) ? 1 : 0;
+        final int era = year / 400;
+        final int yearOfEra = year - era * 400;
+        final int dayOfYear = (153 * (month + (month > 2 ? -3 : 9)) + 2) / 5 + day - 1;
+        final int dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+        return era * 146097L + dayOfEra - 719468;
+    }
+
+    /**
+     * The date in the proleptic Gregorian calendar of days since 1970-01-01,
+     * encoded as the year shifted left by 16 bits, the month shifted left
+     * by 8 bits and the day.
+     */
+    private static long civilFromDays(long days) {
+        days += 719468;
+        final long era = floorDiv(days, 146097);
+        final int dayOfEra = (int) (days - era * 146097);
+        final int yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36524 - dayOfEra / 146096) / 365;
+        final int dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+        final int mp = (5 * dayOfYear + 2) / 153;
+        final int day = dayOfYear - (153 * mp + 2) / 5 + 1;
+        final int month = mp + (mp < 10 ? 3 : -9);
+        final long year = yearOfEra + era * 400 + (month <= 2 ? 1 : 0);
+        return (year << 16) | (month << 8) | day;
+    }
+
+    private static long floorDiv(long x, long y) {
+        final long q = x / y;
+        return (x % y != 0 && ((x < 0) != (y < 0))) ? q - 1 : q;
+    }
 }
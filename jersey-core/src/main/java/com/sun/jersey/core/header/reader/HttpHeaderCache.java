@@ -0,0 +1,179 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2026 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+
+package com.sun.jersey.core.header.reader;
+
+import java.text.ParseException;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import javax.ws.rs.core.MediaType;
+
+import com.sun.jersey.core.header.AcceptableLanguageTag;
+import com.sun.jersey.core.header.AcceptableMediaType;
+import com.sun.jersey.core.header.AcceptableToken;
+
+/**
+ * A cache of parsed HTTP header values shared by all requests and responses.
+ * <p>
+ * The values of the "Accept", "Accept-Language", "Accept-Charset",
+ * "Accept-Encoding" and "Content-Type" headers sent by the clients of an
+ * application usually take only a few distinct forms. The parsed form of a
+ * header value is cached, keyed by the header value, such that the header value
+ * is parsed once. The parsed lists are unmodifiable and sorted as if parsed by
+ * {@link HttpHeaderReader}.
+ * <p>
+ * Each cache is bounded to {@link #MAX_ENTRIES} entries and is cleared when
+ * full. Header values longer than {@link #MAX_VALUE_LENGTH} and header values
+ * that cannot be parsed are not cached.
+ *
+ * @author agent@local
+ */
+public final class HttpHeaderCache {
+
+    /**
+     * The maximum number of parsed header values cached for each header.
+     */
+    public static final int MAX_ENTRIES = 256;
+
+    /**
+     * The maximum length of a header value that is cached.
+     */
+    public static final int MAX_VALUE_LENGTH = 1024;
+
+    private static final ConcurrentMap<String, List<AcceptableMediaType>> acceptMediaTypes =
+            new ConcurrentHashMap<String, List<AcceptableMediaType>>();
+
+    private static final ConcurrentMap<String, List<AcceptableLanguageTag>> acceptLanguages =
+            new ConcurrentHashMap<String, List<AcceptableLanguageTag>>();
+
+    private static final ConcurrentMap<String, List<AcceptableToken>> acceptTokens =
+            new ConcurrentHashMap<String, List<AcceptableToken>>();
+
+    private static final ConcurrentMap<String, MediaType> mediaTypes =
+            new ConcurrentHashMap<String, MediaType>();
+
+    private HttpHeaderCache() {
+    }
+
+    /**
+     * Read the media types of an "Accept" header value.
+     *
+     * @param header the header value.
+     * @return the unmodifiable list of acceptable media types, ordered with the
+     *         most acceptable media type first.
+     * @throws ParseException if the header value cannot be parsed.
+     * @see HttpHeaderReader#readAcceptMediaType(java.lang.String)
+     */
+    public static List<AcceptableMediaType> readAcceptMediaType(String header) throws ParseException {
+        List<AcceptableMediaType> l = acceptMediaTypes.get(header);
+        if (l == null) {
+            l = cache(acceptMediaTypes, header,
+                    Collections.unmodifiableList(HttpHeaderReader.readAcceptMediaType(header)));
+        }
+        return l;
+    }
+
+    /**
+     * Read the language tags of an "Accept-Language" header value.
+     *
+     * @param header the header value.
+     * @return the unmodifiable list of acceptable language tags, ordered with
+     *         the most acceptable language tag first.
+     * @throws ParseException if the header value cannot be parsed.
+     * @see HttpHeaderReader#readAcceptLanguage(java.lang.String)
+     */
+    public static List<AcceptableLanguageTag> readAcceptLanguage(String header) throws ParseException {
+        List<AcceptableLanguageTag> l = acceptLanguages.get(header);
+        if (l == null) {
+            l = cache(acceptLanguages, header,
+                    Collections.unmodifiableList(HttpHeaderReader.readAcceptLanguage(header)));
+        }
+        return l;
+    }
+
+    /**
+     * Read the tokens of an "Accept-Charset" or "Accept-Encoding" header value.
+     *
+     * @param header the header value.
+     * @return the unmodifiable list of acceptable tokens, ordered with the
+     *         most acceptable token first.
+     * @throws ParseException if the header value cannot be parsed.
+     * @see HttpHeaderReader#readAcceptToken(java.lang.String)
+     */
+    public static List<AcceptableToken> readAcceptToken(String header) throws ParseException {
+        List<AcceptableToken> l = acceptTokens.get(header);
+        if (l == null) {
+            l = cache(acceptTokens, header,
+                    Collections.unmodifiableList(HttpHeaderReader.readAcceptToken(header)));
+        }
+        return l;
+    }
+
+    /**
+     * Read the media type of a "Content-Type" header value.
+     *
+     * @param header the header value.
+     * @return the media type.
+     * @throws IllegalArgumentException if the header value cannot be parsed.
+     * @see MediaType#valueOf(java.lang.String)
+     */
+    public static MediaType readMediaType(String header) {
+        MediaType m = mediaTypes.get(header);
+        if (m == null) {
+            m = cache(mediaTypes, header, MediaType.valueOf(header));
+        }
+        return m;
+    }
+
+    private static <T> T cache(ConcurrentMap<String, T> cache, String header, T value) {
+        if (header.length() > MAX_VALUE_LENGTH) {
+            return value;
+        }
+
+        if (cache.size() >= MAX_ENTRIES) {
+            cache.clear();
+        }
+        final T existing = cache.putIfAbsent(header, value);
+        return (existing != null) ? existing : value;
+    }
+}
@@ -49,6 +49,7 @@ import java.lang.annotation.Annotation;
 import java.lang.reflect.Type;
 import javax.ws.rs.Consumes;
 import javax.ws.rs.Produces;
+import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.MultivaluedMap;
 
@@ -59,6 +60,9 @@ import javax.ws.rs.core.MultivaluedMap;
 @Produces({"application/octet-stream", "*/*"})
 @Consumes({"application/octet-stream", "*/*"})
 public final class ByteArrayProvider extends AbstractMessageReaderWriterProvider<byte[]> {
+
+    // The maximum initial capacity declared by a Content-Length header
+    private static final int MAX_INITIAL_CAPACITY = 1024 * 1024;
     
     public boolean supports(Class type) {
         return type == byte[].class;
@@ -75,11 +79,25 @@ public final class ByteArrayProvider extends AbstractMessageReaderWriterProvider
             MediaType mediaType, 
             MultivaluedMap<String, String> httpHeaders, 
             InputStream entityStream) throws IOException {
-        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ByteArrayOutputStream out = new ByteArrayOutputStream(getInitialCapacity(httpHeaders));
         writeTo(entityStream, out);
         return out.toByteArray();
     }
 
+    private static int getInitialCapacity(MultivaluedMap<String, String> httpHeaders) {
+        final String length = httpHeaders.getFirst(HttpHeaders.CONTENT_LENGTH);
+        if (length != null) {
+            try {
+                final long l = Long.parseLong(length.trim());
+                if (l > 0) {
+                    return (int)Math.min(l, MAX_INITIAL_CAPACITY);
+                }
+            } catch (NumberFormatException ex) {
+            }
+        }
+        return 32;
+    }
+
     public boolean isWriteable(Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType) {
         return type == byte[].class;        
     }
@@ -40,6 +40,7 @@
 
 package com.sun.jersey.core.impl.provider.entity;
 
+import com.sun.jersey.api.representation.FileRegion;
 import com.sun.jersey.core.provider.AbstractMessageReaderWriterProvider;
 import com.sun.jersey.core.util.ReaderWriter;
 import java.io.ByteArrayInputStream;
@@ -50,6 +51,7 @@ import java.io.OutputStream;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Type;
 import javax.activation.DataSource;
+import javax.activation.FileDataSource;
 import javax.ws.rs.Consumes;
 import javax.ws.rs.Produces;
 import javax.ws.rs.core.MediaType;
@@ -168,6 +170,11 @@ public class DataSourceProvider extends AbstractMessageReaderWriterProvider<Data
             MediaType mediaType, 
             MultivaluedMap<String, Object> httpHeaders,
             OutputStream entityStream) throws IOException {
+        if (t instanceof FileDataSource) {
+            ReaderWriter.writeTo(new FileRegion(((FileDataSource)t).getFile()), entityStream);
+            return;
+        }
+
         InputStream in = t.getInputStream();
         try {
             writeTo(in, entityStream);
@@ -175,4 +182,9 @@ public class DataSourceProvider extends AbstractMessageReaderWriterProvider<Data
             in.close();
         }
     }
-}
\ No newline at end of file
+
+    @Override
+    public long getSize(DataSource t, Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType) {
+        return (t instanceof FileDataSource) ? ((FileDataSource)t).getFile().length() : -1;
+    }
+}
@@ -40,12 +40,10 @@
 
 package com.sun.jersey.core.impl.provider.entity;
 
+import com.sun.jersey.api.representation.FileRegion;
 import com.sun.jersey.core.provider.AbstractMessageReaderWriterProvider;
 import com.sun.jersey.core.util.ReaderWriter;
-import java.io.BufferedInputStream;
-import java.io.BufferedOutputStream;
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
@@ -77,7 +75,7 @@ public final class FileProvider extends AbstractMessageReaderWriterProvider<File
             MultivaluedMap<String, String> httpHeaders, 
             InputStream entityStream) throws IOException {
         File f = File.createTempFile("rep","tmp");        
-        OutputStream out = new BufferedOutputStream(new FileOutputStream(f));
+        OutputStream out = new FileOutputStream(f);
         try {
             writeTo(entityStream, out);
         } finally {
@@ -98,12 +96,7 @@ public final class FileProvider extends AbstractMessageReaderWriterProvider<File
             MediaType mediaType, 
             MultivaluedMap<String, Object> httpHeaders,
             OutputStream entityStream) throws IOException {
-        InputStream in = new BufferedInputStream(new FileInputStream(t), ReaderWriter.BUFFER_SIZE);
-        try {
-            writeTo(in, entityStream);
-        } finally {
-            in.close();
-        }
+        ReaderWriter.writeTo(new FileRegion(t), entityStream);
     }
 
     @Override
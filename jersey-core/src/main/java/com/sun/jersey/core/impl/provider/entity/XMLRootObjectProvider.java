@@ -59,6 +59,7 @@ import javax.ws.rs.ext.Providers;
 import javax.xml.bind.JAXBContext;
 import javax.xml.bind.JAXBException;
 import javax.xml.bind.UnmarshalException;
+import javax.xml.bind.Unmarshaller;
 import javax.xml.parsers.SAXParserFactory;
 
 /**
@@ -132,8 +133,12 @@ public class XMLRootObjectProvider extends AbstractJAXBProvider<Object> {
             MultivaluedMap<String, String> httpHeaders, 
             InputStream entityStream) throws IOException {        
         try {
-            return getUnmarshaller(type, mediaType).
-                    unmarshal(getSAXSource(spf.getValue(), entityStream));
+            final Lease<Unmarshaller> lu = borrowUnmarshaller(type, mediaType);
+            try {
+                return lu.get().unmarshal(getSAXSource(spf.getValue(), entityStream));
+            } finally {
+                lu.release();
+            }
         } catch (UnmarshalException ex) {
             throw new WebApplicationException(ex, Status.BAD_REQUEST);
         } catch (JAXBException ex) {
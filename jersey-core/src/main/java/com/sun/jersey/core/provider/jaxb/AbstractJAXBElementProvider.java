@@ -107,7 +107,12 @@ public abstract class AbstractJAXBElementProvider extends AbstractJAXBProvider<J
         final Class ta = (Class)pt.getActualTypeArguments()[0];
         
         try {
-            return readFrom(ta, mediaType, getUnmarshaller(ta, mediaType), entityStream);
+            final Lease<Unmarshaller> lu = borrowUnmarshaller(ta, mediaType);
+            try {
+                return readFrom(ta, mediaType, lu.get(), entityStream);
+            } finally {
+                lu.release();
+            }
         } catch (UnmarshalException ex) {
             throw new WebApplicationException(ex, Status.BAD_REQUEST);
         } catch (JAXBException ex) {
@@ -130,13 +135,18 @@ public abstract class AbstractJAXBElementProvider extends AbstractJAXBProvider<J
             MultivaluedMap<String, Object> httpHeaders,
             OutputStream entityStream) throws IOException {
         try {
-            final Marshaller m = getMarshaller(t.getDeclaredType(), mediaType);
-            final Charset c = getCharset(mediaType);
-            if (c != UTF8) {
-                m.setProperty(Marshaller.JAXB_ENCODING, c.name());
+            final Lease<Marshaller> lm = borrowMarshaller(t.getDeclaredType(), mediaType);
+            try {
+                final Marshaller m = lm.get();
+                final Charset c = getCharset(mediaType);
+                if (c != UTF8) {
+                    m.setProperty(Marshaller.JAXB_ENCODING, c.name());
+                }
+                setHeader(lm, annotations);
+                writeTo(t, mediaType, c, m, entityStream);
+            } finally {
+                lm.release();
             }
-            setHeader(m, annotations);
-            writeTo(t, mediaType, c, m, entityStream);
         } catch (JAXBException ex) {
             throw new WebApplicationException(ex, Status.INTERNAL_SERVER_ERROR);
         }
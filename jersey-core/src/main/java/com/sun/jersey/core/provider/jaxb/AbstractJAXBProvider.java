@@ -42,9 +42,12 @@ package com.sun.jersey.core.provider.jaxb;
 
 import java.io.InputStream;
 import java.lang.annotation.Annotation;
-import java.lang.ref.WeakReference;
-import java.util.Map;
-import java.util.WeakHashMap;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.SoftReference;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -73,8 +76,33 @@ import com.sun.jersey.core.util.FeaturesAndProperties;
  * @author Paul Sandoz (paul.sandoz at oracle.com)
  */
 public abstract class AbstractJAXBProvider<T> extends AbstractMessageReaderWriterProvider<T> {
-    private static final Map<Class<?>, WeakReference<JAXBContext>> jaxbContexts =
-            new WeakHashMap<Class<?>, WeakReference<JAXBContext>>();
+    private static final JAXBContextRegistry jaxbContexts = new JAXBContextRegistry();
+
+    /**
+     * The maximum number of idle marshallers, and idle unmarshallers, retained
+     * per JAXB context.
+     */
+    private static final int POOL_CAPACITY = 32;
+
+    /**
+     * The maximum number of JAXB contexts for which marshallers and
+     * unmarshallers are pooled.
+     */
+    private static final int MAX_POOLED_CONTEXTS = 256;
+
+    /**
+     * The pools of marshallers and unmarshallers keyed by JAXB context.
+     * <p>
+     * JAXB contexts are weakly referenced so that contexts supplied by
+     * context resolvers, and the classes they reference, can be garbage
+     * collected. Pooled marshallers and unmarshallers reference their
+     * JAXB context so the pools are softly referenced, otherwise the keys
+     * would never be weakly reachable. Borrowing does not take a lock.
+     */
+    private final ConcurrentHashMap<WeakIdentityKey<JAXBContext>, SoftReference<ContextPools>> pools =
+            new ConcurrentHashMap<WeakIdentityKey<JAXBContext>, SoftReference<ContextPools>>();
+
+    private final ReferenceQueue<JAXBContext> poolsQueue = new ReferenceQueue<JAXBContext>();
 
     private final Providers ps;
 
@@ -169,6 +197,198 @@ public abstract class AbstractJAXBProvider<T> extends AbstractMessageReaderWrite
         return m;
     }
 
+    /**
+     * Borrow an unmarshaller for a type and media type.
+     * <p>
+     * If an {@link Unmarshaller} context resolver provides an unmarshaller
+     * then that unmarshaller is returned and will not be pooled, otherwise
+     * an idle unmarshaller of the JAXB context is reused or a new one is
+     * created. The lease must be released, using {@link Lease#release() },
+     * when the unmarshaller is no longer in use.
+     *
+     * @param type the type to unmarshal.
+     * @param mt the media type.
+     * @return the lease of the unmarshaller.
+     * @throws JAXBException if the unmarshaller could not be created.
+     */
+    protected final Lease<Unmarshaller> borrowUnmarshaller(Class type, MediaType mt) throws JAXBException {
+        final ContextResolver<Unmarshaller> uncr = (fixedMediaType)
+                ? mtUnmarshaller
+                : ps.getContextResolver(Unmarshaller.class, mt);
+        if (uncr != null) {
+            Unmarshaller u = uncr.getContext(type);
+            if (u != null) return new Lease<Unmarshaller>(u, null);
+        }
+
+        final JAXBContext c = (fixedMediaType) ? getJAXBContext(type) : getJAXBContext(type, mt);
+        final ContextPools cp = getPools(c);
+        if (cp == null)
+            return new Lease<Unmarshaller>(c.createUnmarshaller(), null);
+
+        Unmarshaller u = cp.unmarshallers.poll();
+        if (u == null) {
+            u = c.createUnmarshaller();
+        }
+        return new Lease<Unmarshaller>(u, cp.unmarshallers);
+    }
+
+    /**
+     * Borrow a marshaller for a type and media type.
+     * <p>
+     * If a {@link Marshaller} context resolver provides a marshaller
+     * then that marshaller is returned and will not be pooled, otherwise
+     * an idle marshaller of the JAXB context is reused or a new one is
+     * created. The lease must be released, using {@link Lease#release() },
+     * when the marshaller is no longer in use.
+     *
+     * @param type the type to marshal.
+     * @param mt the media type.
+     * @return the lease of the marshaller.
+     * @throws JAXBException if the marshaller could not be created.
+     */
+    protected final Lease<Marshaller> borrowMarshaller(Class type, MediaType mt) throws JAXBException {
+        final ContextResolver<Marshaller> mcr = (fixedMediaType)
+                ? mtMarshaller
+                : ps.getContextResolver(Marshaller.class, mt);
+        if (mcr != null) {
+            Marshaller m = mcr.getContext(type);
+            if (m != null) return new Lease<Marshaller>(m, null);
+        }
+
+        final JAXBContext c = (fixedMediaType) ? getJAXBContext(type) : getJAXBContext(type, mt);
+        final ContextPools cp = getPools(c);
+        Marshaller m = (cp != null) ? cp.marshallers.poll() : null;
+        if (m == null) {
+            m = c.createMarshaller();
+            if(formattedOutput)
+                m.setProperty(Marshaller.JAXB_FORMATTED_OUTPUT, formattedOutput);
+        }
+        return new Lease<Marshaller>(m, (cp != null) ? cp.marshallers : null);
+    }
+
+    private ContextPools getPools(JAXBContext c) {
+        Reference<? extends JAXBContext> k;
+        while ((k = poolsQueue.poll()) != null) {
+            pools.remove(k);
+        }
+
+        final SoftReference<ContextPools> r = pools.get(new WeakIdentityKey<JAXBContext>(c, null));
+        ContextPools cp = (r != null) ? r.get() : null;
+        if (cp == null) {
+            if (r == null && pools.size() >= MAX_POOLED_CONTEXTS)
+                return null;
+
+            // If two threads concurrently create the pools of a context
+            // one of the two pools is retained
+            cp = new ContextPools();
+            pools.put(new WeakIdentityKey<JAXBContext>(c, poolsQueue), new SoftReference<ContextPools>(cp));
+        }
+        return cp;
+    }
+
+    private static final class ContextPools {
+        final Pool<Marshaller> marshallers = new Pool<Marshaller>();
+
+        final Pool<Unmarshaller> unmarshallers = new Pool<Unmarshaller>();
+    }
+
+    private static final class Pool<T> {
+        private final ConcurrentLinkedQueue<T> idle = new ConcurrentLinkedQueue<T>();
+
+        private final AtomicInteger size = new AtomicInteger();
+
+        T poll() {
+            final T t = idle.poll();
+            if (t != null)
+                size.decrementAndGet();
+            return t;
+        }
+
+        void offer(T t) {
+            if (size.incrementAndGet() <= POOL_CAPACITY) {
+                idle.offer(t);
+            } else {
+                size.decrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * A lease of a marshaller or unmarshaller borrowed from a provider.
+     * <p>
+     * On release the marshaller or unmarshaller is reset and returned to the
+     * pool it was borrowed from, if any. A lease must not be used after
+     * it has been released.
+     *
+     * @param <V> the type of marshaller or unmarshaller.
+     */
+    protected static final class Lease<V> {
+        private final V v;
+
+        private Pool<V> pool;
+
+        private Lease(V v, Pool<V> pool) {
+            this.v = v;
+            this.pool = pool;
+        }
+
+        /**
+         * Get the marshaller or unmarshaller.
+         *
+         * @return the marshaller or unmarshaller.
+         */
+        public V get() {
+            return v;
+        }
+
+        /**
+         * Prevent the marshaller or unmarshaller from being returned to the
+         * pool on release. This should be called if state has been set that
+         * cannot be reset.
+         */
+        public void discard() {
+            pool = null;
+        }
+
+        /**
+         * Release the lease.
+         */
+        public void release() {
+            final Pool<V> p = pool;
+            if (p == null)
+                return;
+
+            pool = null;
+            try {
+                if (v instanceof Marshaller) {
+                    reset((Marshaller)v);
+                } else {
+                    reset((Unmarshaller)v);
+                }
+            } catch (JAXBException ex) {
+                // The state cannot be reset, do not reuse
+                return;
+            }
+            p.offer(v);
+        }
+
+        private static void reset(Marshaller m) throws JAXBException {
+            m.setProperty(Marshaller.JAXB_ENCODING, "UTF-8");
+            m.setProperty(Marshaller.JAXB_FRAGMENT, false);
+            m.setListener(null);
+            m.setSchema(null);
+            m.setAttachmentMarshaller(null);
+            m.setEventHandler(null);
+        }
+
+        private static void reset(Unmarshaller u) throws JAXBException {
+            u.setListener(null);
+            u.setSchema(null);
+            u.setAttachmentUnmarshaller(null);
+            u.setEventHandler(null);
+        }
+    }
+
     private JAXBContext getJAXBContext(Class type, MediaType mt) throws JAXBException {
         final ContextResolver<JAXBContext> cr = ps.getContextResolver(JAXBContext.class, mt);
         if (cr != null) {
@@ -189,15 +409,7 @@ public abstract class AbstractJAXBProvider<T> extends AbstractMessageReaderWrite
     }
 
     protected JAXBContext getStoredJAXBContext(Class type) throws JAXBException {
-        synchronized (jaxbContexts) {
-            final WeakReference<JAXBContext> ref = jaxbContexts.get(type);
-            JAXBContext c = (ref != null) ? ref.get() : null;
-            if (c == null) {
-                c = JAXBContext.newInstance(type);
-                jaxbContexts.put(type, new WeakReference(c));
-            }
-            return c;
-        }
+        return jaxbContexts.get(type);
     }
 
     protected static SAXSource getSAXSource(SAXParserFactory spf,
@@ -219,6 +431,22 @@ public abstract class AbstractJAXBProvider<T> extends AbstractMessageReaderWrite
         return xmlRootElementProcessing;
     }
 
+    /**
+     * Set the XML header of a leased marshaller, if any, see
+     * {@link #setHeader(javax.xml.bind.Marshaller, java.lang.annotation.Annotation[]) }.
+     * <p>
+     * A marshaller whose header has been set is not returned to the pool.
+     */
+    /* package */ void setHeader(Lease<Marshaller> lm, Annotation[] annotations) throws PropertyException {
+        for (Annotation a : annotations) {
+            if (a instanceof XmlHeader) {
+                lm.discard();
+                break;
+            }
+        }
+        setHeader(lm.get(), annotations);
+    }
+
     protected void setHeader(Marshaller m, Annotation[] annotations) throws PropertyException {
         for (Annotation a : annotations) {
             if (a instanceof XmlHeader) {
@@ -247,6 +247,7 @@ public abstract class AbstractListElementProvider extends AbstractJAXBProvider<O
             MediaType mediaType,
             MultivaluedMap<String, Object> httpHeaders,
             OutputStream entityStream) throws IOException {
+        Lease<Marshaller> lm = null;
         try {
             final Collection c = (type.isArray())
                     ? Arrays.asList((Object[])t)
@@ -255,15 +256,19 @@ public abstract class AbstractListElementProvider extends AbstractJAXBProvider<O
             final Charset charset = getCharset(mediaType);
             final String charsetName = charset.name();
 
-            final Marshaller m = getMarshaller(elementType, mediaType);
+            lm = borrowMarshaller(elementType, mediaType);
+            final Marshaller m = lm.get();
             m.setProperty(Marshaller.JAXB_FRAGMENT, true);
             if (charset != UTF8) {
                 m.setProperty(Marshaller.JAXB_ENCODING, charsetName);
             }
-            setHeader(m, annotations);
+            setHeader(lm, annotations);
             writeList(elementType, c, mediaType, charset, m, entityStream);
         } catch (JAXBException ex) {
             throw new WebApplicationException(ex, Status.INTERNAL_SERVER_ERROR);
+        } finally {
+            if (lm != null)
+                lm.release();
         }
     }
 
@@ -292,9 +297,11 @@ public abstract class AbstractListElementProvider extends AbstractJAXBProvider<O
             MediaType mediaType,
             MultivaluedMap<String, String> httpHeaders,
             InputStream entityStream) throws IOException {
+        Lease<Unmarshaller> lu = null;
         try {
             final Class elementType = getElementClass(type, genericType);
-            final Unmarshaller u = getUnmarshaller(elementType, mediaType);
+            lu = borrowUnmarshaller(elementType, mediaType);
+            final Unmarshaller u = lu.get();
             final XMLStreamReader r = getXMLStreamReader(elementType, mediaType, u, entityStream);
             boolean jaxbElement = false;
 
@@ -357,6 +364,9 @@ public abstract class AbstractListElementProvider extends AbstractJAXBProvider<O
             throw new WebApplicationException(ex, Status.BAD_REQUEST);
         } catch (JAXBException ex) {
             throw new WebApplicationException(ex, Status.INTERNAL_SERVER_ERROR);
+        } finally {
+            if (lu != null)
+                lu.release();
         }
     }
 
@@ -108,7 +108,12 @@ public abstract class AbstractRootElementProvider extends AbstractJAXBProvider<O
             InputStream entityStream) throws IOException {
 
         try {
-            return readFrom(type, mediaType, getUnmarshaller(type, mediaType), entityStream);
+            final Lease<Unmarshaller> lu = borrowUnmarshaller(type, mediaType);
+            try {
+                return readFrom(type, mediaType, lu.get(), entityStream);
+            } finally {
+                lu.release();
+            }
         } catch (UnmarshalException ex) {
             throw new WebApplicationException(ex, Status.BAD_REQUEST);
         } catch (JAXBException ex) {
@@ -148,13 +153,18 @@ public abstract class AbstractRootElementProvider extends AbstractJAXBProvider<O
             MultivaluedMap<String, Object> httpHeaders,
             OutputStream entityStream) throws IOException {
         try {
-            final Marshaller m = getMarshaller(type, mediaType);
-            final Charset c = getCharset(mediaType);
-            if (c != UTF8) {
-                m.setProperty(Marshaller.JAXB_ENCODING, c.name());
+            final Lease<Marshaller> lm = borrowMarshaller(type, mediaType);
+            try {
+                final Marshaller m = lm.get();
+                final Charset c = getCharset(mediaType);
+                if (c != UTF8) {
+                    m.setProperty(Marshaller.JAXB_ENCODING, c.name());
+                }
+                setHeader(lm, annotations);
+                writeTo(t, mediaType, c, m, entityStream);
+            } finally {
+                lm.release();
             }
-            setHeader(m, annotations);
-            writeTo(t, mediaType, c, m, entityStream);
         } catch (JAXBException ex) {
             throw new WebApplicationException(ex, Status.INTERNAL_SERVER_ERROR);
         }
@@ -0,0 +1,95 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2026 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+
+package com.sun.jersey.core.provider.jaxb;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.xml.bind.JAXBContext;
+import javax.xml.bind.JAXBException;
+
+/**
+ * A concurrent registry of {@link JAXBContext} instances keyed by class.
+ * <p>
+ * Classes are compared by identity, and hence by defining class loader, and
+ * are weakly referenced so that the registry does not prevent a class loader
+ * from being garbage collected. Contexts are weakly referenced as well.
+ * Lookups never take a lock; if two threads concurrently create a context for
+ * the same class one of the two contexts is retained.
+ *
+ * @author agent@local
+ */
+final class JAXBContextRegistry {
+
+    private final ConcurrentHashMap<WeakIdentityKey<Class<?>>, WeakReference<JAXBContext>> contexts =
+            new ConcurrentHashMap<WeakIdentityKey<Class<?>>, WeakReference<JAXBContext>>();
+
+    private final ReferenceQueue<Class<?>> queue = new ReferenceQueue<Class<?>>();
+
+    /**
+     * Get the JAXB context for a class, creating and registering the context
+     * if not present.
+     *
+     * @param type the class.
+     * @return the JAXB context.
+     * @throws JAXBException if the JAXB context could not be created.
+     */
+    JAXBContext get(Class type) throws JAXBException {
+        expunge();
+
+        final WeakReference<JAXBContext> ref = contexts.get(new WeakIdentityKey<Class<?>>(type, null));
+        JAXBContext c = (ref != null) ? ref.get() : null;
+        if (c == null) {
+            c = JAXBContext.newInstance(type);
+            contexts.put(new WeakIdentityKey<Class<?>>(type, queue), new WeakReference<JAXBContext>(c));
+        }
+        return c;
+    }
+
+    private void expunge() {
+        Reference<? extends Class<?>> r;
+        while ((r = queue.poll()) != null) {
+            contexts.remove(r);
+        }
+    }
+}
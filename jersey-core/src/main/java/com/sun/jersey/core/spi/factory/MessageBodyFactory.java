@@ -52,8 +52,12 @@ import com.sun.jersey.spi.MessageBodyWorkers;
 import javax.ws.rs.Consumes;
 import javax.ws.rs.Produces;
 import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.MultivaluedMap;
 import javax.ws.rs.ext.MessageBodyReader;
 import javax.ws.rs.ext.MessageBodyWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.io.PrintWriter;
 import java.io.StringWriter;
 import java.lang.annotation.Annotation;
@@ -65,6 +69,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * A factory for managing {@link MessageBodyReader} and {@link MessageBodyWriter}
@@ -90,6 +95,108 @@ public class MessageBodyFactory implements MessageBodyWorkers {
         }        
     };
     
+    /**
+     * The maximum number of entries held by each of the reader and writer
+     * resolution caches. Once reached further resolutions are not cached.
+     */
+    /* package */ static final int RESOLUTION_CACHE_LIMIT = 1024;
+
+    private static final MessageBodyReader NULL_MESSAGE_BODY_READER = new MessageBodyReader() {
+        public boolean isReadable(Class type, Type genericType, Annotation[] annotations, MediaType mediaType) {
+            return false;
+        }
+
+        public Object readFrom(Class type, Type genericType, Annotation[] annotations, MediaType mediaType,
+                MultivaluedMap httpHeaders, InputStream entityStream) throws IOException {
+            throw new UnsupportedOperationException();
+        }
+    };
+
+    private static final MessageBodyWriter NULL_MESSAGE_BODY_WRITER = new MessageBodyWriter() {
+        public boolean isWriteable(Class type, Type genericType, Annotation[] annotations, MediaType mediaType) {
+            return false;
+        }
+
+        public long getSize(Object t, Class type, Type genericType, Annotation[] annotations, MediaType mediaType) {
+            return -1;
+        }
+
+        public void writeTo(Object t, Class type, Type genericType, Annotation[] annotations, MediaType mediaType,
+                MultivaluedMap httpHeaders, OutputStream entityStream) throws IOException {
+            throw new UnsupportedOperationException();
+        }
+    };
+
+    /**
+     * The key of a reader or writer resolution. Annotations are compared
+     * element wise first by identity, since the annotation instances of a
+     * resource method or class are shared, and then by value. The hash code
+     * is consequently derived from the annotation types only.
+     */
+    /* package */ static final class ResolutionKey {
+        private final Class c;
+
+        private final Type t;
+
+        private final Annotation[] as;
+
+        private final MediaType mediaType;
+
+        private final int hash;
+
+        ResolutionKey(Class c, Type t, Annotation[] as, MediaType mediaType) {
+            this.c = c;
+            this.t = t;
+            this.as = (as == null) ? NO_ANNOTATIONS : as;
+            this.mediaType = mediaType;
+            this.hash = hash();
+        }
+
+        private int hash() {
+            int h = (c != null) ? c.hashCode() : 0;
+            h = 31 * h + ((t != null) ? t.hashCode() : 0);
+            h = 31 * h + ((mediaType != null) ? mediaType.hashCode() : 0);
+            for (Annotation a : as) {
+                h = 31 * h + ((a != null) ? a.annotationType().hashCode() : 0);
+            }
+            return h;
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o)
+                return true;
+            if (!(o instanceof ResolutionKey))
+                return false;
+
+            final ResolutionKey that = (ResolutionKey)o;
+            if (hash != that.hash || c != that.c)
+                return false;
+            if (t != that.t && (t == null || !t.equals(that.t)))
+                return false;
+            if (mediaType != that.mediaType && (mediaType == null || !mediaType.equals(that.mediaType)))
+                return false;
+            if (as == that.as)
+                return true;
+            if (as.length != that.as.length)
+                return false;
+            for (int i = 0; i < as.length; i++) {
+                final Annotation a = as[i];
+                final Annotation b = that.as[i];
+                if (a != b && (a == null || !a.equals(b)))
+                    return false;
+            }
+            return true;
+        }
+
+        private static final Annotation[] NO_ANNOTATIONS = new Annotation[0];
+    }
+
     private final ProviderServices providerServices;
 
     private final boolean deprecatedProviderPrecedence;
@@ -106,6 +213,12 @@ public class MessageBodyFactory implements MessageBodyWorkers {
 
     private List<MessageBodyWriterPair> customWriterListProviders;
 
+    private final ConcurrentHashMap<ResolutionKey, MessageBodyReader> readerCache =
+            new ConcurrentHashMap<ResolutionKey, MessageBodyReader>();
+
+    private final ConcurrentHashMap<ResolutionKey, MessageBodyWriter> writerCache =
+            new ConcurrentHashMap<ResolutionKey, MessageBodyWriter>();
+
     private static class MessageBodyWriterPair {
         final MessageBodyWriter mbw;
         
@@ -161,6 +274,9 @@ public class MessageBodyFactory implements MessageBodyWorkers {
     public void init() {
         initReaders();
         initWriters();
+
+        readerCache.clear();
+        writerCache.clear();
     }
 
     private void initReaders() {
@@ -287,6 +403,22 @@ public class MessageBodyFactory implements MessageBodyWorkers {
     public <T> MessageBodyReader<T> getMessageBodyReader(Class<T> c, Type t, 
             Annotation[] as, 
             MediaType mediaType) {
+        final ResolutionKey key = new ResolutionKey(c, t, as, mediaType);
+        MessageBodyReader reader = readerCache.get(key);
+        if (reader == null) {
+            reader = resolveMessageBodyReader(c, t, as, mediaType);
+            if (readerCache.size() < RESOLUTION_CACHE_LIMIT) {
+                readerCache.putIfAbsent(key, (reader != null) ? reader : NULL_MESSAGE_BODY_READER);
+            }
+            return reader;
+        }
+
+        return (reader != NULL_MESSAGE_BODY_READER) ? reader : null;
+    }
+
+    private <T> MessageBodyReader<T> resolveMessageBodyReader(Class<T> c, Type t,
+            Annotation[] as,
+            MediaType mediaType) {
 
         MessageBodyReader reader;
 
@@ -352,6 +484,22 @@ public class MessageBodyFactory implements MessageBodyWorkers {
     public <T> MessageBodyWriter<T> getMessageBodyWriter(Class<T> c, Type t,
             Annotation[] as,
             MediaType mediaType) {
+        final ResolutionKey key = new ResolutionKey(c, t, as, mediaType);
+        MessageBodyWriter writer = writerCache.get(key);
+        if (writer == null) {
+            writer = resolveMessageBodyWriter(c, t, as, mediaType);
+            if (writerCache.size() < RESOLUTION_CACHE_LIMIT) {
+                writerCache.putIfAbsent(key, (writer != null) ? writer : NULL_MESSAGE_BODY_WRITER);
+            }
+            return writer;
+        }
+
+        return (writer != NULL_MESSAGE_BODY_WRITER) ? writer : null;
+    }
+
+    private <T> MessageBodyWriter<T> resolveMessageBodyWriter(Class<T> c, Type t,
+            Annotation[] as,
+            MediaType mediaType) {
 
         MessageBodyWriter p;
 
@@ -0,0 +1,266 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2026 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+
+package com.sun.jersey.core.spi.scanning;
+
+import com.sun.jersey.core.util.ReaderWriter;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.AccessController;
+import java.security.PrivilegedAction;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * A scanner listener that processes resources concurrently by deferring to
+ * another scanner listener.
+ * <p>
+ * Resources are accepted and read by the thread invoking the {@link Scanner},
+ * and the bytes of each accepted resource are then processed by the deferred
+ * listener on one of a fixed number of threads. Hence the
+ * {@link ScannerListener#onProcess(java.lang.String, java.io.InputStream) }
+ * method of the deferred listener must be thread safe, and the order in which
+ * resources are processed is not defined.
+ * <p>
+ * After scanning the {@link #finish() } method must be invoked to wait
+ * for all resources to be processed, and the {@link #shutdown() } method
+ * must be invoked to release the threads, for example:
+ * <blockquote><pre>
+ *     ParallelScannerListener psl = new ParallelScannerListener(l, parallelism);
+ *     try {
+ *         scanner.scan(psl);
+ *         psl.finish();
+ *     } finally {
+ *         psl.shutdown();
+ *     }
+ * </pre></blockquote>
+ *
+ * @author agent@local
+ */
+public class ParallelScannerListener implements ScannerListener {
+
+    /**
+     * The system property to set the number of threads utilized to process
+     * scanned resources.
+     * <p>
+     * If the property value is not a positive integer then the default
+     * parallelism declared by {@link #DEFAULT_PARALLELISM} will be utilized.
+     */
+    public static final String PARALLELISM_SYSTEM_PROPERTY =
+            "com.sun.jersey.core.spi.scanning.Parallelism";
+
+    /**
+     * The default parallelism, resources are processed sequentially by the
+     * thread invoking the {@link Scanner}.
+     */
+    public static final int DEFAULT_PARALLELISM = 1;
+
+    /**
+     * The maximum number of resources, per thread, that may be read and
+     * waiting to be processed.
+     */
+    private static final int MAX_PENDING_PER_THREAD = 64;
+
+    private static final AtomicInteger POOL_NUMBER = new AtomicInteger();
+
+    private final ScannerListener l;
+
+    private final ExecutorService executor;
+
+    private final Semaphore pending;
+
+    private final int maxPending;
+
+    private final AtomicReference<Throwable> failure = new AtomicReference<Throwable>();
+
+    /**
+     * Create a parallel scanner listener.
+     *
+     * @param l the scanner listener to defer to.
+     * @param parallelism the number of threads to process resources.
+     * @throws IllegalArgumentException if parallelism is not a positive
+     *         integer.
+     */
+    public ParallelScannerListener(ScannerListener l, int parallelism) {
+        if (parallelism < 1)
+            throw new IllegalArgumentException("The parallelism " + parallelism +
+                    " must be a positive integer");
+
+        this.l = l;
+        this.executor = Executors.newFixedThreadPool(parallelism,
+                new ScannerThreadFactory());
+        this.maxPending = parallelism * MAX_PENDING_PER_THREAD;
+        this.pending = new Semaphore(maxPending);
+    }
+
+    /**
+     * Get the parallelism from the system property
+     * {@link #PARALLELISM_SYSTEM_PROPERTY}.
+     *
+     * @return the parallelism.
+     */
+    public static int getParallelism() {
+        String v = System.getProperty(
+                PARALLELISM_SYSTEM_PROPERTY,
+                Integer.toString(DEFAULT_PARALLELISM));
+        try {
+            int i = Integer.valueOf(v);
+            if (i <= 0)
+                throw new NumberFormatException();
+            return i;
+        } catch (NumberFormatException ex) {
+            return DEFAULT_PARALLELISM;
+        }
+    }
+
+    @Override
+    public boolean onAccept(String name) {
+        return l.onAccept(name);
+    }
+
+    @Override
+    public void onProcess(final String name, InputStream in) throws IOException {
+        if (failure.get() != null)
+            return;
+
+        final byte[] bytes = readBytes(in);
+
+        try {
+            pending.acquire();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new ScannerException("Interrupted while processing the resource " + name, ex);
+        }
+
+        try {
+            executor.execute(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        if (failure.get() == null)
+                            l.onProcess(name, new ByteArrayInputStream(bytes));
+                    } catch (IOException ex) {
+                        failure.compareAndSet(null,
+                                new ScannerException("IO error when processing the resource " + name, ex));
+                    } catch (Throwable t) {
+                        failure.compareAndSet(null, t);
+                    } finally {
+                        pending.release();
+                    }
+                }
+            });
+        } catch (RejectedExecutionException ex) {
+            pending.release();
+            throw new ScannerException("The resource " + name +
+                    " cannot be processed after the listener has been shut down", ex);
+        }
+    }
+
+    /**
+     * Wait for all resources to be processed.
+     *
+     * <p>
+     * If the processing of a resource failed then the first such failure is
+     * rethrown, an {@link IOException} being wrapped in a
+     * {@link ScannerException}.
+     *
+     * @throws ScannerException if an IO error occurred when processing a
+     *         resource, or the waiting thread is interrupted.
+     */
+    public void finish() throws ScannerException {
+        try {
+            pending.acquire(maxPending);
+            pending.release(maxPending);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new ScannerException("Interrupted while waiting for resources to be processed", ex);
+        }
+
+        final Throwable t = failure.get();
+        if (t instanceof RuntimeException)
+            throw (RuntimeException)t;
+        else if (t instanceof Error)
+            throw (Error)t;
+        else if (t != null)
+            throw new ScannerException(t);
+    }
+
+    /**
+     * Release the threads processing resources. Any resources that are waiting
+     * to be processed will not be processed.
+     */
+    public void shutdown() {
+        // interrupting the threads requires the modifyThread permission
+        AccessController.doPrivileged(new PrivilegedAction<Object>() {
+            @Override
+            public Object run() {
+                executor.shutdownNow();
+                return null;
+            }
+        });
+    }
+
+    private static byte[] readBytes(InputStream in) throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ReaderWriter.writeTo(in, out);
+        return out.toByteArray();
+    }
+
+    private static final class ScannerThreadFactory implements ThreadFactory {
+        private final String prefix = "jersey-scanner-" +
+                POOL_NUMBER.incrementAndGet() + "-";
+
+        private final AtomicInteger threadNumber = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable r) {
+            final Thread t = new Thread(r, prefix + threadNumber.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        }
+    }
+}
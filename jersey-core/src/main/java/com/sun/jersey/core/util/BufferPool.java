@@ -0,0 +1,171 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2026 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+
+package com.sun.jersey.core.util;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A pool of byte and character arrays, of length
+ * {@link ReaderWriter#BUFFER_SIZE}, utilized to copy entities.
+ * <p>
+ * Each thread retains at most one array of bytes and one array of
+ * characters. An array taken from the pool should be given back to the
+ * pool, by the same or a different thread, when no longer used and
+ * must not be used after it has been given back. If a thread takes an
+ * array while it already holds the array retained for that thread, for
+ * example when copying nested entities, then a new array is allocated.
+ * <p>
+ * The numbers of arrays taken from the pool that were reused (hits) and that
+ * were allocated (misses) are counted. Counting is cheap and not contended
+ * between threads.
+ *
+ * @author agent@local
+ */
+public final class BufferPool {
+
+    private static final ThreadLocal<byte[]> BYTES = new ThreadLocal<byte[]>();
+
+    private static final ThreadLocal<char[]> CHARS = new ThreadLocal<char[]>();
+
+    /**
+     * The number of stripes of the counters, a power of two. A thread
+     * increments the stripe selected by its identifier.
+     */
+    private static final int STRIPES = 16;
+
+    /**
+     * The distance between stripes, in longs, so that each stripe is on its
+     * own cache line. The hits and misses of a stripe are adjacent.
+     */
+    private static final int STRIPE_LENGTH = 8;
+
+    private static final AtomicLongArray COUNTS = new AtomicLongArray(STRIPES * STRIPE_LENGTH);
+
+    private BufferPool() {
+    }
+
+    /**
+     * Take an array of bytes from the pool.
+     *
+     * @return the array of bytes, of length {@link ReaderWriter#BUFFER_SIZE}.
+     */
+    public static byte[] takeBytes() {
+        final byte[] b = BYTES.get();
+        if (b != null) {
+            BYTES.set(null);
+            count(0);
+            return b;
+        }
+        count(1);
+        return new byte[ReaderWriter.BUFFER_SIZE];
+    }
+
+    /**
+     * Give an array of bytes to the pool.
+     *
+     * @param b the array of bytes. If the length of the array is not
+     *        {@link ReaderWriter#BUFFER_SIZE} the array is ignored.
+     */
+    public static void giveBytes(byte[] b) {
+        if (b.length == ReaderWriter.BUFFER_SIZE) {
+            BYTES.set(b);
+        }
+    }
+
+    /**
+     * Take an array of characters from the pool.
+     *
+     * @return the array of characters, of length {@link ReaderWriter#BUFFER_SIZE}.
+     */
+    public static char[] takeChars() {
+        final char[] c = CHARS.get();
+        if (c != null) {
+            CHARS.set(null);
+            count(0);
+            return c;
+        }
+        count(1);
+        return new char[ReaderWriter.BUFFER_SIZE];
+    }
+
+    /**
+     * Give an array of characters to the pool.
+     *
+     * @param c the array of characters. If the length of the array is not
+     *        {@link ReaderWriter#BUFFER_SIZE} the array is ignored.
+     */
+    public static void giveChars(char[] c) {
+        if (c.length == ReaderWriter.BUFFER_SIZE) {
+            CHARS.set(c);
+        }
+    }
+
+    /**
+     * Get the number of arrays taken from the pool that were reused.
+     *
+     * @return the number of hits.
+     */
+    public static long getHits() {
+        return sum(0);
+    }
+
+    /**
+     * Get the number of arrays taken from the pool that were allocated.
+     *
+     * @return the number of misses.
+     */
+    public static long getMisses() {
+        return sum(1);
+    }
+
+    private static void count(int offset) {
+        final int stripe = (int)Thread.currentThread().getId() & (STRIPES - 1);
+        COUNTS.incrementAndGet(stripe * STRIPE_LENGTH + offset);
+    }
+
+    private static long sum(int offset) {
+        long n = 0;
+        for (int i = 0; i < STRIPES; i++) {
+            n += COUNTS.get(i * STRIPE_LENGTH + offset);
+        }
+        return n;
+    }
+}
@@ -0,0 +1,477 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2026 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+
+package com.sun.jersey.core.util;
+
+import com.sun.jersey.core.header.AcceptableToken;
+import com.sun.jersey.core.header.reader.HttpHeaderCache;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.text.ParseException;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+import java.util.zip.ZipException;
+
+/**
+ * The HTTP content codings "gzip" and "deflate".
+ * <p>
+ * Entities are encoded and decoded using {@link Deflater} and
+ * {@link Inflater} instances that are pooled, so the native memory of such
+ * instances is not allocated and released for each entity, and using a buffer
+ * that is reused by the thread creating the stream.
+ * <p>
+ * A stream obtained from {@link #encode(OutputStream, int)} returns its
+ * deflater to the pool when the stream is finished or closed. A stream
+ * obtained from {@link #decode(InputStream)} returns its inflater to the
+ * pool when the end of the encoded entity is read or the stream is closed.
+ *
+ * @author agent@local
+ */
+public enum ContentCoding {
+
+    /**
+     * The "gzip" content coding, also identified by "x-gzip".
+     */
+    GZIP("gzip"),
+
+    /**
+     * The "deflate" content coding, the zlib format.
+     */
+    DEFLATE("deflate");
+
+    private final String name;
+
+    private ContentCoding(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Get the name of the content coding as utilized in the Content-Encoding
+     * and Accept-Encoding headers.
+     *
+     * @return the name.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Get the content coding for a Content-Encoding header value.
+     *
+     * @param contentEncoding the Content-Encoding header value, may be null.
+     * @return the content coding, otherwise null if the value is null or
+     *         does not identify a single supported content coding.
+     */
+    public static ContentCoding fromName(String contentEncoding) {
+        if (contentEncoding == null)
+            return null;
+
+        final String s = contentEncoding.trim();
+        if (s.equalsIgnoreCase("gzip") || s.equalsIgnoreCase("x-gzip")) {
+            return GZIP;
+        } else if (s.equalsIgnoreCase("deflate")) {
+            return DEFLATE;
+        }
+        return null;
+    }
+
+    /**
+     * Select the most acceptable content coding for an Accept-Encoding
+     * header value.
+     * <p>
+     * The quality values of the "gzip", "deflate", "identity" and "*"
+     * codings are taken into account. If "gzip" and "deflate" are equally
+     * acceptable then "gzip" is selected.
+     *
+     * @param acceptEncoding the Accept-Encoding header value, may be null.
+     * @return the content coding, otherwise null if the value is null, cannot
+     *         be parsed, neither coding is acceptable or "identity" is more
+     *         acceptable than either coding.
+     */
+    public static ContentCoding select(String acceptEncoding) {
+        if (acceptEncoding == null || acceptEncoding.length() == 0)
+            return null;
+
+        final List<AcceptableToken> tokens;
+        try {
+            tokens = HttpHeaderCache.readAcceptToken(acceptEncoding);
+        } catch (ParseException e) {
+            return null;
+        }
+
+        int gzip = -1, deflate = -1, identity = -1, any = -1;
+        for (AcceptableToken t : tokens) {
+            final String token = t.getToken();
+            if (token.equalsIgnoreCase("gzip") || token.equalsIgnoreCase("x-gzip")) {
+                gzip = Math.max(gzip, t.getQuality());
+            } else if (token.equalsIgnoreCase("deflate")) {
+                deflate = Math.max(deflate, t.getQuality());
+            } else if (token.equalsIgnoreCase("identity")) {
+                identity = t.getQuality();
+            } else if (token.equals("*")) {
+                any = t.getQuality();
+            }
+        }
+        if (gzip == -1) gzip = any;
+        if (deflate == -1) deflate = any;
+
+        final ContentCoding c = (gzip >= deflate) ? GZIP : DEFLATE;
+        final int q = Math.max(gzip, deflate);
+        if (q <= 0 || identity > q)
+            return null;
+
+        return c;
+    }
+
+    /**
+     * Encode an entity.
+     *
+     * @param out the output stream to write the encoded entity to.
+     * @param level the compression level, from 0 to 9 or
+     *        {@link Deflater#DEFAULT_COMPRESSION}.
+     * @return the output stream to write the entity to. The stream must be
+     *         finished, or closed, for the encoded entity to be complete.
+     * @throws IOException if an error occurs writing the encoded entity.
+     * @throws IllegalArgumentException if the compression level is invalid.
+     */
+    public DeflaterOutputStream encode(OutputStream out, int level) throws IOException {
+        if (level < Deflater.DEFAULT_COMPRESSION || level > Deflater.BEST_COMPRESSION)
+            throw new IllegalArgumentException("Invalid compression level: " + level);
+
+        return new EncodingOutputStream(out, this == GZIP, level);
+    }
+
+    /**
+     * Decode an entity.
+     *
+     * @param in the input stream to read the encoded entity from.
+     * @return the input stream to read the entity from.
+     * @throws IOException if an error occurs reading the header of the
+     *         encoded entity.
+     */
+    public InflaterInputStream decode(InputStream in) throws IOException {
+        return new DecodingInputStream(in, this == GZIP);
+    }
+
+
+    private static final int POOL_CAPACITY = 32;
+
+    private static final int GZIP_MAGIC = 0x8b1f;
+
+    private static final byte[] GZIP_HEADER = {
+        (byte)GZIP_MAGIC, (byte)(GZIP_MAGIC >> 8), Deflater.DEFLATED, 0, 0, 0, 0, 0, 0, 0
+    };
+
+    private static final int FHCRC = 2;
+    private static final int FEXTRA = 4;
+    private static final int FNAME = 8;
+    private static final int FCOMMENT = 16;
+
+    // Deflater pools indexed by nowrap and the compression level plus one
+    private static final Pool[][] DEFLATERS = {new Pool[11], new Pool[11]};
+
+    // Inflater pools indexed by nowrap
+    private static final Pool[] INFLATERS = {new Pool(), new Pool()};
+
+    static {
+        for (Pool[] pools : DEFLATERS) {
+            for (int i = 0; i < pools.length; i++) {
+                pools[i] = new Pool();
+            }
+        }
+    }
+
+    private static final class Pool {
+        private final ConcurrentLinkedQueue<Object> instances =
+                new ConcurrentLinkedQueue<Object>();
+
+        private final AtomicInteger size = new AtomicInteger();
+
+        Object poll() {
+            final Object o = instances.poll();
+            if (o != null) {
+                size.decrementAndGet();
+            }
+            return o;
+        }
+
+        boolean offer(Object o) {
+            if (size.incrementAndGet() > POOL_CAPACITY) {
+                size.decrementAndGet();
+                return false;
+            }
+            instances.offer(o);
+            return true;
+        }
+    }
+
+    private static Deflater takeDeflater(boolean nowrap, int level) {
+        final Deflater d = (Deflater)DEFLATERS[nowrap ? 1 : 0][level + 1].poll();
+        return (d != null) ? d : new Deflater(level, nowrap);
+    }
+
+    private static void giveDeflater(Deflater d, boolean nowrap, int level) {
+        d.reset();
+        if (!DEFLATERS[nowrap ? 1 : 0][level + 1].offer(d)) {
+            d.end();
+        }
+    }
+
+    private static Inflater takeInflater(boolean nowrap) {
+        final Inflater i = (Inflater)INFLATERS[nowrap ? 1 : 0].poll();
+        return (i != null) ? i : new Inflater(nowrap);
+    }
+
+    private static void giveInflater(Inflater i, boolean nowrap) {
+        i.reset();
+        if (!INFLATERS[nowrap ? 1 : 0].offer(i)) {
+            i.end();
+        }
+    }
+
+    private static final class EncodingOutputStream extends DeflaterOutputStream {
+        private final CRC32 crc;
+
+        private final int level;
+
+        private boolean released;
+
+        EncodingOutputStream(OutputStream out, boolean gzip, int level) throws IOException {
+            super(out, takeDeflater(gzip, level), 1);
+            this.buf = BufferPool.takeBytes();
+            this.level = level;
+            if (gzip) {
+                this.crc = new CRC32();
+                out.write(GZIP_HEADER);
+            } else {
+                this.crc = null;
+            }
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            if (released)
+                throw new IOException("write beyond end of stream");
+
+            super.write(b, off, len);
+            if (crc != null) {
+                crc.update(b, off, len);
+            }
+        }
+
+        @Override
+        public void finish() throws IOException {
+            if (released)
+                return;
+
+            try {
+                def.finish();
+                while (!def.finished()) {
+                    deflate();
+                }
+
+                if (crc != null) {
+                    final byte[] trailer = new byte[8];
+                    writeInt(trailer, 0, crc.getValue());
+                    writeInt(trailer, 4, def.getBytesRead());
+                    out.write(trailer);
+                }
+            } finally {
+                release();
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                finish();
+            } finally {
+                out.close();
+            }
+        }
+
+        private void release() {
+            released = true;
+            giveDeflater(def, crc != null, level);
+            BufferPool.giveBytes(buf);
+            buf = null;
+        }
+
+        private static void writeInt(byte[] b, int offset, long v) {
+            b[offset] = (byte)v;
+            b[offset + 1] = (byte)(v >> 8);
+            b[offset + 2] = (byte)(v >> 16);
+            b[offset + 3] = (byte)(v >> 24);
+        }
+    }
+
+    private static final class DecodingInputStream extends InflaterInputStream {
+        private final CRC32 crc;
+
+        private boolean released;
+
+        DecodingInputStream(InputStream in, boolean gzip) throws IOException {
+            super(in, takeInflater(gzip), 1);
+            this.buf = BufferPool.takeBytes();
+            if (gzip) {
+                this.crc = new CRC32();
+                try {
+                    readHeader();
+                } catch (IOException e) {
+                    release();
+                    throw e;
+                }
+            } else {
+                this.crc = null;
+            }
+        }
+
+        @Override
+        public int read(byte[] b, int off, int length) throws IOException {
+            if (released)
+                return -1;
+
+            final int n = super.read(b, off, length);
+            if (n == -1) {
+                try {
+                    if (crc != null) {
+                        readTrailer();
+                    }
+                } finally {
+                    release();
+                }
+            } else if (crc != null) {
+                crc.update(b, off, n);
+            }
+            return n;
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                super.close();
+            } finally {
+                release();
+            }
+        }
+
+        private void release() {
+            if (released)
+                return;
+
+            released = true;
+            giveInflater(inf, crc != null);
+            BufferPool.giveBytes(buf);
+            buf = null;
+        }
+
+        private void readHeader() throws IOException {
+            if (readUShort() != GZIP_MAGIC)
+                throw new ZipException("Not in GZIP format");
+            if (readUByte() != Deflater.DEFLATED)
+                throw new ZipException("Unsupported compression method");
+
+            final int flags = readUByte();
+            // Modification time, extra flags and operating system
+            skipBytes(6);
+            if ((flags & FEXTRA) == FEXTRA) {
+                skipBytes(readUShort());
+            }
+            if ((flags & FNAME) == FNAME) {
+                while (readUByte() != 0) ;
+            }
+            if ((flags & FCOMMENT) == FCOMMENT) {
+                while (readUByte() != 0) ;
+            }
+            if ((flags & FHCRC) == FHCRC) {
+                skipBytes(2);
+            }
+        }
+
+        private void readTrailer() throws IOException {
+            final byte[] trailer = new byte[8];
+            // The trailer may have been partially or fully read into the buffer
+            int n = Math.min(inf.getRemaining(), trailer.length);
+            System.arraycopy(buf, len - inf.getRemaining(), trailer, 0, n);
+            while (n < trailer.length) {
+                final int r = in.read(trailer, n, trailer.length - n);
+                if (r == -1)
+                    throw new EOFException("Unexpected end of GZIP trailer");
+                n += r;
+            }
+
+            if (readUInt(trailer, 0) != crc.getValue() ||
+                    readUInt(trailer, 4) != (inf.getBytesWritten() & 0xffffffffL))
+                throw new ZipException("Corrupt GZIP trailer");
+        }
+
+        private int readUByte() throws IOException {
+            final int b = in.read();
+            if (b == -1)
+                throw new EOFException("Unexpected end of GZIP header");
+            return b;
+        }
+
+        private int readUShort() throws IOException {
+            return readUByte() | (readUByte() << 8);
+        }
+
+        private void skipBytes(int n) throws IOException {
+            while (n-- > 0) {
+                readUByte();
+            }
+        }
+
+        private static long readUInt(byte[] b, int offset) {
+            return (b[offset] & 0xffL) |
+                    ((b[offset + 1] & 0xffL) << 8) |
+                    ((b[offset + 2] & 0xffL) << 16) |
+                    ((b[offset + 3] & 0xffL) << 24);
+        }
+    }
+}
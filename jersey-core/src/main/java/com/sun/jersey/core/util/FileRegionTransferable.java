@@ -0,0 +1,76 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2026 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+
+package com.sun.jersey.core.util;
+
+import com.sun.jersey.api.representation.FileRegion;
+import java.io.IOException;
+
+/**
+ * An output stream, supplied by a container or client, that may transfer
+ * the bytes of a file region without copying those bytes to the Java heap,
+ * for example using the sendfile support of the underlying connection.
+ * <p>
+ * An output stream that wraps another output stream may implement this
+ * interface and defer to the wrapped output stream if the bytes written
+ * are not modified.
+ *
+ * @author agent@local
+ * @see ReaderWriter#writeTo(FileRegion, java.io.OutputStream)
+ */
+public interface FileRegionTransferable {
+
+    /**
+     * Transfer the bytes of a file region.
+     * <p>
+     * Any bytes previously written to the output stream are written before
+     * the bytes of the file region. The transfer may complete asynchronously
+     * so no further bytes may be written to the output stream after the bytes
+     * of a file region have been transferred.
+     *
+     * @param region the file region.
+     * @return true if the bytes have been, or will be, transferred, otherwise
+     *         false if the transfer is not supported, in which case no bytes
+     *         have been transferred and the bytes should be written to the
+     *         output stream.
+     * @throws IOException if there is an error transferring the bytes.
+     */
+    boolean transfer(FileRegion region) throws IOException;
+}
@@ -40,7 +40,11 @@
 
 package com.sun.jersey.core.util;
 
+import com.sun.jersey.api.representation.FileRegion;
 import java.io.BufferedWriter;
+import java.io.EOFException;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
@@ -48,6 +52,8 @@ import java.io.OutputStream;
 import java.io.OutputStreamWriter;
 import java.io.Reader;
 import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.charset.Charset;
 import javax.ws.rs.core.MediaType;
 
@@ -57,6 +63,7 @@ import javax.ws.rs.core.MediaType;
  * If a byte or character array is utilized then the size of the array
  * is by default the value of {@link #DEFAULT_BUFFER_SIZE}. This value can
  * be set using the system property {@link #BUFFER_SIZE_SYSTEM_PROPERTY}.
+ * Such arrays are obtained from, and returned to, the {@link BufferPool}.
  *
  * @author Paul.Sandoz@Sun.Com
  */
@@ -103,16 +110,113 @@ public final class ReaderWriter {
 
     /**
      * Read bytes from an input stream and write them to an output stream.
+     * <p>
+     * If the input stream is a {@link FileInputStream} and the output stream
+     * is a {@link FileOutputStream} then the bytes, up to the size of the
+     * input file, are transferred between the file channels of the streams
+     * without copying to an array of bytes. Any remaining bytes, for example
+     * all bytes of a pipe or a device file whose size is zero, are copied.
      *
      * @param in the input stream to read from.
      * @param out the output stream to write to.
      * @throws IOException if there is an error reading or writing bytes.
      */
     public static final void writeTo(InputStream in, OutputStream out) throws IOException {
+        if (in instanceof FileInputStream && out instanceof FileOutputStream) {
+            transferTo(((FileInputStream)in).getChannel(),
+                    ((FileOutputStream)out).getChannel());
+        }
+
         int read;
-        final byte[] data = new byte[BUFFER_SIZE];
-        while ((read = in.read(data)) != -1)
-            out.write(data, 0, read);
+        final byte[] data = BufferPool.takeBytes();
+        try {
+            while ((read = in.read(data)) != -1)
+                out.write(data, 0, read);
+        } finally {
+            BufferPool.giveBytes(data);
+        }
+    }
+
+    /**
+     * Transfer the bytes of a file channel, from the current position up to
+     * the size of the file, and update the position. The size is zero for
+     * files that are not regular files, in which case nothing is transferred,
+     * and the caller must copy any remaining bytes until the end of stream.
+     */
+    private static void transferTo(FileChannel in, FileChannel out) throws IOException {
+        final long position = in.position();
+        final long size = in.size();
+        if (position < size) {
+            in.position(transferTo(in, position, size, out));
+        }
+    }
+
+    private static long transferTo(FileChannel in, long position, long end,
+            FileChannel out) throws IOException {
+        while (position < end) {
+            final long transferred = in.transferTo(position, end - position, out);
+            if (transferred <= 0)
+                break;
+            position += transferred;
+        }
+        return position;
+    }
+
+    /**
+     * Write the bytes of a file region to an output stream.
+     * <p>
+     * If the output stream is an instance of {@link FileRegionTransferable}
+     * then the output stream is requested to transfer the bytes. Otherwise,
+     * or if the transfer is not supported, the bytes are transferred between
+     * file channels if the output stream is a {@link FileOutputStream}.
+     * Any bytes that are not transferred are read from the file channel and
+     * written to the output stream.
+     *
+     * @param region the file region to write.
+     * @param out the output stream to write to.
+     * @throws IOException if there is an error reading or writing bytes, or
+     *         the file region exceeds the length of the file.
+     */
+    public static final void writeTo(FileRegion region, OutputStream out) throws IOException {
+        if (out instanceof FileRegionTransferable &&
+                ((FileRegionTransferable)out).transfer(region))
+            return;
+
+        final FileInputStream in = new FileInputStream(region.getFile());
+        try {
+            final FileChannel channel = in.getChannel();
+            final long end = region.getPosition() + region.getLength();
+            long position = region.getPosition();
+            if (out instanceof FileOutputStream) {
+                position = transferTo(channel, position, end,
+                        ((FileOutputStream)out).getChannel());
+            }
+
+            // Copy the bytes that have not been transferred
+            if (position < end) {
+                final byte[] data = BufferPool.takeBytes();
+                try {
+                    final ByteBuffer buffer = ByteBuffer.wrap(data);
+                    while (position < end) {
+                        buffer.clear();
+                        buffer.limit((int)Math.min(data.length, end - position));
+                        final int read = channel.read(buffer, position);
+                        if (read == -1)
+                            break;
+                        out.write(data, 0, read);
+                        position += read;
+                    }
+                } finally {
+                    BufferPool.giveBytes(data);
+                }
+            }
+
+            if (position < end)
+                throw new EOFException("The file region " + region +
+                        " exceeds the length of the file");
+        } finally {
+            in.close();
+        }
     }
 
     /**
@@ -124,9 +228,13 @@ public final class ReaderWriter {
      */
     public static final void writeTo(Reader in, Writer out) throws IOException {
         int read;
-        final char[] data = new char[BUFFER_SIZE];
-        while ((read = in.read(data)) != -1)
-            out.write(data, 0, read);
+        final char[] data = BufferPool.takeChars();
+        try {
+            while ((read = in.read(data)) != -1)
+                out.write(data, 0, read);
+        } finally {
+            BufferPool.giveChars(data);
+        }
     }
 
     /**
@@ -166,16 +274,24 @@ public final class ReaderWriter {
      */
     public static final String readFromAsString(Reader reader) throws IOException {
         StringBuilder sb = new StringBuilder();
-        char[] c = new char[BUFFER_SIZE];
-        int l;
-        while ((l = reader.read(c)) != -1) {
-            sb.append(c, 0, l);
+        char[] c = BufferPool.takeChars();
+        try {
+            int l;
+            while ((l = reader.read(c)) != -1) {
+                sb.append(c, 0, l);
+            }
+        } finally {
+            BufferPool.giveChars(c);
         }
         return sb.toString();
     }
 
     /**
      * Convert a string to bytes and write those bytes to an output stream.
+     * <p>
+     * A string whose length is no greater than {@link #BUFFER_SIZE} is
+     * encoded to bytes in one operation, otherwise the string is encoded
+     * as the bytes are written.
      *
      * @param s the string to convert to bytes.
      * @param out the output stream to write to.
@@ -185,8 +301,14 @@ public final class ReaderWriter {
      */
     public static final void writeToAsString(String s, OutputStream out,
             MediaType type) throws IOException {
-        Writer osw = new BufferedWriter(new OutputStreamWriter(out,
-                getCharset(type)));
+        final Charset charset = getCharset(type);
+        if (s.length() <= BUFFER_SIZE) {
+            out.write(s.getBytes(charset));
+            out.flush();
+            return;
+        }
+
+        Writer osw = new BufferedWriter(new OutputStreamWriter(out, charset));
         osw.write(s);
         osw.flush();
     }
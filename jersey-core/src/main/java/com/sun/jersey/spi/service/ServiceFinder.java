@@ -51,13 +51,16 @@ import java.net.URLConnection;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Enumeration;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.ListIterator;
+import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Set;
 import java.util.TreeSet;
+import java.util.WeakHashMap;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -153,6 +156,13 @@ import java.security.PrivilegedActionException;
  * The provider-lookup mechanism always executes in the security context of the
  * caller.  Trusted system code should typically invoke the methods in this
  * class from within a privileged security context.
+ * <p/>
+ * The provider-configuration files of a service, and the provider class
+ * names declared in each file, are indexed per class loader. The resources
+ * of a class loader are searched for the provider-configuration files of a
+ * service, and each file is read, once for the lifetime of the class loader.
+ * The index is not written at build time, so the provider-configuration files
+ * are searched for and read when a service is first looked up.
  *
  * @param <T> the type of the service instance.
  * @author Mark Reinhold (mark.reinhold at oracle.com)
@@ -170,6 +180,9 @@ public final class ServiceFinder<T> implements Iterable<T> {
 
     private static final Set<String> MODULES_BLACKLIST;
 
+    private static final Map<ClassLoader, ServiceIndex> SERVICE_INDEXES =
+            new WeakHashMap<ClassLoader, ServiceIndex>();
+
     private final Class<T> serviceClass;
     private final String serviceName;
     private final ClassLoader classLoader;
@@ -605,8 +618,55 @@ public final class ServiceFinder<T> implements Iterable<T> {
     }
 
     /**
-     * Parse the content of the given URL as a provider-configuration file.
+     * The provider-configuration files, and the provider class names
+     * declared in each file, of the services found by a class loader.
+     */
+    private static final class ServiceIndex {
+        /**
+         * The provider-configuration file URLs of a service.
+         */
+        final Map<String, List<URL>> configs = new HashMap<String, List<URL>>();
+
+        /**
+         * The provider class names of a provider-configuration file URL.
+         */
+        final Map<String, List<String>> names = new HashMap<String, List<String>>();
+    }
+
+    private static ServiceIndex getServiceIndex(ClassLoader loader) {
+        synchronized (SERVICE_INDEXES) {
+            ServiceIndex index = SERVICE_INDEXES.get(loader);
+            if (index == null) {
+                index = new ServiceIndex();
+                SERVICE_INDEXES.put(loader, index);
+            }
+            return index;
+        }
+    }
+
+    /**
+     * Get the provider-configuration files of a service found by a class
+     * loader.
+     */
+    private static Enumeration<URL> getConfigs(ClassLoader loader, String fullName)
+            throws IOException {
+        final ServiceIndex index = getServiceIndex(loader);
+        synchronized (index) {
+            List<URL> configs = index.configs.get(fullName);
+            if (configs == null) {
+                configs = Collections.list(
+                        filterServiceURLsWithVersion(fullName, getResources(loader, fullName)));
+                index.configs.put(fullName, configs);
+            }
+            return Collections.enumeration(configs);
+        }
+    }
+
+    /**
+     * Get the provider class names declared in a provider-configuration file
+     * that are not yet members of the returned set.
      *
+     * @param loader   The class loader that found the configuration file
      * @param serviceName  The service class for which providers are being sought;
      *                     used to construct error detail strings
      * @param u        The URL naming the configuration file to be parsed
@@ -619,9 +679,44 @@ public final class ServiceFinder<T> implements Iterable<T> {
      * @throws ServiceConfigurationError If an I/O error occurs while reading from the given URL, or
      *                                   if a configuration-file format error is detected
      */
+    private static Iterator<String> parse(ClassLoader loader, String serviceName, URL u,
+                                          Set<String> returned)
+            throws ServiceConfigurationError {
+        final ServiceIndex index = getServiceIndex(loader);
+        final List<String> names;
+        synchronized (index) {
+            final String key = u.toExternalForm();
+            List<String> parsed = index.names.get(key);
+            if (parsed == null) {
+                parsed = parse(serviceName, u);
+                index.names.put(key, parsed);
+            }
+            names = parsed;
+        }
+
+        final List<String> pending = new ArrayList<String>(names.size());
+        for (String name : names) {
+            if (returned.add(name)) {
+                pending.add(name);
+            }
+        }
+        return pending.iterator();
+    }
+
+    /**
+     * Parse the content of the given URL as a provider-configuration file.
+     *
+     * @param serviceName  The service class for which providers are being sought;
+     *                     used to construct error detail strings
+     * @param u        The URL naming the configuration file to be parsed
+     * @return The provider-class names in the given configuration file
+     * @throws ServiceConfigurationError If an I/O error occurs while reading from the given URL, or
+     *                                   if a configuration-file format error is detected
+     */
     @SuppressWarnings({"StatementWithEmptyBody"})
-    private static Iterator<String> parse(String serviceName, URL u, Set<String> returned)
+    private static List<String> parse(String serviceName, URL u)
             throws ServiceConfigurationError {
+        final Set<String> returned = new HashSet<String>();
         InputStream in = null;
         BufferedReader r = null;
         ArrayList<String> names = new ArrayList<String>();
@@ -642,7 +737,7 @@ public final class ServiceFinder<T> implements Iterable<T> {
                 fail(serviceName, ": " + y);
             }
         }
-        return names.iterator();
+        return names;
     }
 
     private static class AbstractLazyIterator<T> {
@@ -671,7 +766,7 @@ public final class ServiceFinder<T> implements Iterable<T> {
             if (configs == null) {
                 try {
                     final String fullName = PREFIX + serviceName;
-                    configs = filterServiceURLsWithVersion(fullName, getResources(loader, fullName));
+                    configs = getConfigs(loader, fullName);
                 } catch (IOException x) {
                     fail(serviceName, ": " + x);
                 }
@@ -689,7 +784,7 @@ public final class ServiceFinder<T> implements Iterable<T> {
                     if (!configs.hasMoreElements()) {
                         return false;
                     }
-                    pending = parse(serviceName, configs.nextElement(), returned);
+                    pending = parse(loader, serviceName, configs.nextElement(), returned);
                 }
                 nextName = pending.next();
                 if (ignoreOnClassNotFound) {
@@ -826,7 +921,7 @@ public final class ServiceFinder<T> implements Iterable<T> {
                     if (!configs.hasMoreElements()) {
                         return false;
                     }
-                    pending = parse(serviceName, configs.nextElement(), returned);
+                    pending = parse(loader, serviceName, configs.nextElement(), returned);
                 }
                 nextName = pending.next();
                 try {
@@ -0,0 +1,135 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2026 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+
+package com.sun.jersey.api.uri;
+
+import java.net.URI;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+/**
+ *
+ * @author agent@local
+ */
+public class CompiledUriTemplateTest {
+
+    private static CompiledUriTemplate compile(String uri) {
+        UriBuilderImpl b = new UriBuilderImpl();
+        b.uri(URI.create("http://localhost:8080")).path(uri);
+        return b.compile();
+    }
+
+    @Test
+    public void testTemplateVariables() {
+        CompiledUriTemplate t = compile("a/{x}/b/{y: \\d+}/{x}");
+        assertEquals(Arrays.asList("x", "y"), t.getTemplateVariables());
+        assertEquals("http://localhost:8080/a/{x}/b/{y}/{x}", t.toString());
+    }
+
+    @Test
+    public void testCreateURI() {
+        CompiledUriTemplate t = compile("a/{x}/b/{y}/{x}");
+        assertEquals("http://localhost:8080/a/1/b/2/1",
+                t.createURI(new Object[] {"1", 2}, true));
+        assertEquals("http://localhost:8080/a/3/b/4/3",
+                t.createURI(new Object[] {"3", "4", "5"}, true));
+    }
+
+    @Test
+    public void testCreateURIFromMap() {
+        CompiledUriTemplate t = compile("a/{x}/b/{y}/{x}");
+        Map<String, Object> m = new HashMap<String, Object>();
+        m.put("x", "1");
+        m.put("y", 2);
+        assertEquals("http://localhost:8080/a/1/b/2/1", t.createURI(m, true));
+    }
+
+    @Test
+    public void testCreateURIEncode() {
+        UriBuilderImpl b = new UriBuilderImpl();
+        b.path("a/{x}").queryParam("q", "{y}");
+        CompiledUriTemplate t = b.compile();
+        assertEquals("a/%2520%20b?q=%26",
+                t.createURI(new Object[] {"%20 b", "&"}, true));
+        assertEquals("a/%20%20b?q=%26",
+                t.createURI(new Object[] {"%20 b", "&"}, false));
+    }
+
+    @Test
+    public void testCreateURINoValue() {
+        CompiledUriTemplate t = compile("a/{x}/b/{y}");
+        try {
+            t.createURI(new Object[] {"1"}, true);
+            fail();
+        } catch (IllegalArgumentException ex) {
+        }
+        try {
+            t.createURI(new Object[] {"1", null}, true);
+            fail();
+        } catch (IllegalArgumentException ex) {
+        }
+        try {
+            t.createURI(new HashMap<String, Object>(), true);
+            fail();
+        } catch (IllegalArgumentException ex) {
+        }
+    }
+
+    @Test
+    public void testCached() {
+        assertSame(compile("a/{x}"), compile("a/{x}"));
+    }
+
+    @Test
+    public void testBuild() {
+        UriBuilderImpl b = new UriBuilderImpl();
+        b.uri(URI.create("http://localhost/")).path("{x}").queryParam("q", "{y}");
+        for (int i = 0; i < 3; i++) {
+            assertEquals(URI.create("http://localhost/" + i + "?q=" + (i + 1)),
+                    b.build(i, i + 1));
+        }
+    }
+}
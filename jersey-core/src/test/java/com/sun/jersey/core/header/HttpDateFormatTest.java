@@ -0,0 +1,122 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2026 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+
+package com.sun.jersey.core.header;
+
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.Locale;
+import java.util.Random;
+import java.util.TimeZone;
+import junit.framework.TestCase;
+
+/**
+ *
+ * @author agent@local
+ */
+public class HttpDateFormatTest extends TestCase {
+
+    private static final long DATE = 784111777000L;
+
+    public void testReadRFC1123() throws ParseException {
+        assertEquals(DATE, HttpDateFormat.readDate("Sun, 06 Nov 1994 08:49:37 GMT").getTime());
+        assertEquals(DATE, HttpDateFormat.readDate("sun, 06 nov 1994 08:49:37 gmt").getTime());
+        assertEquals(DATE, HttpDateFormat.readDate("Sun, 6 Nov 1994 08:49:37 GMT").getTime());
+    }
+
+    public void testReadRFC1036() throws ParseException {
+        assertEquals(DATE, HttpDateFormat.readDate("Sunday, 06-Nov-94 08:49:37 GMT").getTime());
+    }
+
+    public void testReadANSICAsctime() throws ParseException {
+        assertEquals(DATE, HttpDateFormat.readDate("Sun Nov  6 08:49:37 1994").getTime());
+        assertEquals(DATE + 10 * 86400000L, HttpDateFormat.readDate("Wed Nov 16 08:49:37 1994").getTime());
+    }
+
+    public void testReadOtherTimeZone() throws ParseException {
+        assertEquals(DATE, HttpDateFormat.readDate("Sun, 06 Nov 1994 08:49:37 UTC").getTime());
+        assertEquals(DATE, HttpDateFormat.readDate("Sun, 06 Nov 1994 09:49:37 GMT+01:00").getTime());
+    }
+
+    public void testReadInvalid() {
+        try {
+            HttpDateFormat.readDate("06 Nov 1994");
+            fail();
+        } catch (ParseException e) {
+        }
+    }
+
+    public void testFormat() {
+        assertEquals("Sun, 06 Nov 1994 08:49:37 GMT", HttpDateFormat.formatDate(new Date(DATE)));
+        assertEquals("Sun, 06 Nov 1994 08:49:37 GMT", HttpDateFormat.formatDate(new Date(DATE + 999)));
+        assertEquals("Sun, 06 Nov 1994 08:49:38 GMT", HttpDateFormat.formatDate(new Date(DATE + 1000)));
+        assertEquals("Thu, 01 Jan 1970 00:00:00 GMT", HttpDateFormat.formatDate(new Date(0)));
+        assertEquals("Wed, 31 Dec 1969 23:59:59 GMT", HttpDateFormat.formatDate(new Date(-1)));
+    }
+
+    public void testCurrentDate() throws ParseException {
+        final long now = System.currentTimeMillis();
+        final long date = HttpDateFormat.readDate(HttpDateFormat.formatDate(new Date(now))).getTime();
+        assertEquals(now / 1000 * 1000, date);
+
+        assertEquals("Sun, 06 Nov 1994 08:49:37 GMT", HttpDateFormat.formatDate(new Date(DATE)));
+        assertEquals(date, HttpDateFormat.readDate(HttpDateFormat.formatDate(new Date(now))).getTime());
+        assertEquals("Sun, 06 Nov 1994 08:49:37 GMT", HttpDateFormat.formatDate(new Date(DATE)));
+    }
+
+    public void testSameAsDateFormats() throws ParseException {
+        // parsing a date of another time zone may change the time zone of a date format
+        final SimpleDateFormat preferred = new SimpleDateFormat("EEE, dd MMM yyyy HH:mm:ss zzz", Locale.US);
+        preferred.setTimeZone(TimeZone.getTimeZone("GMT"));
+
+        final Random r = new Random(1994);
+        for (int i = 0; i < 10000; i++) {
+            // dates from the year 1840 to 2100
+            final Date date = new Date(r.nextLong() % (130L * 365 * 86400000L));
+            assertEquals(preferred.format(date), HttpDateFormat.formatDate(date));
+
+            for (SimpleDateFormat f : HttpDateFormat.getDateFormats()) {
+                final String s = f.format(date);
+                assertEquals(s, f.parse(s), HttpDateFormat.readDate(s));
+            }
+        }
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2026 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+
+package com.sun.jersey.core.header.reader;
+
+import com.sun.jersey.core.header.AcceptableMediaType;
+import com.sun.jersey.core.header.AcceptableToken;
+import java.text.ParseException;
+import java.util.List;
+import javax.ws.rs.core.MediaType;
+import junit.framework.TestCase;
+
+/**
+ *
+ * @author agent@local
+ */
+public class HttpHeaderCacheTest extends TestCase {
+
+    public void testAcceptMediaType() throws ParseException {
+        String header = "text/plain;q=0.5, text/html, application/xml;q=0.8";
+        List<AcceptableMediaType> l = HttpHeaderCache.readAcceptMediaType(header);
+        assertEquals(HttpHeaderReader.readAcceptMediaType(header), l);
+        assertEquals("html", l.get(0).getSubtype());
+        assertEquals("xml", l.get(1).getSubtype());
+        assertEquals("plain", l.get(2).getSubtype());
+
+        assertSame(l, HttpHeaderCache.readAcceptMediaType(header));
+    }
+
+    public void testAcceptMediaTypeUnmodifiable() throws ParseException {
+        List<AcceptableMediaType> l = HttpHeaderCache.readAcceptMediaType("text/plain");
+        try {
+            l.clear();
+            fail();
+        } catch (UnsupportedOperationException ex) {
+        }
+    }
+
+    public void testAcceptMediaTypeError() {
+        for (int i = 0; i < 2; i++) {
+            try {
+                HttpHeaderCache.readAcceptMediaType("text/plain;q=1.1");
+                fail();
+            } catch (ParseException ex) {
+            }
+        }
+    }
+
+    public void testAcceptToken() throws ParseException {
+        String header = "gzip;q=0.5, deflate";
+        List<AcceptableToken> l = HttpHeaderCache.readAcceptToken(header);
+        assertEquals("deflate", l.get(0).getToken());
+        assertEquals("gzip", l.get(1).getToken());
+
+        assertSame(l, HttpHeaderCache.readAcceptToken(header));
+    }
+
+    public void testMediaType() {
+        String header = "application/xml;charset=UTF-8";
+        MediaType m = HttpHeaderCache.readMediaType(header);
+        assertEquals(MediaType.valueOf(header), m);
+
+        assertSame(m, HttpHeaderCache.readMediaType(header));
+    }
+
+    public void testLongValueNotCached() throws ParseException {
+        StringBuilder sb = new StringBuilder("text/plain");
+        while (sb.length() <= HttpHeaderCache.MAX_VALUE_LENGTH) {
+            sb.append(", text/html");
+        }
+        String header = sb.toString();
+        assertNotSame(HttpHeaderCache.readAcceptMediaType(header),
+                HttpHeaderCache.readAcceptMediaType(header));
+    }
+}
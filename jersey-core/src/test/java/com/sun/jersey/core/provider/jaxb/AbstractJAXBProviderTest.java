@@ -46,16 +46,37 @@ package com.sun.jersey.core.provider.jaxb;
 
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
 
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.MultivaluedMap;
+import javax.ws.rs.ext.ContextResolver;
+import javax.ws.rs.ext.ExceptionMapper;
+import javax.ws.rs.ext.MessageBodyReader;
+import javax.ws.rs.ext.MessageBodyWriter;
+import javax.ws.rs.ext.Providers;
+import javax.xml.XMLConstants;
+import javax.xml.bind.Marshaller;
+import javax.xml.bind.Unmarshaller;
+import javax.xml.bind.annotation.XmlRootElement;
 import javax.xml.parsers.SAXParserFactory;
 import javax.xml.transform.TransformerFactory;
 import javax.xml.transform.sax.SAXSource;
 import javax.xml.transform.stream.StreamResult;
 
+import javax.xml.validation.SchemaFactory;
+
 import org.junit.Test;
 
 import com.sun.jersey.core.impl.provider.xml.SAXParserContextProviderTest;
 
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
 public class AbstractJAXBProviderTest {
     @Test
     public void abstractJaxbProviderDoesNotReadExternalDtds() throws Exception {
@@ -67,4 +88,103 @@ public class AbstractJAXBProviderTest {
 
         TransformerFactory.newInstance().newTransformer().transform(saxSource, new StreamResult(new ByteArrayOutputStream()));
     }
+
+    @XmlRootElement
+    public static class Bean {
+        public String value;
+    }
+
+    private static final class NoProviders implements Providers {
+        public <T> MessageBodyReader<T> getMessageBodyReader(Class<T> type, Type genericType,
+                Annotation[] annotations, MediaType mediaType) {
+            return null;
+        }
+
+        public <T> MessageBodyWriter<T> getMessageBodyWriter(Class<T> type, Type genericType,
+                Annotation[] annotations, MediaType mediaType) {
+            return null;
+        }
+
+        public <T extends Throwable> ExceptionMapper<T> getExceptionMapper(Class<T> type) {
+            return null;
+        }
+
+        public <T> ContextResolver<T> getContextResolver(Class<T> contextType, MediaType mediaType) {
+            return null;
+        }
+    }
+
+    private static final class BeanProvider extends AbstractJAXBProvider<Bean> {
+        BeanProvider() {
+            super(new NoProviders());
+        }
+
+        public boolean isReadable(Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType) {
+            return false;
+        }
+
+        public Bean readFrom(Class<Bean> type, Type genericType, Annotation[] annotations, MediaType mediaType,
+                MultivaluedMap<String, String> httpHeaders, InputStream entityStream) {
+            throw new UnsupportedOperationException();
+        }
+
+        public boolean isWriteable(Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType) {
+            return false;
+        }
+
+        public void writeTo(Bean t, Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType,
+                MultivaluedMap<String, Object> httpHeaders, OutputStream entityStream) {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    @Test
+    public void pooledMarshallerIsReusedAndReset() throws Exception {
+        final BeanProvider p = new BeanProvider();
+
+        AbstractJAXBProvider.Lease<Marshaller> l = p.borrowMarshaller(Bean.class, null);
+        final Marshaller m = l.get();
+        m.setListener(new Marshaller.Listener() {});
+        m.setSchema(SchemaFactory.newInstance(XMLConstants.W3C_XML_SCHEMA_NS_URI).newSchema());
+        m.setProperty(Marshaller.JAXB_FRAGMENT, true);
+        l.release();
+
+        l = p.borrowMarshaller(Bean.class, null);
+        assertSame(m, l.get());
+        assertNull(m.getListener());
+        assertNull(m.getSchema());
+        assertSame(Boolean.FALSE, m.getProperty(Marshaller.JAXB_FRAGMENT));
+        l.release();
+    }
+
+    @Test
+    public void pooledUnmarshallerIsReusedAndReset() throws Exception {
+        final BeanProvider p = new BeanProvider();
+
+        AbstractJAXBProvider.Lease<Unmarshaller> l = p.borrowUnmarshaller(Bean.class, null);
+        final Unmarshaller u = l.get();
+        u.setListener(new Unmarshaller.Listener() {});
+        u.setSchema(SchemaFactory.newInstance(XMLConstants.W3C_XML_SCHEMA_NS_URI).newSchema());
+        l.release();
+
+        l = p.borrowUnmarshaller(Bean.class, null);
+        assertSame(u, l.get());
+        assertNull(u.getListener());
+        assertNull(u.getSchema());
+        l.release();
+    }
+
+    @Test
+    public void discardedMarshallerIsNotReused() throws Exception {
+        final BeanProvider p = new BeanProvider();
+
+        AbstractJAXBProvider.Lease<Marshaller> l = p.borrowMarshaller(Bean.class, null);
+        final Marshaller m = l.get();
+        l.discard();
+        l.release();
+
+        l = p.borrowMarshaller(Bean.class, null);
+        assertNotSame(m, l.get());
+        l.release();
+    }
 }
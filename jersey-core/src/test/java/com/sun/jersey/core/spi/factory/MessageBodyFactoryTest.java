@@ -0,0 +1,277 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2026 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+
+package com.sun.jersey.core.spi.factory;
+
+import com.sun.jersey.core.spi.component.ProviderServices;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.ws.rs.Consumes;
+import javax.ws.rs.Produces;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.MultivaluedMap;
+import javax.ws.rs.ext.MessageBodyReader;
+import javax.ws.rs.ext.MessageBodyWriter;
+import junit.framework.TestCase;
+
+/**
+ *
+ * @author agent@local
+ */
+public class MessageBodyFactoryTest extends TestCase {
+
+    @Produces("text/plain")
+    @Consumes("text/plain")
+    public static class Annotated {
+    }
+
+    @Produces("text/plain")
+    public static class OtherAnnotated {
+    }
+
+    public void testResolutionKeyEquality() {
+        Annotation[] as = Annotated.class.getAnnotations();
+
+        MessageBodyFactory.ResolutionKey k1 = new MessageBodyFactory.ResolutionKey(
+                String.class, String.class, as, MediaType.TEXT_PLAIN_TYPE);
+        MessageBodyFactory.ResolutionKey k2 = new MessageBodyFactory.ResolutionKey(
+                String.class, String.class, Annotated.class.getAnnotations(), new MediaType("TEXT", "Plain"));
+        assertEquals(k1, k2);
+        assertEquals(k1.hashCode(), k2.hashCode());
+    }
+
+    public void testResolutionKeyAnnotationValueEquality() {
+        MessageBodyFactory.ResolutionKey k1 = new MessageBodyFactory.ResolutionKey(
+                String.class, String.class,
+                new Annotation[] {Annotated.class.getAnnotation(Produces.class)}, MediaType.TEXT_PLAIN_TYPE);
+        MessageBodyFactory.ResolutionKey k2 = new MessageBodyFactory.ResolutionKey(
+                String.class, String.class,
+                new Annotation[] {OtherAnnotated.class.getAnnotation(Produces.class)}, MediaType.TEXT_PLAIN_TYPE);
+        assertEquals(k1, k2);
+        assertEquals(k1.hashCode(), k2.hashCode());
+    }
+
+    public void testResolutionKeyInequality() {
+        Annotation[] as = Annotated.class.getAnnotations();
+        MessageBodyFactory.ResolutionKey k = new MessageBodyFactory.ResolutionKey(
+                String.class, String.class, as, MediaType.TEXT_PLAIN_TYPE);
+
+        assertFalse(k.equals(new MessageBodyFactory.ResolutionKey(
+                Object.class, String.class, as, MediaType.TEXT_PLAIN_TYPE)));
+        assertFalse(k.equals(new MessageBodyFactory.ResolutionKey(
+                String.class, String.class, as, MediaType.TEXT_XML_TYPE)));
+        assertFalse(k.equals(new MessageBodyFactory.ResolutionKey(
+                String.class, String.class, as, MediaType.valueOf("text/plain;charset=UTF-8"))));
+        assertFalse(k.equals(new MessageBodyFactory.ResolutionKey(
+                String.class, String.class, new Annotation[0], MediaType.TEXT_PLAIN_TYPE)));
+        assertFalse(k.equals(new MessageBodyFactory.ResolutionKey(
+                String.class, String.class, OtherAnnotated.class.getAnnotations(), MediaType.TEXT_PLAIN_TYPE)));
+    }
+
+    public void testResolutionKeyNullValues() {
+        MessageBodyFactory.ResolutionKey k1 = new MessageBodyFactory.ResolutionKey(
+                String.class, null, null, null);
+        MessageBodyFactory.ResolutionKey k2 = new MessageBodyFactory.ResolutionKey(
+                String.class, null, new Annotation[0], null);
+        assertEquals(k1, k2);
+        assertEquals(k1.hashCode(), k2.hashCode());
+    }
+
+    @Consumes("text/plain")
+    public static class CountingStringReader implements MessageBodyReader<String> {
+        final AtomicInteger isReadable = new AtomicInteger();
+
+        public boolean isReadable(Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType) {
+            isReadable.incrementAndGet();
+            return type == String.class;
+        }
+
+        public String readFrom(Class<String> type, Type genericType, Annotation[] annotations, MediaType mediaType,
+                MultivaluedMap<String, String> httpHeaders, InputStream entityStream) throws IOException {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    @Consumes("text/plain")
+    public static class IntegerReader implements MessageBodyReader<Integer> {
+        public boolean isReadable(Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType) {
+            return type == Integer.class;
+        }
+
+        public Integer readFrom(Class<Integer> type, Type genericType, Annotation[] annotations, MediaType mediaType,
+                MultivaluedMap<String, String> httpHeaders, InputStream entityStream) throws IOException {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    @Produces("text/plain")
+    public static class CountingStringWriter implements MessageBodyWriter<String> {
+        final AtomicInteger isWriteable = new AtomicInteger();
+
+        public boolean isWriteable(Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType) {
+            isWriteable.incrementAndGet();
+            return type == String.class;
+        }
+
+        public long getSize(String t, Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType) {
+            return -1;
+        }
+
+        public void writeTo(String t, Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType,
+                MultivaluedMap<String, Object> httpHeaders, OutputStream entityStream) throws IOException {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    /**
+     * Provider services whose providers are the given instances and that
+     * have no services.
+     */
+    private static class InstanceProviderServices extends ProviderServices {
+        final Set<Object> instances = new LinkedHashSet<Object>();
+
+        InstanceProviderServices(Object... instances) {
+            super(null, Collections.<Class<?>>emptySet(), Collections.emptySet());
+            Collections.addAll(this.instances, instances);
+        }
+
+        @Override
+        public <T> Set<T> getProviders(Class<T> provider) {
+            Set<T> ps = new LinkedHashSet<T>();
+            for (Object o : instances) {
+                if (provider.isInstance(o))
+                    ps.add(provider.cast(o));
+            }
+            return ps;
+        }
+
+        @Override
+        public <T> Set<T> getServices(Class<T> provider) {
+            return Collections.emptySet();
+        }
+
+        @Override
+        public <T> Set<T> getProvidersAndServices(Class<T> provider) {
+            return getProviders(provider);
+        }
+    }
+
+    private MessageBodyFactory createFactory(InstanceProviderServices ps) {
+        MessageBodyFactory f = new MessageBodyFactory(ps, false);
+        f.init();
+        return f;
+    }
+
+    public void testReaderCacheHit() {
+        CountingStringReader r = new CountingStringReader();
+        MessageBodyFactory f = createFactory(new InstanceProviderServices(r));
+        Annotation[] as = Annotated.class.getAnnotations();
+
+        assertSame(r, f.getMessageBodyReader(String.class, String.class, as, MediaType.TEXT_PLAIN_TYPE));
+        assertEquals(1, r.isReadable.get());
+        assertSame(r, f.getMessageBodyReader(String.class, String.class,
+                Annotated.class.getAnnotations(), MediaType.TEXT_PLAIN_TYPE));
+        assertEquals(1, r.isReadable.get());
+    }
+
+    public void testWriterCacheHit() {
+        CountingStringWriter w = new CountingStringWriter();
+        MessageBodyFactory f = createFactory(new InstanceProviderServices(w));
+        Annotation[] as = Annotated.class.getAnnotations();
+
+        assertSame(w, f.getMessageBodyWriter(String.class, String.class, as, MediaType.TEXT_PLAIN_TYPE));
+        assertEquals(1, w.isWriteable.get());
+        assertSame(w, f.getMessageBodyWriter(String.class, String.class, as, MediaType.TEXT_PLAIN_TYPE));
+        assertEquals(1, w.isWriteable.get());
+    }
+
+    public void testReaderConsumesMissCachedNegatively() {
+        CountingStringReader r = new CountingStringReader();
+        MessageBodyFactory f = createFactory(new InstanceProviderServices(r));
+
+        // Consumes matches but the reader does not support the type
+        assertNull(f.getMessageBodyReader(Integer.class, Integer.class, null, MediaType.TEXT_PLAIN_TYPE));
+        assertEquals(1, r.isReadable.get());
+        assertNull(f.getMessageBodyReader(Integer.class, Integer.class, null, MediaType.TEXT_PLAIN_TYPE));
+        assertEquals(1, r.isReadable.get());
+
+        // Consumes does not match
+        assertNull(f.getMessageBodyReader(String.class, String.class, null, MediaType.APPLICATION_XML_TYPE));
+        assertNull(f.getMessageBodyReader(String.class, String.class, null, MediaType.APPLICATION_XML_TYPE));
+        assertEquals(1, r.isReadable.get());
+
+        // A negative result does not affect a different key
+        assertSame(r, f.getMessageBodyReader(String.class, String.class, null, MediaType.TEXT_PLAIN_TYPE));
+    }
+
+    public void testWriterProducesMissCachedNegatively() {
+        CountingStringWriter w = new CountingStringWriter();
+        MessageBodyFactory f = createFactory(new InstanceProviderServices(w));
+
+        assertNull(f.getMessageBodyWriter(Integer.class, Integer.class, null, MediaType.TEXT_PLAIN_TYPE));
+        assertEquals(1, w.isWriteable.get());
+        assertNull(f.getMessageBodyWriter(Integer.class, Integer.class, null, MediaType.TEXT_PLAIN_TYPE));
+        assertEquals(1, w.isWriteable.get());
+
+        assertNull(f.getMessageBodyWriter(String.class, String.class, null, MediaType.APPLICATION_XML_TYPE));
+        assertNull(f.getMessageBodyWriter(String.class, String.class, null, MediaType.APPLICATION_XML_TYPE));
+        assertEquals(1, w.isWriteable.get());
+    }
+
+    public void testAddingProviderInvalidatesCache() {
+        InstanceProviderServices ps = new InstanceProviderServices(new CountingStringReader());
+        MessageBodyFactory f = createFactory(ps);
+
+        assertNull(f.getMessageBodyReader(Integer.class, Integer.class, null, MediaType.TEXT_PLAIN_TYPE));
+
+        IntegerReader r = new IntegerReader();
+        ps.instances.add(r);
+        f.init();
+
+        assertSame(r, f.getMessageBodyReader(Integer.class, Integer.class, null, MediaType.TEXT_PLAIN_TYPE));
+    }
+}
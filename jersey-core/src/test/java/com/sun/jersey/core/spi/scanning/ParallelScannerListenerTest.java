@@ -0,0 +1,147 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2026 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+
+package com.sun.jersey.core.spi.scanning;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import junit.framework.TestCase;
+
+/**
+ *
+ * @author agent@local
+ */
+public class ParallelScannerListenerTest extends TestCase {
+
+    private static class RecordingScannerListener implements ScannerListener {
+        final Set<String> processed = Collections.synchronizedSet(new HashSet<String>());
+
+        final Set<String> threads = Collections.synchronizedSet(new HashSet<String>());
+
+        @Override
+        public boolean onAccept(String name) {
+            return name.endsWith(".class");
+        }
+
+        @Override
+        public void onProcess(String name, InputStream in) throws IOException {
+            threads.add(Thread.currentThread().getName());
+            final String content = new String(readBytes(in), "UTF-8");
+            if (content.equals("io"))
+                throw new IOException(name);
+            if (content.equals("runtime"))
+                throw new IllegalStateException(name);
+            processed.add(name + ":" + content);
+        }
+    }
+
+    private static byte[] readBytes(InputStream in) throws IOException {
+        final byte[] b = new byte[in.available()];
+        in.read(b);
+        return b;
+    }
+
+    private static void scan(ScannerListener l, String name, String content) throws IOException {
+        if (l.onAccept(name))
+            l.onProcess(name, new ByteArrayInputStream(content.getBytes("UTF-8")));
+    }
+
+    public void testProcess() throws IOException {
+        RecordingScannerListener rl = new RecordingScannerListener();
+        ParallelScannerListener psl = new ParallelScannerListener(rl, 4);
+        try {
+            for (int i = 0; i < 1000; i++) {
+                scan(psl, "C" + i + ".class", "c" + i);
+                scan(psl, "R" + i + ".txt", "r" + i);
+            }
+            psl.finish();
+        } finally {
+            psl.shutdown();
+        }
+
+        assertEquals(1000, rl.processed.size());
+        for (int i = 0; i < 1000; i++)
+            assertTrue(rl.processed.contains("C" + i + ".class:c" + i));
+        for (String t : rl.threads)
+            assertTrue(t.startsWith("jersey-scanner-"));
+    }
+
+    public void testIOException() throws IOException {
+        ParallelScannerListener psl = new ParallelScannerListener(
+                new RecordingScannerListener(), 2);
+        try {
+            scan(psl, "A.class", "a");
+            scan(psl, "B.class", "io");
+            psl.finish();
+            fail();
+        } catch (ScannerException ex) {
+            assertTrue(ex.getCause() instanceof IOException);
+            assertEquals("B.class", ex.getCause().getMessage());
+        } finally {
+            psl.shutdown();
+        }
+    }
+
+    public void testRuntimeException() throws IOException {
+        ParallelScannerListener psl = new ParallelScannerListener(
+                new RecordingScannerListener(), 2);
+        try {
+            scan(psl, "A.class", "runtime");
+            psl.finish();
+            fail();
+        } catch (IllegalStateException ex) {
+            assertEquals("A.class", ex.getMessage());
+        } finally {
+            psl.shutdown();
+        }
+    }
+
+    public void testIllegalParallelism() {
+        try {
+            new ParallelScannerListener(new RecordingScannerListener(), 0);
+            fail();
+        } catch (IllegalArgumentException ex) {
+        }
+    }
+}
@@ -0,0 +1,149 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2026 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+
+package com.sun.jersey.core.util;
+
+import junit.framework.TestCase;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.ZipException;
+
+/**
+ *
+ * @author agent@local
+ */
+public class ContentCodingTest extends TestCase {
+
+    private static byte[] data(int size) {
+        final byte[] data = new byte[size];
+        final Random r = new Random(size);
+        for (int i = 0; i < size; i++) {
+            data[i] = (byte)r.nextInt(16);
+        }
+        return data;
+    }
+
+    private static byte[] encode(ContentCoding c, byte[] data, int level) throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final OutputStream os = c.encode(out, level);
+        os.write(data);
+        os.close();
+        return out.toByteArray();
+    }
+
+    private static byte[] readAll(InputStream in) throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ReaderWriter.writeTo(in, out);
+        in.close();
+        return out.toByteArray();
+    }
+
+    public void testRoundtrip() throws IOException {
+        for (ContentCoding c : ContentCoding.values()) {
+            for (int size : new int[] {0, 1, 1000, 100000}) {
+                final byte[] data = data(size);
+                final byte[] encoded = encode(c, data, Deflater.DEFAULT_COMPRESSION);
+                assertTrue(Arrays.equals(data, readAll(c.decode(new ByteArrayInputStream(encoded)))));
+            }
+        }
+    }
+
+    public void testGZIPInteroperability() throws IOException {
+        final byte[] data = data(10000);
+
+        final byte[] encoded = encode(ContentCoding.GZIP, data, Deflater.BEST_SPEED);
+        assertTrue(Arrays.equals(data, readAll(new GZIPInputStream(new ByteArrayInputStream(encoded)))));
+
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final GZIPOutputStream gos = new GZIPOutputStream(out);
+        gos.write(data);
+        gos.close();
+        assertTrue(Arrays.equals(data, readAll(ContentCoding.GZIP.decode(
+                new ByteArrayInputStream(out.toByteArray())))));
+    }
+
+    public void testGZIPCorruptTrailer() throws IOException {
+        final byte[] encoded = encode(ContentCoding.GZIP, data(1000), Deflater.DEFAULT_COMPRESSION);
+        encoded[encoded.length - 8] ^= 1;
+        try {
+            readAll(ContentCoding.GZIP.decode(new ByteArrayInputStream(encoded)));
+            fail();
+        } catch (ZipException e) {
+        }
+    }
+
+    public void testInvalidLevel() throws IOException {
+        try {
+            ContentCoding.GZIP.encode(new ByteArrayOutputStream(), 10);
+            fail();
+        } catch (IllegalArgumentException e) {
+        }
+    }
+
+    public void testFromName() {
+        assertEquals(ContentCoding.GZIP, ContentCoding.fromName("gzip"));
+        assertEquals(ContentCoding.GZIP, ContentCoding.fromName(" x-gzip "));
+        assertEquals(ContentCoding.DEFLATE, ContentCoding.fromName("DEFLATE"));
+        assertNull(ContentCoding.fromName("gzip, deflate"));
+        assertNull(ContentCoding.fromName(null));
+    }
+
+    public void testSelect() {
+        assertEquals(ContentCoding.GZIP, ContentCoding.select("gzip"));
+        assertEquals(ContentCoding.GZIP, ContentCoding.select("deflate, gzip"));
+        assertEquals(ContentCoding.DEFLATE, ContentCoding.select("gzip;q=0.5, deflate"));
+        assertEquals(ContentCoding.GZIP, ContentCoding.select("*"));
+        assertEquals(ContentCoding.GZIP, ContentCoding.select("deflate;q=0.5, *;q=0.8"));
+        assertNull(ContentCoding.select("gzip;q=0"));
+        assertNull(ContentCoding.select("identity, gzip;q=0.5"));
+        assertNull(ContentCoding.select("compress"));
+        assertNull(ContentCoding.select(""));
+        assertNull(ContentCoding.select(null));
+    }
+}
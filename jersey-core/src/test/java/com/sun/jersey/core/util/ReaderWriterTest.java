@@ -0,0 +1,384 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2026 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+
+package com.sun.jersey.core.util;
+
+import com.sun.jersey.api.representation.FileRegion;
+import junit.framework.TestCase;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.Arrays;
+import java.util.Random;
+import javax.ws.rs.core.MediaType;
+
+/**
+ *
+ * @author agent@local
+ */
+public class ReaderWriterTest extends TestCase {
+
+    private static byte[] data(int size) {
+        final byte[] data = new byte[size];
+        new Random(size).nextBytes(data);
+        return data;
+    }
+
+    private static String string(int size) {
+        final StringBuilder sb = new StringBuilder(size);
+        for (int i = 0; i < size; i++) {
+            sb.append((char)('a' + (i % 26)));
+        }
+        sb.append("\u00e9\u4e2d");
+        return sb.toString();
+    }
+
+    public void testWriteToBytes() throws IOException {
+        for (int size : new int[] {0, 1, ReaderWriter.BUFFER_SIZE, 3 * ReaderWriter.BUFFER_SIZE + 7}) {
+            final byte[] data = data(size);
+            final ByteArrayOutputStream out = new ByteArrayOutputStream();
+            ReaderWriter.writeTo(new ByteArrayInputStream(data), out);
+            assertTrue(Arrays.equals(data, out.toByteArray()));
+        }
+    }
+
+    public void testWriteToCharacters() throws IOException {
+        for (int size : new int[] {0, 1, ReaderWriter.BUFFER_SIZE, 3 * ReaderWriter.BUFFER_SIZE + 7}) {
+            final String s = string(size);
+            final StringWriter out = new StringWriter();
+            ReaderWriter.writeTo(new StringReader(s), out);
+            assertEquals(s, out.toString());
+
+            assertEquals(s, ReaderWriter.readFromAsString(new StringReader(s)));
+        }
+    }
+
+    public void testWriteToAsString() throws IOException {
+        final MediaType latin1 = MediaType.valueOf("text/plain;charset=ISO-8859-1");
+        for (int size : new int[] {0, 1, ReaderWriter.BUFFER_SIZE, 3 * ReaderWriter.BUFFER_SIZE + 7}) {
+            final String s = string(size);
+
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            ReaderWriter.writeToAsString(s, out, null);
+            assertTrue(Arrays.equals(s.getBytes("UTF-8"), out.toByteArray()));
+
+            out = new ByteArrayOutputStream();
+            ReaderWriter.writeToAsString(s, out, latin1);
+            assertTrue(Arrays.equals(s.getBytes("ISO-8859-1"), out.toByteArray()));
+        }
+    }
+
+    public void testWriteToFile() throws IOException {
+        final byte[] data = data(3 * ReaderWriter.BUFFER_SIZE + 7);
+        final File from = File.createTempFile("rwfrom", "tmp");
+        final File to = File.createTempFile("rwto", "tmp");
+        try {
+            FileOutputStream out = new FileOutputStream(from);
+            out.write(data);
+            out.close();
+
+            FileInputStream in = new FileInputStream(from);
+            // Skip some bytes to ensure the transfer starts from the
+            // current position of the input stream
+            assertEquals(7, in.skip(7));
+            out = new FileOutputStream(to);
+            ReaderWriter.writeTo(in, out);
+            assertEquals(-1, in.read());
+            in.close();
+            out.close();
+
+            in = new FileInputStream(to);
+            final ByteArrayOutputStream bout = new ByteArrayOutputStream();
+            ReaderWriter.writeTo(in, bout);
+            in.close();
+            assertTrue(Arrays.equals(Arrays.copyOfRange(data, 7, data.length), bout.toByteArray()));
+        } finally {
+            from.delete();
+            to.delete();
+        }
+    }
+
+    public void testWriteToFileRegion() throws IOException {
+        final byte[] data = data(3 * ReaderWriter.BUFFER_SIZE + 7);
+        final File from = File.createTempFile("rwfrom", "tmp");
+        final File to = File.createTempFile("rwto", "tmp");
+        try {
+            FileOutputStream out = new FileOutputStream(from);
+            out.write(data);
+            out.close();
+
+            final int position = ReaderWriter.BUFFER_SIZE - 3;
+            final int length = ReaderWriter.BUFFER_SIZE + 11;
+            final byte[] expected = Arrays.copyOfRange(data, position, position + length);
+            final FileRegion region = new FileRegion(from, position, length);
+
+            final ByteArrayOutputStream bout = new ByteArrayOutputStream();
+            ReaderWriter.writeTo(region, bout);
+            assertTrue(Arrays.equals(expected, bout.toByteArray()));
+
+            out = new FileOutputStream(to);
+            ReaderWriter.writeTo(region, out);
+            out.close();
+            assertEquals(length, to.length());
+            final FileInputStream in = new FileInputStream(to);
+            bout.reset();
+            ReaderWriter.writeTo(in, bout);
+            in.close();
+            assertTrue(Arrays.equals(expected, bout.toByteArray()));
+
+            try {
+                ReaderWriter.writeTo(new FileRegion(from, position, data.length), bout);
+                fail();
+            } catch (EOFException ex) {
+            }
+        } finally {
+            from.delete();
+            to.delete();
+        }
+    }
+
+    public void testWriteToZeroSizeFile() throws IOException {
+        // The size of a device or proc file is zero, the bytes must be copied
+        final File proc = new File("/proc/self/stat");
+        if (!proc.exists())
+            return;
+
+        final File to = File.createTempFile("rwto", "tmp");
+        try {
+            FileInputStream in = new FileInputStream(proc);
+            assertEquals(0, in.getChannel().size());
+            final FileOutputStream out = new FileOutputStream(to);
+            ReaderWriter.writeTo(in, out);
+            assertEquals(-1, in.read());
+            in.close();
+            out.close();
+
+            assertTrue(to.length() > 0);
+        } finally {
+            to.delete();
+        }
+    }
+
+    public void testWriteToPipe() throws IOException {
+        final byte[] data = data(3 * ReaderWriter.BUFFER_SIZE + 7);
+        final File from = File.createTempFile("rwfrom", "tmp");
+        final File to = File.createTempFile("rwto", "tmp");
+        try {
+            // Behave as a pipe, whose size is zero, for which the bytes
+            // can only be read from the stream
+            final FileInputStream in = new FileInputStream(from) {
+                final ByteArrayInputStream bin = new ByteArrayInputStream(data);
+
+                @Override
+                public int read(byte[] b) throws IOException {
+                    return bin.read(b, 0, b.length);
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) throws IOException {
+                    return bin.read(b, off, len);
+                }
+
+                @Override
+                public FileChannel getChannel() {
+                    return new ZeroSizeFileChannel();
+                }
+            };
+            final FileOutputStream out = new FileOutputStream(to);
+            ReaderWriter.writeTo(in, out);
+            in.close();
+            out.close();
+
+            final FileInputStream fin = new FileInputStream(to);
+            final ByteArrayOutputStream bout = new ByteArrayOutputStream();
+            ReaderWriter.writeTo(fin, bout);
+            fin.close();
+            assertTrue(Arrays.equals(data, bout.toByteArray()));
+        } finally {
+            from.delete();
+            to.delete();
+        }
+    }
+
+    /**
+     * A file channel, such as that of a pipe, whose size is zero and from
+     * which no bytes can be transferred.
+     */
+    private static final class ZeroSizeFileChannel extends FileChannel {
+        @Override
+        public int read(ByteBuffer dst) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public long read(ByteBuffer[] dsts, int offset, int length) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public int write(ByteBuffer src) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public long write(ByteBuffer[] srcs, int offset, int length) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public long position() {
+            return 0;
+        }
+
+        @Override
+        public FileChannel position(long newPosition) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public long size() {
+            return 0;
+        }
+
+        @Override
+        public FileChannel truncate(long size) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void force(boolean metaData) {
+        }
+
+        @Override
+        public long transferTo(long position, long count, WritableByteChannel target) {
+            return 0;
+        }
+
+        @Override
+        public long transferFrom(ReadableByteChannel src, long position, long count) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public int read(ByteBuffer dst, long position) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public int write(ByteBuffer src, long position) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public MappedByteBuffer map(MapMode mode, long position, long size) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public FileLock lock(long position, long size, boolean shared) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public FileLock tryLock(long position, long size, boolean shared) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        protected void implCloseChannel() {
+        }
+    }
+
+    public void testBufferPool() throws IOException {
+        final byte[] b = BufferPool.takeBytes();
+        assertEquals(ReaderWriter.BUFFER_SIZE, b.length);
+
+        // The retained array is taken so a new array is allocated
+        final byte[] nested = BufferPool.takeBytes();
+        assertNotSame(b, nested);
+        BufferPool.giveBytes(nested);
+        BufferPool.giveBytes(b);
+        assertSame(b, BufferPool.takeBytes());
+        BufferPool.giveBytes(b);
+
+        // Arrays of a different length are not retained
+        BufferPool.giveBytes(new byte[1]);
+        assertSame(b, BufferPool.takeBytes());
+        BufferPool.giveBytes(b);
+
+        final char[] c = BufferPool.takeChars();
+        assertEquals(ReaderWriter.BUFFER_SIZE, c.length);
+        BufferPool.giveChars(c);
+
+        // Copying reuses the arrays retained for this thread
+        ReaderWriter.writeTo(new ByteArrayInputStream(data(100)), new ByteArrayOutputStream());
+        ReaderWriter.readFromAsString(new StringReader("abc"));
+        assertSame(b, BufferPool.takeBytes());
+        assertSame(c, BufferPool.takeChars());
+        BufferPool.giveBytes(b);
+        BufferPool.giveChars(c);
+    }
+
+    public void testBufferPoolStatistics() {
+        BufferPool.giveBytes(BufferPool.takeBytes());
+        final long hits = BufferPool.getHits();
+        final long misses = BufferPool.getMisses();
+
+        final byte[] b = BufferPool.takeBytes();
+        final byte[] nested = BufferPool.takeBytes();
+        assertEquals(hits + 1, BufferPool.getHits());
+        assertEquals(misses + 1, BufferPool.getMisses());
+        BufferPool.giveBytes(nested);
+        BufferPool.giveBytes(b);
+    }
+}
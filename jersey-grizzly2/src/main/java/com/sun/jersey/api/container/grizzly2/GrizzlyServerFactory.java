@@ -50,7 +50,13 @@ import org.glassfish.grizzly.http.server.ServerConfiguration;
 import org.glassfish.grizzly.ssl.SSLEngineConfigurator;
 
 import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
 import java.net.URI;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Factory for creating Grizzly 2 {@link HttpServer} instances.
@@ -66,6 +72,22 @@ public final class GrizzlyServerFactory {
      */
     public final static String FEATURE_ALLOW_ENCODED_SLASH = "com.sun.jersey.api.container.grizzly.AllowEncodedSlashFeature";
 
+    /**
+     * {@link ResourceConfig} property whose value is a
+     * {@link java.util.concurrent.Executor} to which requests are dispatched.
+     * <p>
+     * If set, the Grizzly response is suspended on the Grizzly worker thread
+     * and the request is handled by the executor, after which the response is
+     * resumed. Thus the Grizzly worker threads are not blocked by resource
+     * methods that block, for example on calls to slow back-end services.
+     * <p>
+     * If absent (the default behavior), requests are handled on the Grizzly
+     * worker thread.
+     *
+     * @see #createRequestExecutor(int)
+     */
+    public final static String PROPERTY_REQUEST_EXECUTOR = "com.sun.jersey.api.container.grizzly2.RequestExecutor";
+
     /**
      * Creates a new {@link HttpServer} which will manage all root resource and
      * provider classes found by searching the classes referenced in the java
@@ -346,6 +368,61 @@ public final class GrizzlyServerFactory {
         return createHttpServer(u, handler, false, null);
     }
 
+    /**
+     * Creates an executor for the dispatching of requests, that may be set
+     * as the value of the property {@link #PROPERTY_REQUEST_EXECUTOR}.
+     * <p>
+     * If the Java runtime supports virtual threads then an executor that
+     * creates a new virtual thread for each request is returned and
+     * {@code maxThreads} is ignored. Otherwise a fixed pool of
+     * {@code maxThreads} daemon threads is returned.
+     * <p>
+     * The caller is responsible for shutting down the executor after the
+     * {@link HttpServer} has been stopped.
+     *
+     * @param maxThreads the number of threads of the pool if virtual threads
+     *        are not supported.
+     * @return the executor.
+     * @throws IllegalArgumentException if {@code maxThreads} is not positive.
+     */
+    public static ExecutorService createRequestExecutor(final int maxThreads)
+            throws IllegalArgumentException {
+        if (maxThreads <= 0) {
+            throw new IllegalArgumentException("The maximum number of threads must be positive");
+        }
+
+        final ExecutorService virtualThreadExecutor = createVirtualThreadExecutor();
+        if (virtualThreadExecutor != null) {
+            return virtualThreadExecutor;
+        }
+
+        return Executors.newFixedThreadPool(maxThreads, new ThreadFactory() {
+            private final AtomicInteger count = new AtomicInteger();
+
+            @Override
+            public Thread newThread(final Runnable r) {
+                final Thread t = new Thread(r, "jersey-grizzly2-request-" + count.incrementAndGet());
+                t.setDaemon(true);
+                return t;
+            }
+        });
+    }
+
+    private static ExecutorService createVirtualThreadExecutor() {
+        try {
+            final Method m = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) m.invoke(null);
+        } catch (final NoSuchMethodException ex) {
+            // Virtual threads are not supported
+            return null;
+        } catch (final IllegalAccessException ex) {
+            return null;
+        } catch (final InvocationTargetException ex) {
+            // Virtual threads are a preview feature that is not enabled
+            return null;
+        }
+    }
+
     // Prevent instantiation.
     private GrizzlyServerFactory() {
         // Nothing to do.
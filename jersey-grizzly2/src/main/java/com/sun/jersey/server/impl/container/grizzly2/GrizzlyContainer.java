@@ -47,6 +47,10 @@ import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
 import javax.ws.rs.core.Context;
 import javax.ws.rs.core.GenericEntity;
@@ -59,7 +63,9 @@ import org.glassfish.grizzly.http.server.HttpHandler;
 import com.sun.jersey.api.container.grizzly2.GrizzlyServerFactory;
 
 import com.sun.jersey.api.core.ResourceConfig;
+import com.sun.jersey.api.representation.FileRegion;
 import com.sun.jersey.core.header.InBoundHeaders;
+import com.sun.jersey.core.util.FileRegionTransferable;
 import com.sun.jersey.server.impl.ThreadLocalInvoker;
 
 import com.sun.jersey.spi.container.*;
@@ -75,6 +81,8 @@ import org.glassfish.grizzly.http.util.Constants;
 public final class GrizzlyContainer extends HttpHandler implements
         ContainerListener {
 
+    private static final Logger LOGGER = Logger.getLogger(GrizzlyContainer.class.getName());
+
     private static class ContextInjectableProvider<T> extends SingletonTypeInjectableProvider<Context, T> {
 
         protected ContextInjectableProvider(final Type type, final T instance) {
@@ -82,18 +90,38 @@ public final class GrizzlyContainer extends HttpHandler implements
         }
     }
 
-    private final static class Writer implements ContainerResponseWriter {
+    private final static class Writer implements AsyncContainerResponseWriter {
 
         final Response response;
 
-        Writer(final Response response) {
+        final boolean dispatched;
+
+        volatile boolean suspended;
+
+        Writer(final Response response, final boolean dispatched) {
             this.response = response;
+            this.dispatched = dispatched;
         }
 
         @Override
         public void finish() throws IOException {
         }
 
+        @Override
+        public void suspend() {
+            if (!dispatched) {
+                response.suspend();
+            }
+            // Otherwise the response is already suspended for dispatching
+            // to the request executor
+            suspended = true;
+        }
+
+        @Override
+        public void resume() {
+            GrizzlyContainer.resume(response);
+        }
+
         @Override
         public OutputStream writeStatusAndHeaders(final long contentLength,
                 final ContainerResponse cResponse) throws IOException {
@@ -121,12 +149,115 @@ public final class GrizzlyContainer extends HttpHandler implements
                 response.setContentType(contentType);
             }
 
-            return response.getOutputStream();
+            return new ResponseOutputStream(response);
+        }
+    }
+
+    /**
+     * Transfers file regions using the sendfile support of the output
+     * buffer, if enabled, otherwise defers to the output stream.
+     * <p>
+     * The output buffer discards any buffered bytes, forces the identity
+     * transfer encoding, supports one transfer per response and suspends the
+     * response until the transfer completes. So a region is only transferred
+     * if it is the sole entity of a response whose content length is the
+     * length of the region, that is neither chunked nor content encoded and
+     * that is not suspended. Otherwise the region is copied using the output
+     * stream.
+     */
+    private final static class ResponseOutputStream extends OutputStream
+            implements FileRegionTransferable {
+
+        final Response response;
+
+        final OutputStream out;
+
+        private boolean written;
+
+        private boolean transferred;
+
+        ResponseOutputStream(final Response response) {
+            this.response = response;
+            this.out = response.getOutputStream();
+        }
+
+        @Override
+        public void write(final int b) throws IOException {
+            checkNotTransferred();
+            written = true;
+            out.write(b);
+        }
+
+        @Override
+        public void write(final byte[] b, final int off, final int len) throws IOException {
+            checkNotTransferred();
+            written = true;
+            out.write(b, off, len);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            // The transfer completes the response
+            if (!transferred) {
+                out.flush();
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            // The transfer completes the response
+            if (!transferred) {
+                out.close();
+            }
+        }
+
+        private void checkNotTransferred() throws IOException {
+            if (transferred) {
+                throw new IOException("The response entity has been transferred");
+            }
+        }
+
+        @Override
+        public boolean transfer(final FileRegion region) throws IOException {
+            if (!isTransferable(region)) {
+                return false;
+            }
+
+            try {
+                // The response is suspended until the transfer completes
+                response.getOutputBuffer().sendfile(region.getFile(),
+                        region.getPosition(), region.getLength(), null);
+                transferred = true;
+                return true;
+            } catch (final IllegalStateException ex) {
+                // sendfile is not enabled for the connection
+                return false;
+            }
+        }
+
+        private boolean isTransferable(final FileRegion region) {
+            if (written || transferred
+                    || response.getOutputBuffer().getBufferedDataSize() > 0) {
+                // The region is not the sole entity
+                return false;
+            }
+
+            if (response.isSuspended()) {
+                // The response is already suspended for dispatching to the
+                // request executor, or for an asynchronous response
+                return false;
+            }
+
+            return response.getContentLengthLong() == region.getLength()
+                    && !response.getResponse().isChunked()
+                    && response.getHeader("Content-Encoding") == null;
         }
     }
 
     private volatile WebApplication application;
 
+    private final Executor executor;
+
     private final ThreadLocalInvoker<Request> requestInvoker =
             new ThreadLocalInvoker<Request>();
 
@@ -145,6 +276,7 @@ public final class GrizzlyContainer extends HttpHandler implements
     GrizzlyContainer(final ResourceConfig resourceConfig,
             final WebApplication application) {
         this.application = application;
+        this.executor = getExecutor(resourceConfig);
 
         setAllowEncodedSlash(resourceConfig.getFeature(GrizzlyServerFactory.FEATURE_ALLOW_ENCODED_SLASH));
 
@@ -167,6 +299,17 @@ public final class GrizzlyContainer extends HttpHandler implements
                 responseThreadLocal.getType(), responseThreadLocal.getEntity()));
     }
 
+    private static Executor getExecutor(final ResourceConfig resourceConfig) {
+        final Object o = resourceConfig.getProperty(GrizzlyServerFactory.PROPERTY_REQUEST_EXECUTOR);
+        if (o == null || o instanceof Executor) {
+            return (Executor) o;
+        }
+
+        throw new IllegalArgumentException("The value of the property " +
+                GrizzlyServerFactory.PROPERTY_REQUEST_EXECUTOR +
+                " must be an instance of " + Executor.class.getName());
+    }
+
     // ContainerListener
 
     @Override
@@ -185,18 +328,79 @@ public final class GrizzlyContainer extends HttpHandler implements
 
     @Override
     public void service(final Request request, final Response response) {
+        if (executor == null) {
+            dispatch(request, response, false);
+            return;
+        }
+
+        response.suspend();
+        try {
+            executor.execute(new Runnable() {
+                @Override
+                public void run() {
+                    boolean suspended = false;
+                    try {
+                        suspended = dispatch(request, response, true);
+                    } catch (final RuntimeException ex) {
+                        LOGGER.log(Level.SEVERE, "Error processing request", ex);
+                        sendError(response, 500);
+                    } finally {
+                        // A suspended request is resumed by the writer
+                        if (!suspended) {
+                            resume(response);
+                        }
+                    }
+                }
+            });
+        } catch (final RejectedExecutionException ex) {
+            LOGGER.log(Level.WARNING, "The request executor rejected the request", ex);
+            sendError(response, 503);
+            resume(response);
+        }
+    }
+
+    /**
+     * Resume a suspended response, unless the response has been cancelled
+     * as the connection has been closed.
+     */
+    private static void resume(final Response response) {
+        try {
+            response.resume();
+        } catch (final IllegalStateException ex) {
+            LOGGER.log(Level.FINE, "The response is no longer suspended", ex);
+        }
+    }
+
+    private void sendError(final Response response, final int status) {
+        if (response.isCommitted()) {
+            return;
+        }
+
+        try {
+            response.sendError(status);
+        } catch (final IOException ex) {
+            LOGGER.log(Level.FINE, "Error sending the error response", ex);
+        }
+    }
+
+    /**
+     * @return true if the request has been suspended.
+     */
+    private boolean dispatch(final Request request, final Response response,
+            final boolean dispatched) {
         try {
             requestInvoker.set(request);
             responseInvoker.set(response);
 
-            _service(request, response);
+            return _service(request, response, dispatched);
         } finally {
             requestInvoker.set(null);
             responseInvoker.set(null);
         }
     }
 
-    private void _service(final Request request, final Response response) {
+    private boolean _service(final Request request, final Response response,
+            final boolean dispatched) {
         final WebApplication _application = application;
 
         final URI baseUri = getBaseUri(request);
@@ -219,7 +423,9 @@ public final class GrizzlyContainer extends HttpHandler implements
                     request.getMethod().getMethodString(), baseUri, requestUri,
                     getHeaders(request), request.getInputStream());
 
-            _application.handleRequest(cRequest, new Writer(response));
+            final Writer writer = new Writer(response, dispatched);
+            _application.handleRequest(cRequest, writer);
+            return writer.suspended;
         } catch (final IOException ex) {
             throw new RuntimeException(ex);
         }
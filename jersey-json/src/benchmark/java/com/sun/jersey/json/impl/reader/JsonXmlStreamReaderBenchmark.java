@@ -0,0 +1,121 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2026 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+
+package com.sun.jersey.json.impl.reader;
+
+import java.io.StringReader;
+import java.util.concurrent.TimeUnit;
+
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import com.sun.jersey.api.json.JSONConfiguration;
+import com.sun.jersey.json.impl.Stax2JsonFactory;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Reads a document of 50 records in {@link JSONConfiguration.Notation#MAPPED mapped} notation by
+ * {@link JsonXmlStreamReader} and consumes all of the produced XML events. Only the public {@link Stax2JsonFactory} API is
+ * used, so the benchmark can be run against other revisions of the reader as well; run it with the {@code -prof gc}
+ * option to compare the allocation rate too.
+ *
+ * @author agent@local
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+public class JsonXmlStreamReaderBenchmark {
+
+    private static final int RECORDS = 50;
+
+    private JSONConfiguration configuration;
+
+    private String json;
+
+    @Setup
+    public void setUp() {
+        configuration = JSONConfiguration.mapped().build();
+
+        final StringBuilder sb = new StringBuilder("{\"users\":{\"user\":[");
+        for (int i = 0; i < RECORDS; i++) {
+            if (i > 0) {
+                sb.append(',');
+            }
+            sb.append("{\"@id\":\"").append(i).append("\",\"name\":\"User ").append(i)
+                    .append("\",\"email\":\"user").append(i).append("@example.com\",\"age\":").append(20 + i)
+                    .append(",\"tags\":[\"a\",\"b\",\"c\"],\"address\":{\"street\":\"Main ").append(i)
+                    .append("\",\"city\":\"Prague\",\"zip\":\"11000\"}}");
+        }
+        json = sb.append("]}}").toString();
+    }
+
+    @Benchmark
+    public void readMapped(final Blackhole blackhole) throws XMLStreamException {
+        final XMLStreamReader reader = Stax2JsonFactory.createReader(new StringReader(json), configuration, "users",
+                null, null);
+
+        while (reader.hasNext()) {
+            if (reader.next() == XMLStreamConstants.START_ELEMENT) {
+                blackhole.consume(reader.getLocalName());
+                for (int i = 0; i < reader.getAttributeCount(); i++) {
+                    blackhole.consume(reader.getAttributeValue(i));
+                }
+            } else if (reader.isCharacters()) {
+                blackhole.consume(reader.getText());
+            }
+        }
+        reader.close();
+    }
+}
@@ -41,7 +41,6 @@ package com.sun.jersey.json.impl;
 
 import java.io.IOException;
 import java.io.OutputStream;
-import java.io.OutputStreamWriter;
 import java.io.Writer;
 import java.nio.charset.Charset;
 
@@ -54,6 +53,7 @@ import javax.xml.stream.XMLStreamWriter;
 import com.sun.jersey.api.json.JSONConfigurated;
 import com.sun.jersey.api.json.JSONConfiguration;
 import com.sun.jersey.api.json.JSONMarshaller;
+import com.sun.jersey.core.util.ReaderWriter;
 
 /**
  * @author Jakub Podlesak (jakub.podlesak at oracle.com)
@@ -61,7 +61,7 @@ import com.sun.jersey.api.json.JSONMarshaller;
  */
 public class BaseJSONMarshaller implements JSONMarshaller, JSONConfigurated {
 
-    private static final Charset UTF8 = Charset.forName("UTF-8");
+    private static final Charset UTF8 = ReaderWriter.UTF8;
 
     protected final Marshaller jaxbMarshaller;
     private final JAXBContext jaxbContext;
@@ -91,7 +91,32 @@ public class BaseJSONMarshaller implements JSONMarshaller, JSONConfigurated {
             throw new IllegalArgumentException("The output stream is null");
         }
 
-        marshallToJSON(o, new OutputStreamWriter(outputStream, UTF8));
+        marshallToJSON(o, outputStream, UTF8);
+    }
+
+    /**
+     * Marshall the content tree to an output stream using a charset.
+     *
+     * @param o the content tree.
+     * @param outputStream the output stream.
+     * @param charset the charset utilized to encode the JSON.
+     * @throws JAXBException if there is an error marshalling.
+     */
+    public void marshallToJSON(Object o, OutputStream outputStream, Charset charset) throws JAXBException {
+        if (o == null) {
+            throw new IllegalArgumentException("The JAXB element is null");
+        }
+
+        if (outputStream == null) {
+            throw new IllegalArgumentException("The output stream is null");
+        }
+
+        try {
+            jaxbMarshaller.marshal(o, Stax2JsonFactory.createWriter(outputStream, charset, jsonConfig,
+                    o.getClass(), jaxbContext, false));
+        } catch (IOException ex) {
+            throw new JAXBException(ex);
+        }
     }
 
     public void marshallToJSON(Object o, Writer writer) throws JAXBException {
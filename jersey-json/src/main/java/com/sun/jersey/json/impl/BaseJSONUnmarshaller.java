@@ -40,7 +40,6 @@
 package com.sun.jersey.json.impl;
 
 import java.io.InputStream;
-import java.io.InputStreamReader;
 import java.io.Reader;
 import java.nio.charset.Charset;
 
@@ -56,6 +55,7 @@ import javax.xml.stream.XMLStreamReader;
 import com.sun.jersey.api.json.JSONConfigurated;
 import com.sun.jersey.api.json.JSONConfiguration;
 import com.sun.jersey.api.json.JSONUnmarshaller;
+import com.sun.jersey.core.util.ReaderWriter;
 
 /**
  * @author Jakub Podlesak (jakub.podlesak at oracle.com)
@@ -63,7 +63,7 @@ import com.sun.jersey.api.json.JSONUnmarshaller;
  */
 public class BaseJSONUnmarshaller implements JSONUnmarshaller, JSONConfigurated {
 
-    private static final Charset UTF8 = Charset.forName("UTF-8");
+    private static final Charset UTF8 = ReaderWriter.UTF8;
 
     protected final Unmarshaller jaxbUnmarshaller;
     private final JAXBContext jaxbContext;
@@ -92,7 +92,25 @@ public class BaseJSONUnmarshaller implements JSONUnmarshaller, JSONConfigurated
     // JSONUnmarshaller
 
     public <T> T unmarshalFromJSON(InputStream inputStream, Class<T> expectedType) throws JAXBException {
-        return unmarshalFromJSON(new InputStreamReader(inputStream, UTF8), expectedType);
+        return unmarshalFromJSON(inputStream, UTF8, expectedType);
+    }
+
+    /**
+     * Unmarshall JSON, read from an input stream using a charset, to a
+     * content tree.
+     *
+     * @param inputStream the input stream.
+     * @param charset the charset utilized to decode the JSON.
+     * @param expectedType the expected type of the content tree.
+     * @return the content tree.
+     * @throws JAXBException if there is an error unmarshalling.
+     */
+    public <T> T unmarshalFromJSON(InputStream inputStream, Charset charset, Class<T> expectedType) throws JAXBException {
+        if (jsonConfig.isRootUnwrapping() || !expectedType.isAnnotationPresent(XmlRootElement.class)) {
+            return unmarshalJAXBElementFromJSON(inputStream, charset, expectedType).getValue();
+        } else {
+            return (T) jaxbUnmarshaller.unmarshal(createXmlStreamReader(inputStream, charset, expectedType));
+        }
     }
 
     public <T> T unmarshalFromJSON(Reader reader, Class<T> expectedType) throws JAXBException {
@@ -104,7 +122,21 @@ public class BaseJSONUnmarshaller implements JSONUnmarshaller, JSONConfigurated
     }
 
     public <T> JAXBElement<T> unmarshalJAXBElementFromJSON(InputStream inputStream, Class<T> declaredType) throws JAXBException {
-        return unmarshalJAXBElementFromJSON(new InputStreamReader(inputStream, UTF8), declaredType);
+        return unmarshalJAXBElementFromJSON(inputStream, UTF8, declaredType);
+    }
+
+    /**
+     * Unmarshall JSON, read from an input stream using a charset, to a
+     * JAXB element.
+     *
+     * @param inputStream the input stream.
+     * @param charset the charset utilized to decode the JSON.
+     * @param declaredType the declared type of the JAXB element.
+     * @return the JAXB element.
+     * @throws JAXBException if there is an error unmarshalling.
+     */
+    public <T> JAXBElement<T> unmarshalJAXBElementFromJSON(InputStream inputStream, Charset charset, Class<T> declaredType) throws JAXBException {
+        return jaxbUnmarshaller.unmarshal(createXmlStreamReader(inputStream, charset, declaredType), declaredType);
     }
 
     public <T> JAXBElement<T> unmarshalJAXBElementFromJSON(Reader reader, Class<T> declaredType) throws JAXBException {
@@ -119,4 +151,13 @@ public class BaseJSONUnmarshaller implements JSONUnmarshaller, JSONConfigurated
             throw new UnmarshalException("Error creating JSON-based XMLStreamReader", ex);
         }
     }
+
+    private XMLStreamReader createXmlStreamReader(InputStream inputStream, Charset charset, Class expectedType) throws JAXBException {
+        try {
+            return Stax2JsonFactory.createReader(inputStream, charset, jsonConfig,
+                    jsonConfig.isRootUnwrapping() ? JSONHelper.getRootElementName(expectedType) : null, expectedType, jaxbContext, false);
+        } catch (XMLStreamException ex) {
+            throw new UnmarshalException("Error creating JSON-based XMLStreamReader", ex);
+        }
+    }
 }
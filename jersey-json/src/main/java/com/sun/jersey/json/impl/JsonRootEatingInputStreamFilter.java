@@ -60,7 +60,7 @@ public class JsonRootEatingInputStreamFilter extends FilteringInputStream {
     private BufferingInputOutputStream buffers;
 
     public JsonRootEatingInputStreamFilter(InputStream inputStream) throws IOException {
-        JsonFactory jsonFactory = new JsonFactory();
+        JsonFactory jsonFactory = Stax2JsonFactory.getJsonFactory();
         this.jsonParser = jsonFactory.createJsonParser(inputStream);
         this.buffers = new BufferingInputOutputStream();
         this.jsonGenerator = jsonFactory.createJsonGenerator(this.buffers, JsonEncoding.UTF8);
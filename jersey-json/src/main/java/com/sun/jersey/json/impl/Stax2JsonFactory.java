@@ -41,8 +41,14 @@ package com.sun.jersey.json.impl;
 
 import java.io.BufferedReader;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PushbackInputStream;
 import java.io.Reader;
 import java.io.Writer;
+import java.nio.charset.Charset;
 
 import javax.xml.bind.JAXBContext;
 import javax.xml.stream.XMLStreamException;
@@ -52,21 +58,19 @@ import javax.xml.stream.XMLStreamWriter;
 import com.sun.jersey.api.json.JSONConfiguration;
 import com.sun.jersey.api.json.JSONJAXBContext;
 import com.sun.jersey.core.util.ReaderWriter;
+import com.sun.jersey.json.impl.reader.JettisonXmlStreamReader;
 import com.sun.jersey.json.impl.reader.JsonXmlStreamReader;
 import com.sun.jersey.json.impl.writer.JacksonArrayWrapperGenerator;
 import com.sun.jersey.json.impl.writer.JacksonRootStrippingGenerator;
 import com.sun.jersey.json.impl.writer.JsonXmlStreamWriter;
 import com.sun.jersey.json.impl.writer.Stax2JacksonWriter;
 
+import org.codehaus.jackson.JsonEncoding;
 import org.codehaus.jackson.JsonFactory;
 import org.codehaus.jackson.JsonGenerator;
-import org.codehaus.jettison.badgerfish.BadgerFishXMLStreamReader;
 import org.codehaus.jettison.badgerfish.BadgerFishXMLStreamWriter;
-import org.codehaus.jettison.json.JSONObject;
-import org.codehaus.jettison.json.JSONTokener;
 import org.codehaus.jettison.mapped.Configuration;
 import org.codehaus.jettison.mapped.MappedNamespaceConvention;
-import org.codehaus.jettison.mapped.MappedXMLStreamReader;
 import org.codehaus.jettison.mapped.MappedXMLStreamWriter;
 
 /**
@@ -75,9 +79,45 @@ import org.codehaus.jettison.mapped.MappedXMLStreamWriter;
  */
 public class Stax2JsonFactory {
 
+    /**
+     * The Jackson factory shared by all readers and writers. The factory is
+     * thread safe and its root symbol tables, and the buffers it recycles
+     * per thread, are reused only if the same factory is utilized.
+     */
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
     private Stax2JsonFactory() {
     }
 
+    /**
+     * Get the shared Jackson factory.
+     *
+     * @return the Jackson factory.
+     */
+    public static JsonFactory getJsonFactory() {
+        return JSON_FACTORY;
+    }
+
+    /**
+     * Create a writer that writes to an output stream.
+     * <p>
+     * If the charset is UTF-8 and the notation is {@link JSONConfiguration.Notation#NATURAL}
+     * then the JSON is encoded to bytes directly, otherwise the output stream
+     * is wrapped in an {@link OutputStreamWriter} of the charset.
+     */
+    public static XMLStreamWriter createWriter(final OutputStream outputStream,
+                                               final Charset charset,
+                                               final JSONConfiguration config,
+                                               final Class<?> expectedType,
+                                               final JAXBContext jaxbContext,
+                                               final boolean writingList) throws IOException {
+        if (config.getNotation() == JSONConfiguration.Notation.NATURAL && ReaderWriter.UTF8.equals(charset)) {
+            return createJacksonWriter(JSON_FACTORY.createJsonGenerator(outputStream, JsonEncoding.UTF8),
+                    config, expectedType, unwrap(jaxbContext), writingList);
+        }
+        return createWriter(new OutputStreamWriter(outputStream, charset), config, expectedType, jaxbContext, writingList);
+    }
+
     public static XMLStreamWriter createWriter(final Writer writer,
                                                final JSONConfiguration config,
                                                final Class<?> expectedType,
@@ -90,22 +130,11 @@ public class Stax2JsonFactory {
                                                final Class<?> expectedType,
                                                JAXBContext jaxbContext,
                                                final boolean writingList) throws IOException {
-        if (jaxbContext instanceof JSONJAXBContext) {
-            jaxbContext = ((JSONJAXBContext) jaxbContext).getOriginalJaxbContext();
-        }
+        jaxbContext = unwrap(jaxbContext);
 
         switch (config.getNotation()) {
             case NATURAL:
-                final JsonGenerator rawGenerator = new JsonFactory().createJsonGenerator(writer);
-                if (config.isHumanReadableFormatting()) {
-                    rawGenerator.useDefaultPrettyPrinter();
-                }
-                final JsonGenerator bodyGenerator = writingList ? JacksonArrayWrapperGenerator.createArrayWrapperGenerator(rawGenerator, config.isRootUnwrapping() ? 0 : 1) : rawGenerator;
-                if (config.isRootUnwrapping()) {
-                    return new Stax2JacksonWriter(JacksonRootStrippingGenerator.createRootStrippingGenerator(bodyGenerator, writingList ? 2 : 1), config, expectedType, jaxbContext);
-                } else {
-                    return new Stax2JacksonWriter(bodyGenerator, config, expectedType, jaxbContext);
-                    }
+                return createJacksonWriter(JSON_FACTORY.createJsonGenerator(writer), config, expectedType, jaxbContext, writingList);
             case MAPPED:
                 return JsonXmlStreamWriter.createWriter(writer, config, JSONHelper.getRootElementName((Class<Object>) expectedType));
             case BADGERFISH:
@@ -123,6 +152,59 @@ public class Stax2JsonFactory {
         }
     }
 
+    private static JAXBContext unwrap(final JAXBContext jaxbContext) {
+        return (jaxbContext instanceof JSONJAXBContext)
+                ? ((JSONJAXBContext) jaxbContext).getOriginalJaxbContext()
+                : jaxbContext;
+    }
+
+    private static XMLStreamWriter createJacksonWriter(final JsonGenerator rawGenerator,
+                                                       final JSONConfiguration config,
+                                                       final Class<?> expectedType,
+                                                       final JAXBContext jaxbContext,
+                                                       final boolean writingList) {
+        if (config.isHumanReadableFormatting()) {
+            rawGenerator.useDefaultPrettyPrinter();
+        }
+        final JsonGenerator bodyGenerator = writingList ? JacksonArrayWrapperGenerator.createArrayWrapperGenerator(rawGenerator, config.isRootUnwrapping() ? 0 : 1) : rawGenerator;
+        if (config.isRootUnwrapping()) {
+            return new Stax2JacksonWriter(JacksonRootStrippingGenerator.createRootStrippingGenerator(bodyGenerator, writingList ? 2 : 1), config, expectedType, jaxbContext);
+        } else {
+            return new Stax2JacksonWriter(bodyGenerator, config, expectedType, jaxbContext);
+        }
+    }
+
+    /**
+     * Create a reader that reads from an input stream.
+     * <p>
+     * If the charset is UTF-8 then the JSON is decoded from bytes directly, otherwise the input
+     * stream is wrapped in an {@link InputStreamReader} of the charset.
+     */
+    public static XMLStreamReader createReader(final InputStream inputStream,
+                                               final Charset charset,
+                                               final JSONConfiguration config,
+                                               final String rootName,
+                                               final Class<?> expectedType,
+                                               final JAXBContext jaxbContext,
+                                               final boolean readingList) throws XMLStreamException {
+        switch (config.getNotation()) {
+            case NATURAL:
+            case MAPPED:
+                if (ReaderWriter.UTF8.equals(charset)) {
+                    return JsonXmlStreamReader.create(ensureNonEmptyInputStream(inputStream), config, rootName,
+                            expectedType, jaxbContext, readingList);
+                }
+                break;
+            case MAPPED_JETTISON:
+            case BADGERFISH:
+                if (ReaderWriter.UTF8.equals(charset)) {
+                    return JettisonXmlStreamReader.create(ensureNonEmptyInputStream(inputStream), config);
+                }
+                break;
+        }
+        return createReader(new InputStreamReader(inputStream, charset), config, rootName, expectedType, jaxbContext, readingList);
+    }
+
     public static XMLStreamReader createReader(final Reader reader, final JSONConfiguration config, final String rootName, final Class<?> expectedType, final JAXBContext jaxbContext) throws XMLStreamException {
         return createReader(reader, config, rootName, expectedType, jaxbContext, false);
     }
@@ -136,30 +218,36 @@ public class Stax2JsonFactory {
             case MAPPED:
                 return JsonXmlStreamReader.create(nonEmptyReader, config, rootName, expectedType, jaxbContext, readingList);
             case MAPPED_JETTISON:
-                try {
-                    Configuration jmConfig;
-                    if (null == config.getXml2JsonNs()) {
-                        jmConfig = new Configuration();
-                    } else {
-                        jmConfig = new Configuration(config.getXml2JsonNs());
-                    }
-                    return new MappedXMLStreamReader(
-                            new JSONObject(new JSONTokener(ReaderWriter.readFromAsString(nonEmptyReader))),
-                            new MappedNamespaceConvention(jmConfig));
-                } catch (Exception ex) {
-                    throw new XMLStreamException(ex);
-                }
             case BADGERFISH:
-                try {
-                    return new BadgerFishXMLStreamReader(new JSONObject(new JSONTokener(ReaderWriter.readFromAsString(nonEmptyReader))));
-                } catch (Exception ex) {
-                    throw new XMLStreamException(ex);
-                }
+                return JettisonXmlStreamReader.create(nonEmptyReader, config);
         }
         // This should not occur
         throw new IllegalArgumentException("Unknown JSON config");
     }
 
+    private static InputStream ensureNonEmptyInputStream(InputStream inputStream) throws XMLStreamException {
+        try {
+            if (inputStream.markSupported()) {
+                inputStream.mark(1);
+                if (inputStream.read() == -1) {
+                    throw new XMLStreamException("JSON expression can not be empty!");
+                }
+                inputStream.reset();
+                return inputStream;
+            }
+
+            final PushbackInputStream pis = new PushbackInputStream(inputStream, 1);
+            final int b = pis.read();
+            if (b == -1) {
+                throw new XMLStreamException("JSON expression can not be empty!");
+            }
+            pis.unread(b);
+            return pis;
+        } catch (IOException ex) {
+            throw new XMLStreamException(ex);
+        }
+    }
+
     private static Reader ensureNonEmptyReader(Reader reader) throws XMLStreamException {
         try {
             Reader mr = reader.markSupported() ? reader : new BufferedReader(reader);
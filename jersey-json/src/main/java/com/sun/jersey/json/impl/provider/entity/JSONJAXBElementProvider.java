@@ -43,9 +43,12 @@ package com.sun.jersey.json.impl.provider.entity;
 import com.sun.jersey.api.json.JSONConfiguration;
 import com.sun.jersey.api.json.JSONJAXBContext;
 import com.sun.jersey.api.json.JSONMarshaller;
+import com.sun.jersey.api.json.JSONUnmarshaller;
 import com.sun.jersey.core.provider.jaxb.AbstractJAXBElementProvider;
 import com.sun.jersey.core.util.FeaturesAndProperties;
 
+import com.sun.jersey.json.impl.BaseJSONMarshaller;
+import com.sun.jersey.json.impl.BaseJSONUnmarshaller;
 import com.sun.jersey.json.impl.reader.JsonFormatException;
 import javax.ws.rs.Consumes;
 import javax.ws.rs.Produces;
@@ -122,8 +125,11 @@ public class JSONJAXBElementProvider extends AbstractJAXBElementProvider {
         final Charset c = getCharset(mediaType);
 
         try {
-            return JSONJAXBContext.getJSONUnmarshaller(u, getStoredJAXBContext(type)).
-                    unmarshalJAXBElementFromJSON(new InputStreamReader(entityStream, c), type);
+            final JSONUnmarshaller jsonUnmarshaller = JSONJAXBContext.getJSONUnmarshaller(u, getStoredJAXBContext(type));
+            if (jsonUnmarshaller instanceof BaseJSONUnmarshaller) {
+                return ((BaseJSONUnmarshaller) jsonUnmarshaller).unmarshalJAXBElementFromJSON(entityStream, c, type);
+            }
+            return jsonUnmarshaller.unmarshalJAXBElementFromJSON(new InputStreamReader(entityStream, c), type);
         } catch (JsonFormatException e) {
             throw new WebApplicationException(e, Status.BAD_REQUEST);
         }
@@ -137,6 +143,10 @@ public class JSONJAXBElementProvider extends AbstractJAXBElementProvider {
         JSONMarshaller jsonMarshaller = JSONJAXBContext.getJSONMarshaller(m, getStoredJAXBContext(t.getDeclaredType()));
         if(isFormattedOutput())
             jsonMarshaller.setProperty(JSONMarshaller.FORMATTED, true);
-        jsonMarshaller.marshallToJSON(t, new OutputStreamWriter(entityStream, c));
+        if (jsonMarshaller instanceof BaseJSONMarshaller) {
+            ((BaseJSONMarshaller) jsonMarshaller).marshallToJSON(t, entityStream, c);
+        } else {
+            jsonMarshaller.marshallToJSON(t, new OutputStreamWriter(entityStream, c));
+        }
     }
 }
\ No newline at end of file
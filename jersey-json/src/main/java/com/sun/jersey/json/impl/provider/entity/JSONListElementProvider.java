@@ -44,13 +44,14 @@ import com.sun.jersey.api.json.JSONConfigurated;
 import com.sun.jersey.api.json.JSONConfiguration;
 import com.sun.jersey.core.provider.jaxb.AbstractListElementProvider;
 import com.sun.jersey.core.util.FeaturesAndProperties;
+import com.sun.jersey.core.util.ReaderWriter;
 import com.sun.jersey.json.impl.JSONHelper;
 import com.sun.jersey.json.impl.Stax2JsonFactory;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.InputStreamReader;
 import java.io.OutputStream;
 import java.io.OutputStreamWriter;
+import java.io.Writer;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Type;
 import java.nio.charset.Charset;
@@ -120,8 +121,6 @@ public class JSONListElementProvider extends AbstractListElementProvider {
 
     @Override
     public final void writeList(Class<?> elementType, Collection<?> t, MediaType mediaType, Charset c, Marshaller m, OutputStream entityStream) throws JAXBException, IOException {
-        final OutputStreamWriter osw = new OutputStreamWriter(entityStream, c);
-
         JSONConfiguration origJsonConfig = JSONConfiguration.DEFAULT;
         if (m instanceof JSONConfigurated) {
             origJsonConfig = ((JSONConfigurated)m).getJSONConfiguration();
@@ -130,14 +129,18 @@ public class JSONListElementProvider extends AbstractListElementProvider {
         final JSONConfiguration unwrappingJsonConfig =
                 JSONConfiguration.createJSONConfigurationWithRootUnwrapping(origJsonConfig, true);
 
-        final XMLStreamWriter jxsw = Stax2JsonFactory.createWriter(osw, unwrappingJsonConfig, elementType, getStoredJAXBContext(elementType), true);
+        // Charsets other than UTF-8 may require the encoder state to be
+        // shared, for example to write a byte order mark only once
+        final Writer osw = ReaderWriter.UTF8.equals(c) ? null : new OutputStreamWriter(entityStream, c);
+        final XMLStreamWriter jxsw = (osw == null)
+                ? Stax2JsonFactory.createWriter(entityStream, c, unwrappingJsonConfig, elementType, getStoredJAXBContext(elementType), true)
+                : Stax2JsonFactory.createWriter(osw, unwrappingJsonConfig, elementType, getStoredJAXBContext(elementType), true);
         final String invisibleRootName = getRootElementName(elementType);
         final String elementName = getElementName(elementType);
 
         try {
             if (!origJsonConfig.isRootUnwrapping()) {
-              osw.append(String.format("{\"%s\":", elementName));
-              osw.flush();
+              write(String.format("{\"%s\":", elementName), osw, entityStream);
             }
             jxsw.writeStartDocument();
             jxsw.writeStartElement(invisibleRootName);
@@ -148,8 +151,7 @@ public class JSONListElementProvider extends AbstractListElementProvider {
             jxsw.writeEndDocument();
             jxsw.flush();
             if (!origJsonConfig.isRootUnwrapping()) {
-              osw.append("}");
-              osw.flush();
+              write("}", osw, entityStream);
             }
         } catch (XMLStreamException ex) {
             Logger.getLogger(JSONListElementProvider.class.getName()).log(Level.SEVERE, null, ex);
@@ -157,6 +159,15 @@ public class JSONListElementProvider extends AbstractListElementProvider {
         }
     }
 
+    private static void write(String s, Writer osw, OutputStream entityStream) throws IOException {
+        if (osw == null) {
+            entityStream.write(s.getBytes(ReaderWriter.UTF8));
+        } else {
+            osw.append(s);
+            osw.flush();
+        }
+    }
+
     @Override
     protected final XMLStreamReader getXMLStreamReader(Class<?> elementType, MediaType mediaType, Unmarshaller u, InputStream entityStream) throws XMLStreamException {
         JSONConfiguration c = JSONConfiguration.DEFAULT;
@@ -166,7 +177,7 @@ public class JSONListElementProvider extends AbstractListElementProvider {
         }
 
         try {
-            return Stax2JsonFactory.createReader(new InputStreamReader(entityStream, charset), c, JSONHelper.getRootElementName((Class)elementType), elementType, getStoredJAXBContext(elementType), true);
+            return Stax2JsonFactory.createReader(entityStream, charset, c, JSONHelper.getRootElementName((Class)elementType), elementType, getStoredJAXBContext(elementType), true);
         } catch (JAXBException e) {
             throw new XMLStreamException(e);
         }
@@ -43,9 +43,12 @@ package com.sun.jersey.json.impl.provider.entity;
 import com.sun.jersey.api.json.JSONConfiguration;
 import com.sun.jersey.api.json.JSONJAXBContext;
 import com.sun.jersey.api.json.JSONMarshaller;
+import com.sun.jersey.api.json.JSONUnmarshaller;
 import com.sun.jersey.core.header.MediaTypes;
 import com.sun.jersey.core.provider.jaxb.AbstractRootElementProvider;
 import com.sun.jersey.core.util.FeaturesAndProperties;
+import com.sun.jersey.json.impl.BaseJSONMarshaller;
+import com.sun.jersey.json.impl.BaseJSONUnmarshaller;
 import com.sun.jersey.json.impl.reader.JsonFormatException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
@@ -151,8 +154,11 @@ public class JSONRootElementProvider extends AbstractRootElementProvider {
         final Charset c = getCharset(mediaType);
 
         try {
-            return JSONJAXBContext.getJSONUnmarshaller(u, getJAXBContext(type)).
-                    unmarshalFromJSON(new InputStreamReader(entityStream, c), type);
+            final JSONUnmarshaller jsonUnmarshaller = JSONJAXBContext.getJSONUnmarshaller(u, getJAXBContext(type));
+            if (jsonUnmarshaller instanceof BaseJSONUnmarshaller) {
+                return ((BaseJSONUnmarshaller) jsonUnmarshaller).unmarshalFromJSON(entityStream, c, type);
+            }
+            return jsonUnmarshaller.unmarshalFromJSON(new InputStreamReader(entityStream, c), type);
         } catch (JsonFormatException e) {
             throw new WebApplicationException(e, Status.BAD_REQUEST);
         }
@@ -165,6 +171,10 @@ public class JSONRootElementProvider extends AbstractRootElementProvider {
         JSONMarshaller jsonMarshaller = JSONJAXBContext.getJSONMarshaller(m, getJAXBContext(t.getClass()));
         if(isFormattedOutput())
             jsonMarshaller.setProperty(JSONMarshaller.FORMATTED, true);
-        jsonMarshaller.marshallToJSON(t, new OutputStreamWriter(entityStream, c));
+        if (jsonMarshaller instanceof BaseJSONMarshaller) {
+            ((BaseJSONMarshaller) jsonMarshaller).marshallToJSON(t, entityStream, c);
+        } else {
+            jsonMarshaller.marshallToJSON(t, new OutputStreamWriter(entityStream, c));
+        }
     }
 }
@@ -0,0 +1,1129 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2026 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+
+package com.sun.jersey.json.impl.reader;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import javax.xml.XMLConstants;
+import javax.xml.namespace.NamespaceContext;
+import javax.xml.namespace.QName;
+import javax.xml.stream.Location;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import com.sun.jersey.api.json.JSONConfiguration;
+import com.sun.jersey.json.impl.Stax2JsonFactory;
+
+import org.codehaus.jackson.JsonParser;
+import org.codehaus.jackson.JsonToken;
+import org.codehaus.jackson.util.JsonParserSequence;
+import org.codehaus.jackson.util.TokenBuffer;
+import org.codehaus.jettison.json.JSONArray;
+import org.codehaus.jettison.json.JSONException;
+import org.codehaus.jettison.json.JSONObject;
+import org.codehaus.jettison.mapped.Configuration;
+import org.codehaus.jettison.mapped.MappedNamespaceConvention;
+import org.codehaus.jettison.mapped.MappedXMLStreamReader;
+
+/**
+ * Implementation of {@link XMLStreamReader} for JSON streams in mapped Jettison or BadgerFish notation. This class
+ * contains a factory method for an instance creation.
+ * <p/>
+ * The XML events are produced from the tokens of a {@link JsonParser} as they are requested, without converting the
+ * JSON expression to a tree of Jettison JSON objects first. The JSON names and values are mapped to XML in the same
+ * manner as Jettison does.
+ * <p/>
+ * Jettison reads the expression into a tree of JSON objects first, hence the attributes of an element may follow its
+ * content and the last of duplicate names of an object wins. To map such an object the same, the fields of each JSON
+ * object are read ahead, up to {@link #LOOKAHEAD} tokens of the object including the tokens of its values, before the
+ * start element of the object is produced. An object read ahead completely is reordered, the attributes first and the
+ * last value of a duplicate name in place of the first.
+ * <p/>
+ * Only the following are read by the Jettison {@link XMLStreamReader} of the notation, from a tree of the JSON objects:
+ * <ul>
+ * <li>an expression read using an {@link JSONConfiguration#getXml2JsonNs() XML to JSON namespace mapping} in mapped
+ * notation, as Jettison maps the namespaces of array items and of attributes in its own way,</li>
+ * <li>an object declaring namespaces ({@code "@xmlns"}), an object with a non-primitive attribute or text value or
+ * with a {@code "$"} name next to child elements in mapped notation, and an object with a primitive element value in
+ * BadgerFish notation, including the values of the object,</li>
+ * <li>an object with duplicate names or with attributes following the child elements within the first
+ * {@link #LOOKAHEAD} tokens of an object which is not read ahead completely.</li>
+ * </ul>
+ * An attribute, a duplicate name or another of the above which is not within the first {@link #LOOKAHEAD} tokens of
+ * an object is not supported, an {@link XMLStreamException} is thrown when it is read as the XML events of the object
+ * have been produced already.
+ *
+ * @author agent@local
+ */
+public abstract class JettisonXmlStreamReader implements XMLStreamReader {
+
+    /**
+     * The maximum number of tokens of a JSON object read ahead before the start element of the object is produced.
+     */
+    static final int LOOKAHEAD = 1024;
+
+    /**
+     * An XML event produced from the JSON stream.
+     */
+    private static final class Event {
+
+        final int type;
+        final QName name;
+        final List<JsonXmlEvent.Attribute> attributes;
+        final List<Namespace> namespaces;
+        final String text;
+        final Location location;
+
+        Event(final int type, final QName name, final List<JsonXmlEvent.Attribute> attributes,
+              final List<Namespace> namespaces, final String text, final Location location) {
+            this.type = type;
+            this.name = name;
+            this.attributes = attributes;
+            this.namespaces = namespaces;
+            this.text = text;
+            this.location = location;
+        }
+    }
+
+    /**
+     * A namespace declared by an element read by Jettison.
+     */
+    private static final class Namespace {
+
+        final String prefix;
+        final String namespaceURI;
+
+        Namespace(final String prefix, final String namespaceURI) {
+            this.prefix = prefix == null ? XMLConstants.DEFAULT_NS_PREFIX : prefix;
+            this.namespaceURI = namespaceURI;
+        }
+    }
+
+    /**
+     * A field of a JSON object read ahead.
+     */
+    private static final class Field {
+
+        final String name;
+        final TokenBuffer tokens = new TokenBuffer(null);
+        final JsonToken valueToken;
+        boolean primitiveItems;
+
+        Field(final String name, final JsonToken valueToken) {
+            this.name = name;
+            this.valueToken = valueToken;
+        }
+    }
+
+    /**
+     * The names of the fields of a JSON object read so far, which determine whether the object can be mapped to XML
+     * events as Jettison maps it.
+     */
+    private final class FieldNames {
+
+        final Set<String> names = new HashSet<String>();
+        boolean content;
+        boolean elements;
+        boolean text;
+        boolean reordered;
+
+        /**
+         * Adds the name of a field.
+         *
+         * @param name JSON name of the field.
+         * @param valueToken first token of the value of the field.
+         * @param primitiveItems {@code true} if the value is an array with primitive items.
+         * @return {@code false} if the object has to be read by Jettison.
+         */
+        boolean add(final String name, final JsonToken valueToken, final boolean primitiveItems) {
+            final boolean mapped = isPrimitiveElementAllowed();
+
+            reordered |= !names.add(name);
+            if (name.startsWith("@")) {
+                reordered |= content;
+                return !"@xmlns".equals(name) && !(mapped && !isPrimitive(valueToken));
+            } else if ("$".equals(name)) {
+                content = text = true;
+                return !(mapped && (elements || valueToken == JsonToken.START_OBJECT
+                        || valueToken == JsonToken.START_ARRAY));
+            } else {
+                content = elements = true;
+                return !(mapped && text) && (mapped || !(isPrimitive(valueToken) || primitiveItems));
+            }
+        }
+    }
+
+    /**
+     * A JSON object or array being read. An object corresponds to an element, the items of an array correspond to repeated
+     * elements of the same name.
+     */
+    private static final class Frame {
+
+        final String jsonName;
+        final QName name;
+        final boolean array;
+
+        /**
+         * The names of the fields of an object which has not been read ahead completely, {@code null} otherwise.
+         */
+        final FieldNames fieldNames;
+
+        /**
+         * The number of fields read ahead, the names of which have been added to the {@link #fieldNames} already, not
+         * yet read as the content of the object.
+         */
+        int fieldsReadAhead;
+
+        Frame(final String jsonName, final QName name, final boolean array, final FieldNames fieldNames) {
+            this.jsonName = jsonName;
+            this.name = name;
+            this.array = array;
+            this.fieldNames = fieldNames;
+        }
+    }
+
+    private static final List<JsonXmlEvent.Attribute> NO_ATTRIBUTES = Collections.emptyList();
+
+    private static final List<Namespace> NO_NAMESPACES = Collections.emptyList();
+
+    /**
+     * The JSON parser of the input.
+     */
+    private final JsonParser input;
+
+    /**
+     * The tokens read ahead followed by the JSON parser of the input.
+     */
+    private JsonParser parser;
+
+    /**
+     * Queue of events produced but not yet returned.
+     */
+    private final LinkedList<Event> events = new LinkedList<Event>();
+
+    private final LinkedList<Frame> frames = new LinkedList<Frame>();
+
+    /**
+     * The namespaces declared by the elements in scope, those of the current element first.
+     */
+    private final LinkedList<List<Namespace>> namespaces = new LinkedList<List<Namespace>>();
+
+    private final NamespaceContext namespaceContext = new NamespaceContext() {
+
+        public String getNamespaceURI(final String prefix) {
+            if (prefix == null) {
+                throw new IllegalArgumentException("Prefix can not be null.");
+            }
+
+            if (XMLConstants.XML_NS_PREFIX.equals(prefix)) {
+                return XMLConstants.XML_NS_URI;
+            } else if (XMLConstants.XMLNS_ATTRIBUTE.equals(prefix)) {
+                return XMLConstants.XMLNS_ATTRIBUTE_NS_URI;
+            }
+            for (List<Namespace> scope : namespaces) {
+                for (Namespace namespace : scope) {
+                    if (namespace.prefix.equals(prefix)) {
+                        return namespace.namespaceURI;
+                    }
+                }
+            }
+            return XMLConstants.DEFAULT_NS_PREFIX.equals(prefix) ? XMLConstants.NULL_NS_URI : null;
+        }
+
+        public String getPrefix(final String namespaceURI) {
+            final Iterator<String> prefixes = getPrefixes(namespaceURI);
+            return prefixes.hasNext() ? prefixes.next() : null;
+        }
+
+        public Iterator<String> getPrefixes(final String namespaceURI) {
+            if (namespaceURI == null) {
+                throw new IllegalArgumentException("Namespace URI can not be null.");
+            }
+
+            if (XMLConstants.XML_NS_URI.equals(namespaceURI)) {
+                return Collections.singletonList(XMLConstants.XML_NS_PREFIX).iterator();
+            } else if (XMLConstants.XMLNS_ATTRIBUTE_NS_URI.equals(namespaceURI)) {
+                return Collections.singletonList(XMLConstants.XMLNS_ATTRIBUTE).iterator();
+            }
+
+            final Set<String> prefixes = new HashSet<String>();
+            final List<String> boundPrefixes = new ArrayList<String>();
+            for (List<Namespace> scope : namespaces) {
+                for (Namespace namespace : scope) {
+                    // the prefixes redeclared by a nested element are not bound by the enclosing elements
+                    if (prefixes.add(namespace.prefix) && namespace.namespaceURI.equals(namespaceURI)) {
+                        boundPrefixes.add(namespace.prefix);
+                    }
+                }
+            }
+            if (XMLConstants.NULL_NS_URI.equals(namespaceURI) && !prefixes.contains(XMLConstants.DEFAULT_NS_PREFIX)) {
+                boundPrefixes.add(XMLConstants.DEFAULT_NS_PREFIX);
+            }
+            return boundPrefixes.iterator();
+        }
+    };
+
+    private Event current;
+
+    private boolean rootRead;
+
+    /**
+     * Factory method for creating instances of this class.
+     *
+     * @param reader JSON input.
+     * @param configuration JSON configuration, the notation of which is either
+     * {@link JSONConfiguration.Notation#MAPPED_JETTISON} or {@link JSONConfiguration.Notation#BADGERFISH}.
+     * @return an instance of JSON XML stream reader.
+     * @throws XMLStreamException if an {@link IOException} has been thrown during the creation of an {@code JsonParser}
+     * instance.
+     */
+    public static XMLStreamReader create(final Reader reader, final JSONConfiguration configuration)
+            throws XMLStreamException {
+        try {
+            return create(Stax2JsonFactory.getJsonFactory().createJsonParser(reader), configuration);
+        } catch (IOException ex) {
+            throw new XMLStreamException(ex);
+        }
+    }
+
+    /**
+     * Factory method for creating instances of this class.
+     *
+     * @param inputStream JSON input, the character encoding of which is detected.
+     * @param configuration JSON configuration, the notation of which is either
+     * {@link JSONConfiguration.Notation#MAPPED_JETTISON} or {@link JSONConfiguration.Notation#BADGERFISH}.
+     * @return an instance of JSON XML stream reader.
+     * @throws XMLStreamException if an {@link IOException} has been thrown during the creation of an {@code JsonParser}
+     * instance.
+     */
+    public static XMLStreamReader create(final InputStream inputStream, final JSONConfiguration configuration)
+            throws XMLStreamException {
+        try {
+            return create(Stax2JsonFactory.getJsonFactory().createJsonParser(inputStream), configuration);
+        } catch (IOException ex) {
+            throw new XMLStreamException(ex);
+        }
+    }
+
+    private static XMLStreamReader create(final JsonParser parser, final JSONConfiguration configuration)
+            throws XMLStreamException {
+        final JSONConfiguration.Notation notation = configuration.getNotation();
+        if (notation != JSONConfiguration.Notation.MAPPED_JETTISON && notation != JSONConfiguration.Notation.BADGERFISH) {
+            throw new IllegalArgumentException("Unsupported JSON notation: " + notation);
+        }
+
+        // Jettison tolerates these deviations from the JSON grammar.
+        parser.enable(JsonParser.Feature.ALLOW_COMMENTS);
+        parser.enable(JsonParser.Feature.ALLOW_SINGLE_QUOTES);
+        parser.enable(JsonParser.Feature.ALLOW_UNQUOTED_FIELD_NAMES);
+
+        if (notation == JSONConfiguration.Notation.MAPPED_JETTISON) {
+            final Map<String, String> xml2JsonNs = configuration.getXml2JsonNs();
+            if (xml2JsonNs != null && !xml2JsonNs.isEmpty()) {
+                // Jettison maps the namespaces of array items and of attributes in its own way.
+                return createJettisonReader(parser, xml2JsonNs);
+            }
+            return new MappedJettisonXmlStreamReader(parser);
+        } else {
+            return new BadgerFishXmlStreamReader(parser);
+        }
+    }
+
+    /**
+     * Creates the mapped Jettison reader for the JSON expression read from the {@code parser}.
+     */
+    private static XMLStreamReader createJettisonReader(final JsonParser parser, final Map<String, String> xml2JsonNs)
+            throws XMLStreamException {
+        try {
+            final JsonToken jsonToken = parser.nextToken();
+            if (jsonToken != JsonToken.START_OBJECT) {
+                throw new JSONException("A JSONObject text must begin with '{'");
+            }
+            final JSONObject jsonObject = (JSONObject) readJettisonValue(parser, jsonToken);
+
+            return new MappedXMLStreamReader(jsonObject, new MappedNamespaceConvention(new Configuration(xml2JsonNs)));
+        } catch (IOException ex) {
+            throw new XMLStreamException(ex);
+        } catch (JSONException ex) {
+            throw new XMLStreamException(ex);
+        }
+    }
+
+    /**
+     * Reads the JSON value starting with the given token into the value Jettison parses from the same JSON text.
+     */
+    private static Object readJettisonValue(final JsonParser parser, final JsonToken jsonToken)
+            throws IOException, JSONException {
+        switch (jsonToken) {
+            case START_OBJECT:
+                final JSONObject jsonObject = new JSONObject();
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    final String fieldName = parser.getCurrentName();
+                    jsonObject.put(fieldName, readJettisonValue(parser, parser.nextToken()));
+                }
+                return jsonObject;
+            case START_ARRAY:
+                final JSONArray jsonArray = new JSONArray();
+                JsonToken itemToken;
+                while ((itemToken = parser.nextToken()) != JsonToken.END_ARRAY) {
+                    jsonArray.put(readJettisonValue(parser, itemToken));
+                }
+                return jsonArray;
+            case VALUE_NULL:
+                return JSONObject.NULL;
+            case VALUE_TRUE:
+                return Boolean.TRUE;
+            case VALUE_FALSE:
+                return Boolean.FALSE;
+            case VALUE_NUMBER_INT:
+                switch (parser.getNumberType()) {
+                    case INT:
+                        return parser.getIntValue();
+                    case LONG:
+                        return parser.getLongValue();
+                    default:
+                        return parser.getDoubleValue();
+                }
+            case VALUE_NUMBER_FLOAT:
+                return parser.getDoubleValue();
+            default:
+                return parser.getText();
+        }
+    }
+
+    /**
+     * Returns the text of the current primitive value of the {@code parser} the same as Jettison does, i.e. numbers are
+     * normalized and {@code null} is mapped to the {@code "null"} text.
+     */
+    private static String getJettisonText(final JsonParser parser, final JsonToken jsonToken) throws IOException {
+        switch (jsonToken) {
+            case VALUE_NULL:
+                return "null";
+            case VALUE_NUMBER_INT:
+                return parser.getNumberType() == JsonParser.NumberType.BIG_INTEGER
+                        ? String.valueOf(parser.getDoubleValue())
+                        : parser.getText();
+            case VALUE_NUMBER_FLOAT:
+                return String.valueOf(parser.getDoubleValue());
+            default:
+                return parser.getText();
+        }
+    }
+
+    protected JettisonXmlStreamReader(final JsonParser parser) {
+        this.input = parser;
+        this.parser = parser;
+        this.current = new Event(XMLStreamConstants.START_DOCUMENT, null, NO_ATTRIBUTES, NO_NAMESPACES, null,
+                new StaxLocation(0, 0, 0));
+    }
+
+    /**
+     * Returns the element qualified name which is determined from the given {@code jsonFieldName}.
+     *
+     * @param jsonFieldName name of the json field to obtain the qualified name for.
+     * @return qualified name of the element.
+     * @throws XMLStreamException if the qualified name can not be determined.
+     */
+    protected abstract QName getElementQName(final String jsonFieldName) throws XMLStreamException;
+
+    /**
+     * Returns the attribute qualified name which is determined from the given {@code jsonFieldName}.
+     *
+     * @param jsonFieldName name of the json field, without the leading '@' character, to obtain the qualified name for.
+     * @return qualified name of the attribute.
+     * @throws XMLStreamException if the qualified name can not be determined.
+     */
+    protected abstract QName getAttributeQName(final String jsonFieldName) throws XMLStreamException;
+
+    /**
+     * Determines whether an element may be represented by a primitive json value or an array of primitive json values, not
+     * only by a json object.
+     *
+     * @return {@code true} if an element may be represented by a primitive json value, {@code false} otherwise.
+     */
+    protected abstract boolean isPrimitiveElementAllowed();
+
+    /**
+     * Creates the Jettison reader of the notation for the given JSON object.
+     *
+     * @param jsonObject JSON object containing the root element.
+     * @return Jettison reader of the JSON object.
+     * @throws JSONException if the JSON object can not be read.
+     * @throws XMLStreamException if the JSON object can not be read.
+     */
+    protected abstract XMLStreamReader createJettisonReader(final JSONObject jsonObject)
+            throws JSONException, XMLStreamException;
+
+    private Location getCurrentLocation() {
+        return new StaxLocation(input.getCurrentLocation());
+    }
+
+    private static boolean isPrimitive(final JsonToken jsonToken) {
+        return jsonToken == JsonToken.VALUE_FALSE
+                || jsonToken == JsonToken.VALUE_TRUE
+                || jsonToken == JsonToken.VALUE_STRING
+                || jsonToken == JsonToken.VALUE_NUMBER_FLOAT
+                || jsonToken == JsonToken.VALUE_NUMBER_INT
+                || jsonToken == JsonToken.VALUE_NULL;
+    }
+
+    private JsonToken nextToken() throws IOException, XMLStreamException {
+        final JsonToken jsonToken = parser.nextToken();
+        if (jsonToken == null) {
+            throw new XMLStreamException("Unexpected end of JSON expression.", getCurrentLocation());
+        }
+        return jsonToken;
+    }
+
+    /**
+     * Continues reading with the given tokens followed by the tokens not read yet.
+     */
+    private void pushBack(final TokenBuffer tokens) {
+        parser = JsonParserSequence.createFlattened(tokens.asParser(), parser);
+    }
+
+    private void addStartElement(final QName name, final List<JsonXmlEvent.Attribute> attributes) {
+        events.add(new Event(XMLStreamConstants.START_ELEMENT, name, attributes, NO_NAMESPACES, null,
+                getCurrentLocation()));
+    }
+
+    private void addEndElement(final QName name) {
+        events.add(new Event(XMLStreamConstants.END_ELEMENT, name, NO_ATTRIBUTES, NO_NAMESPACES, null,
+                getCurrentLocation()));
+    }
+
+    private void addCharacters(final String text) {
+        events.add(new Event(XMLStreamConstants.CHARACTERS, null, NO_ATTRIBUTES, NO_NAMESPACES, text,
+                getCurrentLocation()));
+    }
+
+    /**
+     * Reads JSON tokens until at least one XML event is produced.
+     */
+    private void readEvent() throws IOException, XMLStreamException {
+        final Frame frame = frames.peek();
+
+        if (frame == null) {
+            if (rootRead) {
+                events.add(new Event(XMLStreamConstants.END_DOCUMENT, null, NO_ATTRIBUTES, NO_NAMESPACES, null,
+                        getCurrentLocation()));
+            } else {
+                readRoot();
+            }
+            return;
+        }
+
+        final JsonToken jsonToken = nextToken();
+
+        if (frame.array) {
+            if (jsonToken == JsonToken.END_ARRAY) {
+                frames.pop();
+                if (frame.name != null) {
+                    addEndElement(frame.name);
+                }
+            } else {
+                readValue(frame.jsonName, jsonToken);
+            }
+        } else if (jsonToken == JsonToken.END_OBJECT) {
+            frames.pop();
+            addEndElement(frame.name);
+        } else {
+            final String fieldName = parser.getCurrentName();
+            final JsonToken valueToken = nextToken();
+            if (frame.fieldsReadAhead > 0) {
+                frame.fieldsReadAhead--;
+            } else if (frame.fieldNames != null
+                    && (!frame.fieldNames.add(fieldName, valueToken, false) || frame.fieldNames.reordered)) {
+                throw new XMLStreamException("The field " + fieldName + " of the JSON object " + frame.jsonName
+                        + " has to be read before the content of the object, it is not within the first " + LOOKAHEAD
+                        + " tokens of the object.", getCurrentLocation());
+            }
+            if ("$".equals(fieldName)) {
+                readText(valueToken);
+            } else {
+                readValue(fieldName, valueToken);
+            }
+        }
+    }
+
+    private void readRoot() throws IOException, XMLStreamException {
+        rootRead = true;
+
+        if (nextToken() != JsonToken.START_OBJECT || nextToken() != JsonToken.FIELD_NAME) {
+            throw new XMLStreamException("JSON expression has to be an object containing the root element.",
+                    getCurrentLocation());
+        }
+
+        final String rootName = parser.getCurrentName();
+        final JsonToken jsonToken = nextToken();
+
+        if (jsonToken == JsonToken.START_ARRAY && isPrimitiveElementAllowed()) {
+            // root element containing the array items as child elements of the same name
+            final QName name = getElementQName(rootName);
+            addStartElement(name, NO_ATTRIBUTES);
+            frames.push(new Frame(rootName, name, true, null));
+        } else {
+            readValue(rootName, jsonToken);
+        }
+    }
+
+    private void readValue(final String jsonName, final JsonToken jsonToken) throws IOException, XMLStreamException {
+        if (jsonToken == JsonToken.START_OBJECT) {
+            readObject(jsonName);
+        } else if (jsonToken == JsonToken.START_ARRAY) {
+            frames.push(new Frame(jsonName, null, true, null));
+        } else if (isPrimitive(jsonToken) && isPrimitiveElementAllowed()) {
+            final QName name = getElementQName(jsonName);
+            addStartElement(name, NO_ATTRIBUTES);
+            addCharacters(getJettisonText(parser, jsonToken));
+            addEndElement(name);
+        } else {
+            throw new XMLStreamException("Value of " + jsonName + " is not an object, an array or a text content.",
+                    getCurrentLocation());
+        }
+    }
+
+    private void readText(final JsonToken jsonToken) throws IOException, XMLStreamException {
+        if (jsonToken == JsonToken.START_ARRAY) {
+            final StringBuilder text = new StringBuilder();
+
+            JsonToken itemToken;
+            while ((itemToken = nextToken()) != JsonToken.END_ARRAY) {
+                if (!isPrimitive(itemToken)) {
+                    throw new XMLStreamException("Text content has to be a primitive value.", getCurrentLocation());
+                }
+                text.append(getJettisonText(parser, itemToken));
+            }
+            addCharacters(text.toString());
+        } else if (isPrimitive(jsonToken)) {
+            addCharacters(getJettisonText(parser, jsonToken));
+        } else {
+            throw new XMLStreamException("Text content has to be a primitive value.", getCurrentLocation());
+        }
+    }
+
+    /**
+     * Reads the fields of a json object ahead, up to {@link #LOOKAHEAD} tokens, and produces the start element event.
+     * The fields other than the attributes are left to be processed as the content of the element.
+     */
+    private void readObject(final String jsonName) throws IOException, XMLStreamException {
+        final List<Field> fields = new ArrayList<Field>();
+        final FieldNames fieldNames = new FieldNames();
+        boolean jettison = false;
+        boolean complete = false;
+
+        int count = 0;
+        while (count < LOOKAHEAD) {
+            if (nextToken() == JsonToken.END_OBJECT) {
+                complete = true;
+                break;
+            }
+
+            final String fieldName = parser.getCurrentName();
+            final JsonToken valueToken = nextToken();
+            final Field field = new Field(fieldName, valueToken);
+            fields.add(field);
+
+            field.tokens.copyCurrentEvent(parser);
+            count++;
+            int depth = valueToken == JsonToken.START_OBJECT || valueToken == JsonToken.START_ARRAY ? 1 : 0;
+            while (depth > 0 && count < LOOKAHEAD) {
+                final JsonToken jsonToken = nextToken();
+                field.tokens.copyCurrentEvent(parser);
+                count++;
+
+                if (jsonToken == JsonToken.START_OBJECT || jsonToken == JsonToken.START_ARRAY) {
+                    depth++;
+                } else if (jsonToken == JsonToken.END_OBJECT || jsonToken == JsonToken.END_ARRAY) {
+                    depth--;
+                } else if (depth == 1 && valueToken == JsonToken.START_ARRAY && isPrimitive(jsonToken)) {
+                    field.primitiveItems = true;
+                }
+            }
+
+            jettison |= !fieldNames.add(fieldName, valueToken, field.primitiveItems);
+        }
+
+        if (jettison || (!complete && fieldNames.reordered)) {
+            readJettisonObject(jsonName, fields, complete);
+            return;
+        }
+
+        final Map<String, Field> attributes = new LinkedHashMap<String, Field>();
+        final Map<String, Field> content = new LinkedHashMap<String, Field>();
+        for (Field field : fields) {
+            (field.name.startsWith("@") ? attributes : content).put(field.name, field);
+        }
+
+        List<JsonXmlEvent.Attribute> attributeList = NO_ATTRIBUTES;
+        for (Field field : attributes.values()) {
+            final JsonParser valueParser = field.tokens.asParser();
+            final JsonToken valueToken = valueParser.nextToken();
+            if (!isPrimitive(valueToken)) {
+                throw new XMLStreamException("Value of attribute " + field.name + " has to be a primitive value.",
+                        getCurrentLocation());
+            }
+            if (attributeList == NO_ATTRIBUTES) {
+                attributeList = new ArrayList<JsonXmlEvent.Attribute>(attributes.size());
+            }
+            attributeList.add(new JsonXmlEvent.Attribute(getAttributeQName(field.name.substring(1)),
+                    getJettisonText(valueParser, valueToken)));
+        }
+
+        // the content is read from the fields read ahead, in place of the first of duplicate names, followed by the
+        // tokens not read yet
+        final TokenBuffer tokens = new TokenBuffer(null);
+        for (Field field : content.values()) {
+            tokens.writeFieldName(field.name);
+            field.tokens.serialize(tokens);
+        }
+        if (complete) {
+            tokens.writeEndObject();
+        }
+        pushBack(tokens);
+
+        final QName name = getElementQName(jsonName);
+        addStartElement(name, attributeList);
+
+        final Frame frame = new Frame(jsonName, name, false, complete ? null : fieldNames);
+        frame.fieldsReadAhead = content.size();
+        frames.push(frame);
+    }
+
+    /**
+     * Reads a json object, the fields of which have been read ahead, by the Jettison reader and produces the XML events of
+     * the element.
+     */
+    private void readJettisonObject(final String jsonName, final List<Field> fields, final boolean complete)
+            throws IOException, XMLStreamException {
+        final TokenBuffer tokens = new TokenBuffer(null);
+        for (Field field : fields) {
+            tokens.writeFieldName(field.name);
+            field.tokens.serialize(tokens);
+        }
+        if (complete) {
+            tokens.writeEndObject();
+        }
+        pushBack(tokens);
+
+        final XMLStreamReader reader;
+        try {
+            final JSONObject jsonObject = new JSONObject();
+            jsonObject.put(jsonName, readJettisonValue(parser, JsonToken.START_OBJECT));
+            reader = createJettisonReader(jsonObject);
+        } catch (JSONException ex) {
+            throw new XMLStreamException(ex);
+        }
+
+        // Jettison ends an element at its "$" text in mapped notation, the names following the text are read as the
+        // siblings of the element, which are dropped unless the element is the root element
+        final boolean root = frames.isEmpty();
+        final Location location = getCurrentLocation();
+        int depth = 0;
+        while (reader.hasNext() && (root || depth >= 0)) {
+            switch (reader.next()) {
+                case XMLStreamConstants.START_ELEMENT:
+                    depth++;
+                    List<JsonXmlEvent.Attribute> attributes = NO_ATTRIBUTES;
+                    if (reader.getAttributeCount() > 0) {
+                        attributes = new ArrayList<JsonXmlEvent.Attribute>(reader.getAttributeCount());
+                        for (int i = 0; i < reader.getAttributeCount(); i++) {
+                            attributes.add(new JsonXmlEvent.Attribute(reader.getAttributeName(i),
+                                    reader.getAttributeValue(i)));
+                        }
+                    }
+                    List<Namespace> namespaceList = NO_NAMESPACES;
+                    if (reader.getNamespaceCount() > 0) {
+                        namespaceList = new ArrayList<Namespace>(reader.getNamespaceCount());
+                        for (int i = 0; i < reader.getNamespaceCount(); i++) {
+                            namespaceList.add(new Namespace(reader.getNamespacePrefix(i), reader.getNamespaceURI(i)));
+                        }
+                    }
+                    events.add(new Event(XMLStreamConstants.START_ELEMENT, reader.getName(), attributes, namespaceList,
+                            null, location));
+                    break;
+                case XMLStreamConstants.END_ELEMENT:
+                    events.add(new Event(XMLStreamConstants.END_ELEMENT, reader.getName(), NO_ATTRIBUTES, NO_NAMESPACES,
+                            null, location));
+                    if (--depth == 0) {
+                        depth = -1;
+                    }
+                    break;
+                case XMLStreamConstants.CHARACTERS:
+                    events.add(new Event(XMLStreamConstants.CHARACTERS, null, NO_ATTRIBUTES, NO_NAMESPACES,
+                            reader.getText(), location));
+                    break;
+                default:
+                    break;
+            }
+        }
+        reader.close();
+    }
+
+    private void checkElementEvent() {
+        if (current.type != XMLStreamConstants.START_ELEMENT && current.type != XMLStreamConstants.END_ELEMENT) {
+            throw new IllegalStateException("Parser must be on START_ELEMENT or END_ELEMENT.");
+        }
+    }
+
+    private JsonXmlEvent.Attribute getAttribute(final int index) {
+        if (current.type != XMLStreamConstants.START_ELEMENT) {
+            throw new IllegalStateException("Parser must be on START_ELEMENT to read attributes.");
+        }
+        return current.attributes.get(index);
+    }
+
+    @Override
+    public void close() throws XMLStreamException {
+        events.clear();
+        frames.clear();
+        namespaces.clear();
+
+        try {
+            input.close();
+        } catch (IOException ioe) {
+            throw new XMLStreamException(ioe);
+        }
+    }
+
+    @Override
+    public int getAttributeCount() {
+        if (current.type != XMLStreamConstants.START_ELEMENT) {
+            throw new IllegalStateException("Parser must be on START_ELEMENT to read attributes.");
+        }
+        return current.attributes.size();
+    }
+
+    @Override
+    public String getAttributeLocalName(final int index) {
+        return getAttribute(index).getName().getLocalPart();
+    }
+
+    @Override
+    public QName getAttributeName(final int index) {
+        return getAttribute(index).getName();
+    }
+
+    @Override
+    public String getAttributeNamespace(final int index) {
+        return getAttribute(index).getName().getNamespaceURI();
+    }
+
+    @Override
+    public String getAttributePrefix(final int index) {
+        return getAttribute(index).getName().getPrefix();
+    }
+
+    @Override
+    public String getAttributeType(final int index) {
+        getAttribute(index);
+        return "CDATA";
+    }
+
+    @Override
+    public String getAttributeValue(final String namespaceURI, final String localName) {
+        for (JsonXmlEvent.Attribute attribute : current.attributes) {
+            if (attribute.getName().getLocalPart().equals(localName)
+                    && (namespaceURI == null || namespaceURI.equals(attribute.getName().getNamespaceURI()))) {
+                return attribute.getValue();
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public String getAttributeValue(final int index) {
+        return getAttribute(index).getValue();
+    }
+
+    @Override
+    public String getCharacterEncodingScheme() {
+        return null;
+    }
+
+    @Override
+    public String getElementText() throws XMLStreamException {
+        if (current.type != XMLStreamConstants.START_ELEMENT) {
+            throw new XMLStreamException("Parser must be on START_ELEMENT to read next text.", getLocation());
+        }
+
+        final StringBuilder content = new StringBuilder();
+        int eventType;
+        while ((eventType = next()) != XMLStreamConstants.END_ELEMENT) {
+            if (eventType == XMLStreamConstants.CHARACTERS) {
+                content.append(getText());
+            } else {
+                throw new XMLStreamException("Element text content may not contain START_ELEMENT.", getLocation());
+            }
+        }
+        return content.toString();
+    }
+
+    @Override
+    public String getEncoding() {
+        return null;
+    }
+
+    @Override
+    public int getEventType() {
+        return current.type;
+    }
+
+    @Override
+    public String getLocalName() {
+        checkElementEvent();
+        return current.name.getLocalPart();
+    }
+
+    @Override
+    public Location getLocation() {
+        return current.location;
+    }
+
+    @Override
+    public QName getName() {
+        checkElementEvent();
+        return current.name;
+    }
+
+    @Override
+    public NamespaceContext getNamespaceContext() {
+        return namespaceContext;
+    }
+
+    @Override
+    public int getNamespaceCount() {
+        checkElementEvent();
+        return namespaces.peek().size();
+    }
+
+    @Override
+    public String getNamespacePrefix(final int index) {
+        checkElementEvent();
+        return namespaces.peek().get(index).prefix;
+    }
+
+    @Override
+    public String getNamespaceURI(final String prefix) {
+        return namespaceContext.getNamespaceURI(prefix);
+    }
+
+    @Override
+    public String getNamespaceURI(final int index) {
+        checkElementEvent();
+        return namespaces.peek().get(index).namespaceURI;
+    }
+
+    @Override
+    public String getNamespaceURI() {
+        checkElementEvent();
+        return current.name.getNamespaceURI();
+    }
+
+    @Override
+    public String getPIData() {
+        return null;
+    }
+
+    @Override
+    public String getPITarget() {
+        return null;
+    }
+
+    @Override
+    public String getPrefix() {
+        checkElementEvent();
+        return current.name.getPrefix();
+    }
+
+    @Override
+    public Object getProperty(final String name) throws IllegalArgumentException {
+        if (name == null) {
+            throw new IllegalArgumentException("Name is null.");
+        }
+        return null;
+    }
+
+    @Override
+    public String getText() {
+        if (current.type != XMLStreamConstants.CHARACTERS) {
+            throw new IllegalStateException("Parser must be on CHARACTERS to read text.");
+        }
+        return current.text;
+    }
+
+    @Override
+    public char[] getTextCharacters() {
+        return getText().toCharArray();
+    }
+
+    @Override
+    public int getTextCharacters(final int sourceStart, final char[] target, final int targetStart, final int length)
+            throws XMLStreamException {
+        final String text = getText();
+        final int count = Math.min(length, text.length() - sourceStart);
+        text.getChars(sourceStart, sourceStart + count, target, targetStart);
+        return count;
+    }
+
+    @Override
+    public int getTextLength() {
+        return getText().length();
+    }
+
+    @Override
+    public int getTextStart() {
+        return 0;
+    }
+
+    @Override
+    public String getVersion() {
+        return null;
+    }
+
+    @Override
+    public boolean hasName() {
+        return current.type == XMLStreamConstants.START_ELEMENT || current.type == XMLStreamConstants.END_ELEMENT;
+    }
+
+    @Override
+    public boolean hasNext() throws XMLStreamException {
+        return current.type != XMLStreamConstants.END_DOCUMENT;
+    }
+
+    @Override
+    public boolean hasText() {
+        return current.type == XMLStreamConstants.CHARACTERS;
+    }
+
+    @Override
+    public boolean isAttributeSpecified(final int index) {
+        getAttribute(index);
+        return true;
+    }
+
+    @Override
+    public boolean isCharacters() {
+        return current.type == XMLStreamConstants.CHARACTERS;
+    }
+
+    @Override
+    public boolean isEndElement() {
+        return current.type == XMLStreamConstants.END_ELEMENT;
+    }
+
+    @Override
+    public boolean isStandalone() {
+        return false;
+    }
+
+    @Override
+    public boolean isStartElement() {
+        return current.type == XMLStreamConstants.START_ELEMENT;
+    }
+
+    @Override
+    public boolean isWhiteSpace() {
+        return false;
+    }
+
+    @Override
+    public int next() throws XMLStreamException {
+        if (!hasNext()) {
+            throw new NoSuchElementException("No more parsing elements.");
+        }
+
+        try {
+            while (events.isEmpty()) {
+                readEvent();
+            }
+        } catch (IOException ex) {
+            throw new XMLStreamException(ex);
+        }
+
+        if (current.type == XMLStreamConstants.END_ELEMENT) {
+            namespaces.pop();
+        }
+        current = events.poll();
+        if (current.type == XMLStreamConstants.START_ELEMENT) {
+            namespaces.push(current.namespaces);
+        }
+        return current.type;
+    }
+
+    @Override
+    public int nextTag() throws XMLStreamException {
+        final int eventType = next();
+
+        if (eventType != XMLStreamConstants.START_ELEMENT && eventType != XMLStreamConstants.END_ELEMENT) {
+            throw new XMLStreamException("Expected start or end tag.", getLocation());
+        }
+        return eventType;
+    }
+
+    @Override
+    public void require(final int type, final String namespaceURI, final String localName) throws XMLStreamException {
+        if (type != current.type
+                || (namespaceURI != null && !(hasName() && namespaceURI.equals(getNamespaceURI())))
+                || (localName != null && !(hasName() && localName.equals(getLocalName())))) {
+            throw new XMLStreamException("Required event " + type + " {" + namespaceURI + "}" + localName
+                    + " does not match the current event.", getLocation());
+        }
+    }
+
+    @Override
+    public boolean standaloneSet() {
+        return false;
+    }
+}
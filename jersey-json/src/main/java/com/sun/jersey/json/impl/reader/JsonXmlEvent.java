@@ -39,6 +39,8 @@
  */
 package com.sun.jersey.json.impl.reader;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 import javax.xml.namespace.QName;
@@ -86,7 +88,7 @@ abstract class JsonXmlEvent {
     /**
      * Location of this event in JSON stream.
      */
-    private final Location location;
+    private Location location;
 
     /**
      * Attributes of this event if this event is of {@code XMLStreamConstants.START_ELEMENT} type.
@@ -172,6 +174,33 @@ abstract class JsonXmlEvent {
         this.attributes = attributes;
     }
 
+    /**
+     * Adds an attribute to the list of attributes of this event. If the list has not been initialized yet, or it is the
+     * empty list, a new list is created.
+     *
+     * @param attribute attribute to be added.
+     */
+    public void addAttribute(Attribute attribute) {
+        if (attributes == null || attributes == Collections.EMPTY_LIST) {
+            attributes = new ArrayList<Attribute>(4);
+        }
+        attributes.add(attribute);
+    }
+
+    /**
+     * Resets this event so that it can be reused for another event of the same type. The attributes are not initialized.
+     *
+     * @param name name of the event.
+     * @param text text contents of the event.
+     * @param location location of the event in JSON stream.
+     */
+    void reset(QName name, String text, Location location) {
+        this.name = name;
+        this.text = text;
+        this.location = location;
+        this.attributes = null;
+    }
+
     public void setName(QName name) {
         this.name = name;
     }
@@ -40,6 +40,7 @@
 package com.sun.jersey.json.impl.reader;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.Reader;
 import java.util.Collections;
 import java.util.List;
@@ -54,8 +55,8 @@ import javax.xml.stream.XMLStreamReader;
 
 import com.sun.jersey.api.json.JSONConfiguration;
 import com.sun.jersey.api.json.JSONJAXBContext;
+import com.sun.jersey.json.impl.Stax2JsonFactory;
 
-import org.codehaus.jackson.JsonFactory;
 import org.codehaus.jackson.JsonParser;
 
 /**
@@ -98,48 +99,84 @@ public class JsonXmlStreamReader implements XMLStreamReader {
      */
     public static XMLStreamReader create(final Reader reader,
                                          final JSONConfiguration configuration,
-                                         String rootName,
+                                         final String rootName,
                                          final Class<?> expectedType,
-                                         JAXBContext jaxbContext,
+                                         final JAXBContext jaxbContext,
                                          final boolean readingList) throws XMLStreamException {
         try {
-            if ((rootName == null || "".equals(rootName)) && (configuration.isRootUnwrapping())) {
-                rootName = "rootElement";
-            }
-            
-            final JsonParser rawParser = new JsonFactory().createJsonParser(reader);
-            final JsonParser nonListParser = configuration.isRootUnwrapping() ? JacksonRootAddingParser.createRootAddingParser
-                    (rawParser, rootName) : rawParser;
-
-            XmlEventProvider eventStack = null;
-            switch (configuration.getNotation()) {
-                case MAPPED:
-                    eventStack = new MappedNotationEventProvider(nonListParser, configuration, rootName);
-                    break;
-                case NATURAL:
-                    if (jaxbContext instanceof JSONJAXBContext) {
-                        jaxbContext = ((JSONJAXBContext) jaxbContext).getOriginalJaxbContext();
-                    }
-
-                    if (!readingList) {
-                        eventStack = new NaturalNotationEventProvider(nonListParser, configuration, rootName, jaxbContext, expectedType);
-                    } else {
-                        eventStack = new NaturalNotationEventProvider(
-                                JacksonRootAddingParser.createRootAddingParser(nonListParser, "jsonArrayRootElement"),
-                                configuration,
-                                rootName,
-                                jaxbContext,
-                                expectedType);
-                    }
-                    break;
-            }
+            return create(Stax2JsonFactory.getJsonFactory().createJsonParser(reader), configuration, rootName,
+                    expectedType, jaxbContext, readingList);
+        } catch (IOException ex) {
+            throw new XMLStreamException(ex);
+        }
+    }
 
-            return new JsonXmlStreamReader(eventStack);
+    /**
+     * Factory method for creating instances of this class.
+     *
+     * @param inputStream JSON input, the character encoding of which is detected.
+     * @param configuration JSON configuration.
+     * @param rootName if non-{@code null} then the {@code JsonXmlStreamReader} emulates presence of root element with this
+     * name for JAXB provider.
+     * @param expectedType expected type of JAXB element.
+     * @param jaxbContext JAXB context.
+     * @param readingList flag whether it is expected that root is an JSON array instead of an object.
+     * @return an instance of JSON XML stream reader
+     * @throws XMLStreamException if an {@link IOException} has been thrown during the creation of an {@code JsonParser} instance.
+     */
+    public static XMLStreamReader create(final InputStream inputStream,
+                                         final JSONConfiguration configuration,
+                                         final String rootName,
+                                         final Class<?> expectedType,
+                                         final JAXBContext jaxbContext,
+                                         final boolean readingList) throws XMLStreamException {
+        try {
+            return create(Stax2JsonFactory.getJsonFactory().createJsonParser(inputStream), configuration, rootName,
+                    expectedType, jaxbContext, readingList);
         } catch (IOException ex) {
             throw new XMLStreamException(ex);
         }
     }
 
+    private static XMLStreamReader create(final JsonParser rawParser,
+                                          final JSONConfiguration configuration,
+                                          String rootName,
+                                          final Class<?> expectedType,
+                                          JAXBContext jaxbContext,
+                                          final boolean readingList) throws XMLStreamException {
+        if ((rootName == null || "".equals(rootName)) && (configuration.isRootUnwrapping())) {
+            rootName = "rootElement";
+        }
+        
+        final JsonParser nonListParser = configuration.isRootUnwrapping() ? JacksonRootAddingParser.createRootAddingParser
+                (rawParser, rootName) : rawParser;
+
+        XmlEventProvider eventStack = null;
+        switch (configuration.getNotation()) {
+            case MAPPED:
+                eventStack = new MappedNotationEventProvider(nonListParser, configuration, rootName);
+                break;
+            case NATURAL:
+                if (jaxbContext instanceof JSONJAXBContext) {
+                    jaxbContext = ((JSONJAXBContext) jaxbContext).getOriginalJaxbContext();
+                }
+
+                if (!readingList) {
+                    eventStack = new NaturalNotationEventProvider(nonListParser, configuration, rootName, jaxbContext, expectedType);
+                } else {
+                    eventStack = new NaturalNotationEventProvider(
+                            JacksonRootAddingParser.createRootAddingParser(nonListParser, "jsonArrayRootElement"),
+                            configuration,
+                            rootName,
+                            jaxbContext,
+                            expectedType);
+                }
+                break;
+        }
+
+        return new JsonXmlStreamReader(eventStack);
+    }
+
     private JsonXmlStreamReader(final XmlEventProvider nodeStack) {
         this.eventProvider = nodeStack;
     }
@@ -0,0 +1,90 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2026 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+
+package com.sun.jersey.json.impl.reader;
+
+import javax.xml.namespace.QName;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import org.codehaus.jackson.JsonParser;
+import org.codehaus.jettison.json.JSONException;
+import org.codehaus.jettison.json.JSONObject;
+import org.codehaus.jettison.mapped.Configuration;
+import org.codehaus.jettison.mapped.MappedNamespaceConvention;
+import org.codehaus.jettison.mapped.MappedXMLStreamReader;
+
+/**
+ * {@code JettisonXmlStreamReader} for JSON in mapped Jettison notation.
+ * <p/>
+ * The json names are used as the local names of the elements and attributes, which are in no namespace. An expression
+ * read using an {@link com.sun.jersey.api.json.JSONConfiguration#getXml2JsonNs() XML to JSON namespace mapping} is read
+ * by Jettison and no instance of this class is created for it.
+ *
+ * @author agent@local
+ */
+class MappedJettisonXmlStreamReader extends JettisonXmlStreamReader {
+
+    MappedJettisonXmlStreamReader(final JsonParser parser) {
+        super(parser);
+    }
+
+    @Override
+    protected QName getElementQName(final String jsonFieldName) {
+        return new QName(jsonFieldName);
+    }
+
+    @Override
+    protected QName getAttributeQName(final String jsonFieldName) {
+        return new QName(jsonFieldName);
+    }
+
+    @Override
+    protected boolean isPrimitiveElementAllowed() {
+        return true;
+    }
+
+    @Override
+    protected XMLStreamReader createJettisonReader(final JSONObject jsonObject)
+            throws JSONException, XMLStreamException {
+        return new MappedXMLStreamReader(jsonObject, new MappedNamespaceConvention(new Configuration()));
+    }
+
+}
@@ -57,17 +57,32 @@ import org.codehaus.jackson.JsonParser;
  */
 class MappedNotationEventProvider extends XmlEventProvider {
     
+    /**
+     * Maximal number of qualified names kept in each of the maps of names.
+     */
+    private static final int MAX_QNAMES = 256;
+
     private final Map<String, String> jsonNs2XmlNs = new HashMap<String, String>();
 
+    /**
+     * Qualified names of elements and attributes keyed by json field names. The names do not depend on the position of
+     * an element in the document, so a name is determined only once for all the elements of the same json field name.
+     */
+    private final Map<String, QName> elementQNames = new HashMap<String, QName>();
+    private final Map<String, QName> attributeQNames = new HashMap<String, QName>();
+
     private final char nsSeparator;
     private final CharSequence nsSeparatorAsSequence;
 
+    private final Collection<String> attrsAsElems;
+
     protected MappedNotationEventProvider(final JsonParser parser, final JSONConfiguration configuration, final String rootName)
             throws XMLStreamException {
         super(parser, configuration, rootName);
 
         nsSeparator = configuration.getNsSeparator();
         nsSeparatorAsSequence = new StringBuffer(1).append(nsSeparator);
+        attrsAsElems = configuration.getAttributeAsElements();
 
         // xmlNs-jsonNs -> jsonNs-xmlNs
         final Map<String, String> xml2JsonNs = configuration.getXml2JsonNs();
@@ -80,12 +95,26 @@ class MappedNotationEventProvider extends XmlEventProvider {
 
     @Override
     protected QName getAttributeQName(final String jsonFieldName) {
-        return getFieldQName(getAttributeName(jsonFieldName));
+        QName qName = attributeQNames.get(jsonFieldName);
+        if (qName == null) {
+            qName = getFieldQName(getAttributeName(jsonFieldName));
+            if (attributeQNames.size() < MAX_QNAMES) {
+                attributeQNames.put(jsonFieldName, qName);
+            }
+        }
+        return qName;
     }
 
     @Override
     protected QName getElementQName(final String jsonFieldName) {
-        return getFieldQName(jsonFieldName);
+        QName qName = elementQNames.get(jsonFieldName);
+        if (qName == null) {
+            qName = getFieldQName(jsonFieldName);
+            if (elementQNames.size() < MAX_QNAMES) {
+                elementQNames.put(jsonFieldName, qName);
+            }
+        }
+        return qName;
     }
 
     private QName getFieldQName(final String jsonFieldName) {
@@ -101,7 +130,7 @@ class MappedNotationEventProvider extends XmlEventProvider {
 
     @Override
     protected boolean isAttribute(final String jsonFieldName) {
-        return jsonFieldName.startsWith("@") || getJsonConfiguration().getAttributeAsElements().contains(jsonFieldName);
+        return jsonFieldName.startsWith("@") || attrsAsElems.contains(jsonFieldName);
     }
 
 }
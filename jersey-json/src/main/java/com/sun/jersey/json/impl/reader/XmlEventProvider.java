@@ -40,15 +40,17 @@
 package com.sun.jersey.json.impl.reader;
 
 import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Deque;
-import java.util.LinkedList;
-import java.util.Queue;
-import java.util.Stack;
+import java.util.List;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 import javax.xml.namespace.QName;
 import javax.xml.stream.Location;
+import javax.xml.stream.XMLStreamConstants;
 import javax.xml.stream.XMLStreamException;
 
 import com.sun.jersey.api.json.JSONConfiguration;
@@ -65,13 +67,16 @@ import org.codehaus.jackson.JsonToken;
  */
 public abstract class XmlEventProvider {
 
+    /**
+     * Processing information of an element. Instances are reused for elements of the same depth.
+     */
     private static class ProcessingInfo {
 
         QName name;
         boolean isArray;
         boolean isFirstElement;
 
-        ProcessingInfo(QName name, boolean isArray, boolean isFirstElement) {
+        void set(QName name, boolean isArray, boolean isFirstElement) {
             this.name = name;
             this.isArray = isArray;
             this.isFirstElement = isFirstElement;
@@ -81,47 +86,64 @@ public abstract class XmlEventProvider {
     /**
      * This wrapper of the {@code JsonParser} allows to peek at the following tokens without actually processing them.
      */
-    private static class CachedJsonParser {
+    static class CachedJsonParser {
 
         /**
          * JSON parser.
          */
         private final JsonParser parser;
-        private final Queue<JsonToken> tokens = new LinkedList<JsonToken>();
+
+        /**
+         * Ring buffer of the tokens peeked at, at most two tokens are peeked at a time.
+         */
+        private final JsonToken[] tokens = new JsonToken[4];
+        private int head;
+        private int size;
 
         public CachedJsonParser(final JsonParser parser) {
             this.parser = parser;
         }
 
+        private void add(final JsonToken jsonToken) {
+            if (size == tokens.length) {
+                throw new IllegalStateException("Too many tokens peeked at.");
+            }
+            tokens[(head + size++) & (tokens.length - 1)] = jsonToken;
+        }
+
         public JsonToken nextToken() throws IOException {
-            return tokens.isEmpty() ? parser.nextToken() : tokens.poll();
+            return size == 0 ? parser.nextToken() : poll();
         }
 
         public JsonToken peekNext() throws IOException {
             final JsonToken jsonToken = parser.nextToken();
-            tokens.add(jsonToken);
+            add(jsonToken);
             return jsonToken;
         }
 
         public JsonToken peek() throws IOException {
-            if (tokens.isEmpty()) {
-                tokens.add(parser.nextToken());
+            if (size == 0) {
+                add(parser.nextToken());
             }
-            return tokens.peek();
+            return tokens[head];
         }
 
         public JsonToken poll() throws IOException {
-            return tokens.poll();
+            if (size == 0) {
+                return null;
+            }
+
+            final JsonToken jsonToken = tokens[head];
+            tokens[head] = null;
+            head = (head + 1) & (tokens.length - 1);
+            size--;
+            return jsonToken;
         }
 
         public void close() throws IOException {
             parser.close();
         }
 
-        public JsonLocation getCurrentLocation() {
-            return parser.getCurrentLocation();
-        }
-
         public String getText() throws IOException {
             return parser.getText();
         }
@@ -130,6 +152,10 @@ public abstract class XmlEventProvider {
             return parser.getCurrentName();
         }
 
+        public JsonLocation getCurrentLocation() {
+            return parser.getCurrentLocation();
+        }
+
         public boolean hasMoreTokens() throws IOException {
             try {
                 return peek() != null;
@@ -141,6 +167,11 @@ public abstract class XmlEventProvider {
 
     private static final Logger LOGGER = Logger.getLogger(XmlEventProvider.class.getName());
 
+    /**
+     * Maximal number of events of one type kept for reuse.
+     */
+    private static final int MAX_FREE_EVENTS = 8;
+
     private final JSONConfiguration configuration;
 
     /**
@@ -153,10 +184,21 @@ public abstract class XmlEventProvider {
     /**
      * Queue of unprocessed events.
      */
-    private final Deque<JsonXmlEvent> eventQueue = new LinkedList<JsonXmlEvent>();
+    private final Deque<JsonXmlEvent> eventQueue = new ArrayDeque<JsonXmlEvent>();
+
+    /**
+     * Stack of processing information, the instances above the current depth are kept for reuse.
+     */
+    private final List<ProcessingInfo> processingStack = new ArrayList<ProcessingInfo>();
+    private int processingDepth;
+
+    /**
+     * Processed events kept for reuse.
+     */
+    private final List<JsonXmlEvent> freeStartElementEvents = new ArrayList<JsonXmlEvent>(MAX_FREE_EVENTS);
+    private final List<JsonXmlEvent> freeEndElementEvents = new ArrayList<JsonXmlEvent>(MAX_FREE_EVENTS);
+    private final List<JsonXmlEvent> freeCharactersEvents = new ArrayList<JsonXmlEvent>(MAX_FREE_EVENTS);
 
-    private final Stack<ProcessingInfo> processingStack = new Stack<ProcessingInfo>();
-    
     protected XmlEventProvider(final JsonParser parser, final JSONConfiguration configuration, final String rootName)
             throws XMLStreamException {
         this.parser = new CachedJsonParser(parser);
@@ -176,7 +218,8 @@ public abstract class XmlEventProvider {
      */
     void close() throws XMLStreamException {
         eventQueue.clear();
-        processingStack.empty();
+        processingStack.clear();
+        processingDepth = 0;
 
         try {
             parser.close();
@@ -193,7 +236,8 @@ public abstract class XmlEventProvider {
      * @return end element event.
      */
     protected JsonXmlEvent createEndElementEvent(final QName elementName, final Location location) {
-        return new EndElementEvent(elementName, location);
+        final JsonXmlEvent event = reuseEvent(freeEndElementEvents, elementName, null, location);
+        return event == null ? new EndElementEvent(elementName, location) : event;
     }
 
     /**
@@ -204,7 +248,67 @@ public abstract class XmlEventProvider {
      * @return start element event.
      */
     protected JsonXmlEvent createStartElementEvent(final QName elementName, final Location location) {
-        return new StartElementEvent(elementName, location);
+        final JsonXmlEvent event = reuseEvent(freeStartElementEvents, elementName, null, location);
+        return event == null ? new StartElementEvent(elementName, location) : event;
+    }
+
+    private JsonXmlEvent createCharactersEvent(final String text, final Location location) {
+        final JsonXmlEvent event = reuseEvent(freeCharactersEvents, null, text, location);
+        return event == null ? new CharactersEvent(text, location) : event;
+    }
+
+    /**
+     * Returns a processed event of the list of free events, reset to the given values, or {@code null} if the list is
+     * empty.
+     */
+    private static JsonXmlEvent reuseEvent(final List<JsonXmlEvent> freeEvents, final QName name, final String text,
+                                           final Location location) {
+        if (freeEvents.isEmpty()) {
+            return null;
+        }
+
+        final JsonXmlEvent event = freeEvents.remove(freeEvents.size() - 1);
+        event.reset(name, text, location);
+        return event;
+    }
+
+    /**
+     * Keeps the given processed event for reuse.
+     */
+    private void freeEvent(final JsonXmlEvent event) {
+        final List<JsonXmlEvent> freeEvents;
+        switch (event.getEventType()) {
+            case XMLStreamConstants.START_ELEMENT:
+                freeEvents = freeStartElementEvents;
+                break;
+            case XMLStreamConstants.END_ELEMENT:
+                freeEvents = freeEndElementEvents;
+                break;
+            case XMLStreamConstants.CHARACTERS:
+                freeEvents = freeCharactersEvents;
+                break;
+            default:
+                return;
+        }
+
+        if (freeEvents.size() < MAX_FREE_EVENTS) {
+            freeEvents.add(event);
+        }
+    }
+
+    private ProcessingInfo peekProcessingInfo() {
+        return processingDepth == 0 ? null : processingStack.get(processingDepth - 1);
+    }
+
+    private void pushProcessingInfo(final QName name, final boolean isArray, final boolean isFirstElement) {
+        if (processingDepth == processingStack.size()) {
+            processingStack.add(new ProcessingInfo());
+        }
+        processingStack.get(processingDepth++).set(name, isArray, isFirstElement);
+    }
+
+    private void popProcessingInfo() {
+        processingStack.get(--processingDepth).set(null, false, false);
     }
 
     /**
@@ -282,22 +386,33 @@ public abstract class XmlEventProvider {
      * @see #processTokens(boolean)
      */
     void processAttributesOfCurrentElement() throws XMLStreamException {
-        eventQueue.peek().setAttributes(new LinkedList<JsonXmlEvent.Attribute>());
+        eventQueue.peek().setAttributes(Collections.<JsonXmlEvent.Attribute>emptyList());
 
         processTokens(true);
     }
     
+    /**
+     * Returns a snapshot of the current location of the parser in JSON stream, the location of an event does not change
+     * as the parser reads further tokens.
+     */
+    private Location getCurrentLocation() {
+        return new StaxLocation(parser.getCurrentLocation());
+    }
+
     private JsonXmlEvent processTokens(boolean processAttributes) throws XMLStreamException {
         if (!processAttributes) {
             // get rid of the current event
-            eventQueue.poll();
+            final JsonXmlEvent processedEvent = eventQueue.poll();
+            if (processedEvent != null) {
+                freeEvent(processedEvent);
+            }
         }
 
         try {
             while (eventQueue.isEmpty() || processAttributes) {
                 while (true) {
                     final JsonToken jsonToken = parser.nextToken();
-                    final ProcessingInfo pi = processingStack.isEmpty() ? null : processingStack.peek();
+                    final ProcessingInfo pi = peekProcessingInfo();
 
                     if (jsonToken == null) {
                         return getCurrentNode();
@@ -312,7 +427,7 @@ public abstract class XmlEventProvider {
                                 final QName attributeName = getAttributeQName(fieldName);
                                 final String attributeValue = getPrimitiveFieldValue(parser.nextToken(), parser.getText());
 
-                                eventQueue.peek().getAttributes().add(new JsonXmlEvent.Attribute(attributeName, attributeValue));
+                                eventQueue.peek().addAttribute(new JsonXmlEvent.Attribute(attributeName, attributeValue));
                             } else {
                                 processAttributes = false;
 
@@ -320,24 +435,24 @@ public abstract class XmlEventProvider {
                                 if ("$".equals(fieldName)) {
                                     // character event
                                     final String value = getPrimitiveFieldValue(parser.nextToken(), parser.getText());
-                                    eventQueue.add(new CharactersEvent(value, new StaxLocation(parser.getCurrentLocation())));
+                                    eventQueue.add(createCharactersEvent(value, getCurrentLocation()));
                                 } else {
                                     // element event
                                     final QName elementName = getElementQName(fieldName);
-                                    final JsonLocation currentLocation = parser.getCurrentLocation();
+                                    final Location location = getCurrentLocation();
 
                                     final boolean isRootEmpty = isEmptyElement(fieldName, true);
                                     if (isRootEmpty) {
-                                        eventQueue.add(createStartElementEvent(elementName, new StaxLocation(currentLocation)));
-                                        eventQueue.add(createEndElementEvent(elementName, new StaxLocation(currentLocation)));
-                                        eventQueue.add(new EndDocumentEvent(new StaxLocation(parser.getCurrentLocation())));
+                                        eventQueue.add(createStartElementEvent(elementName, location));
+                                        eventQueue.add(createEndElementEvent(elementName, location));
+                                        eventQueue.add(new EndDocumentEvent(location));
                                     } else {
                                         if (!isEmptyArray() && !isEmptyElement(fieldName, false)) {
-                                            eventQueue.add(createStartElementEvent(elementName, new StaxLocation(currentLocation)));
-                                            processingStack.add(new ProcessingInfo(elementName, false, true));
+                                            eventQueue.add(createStartElementEvent(elementName, location));
+                                            pushProcessingInfo(elementName, false, true);
                                         }
                                         if (!parser.hasMoreTokens()) {
-                                            eventQueue.add(new EndDocumentEvent(new StaxLocation(parser.getCurrentLocation())));
+                                            eventQueue.add(new EndDocumentEvent(location));
                                         }
                                     }
 
@@ -355,7 +470,7 @@ public abstract class XmlEventProvider {
                                 return getCurrentNode();
                             }
                             if (pi.isArray && !pi.isFirstElement) {
-                                eventQueue.add(createStartElementEvent(pi.name, new StaxLocation(parser.getCurrentLocation())));
+                                eventQueue.add(createStartElementEvent(pi.name, getCurrentLocation()));
                                 return getCurrentNode();
                             } else {
                                 pi.isFirstElement = false;
@@ -365,12 +480,13 @@ public abstract class XmlEventProvider {
                             processAttributes = false;
 
                             // end tag
-                            eventQueue.add(createEndElementEvent(pi.name, new StaxLocation(parser.getCurrentLocation())));
+                            final Location endLocation = getCurrentLocation();
+                            eventQueue.add(createEndElementEvent(pi.name, endLocation));
                             if (!pi.isArray) {
-                                processingStack.pop();
+                                popProcessingInfo();
                             }
-                            if (processingStack.isEmpty()) {
-                                eventQueue.add(new EndDocumentEvent(new StaxLocation(parser.getCurrentLocation())));
+                            if (processingDepth == 0) {
+                                eventQueue.add(new EndDocumentEvent(endLocation));
 
                                 // Eat the last '}' and check whether there is another (unexpected) token.
                                 final JsonToken nextToken = parser.nextToken();
@@ -386,28 +502,29 @@ public abstract class XmlEventProvider {
                         case VALUE_NUMBER_INT:
                         case VALUE_TRUE:
                         case VALUE_STRING:
+                            final Location valueLocation = getCurrentLocation();
                             if (!pi.isFirstElement) {
-                                eventQueue.add(createStartElementEvent(pi.name, new StaxLocation(parser.getCurrentLocation())));
+                                eventQueue.add(createStartElementEvent(pi.name, valueLocation));
                             } else {
                                 pi.isFirstElement = false;
                             }
                             if (jsonToken != JsonToken.VALUE_NULL) {
-                                eventQueue.add(new CharactersEvent(parser.getText(), new StaxLocation(parser.getCurrentLocation())));
+                                eventQueue.add(createCharactersEvent(parser.getText(), valueLocation));
                             }
-                            eventQueue.add(new EndElementEvent(pi.name, new StaxLocation(parser.getCurrentLocation())));
+                            eventQueue.add(createEndElementEvent(pi.name, valueLocation));
                             if (!pi.isArray) {
-                                processingStack.pop();
+                                popProcessingInfo();
                             }
-                            if (processingStack.isEmpty()) {
-                                eventQueue.add(new EndDocumentEvent(new StaxLocation(parser.getCurrentLocation())));
+                            if (processingDepth == 0) {
+                                eventQueue.add(new EndDocumentEvent(valueLocation));
                             }
                             processAttributes = false;
                             return getCurrentNode();
                         case START_ARRAY:
-                            processingStack.peek().isArray = true;
+                            pi.isArray = true;
                             break;
                         case END_ARRAY:
-                            processingStack.pop();
+                            popProcessingInfo();
                             processAttributes = false;
                             break;
                         default:
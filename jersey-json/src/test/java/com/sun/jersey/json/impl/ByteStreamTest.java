@@ -0,0 +1,108 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2026 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+
+package com.sun.jersey.json.impl;
+
+import com.sun.jersey.api.json.JSONConfiguration;
+import com.sun.jersey.api.json.JSONJAXBContext;
+import com.sun.jersey.api.json.JSONMarshaller;
+import com.sun.jersey.api.json.JSONUnmarshaller;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.StringWriter;
+import java.nio.charset.Charset;
+import java.util.Arrays;
+import junit.framework.TestCase;
+
+/**
+ * Tests JSON written to, and read from, byte streams is equivalent to JSON
+ * written to, and read from, character streams.
+ *
+ * @author agent@local
+ */
+public class ByteStreamTest extends TestCase {
+
+    private static final Charset UTF8 = Charset.forName("UTF-8");
+
+    private static final Charset UTF16 = Charset.forName("UTF-16");
+
+    final Object one = EncodedContentBean.createTestInstance();
+
+    public void testNatural() throws Exception {
+        tryWithConfiguration(JSONConfiguration.natural().build());
+        tryWithConfiguration(JSONConfiguration.natural().rootUnwrapping(false).build());
+    }
+
+    public void testMapped() throws Exception {
+        tryWithConfiguration(JSONConfiguration.mapped().build());
+    }
+
+    public void testMappedJettison() throws Exception {
+        tryWithConfiguration(JSONConfiguration.mappedJettison().build());
+    }
+
+    public void testBadgerfish() throws Exception {
+        tryWithConfiguration(JSONConfiguration.badgerFish().build());
+    }
+
+    private void tryWithConfiguration(JSONConfiguration configuration) throws Exception {
+        final JSONJAXBContext ctx = new JSONJAXBContext(configuration, EncodedContentBean.class);
+        final JSONMarshaller jm = ctx.createJSONMarshaller();
+        final JSONUnmarshaller ju = ctx.createJSONUnmarshaller();
+
+        final StringWriter sw = new StringWriter();
+        jm.marshallToJSON(one, sw);
+
+        for (Charset charset : new Charset[] {UTF8, UTF16}) {
+            final ByteArrayOutputStream out = new ByteArrayOutputStream();
+            ((BaseJSONMarshaller) jm).marshallToJSON(one, out, charset);
+            assertTrue(Arrays.equals(sw.toString().getBytes(charset), out.toByteArray()));
+
+            final Object two = ((BaseJSONUnmarshaller) ju).unmarshalFromJSON(
+                    new ByteArrayInputStream(out.toByteArray()), charset, EncodedContentBean.class);
+            assertEquals(one, two);
+        }
+
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        jm.marshallToJSON(one, out);
+        assertEquals(sw.toString(), new String(out.toByteArray(), UTF8));
+        assertEquals(one, ju.unmarshalFromJSON(new ByteArrayInputStream(out.toByteArray()), EncodedContentBean.class));
+    }
+}
@@ -0,0 +1,252 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2026 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+
+package com.sun.jersey.json.impl.reader;
+
+import java.io.StringReader;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeSet;
+
+import javax.xml.namespace.QName;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import com.sun.jersey.api.json.JSONConfiguration;
+
+import org.codehaus.jettison.badgerfish.BadgerFishXMLStreamReader;
+import org.codehaus.jettison.json.JSONObject;
+import org.codehaus.jettison.json.JSONTokener;
+import org.codehaus.jettison.mapped.Configuration;
+import org.codehaus.jettison.mapped.MappedNamespaceConvention;
+import org.codehaus.jettison.mapped.MappedXMLStreamReader;
+
+import junit.framework.TestCase;
+
+/**
+ * Reads the same JSON expressions by {@link JettisonXmlStreamReader} and by the Jettison readers it replaces and compares
+ * the produced XML events.
+ *
+ * @author agent@local
+ */
+public class JettisonXmlStreamReaderTest extends TestCase {
+
+    public JettisonXmlStreamReaderTest(String testName) {
+        super(testName);
+    }
+
+    private static JSONConfiguration mappedJettison() {
+        final Map<String, String> xml2JsonNs = new HashMap<String, String>();
+        xml2JsonNs.put("http://example.com", "example");
+        return JSONConfiguration.mappedJettison().xml2JsonNs(xml2JsonNs).build();
+    }
+
+    private static JSONConfiguration badgerFish() {
+        return JSONConfiguration.badgerFish().build();
+    }
+
+    public void testMappedJettison() throws Exception {
+        assertSameAsJettison("{\"root\":{\"@id\":\"1\",\"example.item\":[{\"@example.kind\":\"a\",\"$\":\"x\"},\"y\",null],"
+                + "\"empty\":[],\"other.item\":\"z\",\"obj\":{\"a\":{\"b\":\"c\"}},\"flag\":true}}", mappedJettison());
+    }
+
+    public void testMappedJettisonValues() throws Exception {
+        assertSameAsJettison("{\"root\":{\"@a\":1.50,\"@b\":null,\"c\":null,\"d\":1e3,\"e\":10,\"f\":12345678901,"
+                + "\"g\":123456789012345678901234,\"h\":false,\"i\":{\"$\":-0.0}}}", mappedJettison());
+    }
+
+    public void testMappedJettisonAttributeAfterContent() throws Exception {
+        assertSameAsJettison("{\"root\":{\"a\":\"1\",\"@b\":\"2\",\"c\":{\"$\":\"x\",\"@d\":\"3\"}}}", mappedJettison());
+    }
+
+    public void testMappedJettisonDuplicateNames() throws Exception {
+        assertSameAsJettison("{\"root\":{\"a\":\"1\",\"b\":\"2\",\"a\":[\"3\",\"4\"],\"@c\":\"5\",\"@c\":\"6\"}}",
+                mappedJettison());
+    }
+
+    public void testMappedJettisonTextAndElements() throws Exception {
+        assertSameAsJettison("{\"root\":{\"$\":\"t\",\"a\":\"1\"}}", mappedJettison());
+        assertSameAsJettison("{\"root\":{\"a\":\"1\",\"$\":\"t\"}}", mappedJettison());
+    }
+
+    public void testMappedJettisonNonPrimitiveAttributeAndText() throws Exception {
+        assertSameAsJettison("{\"root\":{\"@a\":{\"b\":1},\"@xmlns\":{\"$\":\"urn:x\"},\"c\":{\"$\":{}}}}",
+                mappedJettison());
+    }
+
+    public void testBadgerFish() throws Exception {
+        assertSameAsJettison("{\"alice\":{\"@xmlns\":{\"$\":\"http://some-namespace\","
+                + "\"charlie\":\"http://some-other-namespace\"},\"@charlie:id\":\"1\",\"@kind\":\"a\","
+                + "\"bob\":[{\"$\":\"x\"},{\"$\":\"y\"}],\"edgar\":{\"@xmlns\":{\"$\":\"urn:e\"},\"$\":\"frank\"},\"$\":\"text\"}}",
+                badgerFish());
+    }
+
+    public void testBadgerFishAttributeAfterContent() throws Exception {
+        assertSameAsJettison("{\"alice\":{\"bob\":{\"$\":\"x\",\"@id\":\"1\"},\"@kind\":\"a\"}}", badgerFish());
+    }
+
+    public void testBadgerFishDuplicateNames() throws Exception {
+        assertSameAsJettison("{\"alice\":{\"bob\":{\"$\":\"david\"},\"charlie\":{},\"bob\":[{\"$\":\"x\"},{\"$\":\"y\"}],"
+                + "\"@kind\":\"a\",\"@kind\":\"b\"}}", badgerFish());
+    }
+
+    public void testMappedJettisonWithoutNamespaces() throws Exception {
+        assertSameAsJettison("{\"root\":{\"@id\":\"1\",\"example.item\":[{\"@kind\":\"a\",\"$\":\"x\"},\"y\"],"
+                + "\"p:item\":\"z\"}}", JSONConfiguration.mappedJettison().build());
+    }
+
+    public void testBadgerFishWithoutNamespaces() throws Exception {
+        assertSameAsJettison("{\"alice\":{\"@kind\":\"a\",\"bob\":[{\"$\":\"x\"},{\"@id\":\"1\",\"$\":\"y\"}],"
+                + "\"charlie\":{\"david\":{}},\"$\":\"text\"}}", badgerFish());
+    }
+
+    public void testNotAnObject() throws Exception {
+        assertInvalid("[\"root\"]", mappedJettison());
+        assertInvalid("[\"root\"]", badgerFish());
+    }
+
+    public void testBadgerFishUndeclaredPrefix() throws Exception {
+        assertInvalid("{\"alice\":{\"charlie:bob\":{}}}", badgerFish());
+    }
+
+    public void testMappedJettisonBeyondLookahead() throws Exception {
+        assertSameAsJettison("{\"root\":{\"@id\":\"1\"," + elements(JettisonXmlStreamReader.LOOKAHEAD, "\"x\"")
+                + ",\"a\":{\"b\":\"1\",\"@c\":\"2\",\"b\":\"3\"},\"d\":{\"$\":\"t\",\"e\":\"4\"},\"f\":\"5\"}}",
+                JSONConfiguration.mappedJettison().build());
+    }
+
+    public void testBadgerFishBeyondLookahead() throws Exception {
+        assertSameAsJettison("{\"alice\":{\"@id\":\"1\"," + elements(JettisonXmlStreamReader.LOOKAHEAD, "{\"$\":\"x\"}")
+                + ",\"bob\":{\"$\":\"x\",\"@id\":\"1\",\"$\":\"y\"},"
+                + "\"edgar\":{\"@xmlns\":{\"$\":\"urn:e\"},\"$\":\"frank\"}}}", badgerFish());
+    }
+
+    public void testNestedBeyondLookahead() throws Exception {
+        assertSameAsJettison("{\"root\":{\"@c\":\"1\",\"a\":{" + elements(JettisonXmlStreamReader.LOOKAHEAD,
+                "{\"b\":\"2\"}") + ",\"d\":{\"b\":\"3\",\"@c\":\"4\"}},\"e\":\"5\"}}",
+                JSONConfiguration.mappedJettison().build());
+    }
+
+    public void testAttributeBeyondLookahead() throws Exception {
+        assertInvalid("{\"root\":{" + elements(JettisonXmlStreamReader.LOOKAHEAD, "\"x\"") + ",\"@late\":\"1\"}}",
+                JSONConfiguration.mappedJettison().build());
+        assertInvalid("{\"alice\":{" + elements(JettisonXmlStreamReader.LOOKAHEAD, "{\"$\":\"x\"}")
+                + ",\"@late\":\"1\"}}", badgerFish());
+    }
+
+    public void testDuplicateNameBeyondLookahead() throws Exception {
+        assertInvalid("{\"root\":{\"a\":\"1\"," + elements(JettisonXmlStreamReader.LOOKAHEAD, "\"x\"")
+                + ",\"a\":\"2\"}}", JSONConfiguration.mappedJettison().build());
+    }
+
+    /**
+     * Returns the given number of fields of distinct names and the given value, separated by commas.
+     */
+    private static String elements(final int count, final String value) {
+        final StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            sb.append(i == 0 ? "" : ",").append("\"e").append(i).append("\":").append(value);
+        }
+        return sb.toString();
+    }
+
+    private static void assertInvalid(final String json, final JSONConfiguration configuration) throws Exception {
+        try {
+            read(JettisonXmlStreamReader.create(new StringReader(json), configuration));
+            fail();
+        } catch (XMLStreamException ex) {
+            // expected
+        }
+    }
+
+    private static void assertSameAsJettison(final String json, final JSONConfiguration configuration)
+            throws Exception {
+        final XMLStreamReader jettisonReader;
+        if (configuration.getNotation() == JSONConfiguration.Notation.MAPPED_JETTISON) {
+            jettisonReader = new MappedXMLStreamReader(new JSONObject(new JSONTokener(json)),
+                    new MappedNamespaceConvention(new Configuration(configuration.getXml2JsonNs())));
+        } else {
+            jettisonReader = new BadgerFishXMLStreamReader(new JSONObject(new JSONTokener(json)));
+        }
+
+        assertEquals(read(jettisonReader), read(JettisonXmlStreamReader.create(new StringReader(json), configuration)));
+    }
+
+    /**
+     * Returns the XML events of the reader as a string, the names are those JAXB reads. The attributes of an element are sorted by name as Jettison does
+     * not preserve their order in mapped notation, the namespace declarations are omitted as the mapped Jettison reader
+     * does not report them consistently.
+     */
+    private static String read(final XMLStreamReader reader) throws Exception {
+        final StringBuilder sb = new StringBuilder();
+
+        assertEquals(XMLStreamConstants.START_DOCUMENT, reader.getEventType());
+        while (reader.hasNext()) {
+            switch (reader.next()) {
+                case XMLStreamConstants.START_ELEMENT:
+                    sb.append('<').append(new QName(reader.getNamespaceURI(), reader.getLocalName()));
+                    final TreeSet<String> attributes = new TreeSet<String>();
+                    for (int i = 0; i < reader.getAttributeCount(); i++) {
+                        attributes.add(" " + new QName(reader.getAttributeNamespace(i), reader.getAttributeLocalName(i))
+                                + "=\"" + reader.getAttributeValue(i) + '"');
+                    }
+                    for (String attribute : attributes) {
+                        sb.append(attribute);
+                    }
+                    sb.append('>');
+                    break;
+                case XMLStreamConstants.CHARACTERS:
+                    sb.append('[').append(reader.getText()).append(']');
+                    break;
+                case XMLStreamConstants.END_ELEMENT:
+                    sb.append("</").append(new QName(reader.getNamespaceURI(), reader.getLocalName())).append('>');
+                    break;
+                case XMLStreamConstants.END_DOCUMENT:
+                    break;
+                default:
+                    fail("Unexpected event " + reader.getEventType());
+            }
+        }
+        reader.close();
+
+        return sb.toString();
+    }
+}
@@ -0,0 +1,203 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2026 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+
+package com.sun.jersey.json.impl.reader;
+
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.xml.namespace.QName;
+import javax.xml.stream.Location;
+import javax.xml.stream.XMLStreamConstants;
+
+import com.sun.jersey.api.json.JSONConfiguration;
+
+import org.codehaus.jackson.JsonFactory;
+import org.codehaus.jackson.JsonParser;
+import org.codehaus.jackson.JsonToken;
+
+import junit.framework.TestCase;
+
+/**
+ * @author agent@local
+ */
+public class XmlEventProviderTest extends TestCase {
+
+    public XmlEventProviderTest(String testName) {
+        super(testName);
+    }
+
+    private static JsonParser createParser(final String json) throws Exception {
+        return new JsonFactory().createJsonParser(new StringReader(json));
+    }
+
+    private static XmlEventProvider createProvider(final String json) throws Exception {
+        return new MappedNotationEventProvider(createParser(json), JSONConfiguration.mapped().build(), "root");
+    }
+
+    public void testCachedParserPeek() throws Exception {
+        final XmlEventProvider.CachedJsonParser parser =
+                new XmlEventProvider.CachedJsonParser(createParser("{\"a\":[1,2],\"b\":[]}"));
+
+        assertEquals(JsonToken.START_OBJECT, parser.peek());
+        assertEquals(JsonToken.START_OBJECT, parser.peek());
+        assertEquals(JsonToken.START_OBJECT, parser.nextToken());
+        assertEquals(JsonToken.FIELD_NAME, parser.nextToken());
+        assertEquals("a", parser.getCurrentName());
+
+        assertEquals(JsonToken.START_ARRAY, parser.peek());
+        assertEquals(JsonToken.VALUE_NUMBER_INT, parser.peekNext());
+        assertEquals(JsonToken.START_ARRAY, parser.nextToken());
+        assertEquals(JsonToken.VALUE_NUMBER_INT, parser.poll());
+        assertNull(parser.poll());
+
+        assertEquals(JsonToken.VALUE_NUMBER_INT, parser.nextToken());
+        assertEquals("2", parser.getText());
+        assertEquals(JsonToken.END_ARRAY, parser.nextToken());
+        assertEquals(JsonToken.FIELD_NAME, parser.nextToken());
+        assertEquals(JsonToken.START_ARRAY, parser.peek());
+        assertEquals(JsonToken.END_ARRAY, parser.peekNext());
+        assertEquals(JsonToken.START_ARRAY, parser.poll());
+        assertEquals(JsonToken.END_ARRAY, parser.poll());
+        assertEquals(JsonToken.END_OBJECT, parser.nextToken());
+        assertFalse(parser.hasMoreTokens());
+    }
+
+    public void testCachedParserWrapsAround() throws Exception {
+        final StringBuilder json = new StringBuilder("[");
+        for (int i = 0; i < 10; i++) {
+            json.append(i == 0 ? "" : ",").append(i);
+        }
+        final XmlEventProvider.CachedJsonParser parser =
+                new XmlEventProvider.CachedJsonParser(createParser(json.append(']').toString()));
+
+        assertEquals(JsonToken.START_ARRAY, parser.nextToken());
+        // peeking two tokens at a time moves the head of the ring buffer over all of its slots
+        for (int i = 0; i < 10; i += 2) {
+            assertEquals(JsonToken.VALUE_NUMBER_INT, parser.peek());
+            assertEquals(JsonToken.VALUE_NUMBER_INT, parser.peekNext());
+            assertEquals(JsonToken.VALUE_NUMBER_INT, parser.poll());
+            assertEquals(JsonToken.VALUE_NUMBER_INT, parser.nextToken());
+            assertEquals(String.valueOf(i + 1), parser.getText());
+        }
+        assertEquals(JsonToken.END_ARRAY, parser.nextToken());
+    }
+
+    public void testCachedParserPeekLimit() throws Exception {
+        final XmlEventProvider.CachedJsonParser parser =
+                new XmlEventProvider.CachedJsonParser(createParser("[1,2,3,4,5]"));
+
+        for (int i = 0; i < 4; i++) {
+            parser.peekNext();
+        }
+        try {
+            parser.peekNext();
+            fail();
+        } catch (IllegalStateException ex) {
+            // expected
+        }
+    }
+
+    public void testProcessedEventsAreReused() throws Exception {
+        final XmlEventProvider provider = createProvider("{\"root\":{\"a\":\"1\",\"b\":\"2\",\"c\":\"3\"}}");
+
+        final List<JsonXmlEvent> events = new ArrayList<JsonXmlEvent>();
+        final List<String> names = new ArrayList<String>();
+        for (JsonXmlEvent event = provider.getCurrentNode();
+             event.getEventType() != XMLStreamConstants.END_DOCUMENT; event = provider.readNext()) {
+            if (event.getEventType() == XMLStreamConstants.START_ELEMENT) {
+                provider.processAttributesOfCurrentElement();
+                assertTrue(event.getAttributes().isEmpty());
+            }
+            events.add(event);
+            names.add(event.getName() == null ? event.getText() : event.getName().getLocalPart());
+        }
+
+        // <root><a>1</a><b>2</b><c>3</c></root>
+        assertEquals("[null, root, a, 1, a, b, 2, b, c, 3, c, root]", names.toString());
+        assertSame(events.get(2), events.get(5));
+        assertSame(events.get(3), events.get(6));
+        assertSame(events.get(4), events.get(7));
+        assertEquals(new QName("c"), events.get(8).getName());
+        assertEquals("3", events.get(9).getText());
+    }
+
+    public void testReusedEventIsReset() throws Exception {
+        final XmlEventProvider provider = createProvider("{\"root\":{\"a\":{\"@x\":\"1\"},\"b\":\"2\"}}");
+
+        assertEquals(XMLStreamConstants.START_DOCUMENT, provider.getCurrentNode().getEventType());
+        provider.readNext();
+        provider.processAttributesOfCurrentElement();
+
+        final JsonXmlEvent a = provider.readNext();
+        assertEquals(new QName("a"), a.getName());
+        provider.processAttributesOfCurrentElement();
+        assertEquals(1, a.getAttributes().size());
+
+        assertEquals(XMLStreamConstants.END_ELEMENT, provider.readNext().getEventType());
+        final JsonXmlEvent b = provider.readNext();
+        assertSame(a, b);
+        assertEquals(new QName("b"), b.getName());
+        assertNull(b.getAttributes());
+        provider.processAttributesOfCurrentElement();
+        assertTrue(b.getAttributes().isEmpty());
+    }
+
+    public void testEventLocationDoesNotMove() throws Exception {
+        final XmlEventProvider provider = createProvider("{\"root\":{\n\"a\":\"1\",\n\"b\":\"2\"}}");
+
+        provider.readNext();
+        provider.processAttributesOfCurrentElement();
+        final Location location = provider.readNext().getLocation();
+        final int line = location.getLineNumber();
+        final int column = location.getColumnNumber();
+        final int offset = location.getCharacterOffset();
+        assertEquals(2, line);
+
+        while (provider.readNext().getEventType() != XMLStreamConstants.END_DOCUMENT) {
+            // read the rest of the document
+        }
+
+        assertEquals(line, location.getLineNumber());
+        assertEquals(column, location.getColumnNumber());
+        assertEquals(offset, location.getCharacterOffset());
+    }
+}
@@ -0,0 +1,390 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2026 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+
+package com.sun.jersey.api.container.filter;
+
+import com.sun.jersey.api.container.ContainerException;
+import com.sun.jersey.api.core.ResourceConfig;
+import com.sun.jersey.core.util.BufferPool;
+import com.sun.jersey.core.util.ContentCoding;
+import com.sun.jersey.core.util.ReaderWriter;
+import com.sun.jersey.spi.container.ContainerRequest;
+import com.sun.jersey.spi.container.ContainerRequestFilter;
+import com.sun.jersey.spi.container.ContainerResponse;
+import com.sun.jersey.spi.container.ContainerResponseFilter;
+import com.sun.jersey.spi.container.ContainerResponseWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import javax.ws.rs.core.Context;
+import javax.ws.rs.core.EntityTag;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.MultivaluedMap;
+
+/**
+ * A content encoding filter supporting the "gzip" and "deflate" content
+ * codings.
+ * <p>
+ * If the request contains a Content-Encoding header of "gzip" or "deflate"
+ * then the request entity (if any) is decoded.
+ * <p>
+ * If the request contains an Accept-Encoding header then the most acceptable
+ * of the "gzip" and "deflate" content codings is selected, taking quality
+ * values into account, and the response entity (if any) is encoded using that
+ * content coding and a Content-Encoding header is added to the response.
+ * A response entity whose size is less than the minimum size, see
+ * {@link #PROPERTY_MINIMUM_SIZE}, is not encoded and is written with a
+ * Content-Length header. The value "Accept-Encoding" is added to the Vary header
+ * of all responses.
+ * <p>
+ * If a response entity is encoded and the response has an entity tag then
+ * the suffix "-gzip" or "-deflate" is added to the entity tag value, and
+ * such a suffix of the selected content coding is removed from the
+ * value of the If-None-Match header of the request. Entity tags without
+ * such a suffix are left unmodified.
+ * <p>
+ * Compared to {@link GZIPContentEncodingFilter} entities are
+ * encoded and decoded using pooled deflaters and inflaters, see
+ * {@link ContentCoding}.
+ * <p>
+ * When an application is deployed as a Servlet or Filter this Jersey filter can be
+ * registered using the following initialization parameters:
+ * <blockquote><pre>
+ *     &lt;init-param&gt;
+ *         &lt;param-name&gt;com.sun.jersey.spi.container.ContainerRequestFilters&lt;/param-name&gt;
+ *         &lt;param-value&gt;com.sun.jersey.api.container.filter.ContentEncodingFilter&lt;/param-value&gt;
+ *     &lt;/init-param&gt
+ *     &lt;init-param&gt
+ *         &lt;param-name&gt;com.sun.jersey.spi.container.ContainerResponseFilters&lt;/param-name&gt;
+ *         &lt;param-value&gt;com.sun.jersey.api.container.filter.ContentEncodingFilter&lt;/param-value&gt;
+ *     &lt;/init-param&gt;
+ * </pre></blockquote>
+ *
+ * @author agent@local
+ * @see com.sun.jersey.api.container.filter
+ */
+public class ContentEncodingFilter implements ContainerRequestFilter, ContainerResponseFilter {
+
+    /**
+     * The minimum size, in bytes, of a response entity to encode.
+     * <p>
+     * If the size of the response entity is not known in advance then up to
+     * this number of bytes of the entity are buffered until the size is
+     * known to be less than the minimum size, when the entity is written
+     * without encoding, or is known to be at least the minimum size, when the
+     * entity is encoded.
+     * <p>
+     * The value of this property may be an integer or a String
+     * representation of an integer. The default value is 1024.
+     */
+    public static final String PROPERTY_MINIMUM_SIZE =
+            "com.sun.jersey.api.container.filter.ContentEncodingFilter.minimumSize";
+
+    /**
+     * The compression level, from 0 to 9, utilized to encode response
+     * entities.
+     * <p>
+     * The value of this property may be an integer or a String
+     * representation of an integer. The default value is
+     * {@link Deflater#DEFAULT_COMPRESSION}.
+     */
+    public static final String PROPERTY_COMPRESSION_LEVEL =
+            "com.sun.jersey.api.container.filter.ContentEncodingFilter.compressionLevel";
+
+    /**
+     * The default minimum size, in bytes, of a response entity to encode.
+     */
+    public static final int DEFAULT_MINIMUM_SIZE = 1024;
+
+    private final int minimumSize;
+
+    private final int compressionLevel;
+
+    /**
+     * Create a content encoding filter configured using the
+     * {@link #PROPERTY_MINIMUM_SIZE} and {@link #PROPERTY_COMPRESSION_LEVEL}
+     * properties.
+     *
+     * @param rc resource config (injected by Jersey)
+     */
+    public ContentEncodingFilter(@Context ResourceConfig rc) {
+        this(getIntProperty(rc, PROPERTY_MINIMUM_SIZE, DEFAULT_MINIMUM_SIZE),
+                getIntProperty(rc, PROPERTY_COMPRESSION_LEVEL, Deflater.DEFAULT_COMPRESSION));
+    }
+
+    /**
+     * Create a content encoding filter.
+     *
+     * @param minimumSize the minimum size, in bytes, of a response entity
+     *        to encode.
+     * @param compressionLevel the compression level, from 0 to 9 or
+     *        {@link Deflater#DEFAULT_COMPRESSION}.
+     * @throws IllegalArgumentException if the compression level is invalid.
+     */
+    public ContentEncodingFilter(int minimumSize, int compressionLevel) {
+        if (compressionLevel < Deflater.DEFAULT_COMPRESSION || compressionLevel > Deflater.BEST_COMPRESSION)
+            throw new IllegalArgumentException("Invalid compression level: " + compressionLevel);
+
+        this.minimumSize = Math.max(0, minimumSize);
+        this.compressionLevel = compressionLevel;
+    }
+
+    private static int getIntProperty(ResourceConfig rc, String name, int defaultValue) {
+        final Object o = rc.getProperty(name);
+        if (o == null) {
+            return defaultValue;
+        } else if (o instanceof Number) {
+            return ((Number)o).intValue();
+        } else {
+            try {
+                return Integer.parseInt(o.toString().trim());
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("The value of the property " + name +
+                        " is not an integer: " + o, e);
+            }
+        }
+    }
+
+    @Override
+    public ContainerRequest filter(ContainerRequest request) {
+        final MultivaluedMap<String, String> headers = request.getRequestHeaders();
+
+        final ContentCoding coding = ContentCoding.fromName(headers.getFirst(HttpHeaders.CONTENT_ENCODING));
+        if (coding != null) {
+            headers.remove(HttpHeaders.CONTENT_ENCODING);
+            try {
+                request.setEntityInputStream(coding.decode(request.getEntityInputStream()));
+            } catch (IOException ex) {
+                throw new ContainerException(ex);
+            }
+        }
+
+        final String entityTag = headers.getFirst(HttpHeaders.IF_NONE_MATCH);
+        if (entityTag != null) {
+            final ContentCoding accepted = ContentCoding.select(headers.getFirst(HttpHeaders.ACCEPT_ENCODING));
+            if (accepted != null) {
+                // Entity tag raw values always finish with a quotation mark
+                final String suffix = "-" + accepted.getName() + "\"";
+                if (entityTag.endsWith(suffix)) {
+                    headers.putSingle(HttpHeaders.IF_NONE_MATCH,
+                            entityTag.substring(0, entityTag.length() - suffix.length()) + '"');
+                }
+            }
+        }
+        return request;
+    }
+
+    @Override
+    public ContainerResponse filter(ContainerRequest request, ContainerResponse response) {
+        response.getHttpHeaders().add(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+
+        if (response.getEntity() == null ||
+                response.getHttpHeaders().containsKey(HttpHeaders.CONTENT_ENCODING) ||
+                request.getMethod().equals("HEAD")) {
+            return response;
+        }
+
+        final ContentCoding coding = ContentCoding.select(
+                request.getRequestHeaders().getFirst(HttpHeaders.ACCEPT_ENCODING));
+        if (coding != null) {
+            response.setContainerResponseWriter(
+                    new Adapter(response.getContainerResponseWriter(), coding));
+        }
+        return response;
+    }
+
+    private final class Adapter implements ContainerResponseWriter {
+        private final ContainerResponseWriter crw;
+
+        private final ContentCoding coding;
+
+        private ContainerResponse response;
+
+        private DeflaterOutputStream encoder;
+
+        private ThresholdOutputStream threshold;
+
+        Adapter(ContainerResponseWriter crw, ContentCoding coding) {
+            this.crw = crw;
+            this.coding = coding;
+        }
+
+        @Override
+        public OutputStream writeStatusAndHeaders(long contentLength, ContainerResponse response) throws IOException {
+            this.response = response;
+
+            if (response.getStatus() == 206) {
+                // Byte ranges, see RangeFilter, are of the unencoded entity
+                return crw.writeStatusAndHeaders(contentLength, response);
+            } else if (contentLength >= 0) {
+                return (contentLength < minimumSize)
+                        ? crw.writeStatusAndHeaders(contentLength, response)
+                        : encode();
+            } else if (minimumSize == 0) {
+                return encode();
+            } else {
+                return threshold = new ThresholdOutputStream();
+            }
+        }
+
+        @Override
+        public void finish() throws IOException {
+            if (threshold != null) {
+                threshold.commit();
+            }
+            if (encoder != null) {
+                encoder.finish();
+            }
+            crw.finish();
+        }
+
+        private OutputStream encode() throws IOException {
+            final MultivaluedMap<String, Object> headers = response.getHttpHeaders();
+            headers.putSingle(HttpHeaders.CONTENT_ENCODING, coding.getName());
+            headers.remove(HttpHeaders.CONTENT_LENGTH);
+
+            final Object o = headers.getFirst(HttpHeaders.ETAG);
+            if (o != null) {
+                final EntityTag entityTag = (o instanceof EntityTag)
+                        ? (EntityTag)o
+                        : EntityTag.valueOf(o.toString());
+                headers.putSingle(HttpHeaders.ETAG, new EntityTag(
+                        entityTag.getValue() + "-" + coding.getName(), entityTag.isWeak()));
+            }
+
+            encoder = coding.encode(crw.writeStatusAndHeaders(-1, response), compressionLevel);
+            return encoder;
+        }
+
+        /**
+         * Buffers the entity until the minimum size is reached, when the
+         * entity is encoded, or the entity is complete, when the entity
+         * is written without encoding. Flushing is deferred until the
+         * minimum size is reached so that a message body writer flushing
+         * a small entity does not cause the entity to be encoded.
+         */
+        private final class ThresholdOutputStream extends OutputStream {
+            private byte[] buffer;
+
+            private int count;
+
+            private OutputStream out;
+
+            @Override
+            public void write(int b) throws IOException {
+                if (out != null) {
+                    out.write(b);
+                } else if (count + 1 >= minimumSize) {
+                    encodeBuffered();
+                    out.write(b);
+                } else {
+                    buffer()[count++] = (byte)b;
+                }
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                if (out != null) {
+                    out.write(b, off, len);
+                } else if (count + len >= minimumSize) {
+                    encodeBuffered();
+                    out.write(b, off, len);
+                } else {
+                    System.arraycopy(b, off, buffer(), count, len);
+                    count += len;
+                }
+            }
+
+            /**
+             * Get the buffer, allocated on first use, that retains less than
+             * the minimum size of bytes. The buffer is taken from the
+             * {@link BufferPool} if the minimum size permits.
+             */
+            private byte[] buffer() {
+                if (buffer == null) {
+                    buffer = (minimumSize <= ReaderWriter.BUFFER_SIZE)
+                            ? BufferPool.takeBytes()
+                            : new byte[minimumSize];
+                }
+                return buffer;
+            }
+
+            private void releaseBuffer() {
+                if (buffer != null) {
+                    BufferPool.giveBytes(buffer);
+                    buffer = null;
+                }
+            }
+
+            private void encodeBuffered() throws IOException {
+                out = encode();
+                if (count > 0) {
+                    out.write(buffer, 0, count);
+                }
+                releaseBuffer();
+            }
+
+            @Override
+            public void flush() throws IOException {
+                if (out != null) {
+                    out.flush();
+                }
+            }
+
+            @Override
+            public void close() throws IOException {
+                commit();
+                out.close();
+            }
+
+            void commit() throws IOException {
+                if (out != null)
+                    return;
+
+                out = crw.writeStatusAndHeaders(count, response);
+                if (count > 0) {
+                    out.write(buffer, 0, count);
+                }
+                releaseBuffer();
+            }
+        }
+    }
+}
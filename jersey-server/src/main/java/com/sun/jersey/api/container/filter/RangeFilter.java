@@ -0,0 +1,357 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2026 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+
+package com.sun.jersey.api.container.filter;
+
+import com.sun.jersey.api.representation.FileRegion;
+import com.sun.jersey.core.header.reader.HttpHeaderReader;
+import com.sun.jersey.core.util.ReaderWriter;
+import com.sun.jersey.spi.container.ContainerRequest;
+import com.sun.jersey.spi.container.ContainerResponse;
+import com.sun.jersey.spi.container.ContainerResponseFilter;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.text.ParseException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.List;
+import javax.activation.FileDataSource;
+import javax.ws.rs.core.EntityTag;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.MultivaluedMap;
+import javax.ws.rs.core.StreamingOutput;
+
+/**
+ * A filter supporting byte range requests of response entities that are
+ * instances of {@link File}, {@link FileRegion} or {@link FileDataSource}.
+ * <p>
+ * The header "Accept-Ranges: bytes" is added to a 200 (OK) response to a GET
+ * or HEAD request with such an entity.
+ * <p>
+ * If a GET request contains a Range header of byte ranges, and any If-Range
+ * header of the request matches the ETag header, using the strong comparison
+ * function, or the Last-Modified header (or, if absent, the last modified time
+ * of the file) of the response, then:
+ * <ul>
+ * <li>if one byte range is satisfiable, overlapping and adjacent byte ranges
+ *     being coalesced, a 206 (Partial Content) response is returned whose
+ *     entity is a {@link FileRegion} of the byte range and a Content-Range
+ *     header is added to the response;</li>
+ * <li>if two or more byte ranges are satisfiable, a 206 (Partial Content)
+ *     response is returned whose entity is of the media type
+ *     "multipart/byteranges", each body part consisting of a byte range;</li>
+ * <li>if no byte ranges are satisfiable, a 416 (Requested Range Not
+ *     Satisfiable) response is returned without an entity.</li>
+ * </ul>
+ * A Range header that is not valid, or that declares more than 32 byte
+ * ranges, is ignored.
+ * <p>
+ * The bytes of the file are written using
+ * {@link ReaderWriter#writeTo(FileRegion, java.io.OutputStream)}, thus the
+ * bytes may be transferred directly from the file to the connection if
+ * supported by the container.
+ * <p>
+ * When an application is deployed as a Servlet or Filter this Jersey filter can be
+ * registered using the following initialization parameter:
+ * <blockquote><pre>
+ *     &lt;init-param&gt;
+ *         &lt;param-name&gt;com.sun.jersey.spi.container.ContainerResponseFilters&lt;/param-name&gt;
+ *         &lt;param-value&gt;com.sun.jersey.api.container.filter.RangeFilter&lt;/param-value&gt;
+ *     &lt;/init-param&gt
+ * </pre></blockquote>
+ *
+ * @author agent@local
+ * @see com.sun.jersey.api.container.filter
+ */
+public class RangeFilter implements ContainerResponseFilter {
+
+    private static final String BYTES_UNIT = "bytes";
+
+    private static final String CONTENT_RANGE = "Content-Range";
+
+    private static final int MAX_RANGES = 32;
+
+    @Override
+    public ContainerResponse filter(ContainerRequest request, ContainerResponse response) {
+        if (response.getStatus() != 200)
+            return response;
+
+        final String method = request.getMethod();
+        if (!method.equals("GET") && !method.equals("HEAD"))
+            return response;
+
+        final FileRegion entity = getFileRegion(response.getEntity());
+        if (entity == null)
+            return response;
+
+        final MultivaluedMap<String, Object> headers = response.getHttpHeaders();
+        headers.putSingle("Accept-Ranges", BYTES_UNIT);
+
+        if (method.equals("HEAD"))
+            return response;
+
+        final String range = request.getRequestHeaders().getFirst("Range");
+        if (range == null)
+            return response;
+
+        final String ifRange = request.getRequestHeaders().getFirst("If-Range");
+        if (ifRange != null && !isIfRangeMatched(ifRange, headers, entity.getFile()))
+            return response;
+
+        final List<long[]> ranges = getRanges(range, entity.getLength());
+        if (ranges == null)
+            return response;
+
+        if (ranges.isEmpty()) {
+            response.setStatus(416);
+            response.setEntity(null);
+            headers.remove(HttpHeaders.CONTENT_TYPE);
+            headers.putSingle(CONTENT_RANGE, BYTES_UNIT + " */" + entity.getLength());
+        } else if (ranges.size() == 1) {
+            final long[] r = ranges.get(0);
+            response.setStatus(206);
+            response.setEntity(new FileRegion(entity.getFile(),
+                    entity.getPosition() + r[0], r[1] - r[0] + 1));
+            headers.putSingle(CONTENT_RANGE, contentRange(r, entity.getLength()));
+        } else {
+            MediaType mediaType = response.getMediaType();
+            if (mediaType == null) {
+                mediaType = response.getMessageBodyWorkers().getMessageBodyWriterMediaType(
+                        FileRegion.class, FileRegion.class,
+                        response.getAnnotations(),
+                        request.getAcceptableMediaTypes());
+                if (mediaType == null ||
+                        mediaType.isWildcardType() || mediaType.isWildcardSubtype())
+                    mediaType = MediaType.APPLICATION_OCTET_STREAM_TYPE;
+            }
+
+            final ByteRanges byteRanges = new ByteRanges(entity, ranges, mediaType);
+            response.setStatus(206);
+            response.setEntity(byteRanges);
+            headers.putSingle(HttpHeaders.CONTENT_TYPE,
+                    "multipart/byteranges; boundary=" + byteRanges.boundary);
+        }
+        return response;
+    }
+
+    private static FileRegion getFileRegion(Object entity) {
+        if (entity instanceof FileRegion) {
+            return (FileRegion)entity;
+        } else if (entity instanceof File) {
+            return new FileRegion((File)entity);
+        } else if (entity instanceof FileDataSource) {
+            return new FileRegion(((FileDataSource)entity).getFile());
+        } else {
+            return null;
+        }
+    }
+
+    private static boolean isIfRangeMatched(String ifRange, MultivaluedMap<String, Object> headers,
+            File file) {
+        ifRange = ifRange.trim();
+        if (ifRange.startsWith("\"") || ifRange.startsWith("W/")) {
+            final Object o = headers.getFirst(HttpHeaders.ETAG);
+            if (o == null)
+                return false;
+
+            try {
+                final EntityTag requested = EntityTag.valueOf(ifRange);
+                final EntityTag current = (o instanceof EntityTag)
+                        ? (EntityTag)o
+                        : EntityTag.valueOf(o.toString());
+                return !requested.isWeak() && !current.isWeak() &&
+                        requested.getValue().equals(current.getValue());
+            } catch (IllegalArgumentException ex) {
+                return false;
+            }
+        }
+
+        try {
+            final long requested = HttpHeaderReader.readDate(ifRange).getTime();
+            final Object o = headers.getFirst(HttpHeaders.LAST_MODIFIED);
+            final long current;
+            if (o instanceof Date) {
+                current = ((Date)o).getTime();
+            } else if (o != null) {
+                current = HttpHeaderReader.readDate(o.toString()).getTime();
+            } else {
+                current = file.lastModified();
+            }
+            // HTTP dates have a precision of one second
+            return requested / 1000 == current / 1000;
+        } catch (ParseException ex) {
+            return false;
+        }
+    }
+
+    /**
+     * Get the satisfiable byte ranges, as pairs of the first and last byte
+     * positions, ordered and coalesced.
+     *
+     * @return the byte ranges, which are empty if no byte ranges are
+     *         satisfiable, otherwise null if the Range header is not valid.
+     */
+    private static List<long[]> getRanges(String range, long length) {
+        final int equals = range.indexOf('=');
+        if (equals == -1 || !range.substring(0, equals).trim().equalsIgnoreCase(BYTES_UNIT))
+            return null;
+
+        final String[] specs = range.substring(equals + 1).split(",");
+        if (specs.length > MAX_RANGES)
+            return null;
+
+        final List<long[]> ranges = new ArrayList<long[]>(specs.length);
+        boolean hasSpec = false;
+        for (String spec : specs) {
+            spec = spec.trim();
+            if (spec.length() == 0)
+                continue;
+            hasSpec = true;
+
+            final int dash = spec.indexOf('-');
+            if (dash == -1)
+                return null;
+
+            try {
+                final long first, last;
+                if (dash == 0) {
+                    final long suffix = Long.parseLong(spec.substring(1));
+                    if (suffix < 0)
+                        return null;
+                    first = Math.max(0, length - suffix);
+                    last = length - 1;
+                    if (suffix == 0 || length == 0)
+                        continue;
+                } else {
+                    first = Long.parseLong(spec.substring(0, dash).trim());
+                    final String l = spec.substring(dash + 1).trim();
+                    last = (l.length() == 0) ? Long.MAX_VALUE : Long.parseLong(l);
+                    if (first < 0 || last < first)
+                        return null;
+                    if (first >= length)
+                        continue;
+                }
+                ranges.add(new long[] {first, Math.min(last, length - 1)});
+            } catch (NumberFormatException ex) {
+                return null;
+            }
+        }
+        if (!hasSpec)
+            return null;
+
+        if (ranges.size() > 1) {
+            Collections.sort(ranges, new Comparator<long[]>() {
+                public int compare(long[] o1, long[] o2) {
+                    return (o1[0] < o2[0]) ? -1 : ((o1[0] == o2[0]) ? 0 : 1);
+                }
+            });
+
+            long[] previous = ranges.get(0);
+            for (int i = 1; i < ranges.size(); i++) {
+                final long[] r = ranges.get(i);
+                if (r[0] <= previous[1] + 1) {
+                    previous[1] = Math.max(previous[1], r[1]);
+                    ranges.remove(i--);
+                } else {
+                    previous = r;
+                }
+            }
+        }
+        return ranges;
+    }
+
+    private static String contentRange(long[] r, long length) {
+        return BYTES_UNIT + " " + r[0] + "-" + r[1] + "/" + length;
+    }
+
+    /**
+     * A "multipart/byteranges" entity.
+     */
+    private static final class ByteRanges implements StreamingOutput {
+        private final FileRegion entity;
+
+        private final List<long[]> ranges;
+
+        private final MediaType mediaType;
+
+        private final String boundary;
+
+        ByteRanges(FileRegion entity, List<long[]> ranges, MediaType mediaType) {
+            this.entity = entity;
+            this.ranges = ranges;
+            this.mediaType = mediaType;
+            this.boundary = "Boundary_" + Long.toHexString(Double.doubleToLongBits(Math.random()));
+        }
+
+        @Override
+        public void write(final OutputStream out) throws IOException {
+            // Bytes are written after each byte range so the byte ranges
+            // cannot be transferred by the output stream
+            final OutputStream o = new OutputStream() {
+                @Override
+                public void write(int b) throws IOException {
+                    out.write(b);
+                }
+
+                @Override
+                public void write(byte[] b, int off, int len) throws IOException {
+                    out.write(b, off, len);
+                }
+            };
+
+            for (long[] r : ranges) {
+                out.write(ascii("\r\n--" + boundary + "\r\n" +
+                        HttpHeaders.CONTENT_TYPE + ": " + mediaType + "\r\n" +
+                        CONTENT_RANGE + ": " + contentRange(r, entity.getLength()) + "\r\n\r\n"));
+                ReaderWriter.writeTo(new FileRegion(entity.getFile(),
+                        entity.getPosition() + r[0], r[1] - r[0] + 1), o);
+            }
+            out.write(ascii("\r\n--" + boundary + "--\r\n"));
+        }
+
+        private static byte[] ascii(String s) throws IOException {
+            return s.getBytes("US-ASCII");
+        }
+    }
+}
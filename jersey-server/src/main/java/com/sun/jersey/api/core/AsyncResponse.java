@@ -0,0 +1,178 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2026 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+
+package com.sun.jersey.api.core;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The asynchronous response of a request that is completed, from any
+ * thread, after the resource method has returned.
+ * <p>
+ * An instance is injected into a resource method parameter, or into a field
+ * of a per-request resource class, annotated with
+ * {@link javax.ws.rs.core.Context}. Injecting an instance does not by itself
+ * change how the request is processed. Invoking {@link #suspend()} before the
+ * resource method returns declares that the request will be suspended when
+ * the resource method returns and the value returned by the resource method,
+ * if any, will be ignored. The response is written when the request is
+ * resumed by {@link #resume(Object)}, {@link #resume(Throwable)} or
+ * {@link #cancel()}. If the request is resumed before the resource method
+ * returns then the request is not suspended.
+ * <p>
+ * While the request is suspended the container thread is released,
+ * if the container supports suspension of responses (see
+ * {@link com.sun.jersey.spi.container.AsyncContainerResponseWriter}),
+ * otherwise the container thread waits until the request is resumed. A
+ * waiting container thread is not blocked indefinitely: if no timeout is set
+ * the timeout declared by
+ * {@link ResourceConfig#PROPERTY_ASYNC_BLOCKING_TIMEOUT} applies.
+ * <p>
+ * By default a suspended request never times out. A timeout may be set with
+ * {@link #setTimeout(long, TimeUnit)}, on expiry of which the
+ * {@link TimeoutHandler}, if any, is invoked. If the timeout handler does
+ * not resume the request or set a new timeout, or there is no timeout
+ * handler, the request is resumed with a 503 (Service Unavailable) response.
+ * <p>
+ * Instances are thread safe.
+ *
+ * @author agent@local
+ */
+public interface AsyncResponse {
+
+    /**
+     * A handler invoked when a suspended request times out.
+     */
+    public interface TimeoutHandler {
+
+        /**
+         * Invoked when a suspended request times out.
+         * <p>
+         * The handler may resume or cancel the request, or set a new timeout
+         * to extend the suspension.
+         *
+         * @param asyncResponse the asynchronous response of the request.
+         */
+        void handleTimeout(AsyncResponse asyncResponse);
+    }
+
+    /**
+     * Suspend the request when the resource method returns.
+     *
+     * @return true if the request will be suspended, otherwise false if the
+     *         resource method has returned or the request has already been
+     *         resumed or cancelled.
+     */
+    boolean suspend();
+
+    /**
+     * Resume the request with a response.
+     *
+     * @param response the response. If an instance of
+     *        {@link javax.ws.rs.core.Response} then that response is written,
+     *        otherwise the value is the entity of a 200 (OK) response, or if
+     *        {@code null} a 204 (No Content) response is written.
+     * @return true if the request was resumed, otherwise false if the request
+     *         has already been resumed or cancelled.
+     */
+    boolean resume(Object response);
+
+    /**
+     * Resume the request with an exception.
+     * <p>
+     * The exception is mapped to a response as if it was thrown by the
+     * resource method.
+     *
+     * @param t the exception.
+     * @return true if the request was resumed, otherwise false if the request
+     *         has already been resumed or cancelled.
+     */
+    boolean resume(Throwable t);
+
+    /**
+     * Cancel the request, resuming the request with a 503
+     * (Service Unavailable) response.
+     *
+     * @return true if the request was cancelled, otherwise false if the
+     *         request has already been resumed or cancelled.
+     */
+    boolean cancel();
+
+    /**
+     * Set the timeout of the request, replacing any previous timeout.
+     * <p>
+     * If the request is suspended the timeout starts from the invocation of
+     * this method, otherwise from when the request is suspended.
+     *
+     * @param time the timeout. If zero or less the request never times out.
+     * @param unit the unit of the timeout.
+     * @return true if the timeout was set, otherwise false if the request
+     *         has already been resumed or cancelled.
+     */
+    boolean setTimeout(long time, TimeUnit unit);
+
+    /**
+     * Set the handler invoked when the request times out.
+     *
+     * @param handler the timeout handler, may be {@code null}.
+     */
+    void setTimeoutHandler(TimeoutHandler handler);
+
+    /**
+     * Ascertain if the request has not yet been resumed or cancelled.
+     *
+     * @return true if the request has not yet been resumed or cancelled.
+     */
+    boolean isSuspended();
+
+    /**
+     * Ascertain if the request has been cancelled.
+     *
+     * @return true if the request has been cancelled.
+     */
+    boolean isCancelled();
+
+    /**
+     * Ascertain if the request has been resumed or cancelled.
+     *
+     * @return true if the request has been resumed or cancelled.
+     */
+    boolean isDone();
+}
@@ -1,7 +1,7 @@
 /*
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
  *
- * Copyright (c) 2010-2011 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2010-2013 Oracle and/or its affiliates. All rights reserved.
  *
  * The contents of this file are subject to the terms of either the GNU
  * General Public License Version 2 only ("GPL") or the Common Development
@@ -40,10 +40,15 @@
 
 package com.sun.jersey.api.core;
 
+import com.sun.jersey.core.reflection.ReflectionHelper;
 import com.sun.jersey.core.spi.scanning.FilesScanner;
+import com.sun.jersey.spi.scanning.ResourceIndex;
 
 import java.io.File;
+import java.io.IOException;
+import java.security.AccessController;
 import java.util.Map;
+import java.util.Set;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -107,16 +112,32 @@ public class ClasspathResourceConfig extends ScanningResourceConfig {
             files[i] = new File(paths[i]);
         }
 
+        final Set<Class<?>> indexedClasses = getIndexedClasses(files);
+
         if (LOGGER.isLoggable(Level.INFO)) {
             StringBuilder b = new StringBuilder();
-            b.append("Scanning for root resource and provider classes in the paths:");
+            b.append((indexedClasses != null)
+                    ? "Reading the resource index for root resource and provider classes in the paths:"
+                    : "Scanning for root resource and provider classes in the paths:");
             for (String p : paths)
                 b.append('\n').append("  ").append(p);
             
             LOGGER.log(Level.INFO, b.toString());            
         }
 
-        init(new FilesScanner(files));
+        init(new FilesScanner(files), indexedClasses);
+    }
+
+    private static Set<Class<?>> getIndexedClasses(File[] files) {
+        try {
+            return ResourceIndex.getFileClasses(
+                    AccessController.doPrivileged(ReflectionHelper.getContextClassLoaderPA()),
+                    files);
+        } catch (IOException ex) {
+            LOGGER.log(Level.WARNING, "Error reading the resource index, " +
+                    "scanning for root resource and provider classes", ex);
+            return null;
+        }
     }
     
     private static String[] getPaths() {
@@ -1,7 +1,7 @@
 /*
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
  *
- * Copyright (c) 2010-2011 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2010-2013 Oracle and/or its affiliates. All rights reserved.
  *
  * The contents of this file are subject to the terms of either the GNU
  * General Public License Version 2 only ("GPL") or the Common Development
@@ -40,9 +40,14 @@
 
 package com.sun.jersey.api.core;
 
+import com.sun.jersey.core.reflection.ReflectionHelper;
 import com.sun.jersey.core.spi.scanning.PackageNamesScanner;
+import com.sun.jersey.spi.scanning.ResourceIndex;
 
+import java.io.IOException;
+import java.security.AccessController;
 import java.util.Map;
+import java.util.Set;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -92,16 +97,32 @@ public class PackagesResourceConfig extends ScanningResourceConfig {
     }
     
     private void init(String[] packages) {
+        final Set<Class<?>> indexedClasses = getIndexedClasses(packages);
+
         if (LOGGER.isLoggable(Level.INFO)) {
             StringBuilder b = new StringBuilder();
-            b.append("Scanning for root resource and provider classes in the packages:");
+            b.append((indexedClasses != null)
+                    ? "Reading the resource index for root resource and provider classes in the packages:"
+                    : "Scanning for root resource and provider classes in the packages:");
             for (String p : packages)
                 b.append('\n').append("  ").append(p);
             
             LOGGER.log(Level.INFO, b.toString());
         }
 
-        init(new PackageNamesScanner(packages));
+        init(new PackageNamesScanner(packages), indexedClasses);
+    }
+
+    private static Set<Class<?>> getIndexedClasses(String[] packages) {
+        try {
+            return ResourceIndex.getPackageClasses(
+                    AccessController.doPrivileged(ReflectionHelper.getContextClassLoaderPA()),
+                    packages);
+        } catch (IOException ex) {
+            LOGGER.log(Level.WARNING, "Error reading the resource index, " +
+                    "scanning for root resource and provider classes", ex);
+            return null;
+        }
     }
     
     private static String[] getPackages(Map<String, Object> props) {
@@ -206,6 +206,56 @@ public abstract class ResourceConfig extends Application implements FeaturesAndP
     public static final String FEATURE_TRACE_PER_REQUEST
             = "com.sun.jersey.config.feature.TracePerRequest";
 
+    /**
+     * If true then the request scoped context, which holds the state of
+     * matching a request to a resource method, will be recycled for
+     * subsequent requests processed on the same thread rather than
+     * being created for each request.
+     * <p>
+     * When enabled the application must not retain a reference to
+     * the per-request {@link javax.ws.rs.core.UriInfo}, {@link HttpContext}
+     * or the lists returned from them, such as the matched resources,
+     * beyond the scope of the request. Such references may be detected by
+     * enabling {@link #FEATURE_CHECK_CONTEXT_LEAKS}.
+     * <p>
+     * The default value is false.
+     */
+    public static final String FEATURE_RECYCLE_CONTEXTS
+            = "com.sun.jersey.config.feature.RecycleContexts";
+
+    /**
+     * If true then request scoped contexts will not be recycled, even if
+     * {@link #FEATURE_RECYCLE_CONTEXTS} is true, and retained references
+     * to request scoped contexts will be reported. Any use of a context
+     * after the response of its request has been written will be logged as
+     * a warning, with the stack trace of the use, and will result in an
+     * {@link IllegalStateException}. A request context that has not been
+     * cleared from a thread when a new request is handled on that thread
+     * will also be logged as a warning.
+     * <p>
+     * This feature is intended to verify, for example when testing, that an
+     * application does not retain references to request scoped contexts
+     * before recycling is enabled.
+     * <p>
+     * The default value is false.
+     */
+    public static final String FEATURE_CHECK_CONTEXT_LEAKS
+            = "com.sun.jersey.config.feature.CheckContextLeaks";
+
+    /**
+     * If true then resource methods will be invoked using reflection rather
+     * than using invokers generated for each resource method.
+     * <p>
+     * This feature applies to the resource method dispatch providers that
+     * support custom invokers, which includes those provided by Jersey.
+     * It may be enabled if generated classes are not permitted, or to
+     * verify that a problem is not caused by a generated invoker.
+     * <p>
+     * The default value is false.
+     */
+    public static final String FEATURE_DISABLE_GENERATED_INVOKERS
+            = "com.sun.jersey.config.feature.DisableGeneratedInvokers";
+
     /**
      * If set the map of file extension to media type mappings that will be
      * added to the map that is returned from {@link #getMediaTypeMappings() }.
@@ -359,6 +409,20 @@ public abstract class ResourceConfig extends Application implements FeaturesAndP
     public static final String PROPERTY_WADL_GENERATOR_CONFIG = 
             "com.sun.jersey.config.property.WadlGeneratorConfig";
 
+    /**
+     * If set the timeout, in milliseconds, of a suspended request for which
+     * no timeout has been set and whose container thread waits until the
+     * request is resumed, since the container does not support suspension of
+     * responses (see {@link AsyncResponse}).
+     * <p>
+     * The type of this property must be a Number or a String that is an
+     * integer. If zero or less the container thread waits indefinitely.
+     * <p>
+     * The default value is 30000 (30 seconds).
+     */
+    public static final String PROPERTY_ASYNC_BLOCKING_TIMEOUT =
+            "com.sun.jersey.config.property.AsyncBlockingTimeout";
+
     /**
      * Common delimiters used by various properties.
      */
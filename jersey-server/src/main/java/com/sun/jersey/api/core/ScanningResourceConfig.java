@@ -1,7 +1,7 @@
 /*
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
  *
- * Copyright (c) 2010-2011 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2010-2013 Oracle and/or its affiliates. All rights reserved.
  *
  * The contents of this file are subject to the terms of either the GNU
  * General Public License Version 2 only ("GPL") or the Common Development
@@ -40,6 +40,7 @@
 
 package com.sun.jersey.api.core;
 
+import com.sun.jersey.core.spi.scanning.ParallelScannerListener;
 import com.sun.jersey.core.spi.scanning.Scanner;
 import com.sun.jersey.spi.container.ReloadListener;
 import com.sun.jersey.spi.scanning.AnnotationScannerListener;
@@ -48,7 +49,12 @@ import com.sun.jersey.spi.scanning.PathProviderScannerListener;
 import javax.ws.rs.Path;
 import javax.ws.rs.ext.Provider;
 import java.lang.annotation.Annotation;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Set;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -70,16 +76,40 @@ public class ScanningResourceConfig extends DefaultResourceConfig implements Rel
     /**
      * Initialize and scan for root resource and provider classes
      * using a scanner.
+     * <p>
+     * Class files are processed concurrently if the system property
+     * {@link ParallelScannerListener#PARALLELISM_SYSTEM_PROPERTY} is set
+     * to an integer greater than one, in which case the classes are ordered
+     * by name.
      *
      * @param scanner the scanner.
      */
     public void init(final Scanner scanner) {
-        this.scanner = scanner;
+        init(scanner, null);
+    }
 
-        final AnnotationScannerListener asl = new PathProviderScannerListener();
-        scanner.scan(asl);
+    /**
+     * Initialize with root resource and provider classes obtained from an
+     * index, otherwise scan for root resource and provider classes using a
+     * scanner.
+     * <p>
+     * The scanner is retained for scanning on reload, since the index may
+     * be out of date when classes are reloaded.
+     *
+     * @param scanner the scanner.
+     * @param indexedClasses the root resource and provider classes obtained
+     *        from an index, otherwise {@code null} if there is no index and
+     *        scanning is required.
+     * @see com.sun.jersey.spi.scanning.ResourceIndex
+     */
+    protected void init(final Scanner scanner, final Set<Class<?>> indexedClasses) {
+        this.scanner = scanner;
 
-        getClasses().addAll(asl.getAnnotatedClasses());
+        if (indexedClasses != null) {
+            getClasses().addAll(indexedClasses);
+        } else {
+            getClasses().addAll(scan(scanner));
+        }
         
         if (LOGGER.isLoggable(Level.INFO) && !getClasses().isEmpty()) {
             final Set<Class> rootResourceClasses = get(Path.class);
@@ -102,6 +132,35 @@ public class ScanningResourceConfig extends DefaultResourceConfig implements Rel
         cachedClasses.addAll(getClasses());
     }
 
+    private Set<Class<?>> scan(final Scanner scanner) {
+        final AnnotationScannerListener asl = new PathProviderScannerListener();
+
+        final int parallelism = ParallelScannerListener.getParallelism();
+        if (parallelism <= 1) {
+            scanner.scan(asl);
+            return asl.getAnnotatedClasses();
+        }
+
+        final ParallelScannerListener psl = new ParallelScannerListener(asl, parallelism);
+        try {
+            scanner.scan(psl);
+            psl.finish();
+        } finally {
+            psl.shutdown();
+        }
+
+        // Class files are processed in no particular order so order the
+        // classes by name such that the set of classes is deterministic
+        final List<Class<?>> classes = new ArrayList<Class<?>>(asl.getAnnotatedClasses());
+        Collections.sort(classes, new Comparator<Class<?>>() {
+            @Override
+            public int compare(Class<?> o1, Class<?> o2) {
+                return o1.getName().compareTo(o2.getName());
+            }
+        });
+        return new LinkedHashSet<Class<?>>(classes);
+    }
+
     /**
      * Perform a new search for resource classes and provider classes.
      * <p/>
@@ -0,0 +1,362 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2026 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+
+package com.sun.jersey.server.impl.application;
+
+import com.sun.jersey.api.core.AsyncResponse;
+import com.sun.jersey.spi.container.AsyncContainerResponseWriter;
+import com.sun.jersey.spi.container.ContainerResponseWriter;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.ws.rs.WebApplicationException;
+import javax.ws.rs.core.Response;
+
+/**
+ * The asynchronous response of a request.
+ * <p>
+ * The request is running until the resource method returns, after which the
+ * request, if suspension has been requested, is either suspended, if the
+ * response writer supports suspension, or the container thread waits
+ * (blocked), for at most the blocking timeout, until the request is resumed.
+ * If the request is resumed while running or blocked the result is applied
+ * by the container thread, otherwise the result is applied, and the response
+ * written, by the thread that resumes the request.
+ *
+ * @author agent@local
+ */
+final class AsyncResponseImpl implements AsyncResponse {
+
+    private static final Logger LOGGER = Logger.getLogger(AsyncResponseImpl.class.getName());
+
+    private static final int RUNNING = 0;
+
+    private static final int SUSPENDED = 1;
+
+    private static final int BLOCKED = 2;
+
+    private static final int RESUMED = 3;
+
+    private static final int DONE = 4;
+
+    private final WebApplicationImpl app;
+
+    private final WebApplicationContext context;
+
+    private int state = RUNNING;
+
+    private boolean suspendRequested;
+
+    private Object result;
+
+    private boolean cancelled;
+
+    private AsyncContainerResponseWriter writer;
+
+    private long timeout;
+
+    private TimeUnit timeoutUnit;
+
+    private ScheduledFuture<?> timeoutFuture;
+
+    private int timeoutGeneration;
+
+    private volatile TimeoutHandler timeoutHandler;
+
+    AsyncResponseImpl(WebApplicationImpl app, WebApplicationContext context) {
+        this.app = app;
+        this.context = context;
+    }
+
+    /**
+     * Ascertain if the request is asynchronous, invoked by the container
+     * thread when the resource method has returned.
+     * <p>
+     * If suspension has not been requested, and the request has not been
+     * resumed, then the asynchronous response is done and the response of
+     * the resource method is written.
+     *
+     * @return true if suspension has been requested or the request has been
+     *         resumed.
+     */
+    synchronized boolean isAsync() {
+        if (suspendRequested || state == RESUMED)
+            return true;
+
+        cancelTimeout();
+        state = DONE;
+        return false;
+    }
+
+    /**
+     * Suspend the request, invoked by the container thread when the resource
+     * method has returned and the request is asynchronous.
+     *
+     * @param w the response writer of the container.
+     * @return true if the request is suspended, and the response will be
+     *         written when the request is resumed, otherwise false if the
+     *         request has been resumed and the response is to be written by the
+     *         container thread.
+     */
+    boolean suspend(ContainerResponseWriter w) {
+        synchronized (this) {
+            if (state == RUNNING && w instanceof AsyncContainerResponseWriter) {
+                try {
+                    ((AsyncContainerResponseWriter)w).suspend();
+                    writer = (AsyncContainerResponseWriter)w;
+                    state = SUSPENDED;
+                    if (scheduleTimeout())
+                        return true;
+                } catch (IllegalStateException ex) {
+                    LOGGER.log(Level.FINE, "The response cannot be suspended, " +
+                            "the container thread will wait until the request is resumed", ex);
+                }
+            }
+
+            if (state == RUNNING) {
+                if (timeout <= 0) {
+                    // Do not block the container thread indefinitely
+                    timeout = app.getAsyncBlockingTimeout();
+                    timeoutUnit = TimeUnit.MILLISECONDS;
+                }
+
+                state = BLOCKED;
+                if (!scheduleTimeout()) {
+                    result = new WebApplicationException(Response.Status.SERVICE_UNAVAILABLE);
+                    cancelled = true;
+                    state = RESUMED;
+                }
+
+                boolean interrupted = false;
+                while (state == BLOCKED) {
+                    try {
+                        wait();
+                    } catch (InterruptedException ex) {
+                        interrupted = true;
+                        cancelTimeout();
+                        result = new WebApplicationException(Response.Status.SERVICE_UNAVAILABLE);
+                        cancelled = true;
+                        state = RESUMED;
+                    }
+                }
+
+                if (interrupted) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+
+            if (state != SUSPENDED) {
+                state = DONE;
+                return false;
+            }
+        }
+
+        // The timeout cannot be scheduled, the web application is destroyed
+        complete(new WebApplicationException(Response.Status.SERVICE_UNAVAILABLE), true);
+        return true;
+    }
+
+    /**
+     * Complete the request without suspension, invoked by the container
+     * thread when the resource method failed.
+     */
+    synchronized void close() {
+        cancelTimeout();
+        state = DONE;
+    }
+
+    /**
+     * Get the result the request has been resumed with.
+     *
+     * @return the result, a response, an entity or an exception.
+     */
+    synchronized Object getResult() {
+        return result;
+    }
+
+    // AsyncResponse
+
+    @Override
+    public synchronized boolean suspend() {
+        if (state != RUNNING)
+            return false;
+
+        suspendRequested = true;
+        return true;
+    }
+
+    @Override
+    public boolean resume(Object response) {
+        return complete(response, false);
+    }
+
+    @Override
+    public boolean resume(Throwable t) {
+        return complete(t, false);
+    }
+
+    @Override
+    public boolean cancel() {
+        return complete(new WebApplicationException(Response.Status.SERVICE_UNAVAILABLE), true);
+    }
+
+    @Override
+    public boolean setTimeout(long time, TimeUnit unit) {
+        synchronized (this) {
+            if (state >= RESUMED)
+                return false;
+
+            this.timeout = time;
+            this.timeoutUnit = unit;
+            if (state == RUNNING || scheduleTimeout())
+                return true;
+        }
+
+        // The web application is destroyed
+        complete(new WebApplicationException(Response.Status.SERVICE_UNAVAILABLE), true);
+        return true;
+    }
+
+    @Override
+    public void setTimeoutHandler(TimeoutHandler handler) {
+        this.timeoutHandler = handler;
+    }
+
+    @Override
+    public synchronized boolean isSuspended() {
+        return state < RESUMED;
+    }
+
+    @Override
+    public synchronized boolean isCancelled() {
+        return cancelled;
+    }
+
+    @Override
+    public synchronized boolean isDone() {
+        return state >= RESUMED;
+    }
+
+    private boolean complete(Object r, boolean cancel) {
+        final AsyncContainerResponseWriter w;
+        synchronized (this) {
+            if (state >= RESUMED)
+                return false;
+
+            cancelTimeout();
+            result = r;
+            cancelled = cancel;
+            if (state != SUSPENDED) {
+                // The container thread applies the result
+                state = RESUMED;
+                notifyAll();
+                return true;
+            }
+
+            state = DONE;
+            w = writer;
+        }
+
+        app.resumeRequest(context, r, w);
+        return true;
+    }
+
+    /**
+     * Schedule the timeout, if any.
+     *
+     * @return false if the timeout cannot be scheduled since the web
+     *         application has been destroyed, otherwise true.
+     */
+    private boolean scheduleTimeout() {
+        cancelTimeout();
+        if (timeout <= 0)
+            return true;
+
+        final int generation = timeoutGeneration;
+        try {
+            timeoutFuture = app.scheduleTimeout(new Runnable() {
+                @Override
+                public void run() {
+                    onTimeout(generation);
+                }
+            }, timeout, timeoutUnit);
+            return true;
+        } catch (RejectedExecutionException ex) {
+            LOGGER.log(Level.FINE, "The timeout of the request cannot be scheduled", ex);
+            return false;
+        }
+    }
+
+    private void cancelTimeout() {
+        timeoutGeneration++;
+        if (timeoutFuture != null) {
+            timeoutFuture.cancel(false);
+            timeoutFuture = null;
+        }
+    }
+
+    private void onTimeout(int generation) {
+        synchronized (this) {
+            if (generation != timeoutGeneration || state >= RESUMED)
+                return;
+
+            timeoutFuture = null;
+        }
+
+        final TimeoutHandler handler = timeoutHandler;
+        if (handler != null) {
+            try {
+                handler.handleTimeout(this);
+            } catch (RuntimeException ex) {
+                complete(ex, false);
+                return;
+            }
+
+            synchronized (this) {
+                if (state >= RESUMED || timeoutFuture != null)
+                    return;
+            }
+        }
+
+        complete(new WebApplicationException(Response.Status.SERVICE_UNAVAILABLE), false);
+    }
+}
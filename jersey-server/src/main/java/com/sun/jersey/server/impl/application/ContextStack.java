@@ -0,0 +1,110 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2026 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+
+package com.sun.jersey.server.impl.application;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.RandomAccess;
+
+/**
+ * An array-backed stack presented as a list whose first element is the top
+ * of the stack, namely the most recently pushed element.
+ * <p>
+ * The stack may be cleared and reused, retaining its backing array, so
+ * that a recycled {@link WebApplicationContext} does not allocate for the
+ * matching state of each request.
+ *
+ * @param <E> the element type.
+ * @author agent@local
+ */
+final class ContextStack<E> extends AbstractList<E> implements RandomAccess {
+
+    private static final int INITIAL_CAPACITY = 8;
+
+    /**
+     * The capacity above which the backing array is discarded when the
+     * stack is cleared, so an unusually deep request does not pin memory.
+     */
+    private static final int RETAINED_CAPACITY = 64;
+
+    private Object[] elements = new Object[INITIAL_CAPACITY];
+
+    private int size;
+
+    /**
+     * Push an element to the top of the stack, which becomes the element
+     * at index 0.
+     *
+     * @param e the element.
+     */
+    void push(E e) {
+        if (size == elements.length) {
+            elements = Arrays.copyOf(elements, size << 1);
+        }
+        elements[size++] = e;
+        modCount++;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        return (E)elements[size - 1 - index];
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public void clear() {
+        if (elements.length > RETAINED_CAPACITY) {
+            elements = new Object[INITIAL_CAPACITY];
+        } else {
+            Arrays.fill(elements, 0, size, null);
+        }
+        size = 0;
+        modCount++;
+    }
+}
@@ -42,10 +42,15 @@ package com.sun.jersey.server.impl.application;
 import com.sun.jersey.api.model.AbstractResourceMethod;
 import com.sun.jersey.core.spi.component.ProviderServices;
 import com.sun.jersey.impl.ImplMessages;
+import com.sun.jersey.spi.container.JavaMethodInvoker;
+import com.sun.jersey.spi.container.JavaMethodInvokerFactory;
+import com.sun.jersey.spi.container.ResourceMethodCustomInvokerDispatchProvider;
 import com.sun.jersey.spi.container.ResourceMethodDispatchAdapter;
 import com.sun.jersey.spi.container.ResourceMethodDispatchProvider;
 import com.sun.jersey.spi.dispatch.RequestDispatcher;
 import com.sun.jersey.spi.inject.Errors;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
 import java.util.Set;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -58,15 +63,45 @@ public final class ResourceMethodDispatcherFactory implements ResourceMethodDisp
 
     private static final Logger LOGGER = Logger.getLogger(ResourceMethodDispatcherFactory.class.getName());
     
+    /**
+     * A reflective invoker that is not the default invoker, so it is not
+     * replaced by dispatchers with a generated invoker.
+     */
+    private static final JavaMethodInvoker REFLECTIVE_INVOKER = new JavaMethodInvoker() {
+        @Override
+        public Object invoke(Method m, Object o, Object... parameters) throws InvocationTargetException, IllegalAccessException {
+            return JavaMethodInvokerFactory.getDefault().invoke(m, o, parameters);
+        }
+    };
+
     private final Set<ResourceMethodDispatchProvider> dispatchers;
 
-    private ResourceMethodDispatcherFactory(ProviderServices providerServices) {
+    private final boolean disableGeneratedInvokers;
+
+    private ResourceMethodDispatcherFactory(ProviderServices providerServices,
+            boolean disableGeneratedInvokers) {
         dispatchers = providerServices.getProvidersAndServices(
                 ResourceMethodDispatchProvider.class);
+        this.disableGeneratedInvokers = disableGeneratedInvokers;
     }
 
     public static ResourceMethodDispatchProvider create(ProviderServices providerServices) {
-        ResourceMethodDispatchProvider p = new ResourceMethodDispatcherFactory(providerServices);
+        return create(providerServices, false);
+    }
+
+    /**
+     * Create the resource method dispatch provider.
+     *
+     * @param providerServices the provider services.
+     * @param disableGeneratedInvokers if true then dispatch providers that
+     *        support custom invokers will be created with a reflective
+     *        invoker.
+     * @return the resource method dispatch provider.
+     */
+    public static ResourceMethodDispatchProvider create(ProviderServices providerServices,
+            boolean disableGeneratedInvokers) {
+        ResourceMethodDispatchProvider p = new ResourceMethodDispatcherFactory(
+                providerServices, disableGeneratedInvokers);
 
         for (ResourceMethodDispatchAdapter a :
                 providerServices.getProvidersAndServices(ResourceMethodDispatchAdapter.class)) {
@@ -83,7 +118,11 @@ public final class ResourceMethodDispatcherFactory implements ResourceMethodDisp
         Errors.mark();
         for (ResourceMethodDispatchProvider rmdp : dispatchers) {
             try {
-                RequestDispatcher d = rmdp.create(abstractResourceMethod);
+                RequestDispatcher d = (disableGeneratedInvokers &&
+                        rmdp instanceof ResourceMethodCustomInvokerDispatchProvider)
+                        ? ((ResourceMethodCustomInvokerDispatchProvider)rmdp).create(
+                                abstractResourceMethod, REFLECTIVE_INVOKER)
+                        : rmdp.create(abstractResourceMethod);
                 if (d != null) {
                     // Reset any errors, if any, produced from previous dispatch
                     // providers
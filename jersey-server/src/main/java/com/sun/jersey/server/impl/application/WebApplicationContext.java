@@ -61,9 +61,10 @@ import java.net.URI;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Iterator;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 import java.util.regex.MatchResult;
 import javax.ws.rs.core.MultivaluedMap;
 import javax.ws.rs.core.PathSegment;
@@ -74,6 +75,8 @@ import javax.ws.rs.core.UriBuilder;
  * @author Paul.Sandoz@Sun.Com
  */
 public final class WebApplicationContext implements UriRuleContext, ExtendedUriInfo {
+    private static final Logger LOGGER = Logger.getLogger(WebApplicationContext.class.getName());
+
     public static final String HTTP_METHOD_MATCH_RESOURCE = "com.sun.jersey.MATCH_RESOURCE";
 
     private final WebApplicationImpl app;
@@ -84,15 +87,27 @@ public final class WebApplicationContext implements UriRuleContext, ExtendedUriI
 
     private ContainerResponse response;
 
-    private List<ContainerResponseFilter> responseFilters;
+    private final ContextStack<ContainerResponseFilter> responseFilters =
+            new ContextStack<ContainerResponseFilter>();
+
+    private boolean released;
+
+    private final boolean checkLeaks;
+
+    private AsyncResponseImpl asyncResponse;
 
     public WebApplicationContext(WebApplicationImpl app,
             ContainerRequest request, ContainerResponse response) {
         this.app = app;
         this.isTraceEnabled = app.isTracingEnabled();
+        this.checkLeaks = app.isCheckContextLeaks();
+        init(request, response);
+    }
+
+    private void init(ContainerRequest request, ContainerResponse response) {
         this.request = request;
         this.response = response;
-        this.responseFilters = Collections.EMPTY_LIST;
+        this.asyncResponse = null;
 
         if (isTracingEnabled()) {
             getProperties().put(TraceInformation.class.getName(),
@@ -100,6 +115,70 @@ public final class WebApplicationContext implements UriRuleContext, ExtendedUriI
         }
     }
 
+    /**
+     * Reuse this context, previously released, for another request.
+     *
+     * @param request the request.
+     * @param response the response.
+     */
+    void recycle(ContainerRequest request, ContainerResponse response) {
+        released = false;
+        init(request, response);
+    }
+
+    /**
+     * Release the state of this context when the response has been written.
+     * <p>
+     * The matching state is cleared, retaining the allocated stacks and
+     * maps for reuse by {@link #recycle(ContainerRequest, ContainerResponse)},
+     * and any further use of this context, until it is recycled, will
+     * result in an {@link IllegalStateException}.
+     */
+    void release() {
+        released = true;
+
+        request = null;
+        response = null;
+        asyncResponse = null;
+        matchResult = null;
+        arm = null;
+
+        responseFilters.clear();
+        resources.clear();
+        matchResults.clear();
+        paths.clear();
+        templates.clear();
+
+        if (encodedTemplateValues != null) {
+            encodedTemplateValues.clear();
+            spareEncodedTemplateValues = encodedTemplateValues;
+            encodedTemplateValues = null;
+        }
+        if (decodedTemplateValues != null) {
+            decodedTemplateValues.clear();
+            spareDecodedTemplateValues = decodedTemplateValues;
+            decodedTemplateValues = null;
+        }
+    }
+
+    private void checkActive() {
+        if (released) {
+            final IllegalStateException e = new IllegalStateException("The request context is used after " +
+                    "the response was written. A reference to the context, such as " +
+                    "an injected UriInfo or HttpContext, is retained beyond the scope " +
+                    "of the request");
+            if (checkLeaks) {
+                LOGGER.log(Level.WARNING, "A leaked request context is used", e);
+            }
+            throw e;
+        }
+    }
+
+    private ContainerRequest activeRequest() {
+        checkActive();
+        return request;
+    }
+
     public WebApplicationContext createMatchResourceContext(URI u) {
         final URI base = request.getBaseUri();
 
@@ -132,6 +211,30 @@ public final class WebApplicationContext implements UriRuleContext, ExtendedUriI
                 _response);
     }
 
+    /**
+     * Get the asynchronous response of the request.
+     *
+     * @return the asynchronous response, otherwise null if the request
+     *         will not be suspended.
+     */
+    AsyncResponseImpl getAsyncResponse() {
+        return asyncResponse;
+    }
+
+    /**
+     * Get the asynchronous response of the request, creating it if absent,
+     * such that the request will be suspended.
+     *
+     * @return the asynchronous response.
+     */
+    AsyncResponseImpl obtainAsyncResponse() {
+        checkActive();
+        if (asyncResponse == null) {
+            asyncResponse = new AsyncResponseImpl(app, this);
+        }
+        return asyncResponse;
+    }
+
     public List<ContainerResponseFilter> getResponseFilters() {
         return responseFilters;
     }
@@ -140,22 +243,24 @@ public final class WebApplicationContext implements UriRuleContext, ExtendedUriI
 
     @Override
     public HttpRequestContext getRequest() {
-        return request;
+        return activeRequest();
     }
 
     @Override
     public HttpResponseContext getResponse() {
+        checkActive();
         return response;
     }
 
     @Override
     public ExtendedUriInfo getUriInfo() {
+        checkActive();
         return this;
     }
 
     @Override
     public Map<String, Object> getProperties() {
-        return request.getProperties();
+        return activeRequest().getProperties();
     }
 
     // Traceable
@@ -190,19 +295,19 @@ public final class WebApplicationContext implements UriRuleContext, ExtendedUriI
 
     // UriRuleContext
 
-    private final LinkedList<Object> resources = new LinkedList<Object>();
+    private final ContextStack<Object> resources = new ContextStack<Object>();
 
-    private final LinkedList<MatchResult> matchResults = new LinkedList<MatchResult>();
+    private final ContextStack<MatchResult> matchResults = new ContextStack<MatchResult>();
 
-    private final LinkedList<String> paths = new LinkedList<String>();
+    private final ContextStack<String> paths = new ContextStack<String>();
 
-    private final LinkedList<UriTemplate> templates = new LinkedList<UriTemplate>();
+    private final ContextStack<UriTemplate> templates = new ContextStack<UriTemplate>();
 
     private AbstractResourceMethod arm;
 
     @Override
     public ContainerRequest getContainerRequest() {
-        return request;
+        return activeRequest();
     }
 
     @Override
@@ -213,6 +318,7 @@ public final class WebApplicationContext implements UriRuleContext, ExtendedUriI
 
     @Override
     public ContainerResponse getContainerResponse() {
+        checkActive();
         return response;
     }
 
@@ -226,11 +332,8 @@ public final class WebApplicationContext implements UriRuleContext, ExtendedUriI
         if (filters.isEmpty())
             return;
 
-        if (responseFilters == Collections.EMPTY_LIST)
-            responseFilters = new LinkedList<ContainerResponseFilter>();
-
         for (ContainerResponseFilter f : filters) {
-            responseFilters.add(0, f);
+            responseFilters.push(f);
         }
     }
 
@@ -246,12 +349,17 @@ public final class WebApplicationContext implements UriRuleContext, ExtendedUriI
 
     @Override
     public void pushMatch(UriTemplate template, List<String> names) {
-        matchResults.addFirst(matchResult);
+        matchResults.push(matchResult);
 
-        templates.addFirst(template);
+        templates.push(template);
 
         if (encodedTemplateValues == null) {
-            encodedTemplateValues = new MultivaluedMapImpl();
+            if (spareEncodedTemplateValues != null) {
+                encodedTemplateValues = spareEncodedTemplateValues;
+                spareEncodedTemplateValues = null;
+            } else {
+                encodedTemplateValues = new MultivaluedMapImpl();
+            }
         }
 
         int i = 1;
@@ -269,7 +377,7 @@ public final class WebApplicationContext implements UriRuleContext, ExtendedUriI
 
     @Override
     public void pushResource(Object resource) {
-        resources.addFirst(resource);
+        resources.push(resource);
     }
 
     @Override
@@ -280,7 +388,7 @@ public final class WebApplicationContext implements UriRuleContext, ExtendedUriI
     @Override
     public void pushRightHandPathLength(int rhpathlen) {
         final String ep = request.getPath(false);
-        paths.addFirst(ep.substring(0,
+        paths.push(ep.substring(0,
                 ep.length() - rhpathlen));
     }
 
@@ -291,64 +399,68 @@ public final class WebApplicationContext implements UriRuleContext, ExtendedUriI
 
     private MultivaluedMapImpl decodedTemplateValues;
 
+    private MultivaluedMapImpl spareEncodedTemplateValues;
+
+    private MultivaluedMapImpl spareDecodedTemplateValues;
+
     @Override
     public URI getBaseUri() {
-        return request.getBaseUri();
+        return activeRequest().getBaseUri();
     }
 
     @Override
     public UriBuilder getBaseUriBuilder() {
-        return request.getBaseUriBuilder();
+        return activeRequest().getBaseUriBuilder();
     }
 
     @Override
     public URI getAbsolutePath() {
-        return request.getAbsolutePath();
+        return activeRequest().getAbsolutePath();
     }
 
     @Override
     public UriBuilder getAbsolutePathBuilder() {
-        return request.getAbsolutePathBuilder();
+        return activeRequest().getAbsolutePathBuilder();
     }
 
     @Override
     public URI getRequestUri() {
-        return request.getRequestUri();
+        return activeRequest().getRequestUri();
     }
 
     @Override
     public UriBuilder getRequestUriBuilder() {
-        return request.getRequestUriBuilder();
+        return activeRequest().getRequestUriBuilder();
     }
 
     @Override
     public String getPath() {
-        return request.getPath(true);
+        return activeRequest().getPath(true);
     }
 
     @Override
     public String getPath(boolean decode) {
-        return request.getPath(decode);
+        return activeRequest().getPath(decode);
     }
 
     @Override
     public List<PathSegment> getPathSegments() {
-        return request.getPathSegments(true);
+        return activeRequest().getPathSegments(true);
     }
 
     @Override
     public List<PathSegment> getPathSegments(boolean decode) {
-        return request.getPathSegments(decode);
+        return activeRequest().getPathSegments(decode);
     }
 
     @Override
     public MultivaluedMap<String, String> getQueryParameters() {
-        return request.getQueryParameters(true);
+        return activeRequest().getQueryParameters(true);
     }
 
     @Override
     public MultivaluedMap<String, String> getQueryParameters(boolean decode) {
-        return request.getQueryParameters(decode);
+        return activeRequest().getQueryParameters(decode);
     }
 
 
@@ -361,12 +473,18 @@ public final class WebApplicationContext implements UriRuleContext, ExtendedUriI
 
     @Override
     public MultivaluedMap<String, String> getPathParameters(boolean decode) {
+        checkActive();
         if (decode) {
             if (decodedTemplateValues != null) {
                 return decodedTemplateValues;
             }
 
-            decodedTemplateValues = new MultivaluedMapImpl();
+            if (spareDecodedTemplateValues != null) {
+                decodedTemplateValues = spareDecodedTemplateValues;
+                spareDecodedTemplateValues = null;
+            } else {
+                decodedTemplateValues = new MultivaluedMapImpl();
+            }
             for (Map.Entry<String, List<String>> e : encodedTemplateValues.entrySet()) {
                 List<String> l = new ArrayList<String>();
                 for (String v : e.getValue()) {
@@ -390,6 +508,7 @@ public final class WebApplicationContext implements UriRuleContext, ExtendedUriI
 
     @Override
     public List<String> getMatchedURIs(boolean decode) {
+        checkActive();
         List<String> result;
         if (decode) {
             result = new ArrayList<String>(paths.size());
@@ -407,6 +526,7 @@ public final class WebApplicationContext implements UriRuleContext, ExtendedUriI
 
     @Override
     public List<Object> getMatchedResources() {
+        checkActive();
         return resources;
     }
 
@@ -415,21 +535,25 @@ public final class WebApplicationContext implements UriRuleContext, ExtendedUriI
 
     @Override
     public AbstractResourceMethod getMatchedMethod() {
+        checkActive();
         return arm;
     }
 
     @Override
     public Throwable getMappedThrowable() {
+        checkActive();
         return response.getMappedThrowable();
     }
 
     @Override
     public List<MatchResult> getMatchedResults() {
+        checkActive();
         return matchResults;
     }
 
     @Override
     public List<UriTemplate> getMatchedTemplates() {
+        checkActive();
         return templates;
     }
 
@@ -440,9 +564,10 @@ public final class WebApplicationContext implements UriRuleContext, ExtendedUriI
 
     @Override
     public List<PathSegment> getPathSegments(String name, boolean decode) {
+        checkActive();
         int[] bounds = getPathParameterBounds(name);
         if (bounds != null) {
-            String path = matchResults.getLast().group();
+            String path = matchResults.get(matchResults.size() - 1).group();
             // Work out how many path segments are up to the start
             // and end position of the matching path parameter value
             // This assumes that the path always starts with a '/'
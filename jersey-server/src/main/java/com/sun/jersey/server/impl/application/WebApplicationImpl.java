@@ -57,8 +57,18 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.WeakHashMap;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -69,6 +79,7 @@ import javax.ws.rs.core.Context;
 import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Request;
+import javax.ws.rs.core.Response;
 import javax.ws.rs.core.SecurityContext;
 import javax.ws.rs.core.UriInfo;
 import javax.ws.rs.ext.ContextResolver;
@@ -84,6 +95,7 @@ import com.sun.jersey.api.NotFoundException;
 import com.sun.jersey.api.container.ContainerException;
 import com.sun.jersey.api.container.MappableContainerException;
 import com.sun.jersey.api.container.filter.UriConnegFilter;
+import com.sun.jersey.api.core.AsyncResponse;
 import com.sun.jersey.api.core.ExtendedUriInfo;
 import com.sun.jersey.api.core.HttpContext;
 import com.sun.jersey.api.core.InjectParam;
@@ -144,6 +156,7 @@ import com.sun.jersey.server.spi.component.ResourceComponentProvider;
 import com.sun.jersey.server.wadl.WadlApplicationContext;
 import com.sun.jersey.spi.MessageBodyWorkers;
 import com.sun.jersey.spi.StringReaderWorkers;
+import com.sun.jersey.spi.container.AsyncContainerResponseWriter;
 import com.sun.jersey.spi.container.ContainerRequest;
 import com.sun.jersey.spi.container.ContainerRequestFilter;
 import com.sun.jersey.spi.container.ContainerResponse;
@@ -181,8 +194,19 @@ public final class WebApplicationImpl implements WebApplication {
 
     private static final Logger LOGGER = Logger.getLogger(WebApplicationImpl.class.getName());
 
-    private final Map<Class, AbstractResource> abstractResourceMap =
-            new HashMap<Class, AbstractResource>();
+    /**
+     * The lock held when creating the abstract resource model, URI rules,
+     * component providers and component processors of a class.
+     * <p>
+     * A single lock is utilized, rather than one per class, since creating
+     * these artifacts for one class may require the creation of artifacts
+     * for other classes. All lookups of existing artifacts are performed
+     * without holding the lock.
+     */
+    private final Object modelLock = new Object();
+
+    private final ConcurrentMap<Class, AbstractResource> abstractResourceMap =
+            new ConcurrentHashMap<Class, AbstractResource>();
 
     private final ConcurrentMap<Class, UriRules<UriRule>> rulesMap =
             new ConcurrentHashMap<Class, UriRules<UriRule>>();
@@ -285,6 +309,40 @@ public final class WebApplicationImpl implements WebApplication {
 
     private boolean isTraceEnabled;
 
+    /**
+     * The per-thread slots of recycled contexts.
+     * <p>
+     * The slots are JDK types so that, after this web application is
+     * destroyed and its slots are cleared, the entries that remain in the
+     * thread locals of pooled threads do not reference the web application
+     * or its class loader.
+     */
+    private volatile ThreadLocal<AtomicReference<WebApplicationContext>> recycledContexts;
+
+    /**
+     * All slots of recycled contexts, weakly referenced so that the slots of
+     * terminated threads can be garbage collected.
+     */
+    private Set<AtomicReference<WebApplicationContext>> recycledContextSlots;
+
+    private static final long DEFAULT_ASYNC_BLOCKING_TIMEOUT = 30000;
+
+    /**
+     * The interval, in seconds, at which cancelled timeouts are removed from
+     * the queue of the timeout scheduler.
+     */
+    private static final long TIMEOUT_PURGE_INTERVAL = 60;
+
+    private ScheduledExecutorService timeoutScheduler;
+
+    private ExecutorService timeoutExecutor;
+
+    private boolean timeoutsDestroyed;
+
+    private long asyncBlockingTimeout = DEFAULT_ASYNC_BLOCKING_TIMEOUT;
+
+    private boolean checkContextLeaks;
+
     private RequestListener requestListener;
 
     private DispatchingListenerProxy dispatchingListener;
@@ -355,6 +413,27 @@ public final class WebApplicationImpl implements WebApplication {
             }
         });
 
+        // Add injectable provider for the asynchronous response of a request
+        injectableFactory.add(new InjectableProvider<Context, Type>() {
+            @Override
+            public ComponentScope getScope() {
+                return ComponentScope.PerRequest;
+            }
+
+            @Override
+            public Injectable<AsyncResponse> getInjectable(ComponentContext ic, Context a, Type c) {
+                if (c != AsyncResponse.class)
+                    return null;
+
+                return new Injectable<AsyncResponse>() {
+                    @Override
+                    public AsyncResponse getValue() {
+                        return ((WebApplicationContext)context.get()).obtainAsyncResponse();
+                    }
+                };
+            }
+        });
+
         injectableFactory.add(new InjectableProvider<Context, Type>() {
             @Override
             public ComponentScope getScope() {
@@ -504,7 +583,7 @@ public final class WebApplicationImpl implements WebApplication {
                 return (cp == NULL_COMPONENT_PROCESSOR) ? null : cp;
             }
 
-            synchronized (abstractResourceMap) {
+            synchronized (modelLock) {
                 cp = componentProcessorMap.get(c);
                 if (cp != null) {
                     return (cp == NULL_COMPONENT_PROCESSOR) ? null : cp;
@@ -553,7 +632,7 @@ public final class WebApplicationImpl implements WebApplication {
 
         // Not present use a synchronized block to ensure that only one
         // instance is created and put to the map
-        synchronized (abstractResourceMap) {
+        synchronized (modelLock) {
             // One or more threads may have been blocking on the synchronized
             // block, re-check the map
             r = rulesMap.get(c);
@@ -584,13 +663,16 @@ public final class WebApplicationImpl implements WebApplication {
         if (rcp != null) {
             return rcp;
         }
-        if (!create && singletonMap.containsKey(c)) {
-            return singletonMap.get(c);
+        if (!create) {
+            rcp = singletonMap.get(c);
+            if (rcp != null) {
+                return rcp;
+            }
         }
 
         // Not present use a synchronized block to ensure that only one
         // instance is created and put to the map
-        synchronized (abstractResourceMap) {
+        synchronized (modelLock) {
             // One or more threads may have been blocking on the synchronized
             // block, re-check the map
             rcp = providerMap.get(c);
@@ -651,7 +733,7 @@ public final class WebApplicationImpl implements WebApplication {
 
         // Not present use a synchronized block to ensure that only one
         // instance is created and put to the map
-        synchronized (abstractResourceMap) {
+        synchronized (modelLock) {
             // One or more threads may have been blocking on the synchronized
             // block, re-check the map
             rcp = providerWithAnnotationKeyMap.get(cak);
@@ -687,7 +769,7 @@ public final class WebApplicationImpl implements WebApplication {
         getUriRules(c);
 
         if (!singletonMap.containsKey(c)) {
-            singletonMap.put(c, new ResourceComponentProvider() {
+            singletonMap.putIfAbsent(c, new ResourceComponentProvider() {
                 @Override
                 public void init(AbstractResource abstractResource) {
                 }
@@ -764,12 +846,25 @@ public final class WebApplicationImpl implements WebApplication {
     }
 
     /* package */ AbstractResource getAbstractResource(Class c) {
+        // Try the non-blocking read, the most common operation
         AbstractResource ar = abstractResourceMap.get(c);
-        if (ar == null) {
+        if (ar != null) {
+            return ar;
+        }
+
+        // Not present use a synchronized block to ensure that only one
+        // instance is created and put to the map
+        synchronized (modelLock) {
+            // One or more threads may have been blocking on the synchronized
+            // block, re-check the map
+            ar = abstractResourceMap.get(c);
+            if (ar != null) {
+                return ar;
+            }
+
             ar = IntrospectionModeller.createResource(c);
             abstractResourceMap.put(c, ar);
         }
-
         return ar;
     }
 
@@ -1263,7 +1358,8 @@ public final class WebApplicationImpl implements WebApplication {
         filterFactory = new FilterFactory(providerServices);
 
         // Initiate resource method dispatchers
-        dispatcherFactory = ResourceMethodDispatcherFactory.create(providerServices);
+        dispatcherFactory = ResourceMethodDispatcherFactory.create(providerServices,
+                resourceConfig.getFeature(ResourceConfig.FEATURE_DISABLE_GENERATED_INVOKERS));
 
         dispatchingListener = new DispatchingListenerProxy();
 
@@ -1372,6 +1468,16 @@ public final class WebApplicationImpl implements WebApplication {
 
         this.isTraceEnabled = resourceConfig.getFeature(ResourceConfig.FEATURE_TRACE) |
                 resourceConfig.getFeature(ResourceConfig.FEATURE_TRACE_PER_REQUEST);
+
+        this.asyncBlockingTimeout = getLongProperty(resourceConfig,
+                ResourceConfig.PROPERTY_ASYNC_BLOCKING_TIMEOUT, DEFAULT_ASYNC_BLOCKING_TIMEOUT);
+
+        this.checkContextLeaks = resourceConfig.getFeature(ResourceConfig.FEATURE_CHECK_CONTEXT_LEAKS);
+        if (!checkContextLeaks && resourceConfig.getFeature(ResourceConfig.FEATURE_RECYCLE_CONTEXTS)) {
+            this.recycledContextSlots = Collections.synchronizedSet(Collections.newSetFromMap(
+                    new WeakHashMap<AtomicReference<WebApplicationContext>, Boolean>()));
+            this.recycledContexts = new ThreadLocal<AtomicReference<WebApplicationContext>>();
+        }
     }
 
     @Override
@@ -1411,16 +1517,264 @@ public final class WebApplicationImpl implements WebApplication {
 
     @Override
     public void handleRequest(ContainerRequest request, ContainerResponse response) throws IOException {
-        final WebApplicationContext localContext = new
-                WebApplicationContext(this, request, response);
+        final WebApplicationContext localContext = obtainContext(request, response);
 
         context.set(localContext);
+        boolean suspended = false;
         try {
-            _handleRequest(localContext, request, response);
+            suspended = _handleRequest(localContext, request, response);
         } finally {
-            PerRequestFactory.destroy(localContext);
-            closeableFactory.close(localContext);
-            context.set(null);
+            if (suspended) {
+                // The context is released when the request is resumed
+                context.set(null);
+            } else {
+                final AsyncResponseImpl asyncResponse = localContext.getAsyncResponse();
+                if (asyncResponse != null) {
+                    asyncResponse.close();
+                }
+
+                PerRequestFactory.destroy(localContext);
+                closeableFactory.close(localContext);
+                context.set(null);
+                recycleContext(localContext);
+            }
+        }
+    }
+
+    /**
+     * Write the response of a suspended request that has been resumed.
+     *
+     * @param localContext the context of the request.
+     * @param result the result the request has been resumed with.
+     * @param writer the response writer of the container.
+     */
+    void resumeRequest(WebApplicationContext localContext, Object result,
+            AsyncContainerResponseWriter writer) {
+        final ContainerRequest request = localContext.getContainerRequest();
+        final ContainerResponse response = localContext.getContainerResponse();
+
+        final HttpContext oldContext = context.get();
+        context.set(localContext);
+        try {
+            try {
+                setAsyncResult(response, result);
+            } catch (WebApplicationException e) {
+                response.mapWebApplicationException(e);
+            } catch (MappableContainerException e) {
+                response.mapMappableContainerException(e);
+            } catch (RuntimeException e) {
+                if (!response.mapException(e)) {
+                    throw e;
+                }
+            }
+
+            writeResponse(localContext, request, response);
+        } catch (RuntimeException e) {
+            // There is no HTTP container to re-throw to
+            LOGGER.log(Level.SEVERE, "The response of the resumed request could not be written", e);
+            writeServerError(response);
+        } catch (IOException e) {
+            LOGGER.log(Level.SEVERE, "The response of the resumed request could not be written", e);
+        } finally {
+            try {
+                PerRequestFactory.destroy(localContext);
+                closeableFactory.close(localContext);
+                context.set(oldContext);
+                if (recycledContexts != null || checkContextLeaks) {
+                    // Not recycled as the resuming thread may not be a container thread
+                    localContext.release();
+                }
+            } finally {
+                writer.resume();
+            }
+        }
+    }
+
+    private static void writeServerError(ContainerResponse response) {
+        if (response.isCommitted())
+            return;
+
+        try {
+            response.setResponse(Response.serverError().build());
+            response.write();
+        } catch (RuntimeException e) {
+            LOGGER.log(Level.FINE, "The server error response could not be written", e);
+        } catch (IOException e) {
+            LOGGER.log(Level.FINE, "The server error response could not be written", e);
+        }
+    }
+
+    private static void setAsyncResult(ContainerResponse response, Object result) {
+        if (result instanceof Response) {
+            response.setResponse((Response)result);
+        } else if (result instanceof RuntimeException) {
+            throw (RuntimeException)result;
+        } else if (result instanceof Error) {
+            throw (Error)result;
+        } else if (result instanceof Throwable) {
+            throw new MappableContainerException((Throwable)result);
+        } else if (result != null) {
+            response.setResponse(Response.ok(result).build());
+        } else {
+            response.setResponse(null);
+        }
+    }
+
+    private static long getLongProperty(ResourceConfig rc, String name, long defaultValue) {
+        final Object o = rc.getProperty(name);
+        if (o == null) {
+            return defaultValue;
+        } else if (o instanceof Number) {
+            return ((Number)o).longValue();
+        } else {
+            try {
+                return Long.parseLong(o.toString().trim());
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("The value of the property " + name +
+                        " is not an integer: " + o, e);
+            }
+        }
+    }
+
+    /**
+     * Get the timeout, in milliseconds, of a suspended request whose
+     * container thread waits until the request is resumed.
+     *
+     * @return the timeout, if zero or less the container thread waits
+     *         indefinitely.
+     */
+    long getAsyncBlockingTimeout() {
+        return asyncBlockingTimeout;
+    }
+
+    /**
+     * Schedule the timeout of a suspended request.
+     * <p>
+     * The timeout scheduler only dispatches the task, the task is run, and
+     * any response written, by a thread of the timeout executor.
+     *
+     * @param task the task to run on timeout.
+     * @param time the timeout.
+     * @param unit the unit of the timeout.
+     * @return the scheduled future of the task.
+     * @throws RejectedExecutionException if the web application has been
+     *         destroyed.
+     */
+    ScheduledFuture<?> scheduleTimeout(final Runnable task, long time, TimeUnit unit) {
+        final ScheduledExecutorService scheduler;
+        final ExecutorService executor;
+        synchronized (this) {
+            if (timeoutsDestroyed)
+                throw new RejectedExecutionException("The web application is destroyed");
+
+            if (timeoutScheduler == null) {
+                final ScheduledThreadPoolExecutor stpe = new ScheduledThreadPoolExecutor(1,
+                        createDaemonThreadFactory("jersey-async-timeout"));
+                stpe.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+                // Cancelled timeouts remain queued until their delay expires
+                stpe.scheduleWithFixedDelay(new Runnable() {
+                    @Override
+                    public void run() {
+                        stpe.purge();
+                    }
+                }, TIMEOUT_PURGE_INTERVAL, TIMEOUT_PURGE_INTERVAL, TimeUnit.SECONDS);
+
+                timeoutScheduler = stpe;
+                timeoutExecutor = Executors.newCachedThreadPool(
+                        createDaemonThreadFactory("jersey-async-dispatch"));
+            }
+            scheduler = timeoutScheduler;
+            executor = timeoutExecutor;
+        }
+
+        return scheduler.schedule(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    executor.execute(task);
+                } catch (RejectedExecutionException e) {
+                    LOGGER.log(Level.FINE, "The timeout of a suspended request was not dispatched", e);
+                }
+            }
+        }, time, unit);
+    }
+
+    private static ThreadFactory createDaemonThreadFactory(final String name) {
+        return new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable r) {
+                final Thread t = new Thread(r, name);
+                t.setDaemon(true);
+                return t;
+            }
+        };
+    }
+
+    /* package */ boolean isCheckContextLeaks() {
+        return checkContextLeaks;
+    }
+
+    private WebApplicationContext obtainContext(ContainerRequest request, ContainerResponse response) {
+        if (checkContextLeaks && context.get() != null) {
+            LOGGER.warning("The request context of a previous request, " + context.get() +
+                    ", was not cleared from the thread " + Thread.currentThread().getName());
+        }
+
+        final ThreadLocal<AtomicReference<WebApplicationContext>> rc = recycledContexts;
+        if (rc != null) {
+            final AtomicReference<WebApplicationContext> slot = rc.get();
+            if (slot != null) {
+                // Nested requests on the same thread will create a new context
+                final WebApplicationContext recycled = slot.getAndSet(null);
+                if (recycled != null) {
+                    recycled.recycle(request, response);
+                    return recycled;
+                }
+            }
+        }
+
+        return new WebApplicationContext(this, request, response);
+    }
+
+    private void recycleContext(WebApplicationContext localContext) {
+        if (checkContextLeaks) {
+            // Not recycled, any further use of the context will be reported
+            localContext.release();
+            return;
+        }
+
+        final ThreadLocal<AtomicReference<WebApplicationContext>> rc = recycledContexts;
+        if (rc == null)
+            return;
+
+        localContext.release();
+
+        AtomicReference<WebApplicationContext> slot = rc.get();
+        if (slot == null) {
+            slot = new AtomicReference<WebApplicationContext>();
+            rc.set(slot);
+            recycledContextSlots.add(slot);
+        }
+        slot.set(localContext);
+
+        if (recycledContexts == null) {
+            // Destroyed concurrently
+            slot.set(null);
+        }
+    }
+
+    private void clearRecycledContexts() {
+        final ThreadLocal<AtomicReference<WebApplicationContext>> rc = recycledContexts;
+        if (rc == null)
+            return;
+
+        recycledContexts = null;
+        rc.remove();
+        synchronized (recycledContextSlots) {
+            for (AtomicReference<WebApplicationContext> slot : recycledContextSlots) {
+                slot.set(null);
+            }
+            recycledContextSlots.clear();
         }
     }
 
@@ -1452,6 +1806,19 @@ public final class WebApplicationImpl implements WebApplication {
         }
 
         cpFactory.destroy();
+
+        clearRecycledContexts();
+
+        synchronized (this) {
+            // Do not create the timeout executors for a late suspension
+            timeoutsDestroyed = true;
+            if (timeoutScheduler != null) {
+                timeoutScheduler.shutdownNow();
+                timeoutScheduler = null;
+                timeoutExecutor.shutdown();
+                timeoutExecutor = null;
+            }
+        }
     }
 
     // Traceable
@@ -1466,11 +1833,23 @@ public final class WebApplicationImpl implements WebApplication {
         context.get().trace(message);
     }
 
-    private void _handleRequest(final WebApplicationContext localContext,
+    /**
+     * @return true if the request has been suspended, and the response will
+     *         be written when the request is resumed.
+     */
+    private boolean _handleRequest(final WebApplicationContext localContext,
                                 ContainerRequest request, ContainerResponse response) throws IOException {
         try {
             requestListener.onRequest(Thread.currentThread().getId(), request);
             _handleRequest(localContext, request);
+
+            final AsyncResponseImpl asyncResponse = localContext.getAsyncResponse();
+            if (asyncResponse != null && asyncResponse.isAsync()) {
+                if (asyncResponse.suspend(response.getContainerResponseWriter())) {
+                    return true;
+                }
+                setAsyncResult(response, asyncResponse.getResult());
+            }
         } catch (WebApplicationException e) {
             response.mapWebApplicationException(e);
         } catch (MappableContainerException e) {
@@ -1483,6 +1862,12 @@ public final class WebApplicationImpl implements WebApplication {
             }
         }
 
+        writeResponse(localContext, request, response);
+        return false;
+    }
+
+    private void writeResponse(final WebApplicationContext localContext,
+                               ContainerRequest request, ContainerResponse response) throws IOException {
         try {
             // Process response filters from resources
             for (ContainerResponseFilter f : localContext.getResponseFilters()) {
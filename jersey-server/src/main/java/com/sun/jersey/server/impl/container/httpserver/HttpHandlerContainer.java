@@ -1,7 +1,7 @@
 /*
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
  *
- * Copyright (c) 2010-2011 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2010-2013 Oracle and/or its affiliates. All rights reserved.
  *
  * The contents of this file are subject to the terms of either the GNU
  * General Public License Version 2 only ("GPL") or the Common Development
@@ -43,10 +43,10 @@ package com.sun.jersey.server.impl.container.httpserver;
 import com.sun.jersey.api.container.ContainerException;
 import com.sun.jersey.core.header.InBoundHeaders;
 import com.sun.jersey.server.impl.application.WebApplicationImpl;
+import com.sun.jersey.spi.container.AsyncContainerResponseWriter;
 import com.sun.jersey.spi.container.ContainerListener;
 import com.sun.jersey.spi.container.ContainerRequest;
 import com.sun.jersey.spi.container.ContainerResponse;
-import com.sun.jersey.spi.container.ContainerResponseWriter;
 import com.sun.jersey.spi.container.ReloadListener;
 import com.sun.jersey.spi.container.WebApplication;
 import com.sun.net.httpserver.Headers;
@@ -64,6 +64,8 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
 /**
  * A {@link HttpHandler} for a {@link WebApplicationImpl}.
@@ -71,6 +73,8 @@ import java.util.Map.Entry;
  * @author Paul.Sandoz@Sun.Com
  */
 public class HttpHandlerContainer implements HttpHandler, ContainerListener {
+
+    private static final Logger LOGGER = Logger.getLogger(HttpHandlerContainer.class.getName());
     
     private WebApplication application;
     
@@ -78,8 +82,10 @@ public class HttpHandlerContainer implements HttpHandler, ContainerListener {
         this.application = app;
     }
     
-    private final static class Writer implements ContainerResponseWriter {
+    private final static class Writer implements AsyncContainerResponseWriter {
         final HttpExchange exchange;
+
+        volatile boolean suspended;
         
         Writer(HttpExchange exchange) {
             this.exchange = exchange;
@@ -109,6 +115,21 @@ public class HttpHandlerContainer implements HttpHandler, ContainerListener {
         public void finish() throws IOException {            
         }
 
+        public void suspend() {
+            // The exchange is closed when the response is resumed
+            suspended = true;
+        }
+
+        public void resume() {
+            try {
+                exchange.getResponseBody().flush();
+            } catch (IOException ex) {
+                LOGGER.log(Level.FINE, "The response of the resumed request could not be flushed", ex);
+            } finally {
+                exchange.close();
+            }
+        }
+
         private long getResponseLength(long contentLength) {
             if (contentLength == 0)
                 return -1;
@@ -187,8 +208,11 @@ public class HttpHandlerContainer implements HttpHandler, ContainerListener {
                 exchange.getRequestBody()
                 );
         
+        final Writer writer = new Writer(exchange);
         try {
-            _application.handleRequest(cRequest, new Writer(exchange));
+            _application.handleRequest(cRequest, writer);
+            if (writer.suspended)
+                return;
         } catch (RuntimeException e) {
             e.printStackTrace();
             exchange.getResponseHeaders().clear();
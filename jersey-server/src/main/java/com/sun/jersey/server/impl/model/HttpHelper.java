@@ -49,6 +49,7 @@ import com.sun.jersey.core.header.AcceptableToken;
 import com.sun.jersey.core.header.LanguageTag;
 import com.sun.jersey.core.header.MatchingEntityTag;
 import com.sun.jersey.core.header.QualitySourceMediaType;
+import com.sun.jersey.core.header.reader.HttpHeaderCache;
 import com.sun.jersey.core.header.reader.HttpHeaderReader;
 import java.util.Collections;
 import java.util.List;
@@ -86,7 +87,7 @@ public final class HttpHelper {
      */
     public static MediaType getContentType(String contentTypeString) {
         try {
-            return (contentTypeString != null) ? MediaType.valueOf(contentTypeString) : null;
+            return (contentTypeString != null) ? HttpHeaderCache.readMediaType(contentTypeString) : null;
         } catch(IllegalArgumentException e) {
             throw clientError("Bad Content-Type header value: '" + contentTypeString + "'", e);
         }
@@ -164,7 +165,7 @@ public final class HttpHelper {
      *         is ordered with the highest quality acceptable Media type occurring first
      *         (see {@link MediaTypes#MEDIA_TYPE_COMPARATOR}).
      *         If no "Accept" is present then a list with a single item of the Media
-     *         type "*\\/*" is returned.
+     *         type "*\\/*" is returned. The list is shared and must not be modified.
      */
     public static List<AcceptableMediaType> getAccept(HttpRequestContext request) {
         final String accept = request.getHeaderValue(HttpHeaders.ACCEPT);
@@ -172,7 +173,7 @@ public final class HttpHelper {
             return MediaTypes.GENERAL_ACCEPT_MEDIA_TYPE_LIST;
         }
         try {
-            return HttpHeaderReader.readAcceptMediaType(accept);
+            return HttpHeaderCache.readAcceptMediaType(accept);
         } catch (java.text.ParseException e) {
             throw clientError(ImplMessages.BAD_ACCEPT_FIELD(accept), e);
         }
@@ -217,7 +218,7 @@ public final class HttpHelper {
             return Collections.singletonList(new AcceptableLanguageTag("*", null));
         }
         try {
-            return HttpHeaderReader.readAcceptLanguage(acceptLanguage);
+            return HttpHeaderCache.readAcceptLanguage(acceptLanguage);
         } catch (java.text.ParseException e) {
             throw clientError("Bad Accept-Language header value: '" + acceptLanguage + "'", e);
         }
@@ -236,7 +237,7 @@ public final class HttpHelper {
             if (acceptCharset == null || acceptCharset.length() == 0) {
                 return Collections.singletonList(new AcceptableToken("*"));
             }
-            return HttpHeaderReader.readAcceptToken(acceptCharset);
+            return HttpHeaderCache.readAcceptToken(acceptCharset);
         } catch (java.text.ParseException e) {
             throw clientError("Bad Accept-Charset header value: '" + acceptCharset + "'", e);
         }
@@ -255,7 +256,7 @@ public final class HttpHelper {
             if (acceptEncoding == null || acceptEncoding.length() == 0) {
                 return Collections.singletonList(new AcceptableToken("*"));
             }
-            return HttpHeaderReader.readAcceptToken(acceptEncoding);
+            return HttpHeaderCache.readAcceptToken(acceptEncoding);
         } catch (java.text.ParseException e) {
             throw clientError("Bad Accept-Encoding header value: '" + acceptEncoding + "'", e);
         }
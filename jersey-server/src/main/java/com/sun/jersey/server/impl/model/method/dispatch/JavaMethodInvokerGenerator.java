@@ -0,0 +1,447 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2026 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+
+package com.sun.jersey.server.impl.model.method.dispatch;
+
+import com.sun.jersey.spi.container.JavaMethodInvoker;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.ref.WeakReference;
+import java.security.AccessController;
+import java.security.PrivilegedAction;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import jersey.repackaged.org.objectweb.asm.ClassWriter;
+import jersey.repackaged.org.objectweb.asm.Label;
+import jersey.repackaged.org.objectweb.asm.MethodVisitor;
+import jersey.repackaged.org.objectweb.asm.Opcodes;
+import jersey.repackaged.org.objectweb.asm.Type;
+
+/**
+ * Generates {@link JavaMethodInvoker} implementations that invoke a
+ * resource method directly, rather than using {@link Method#invoke}.
+ * <p>
+ * A generated invoker is bound to one Java method, the {@link Method} passed
+ * to {@link JavaMethodInvoker#invoke(Method, Object, Object[])} is ignored.
+ * As with reflection any exception thrown by the Java method is wrapped in an
+ * {@link InvocationTargetException}.
+ * <p>
+ * Argument and resource type mismatches, including a <code>null</code>
+ * argument for a primitive parameter, result in an
+ * {@link IllegalArgumentException}, as with reflection. As with reflection
+ * a wrapped primitive argument is unwrapped and, if required, converted to
+ * the primitive parameter type using a widening conversion, for example an
+ * {@link Integer} argument may be passed to a <code>long</code> parameter.
+ * <p>
+ * Generated invokers are defined in a class loader, shared by all invokers
+ * for the same application class loader, whose parent is the class loader
+ * of the declaring class of the Java method, so the declaring class, the Java
+ * method and the parameter types must be public. If this is not the case, or
+ * the invoker class cannot be defined, for example if class loaders may not
+ * be created, then the reflective invoker is used. The invoker generated
+ * for a Java method is retained by the class loader and returned for
+ * subsequent requests of that Java method.
+ *
+ * @author agent@local
+ */
+final class JavaMethodInvokerGenerator implements Opcodes {
+
+    private static final Logger LOGGER = Logger.getLogger(JavaMethodInvokerGenerator.class.getName());
+
+    private static final String INVOKER_NAME = Type.getInternalName(JavaMethodInvoker.class);
+
+    private static final String INVOKE_DESCRIPTOR = "(Ljava/lang/reflect/Method;Ljava/lang/Object;[Ljava/lang/Object;)Ljava/lang/Object;";
+
+    private static final String INVOCATION_TARGET_EXCEPTION_NAME =
+            Type.getInternalName(InvocationTargetException.class);
+
+    private static final String ILLEGAL_ARGUMENT_EXCEPTION_NAME =
+            Type.getInternalName(IllegalArgumentException.class);
+
+    private static final AtomicInteger COUNTER = new AtomicInteger();
+
+    /**
+     * The invoker class loaders keyed by application class loader.
+     * <p>
+     * An invoker class loader references its parent, the key, so it is
+     * weakly referenced. It is kept alive by the invoker classes it defines.
+     * Access must be synchronized on the map.
+     */
+    private static final Map<ClassLoader, WeakReference<InvokerClassLoader>> LOADERS =
+            new WeakHashMap<ClassLoader, WeakReference<InvokerClassLoader>>();
+
+    private JavaMethodInvokerGenerator() {
+    }
+
+    /**
+     * Get an invoker for a Java method.
+     *
+     * @param method the Java method.
+     * @param fallback the invoker to return if an invoker cannot be generated.
+     * @return the generated invoker, otherwise <code>fallback</code>.
+     */
+    static JavaMethodInvoker getInvoker(Method method, JavaMethodInvoker fallback) {
+        if (!isAccessible(method))
+            return fallback;
+
+        try {
+            return getLoader(method.getDeclaringClass()).getInvoker(method);
+        } catch (Throwable t) {
+            // SecurityException, LinkageError or reflection errors
+            LOGGER.log(Level.FINE, "Unable to generate an invoker for the Java method " + method +
+                    ", reflection will be used", t);
+            return fallback;
+        }
+    }
+
+    private static InvokerClassLoader getLoader(final Class<?> declaringClass) {
+        return AccessController.doPrivileged(new PrivilegedAction<InvokerClassLoader>() {
+            @Override
+            public InvokerClassLoader run() {
+                final ClassLoader parent = declaringClass.getClassLoader();
+                synchronized (LOADERS) {
+                    final WeakReference<InvokerClassLoader> r = LOADERS.get(parent);
+                    InvokerClassLoader loader = (r != null) ? r.get() : null;
+                    if (loader == null) {
+                        loader = new InvokerClassLoader(parent);
+                        LOADERS.put(parent, new WeakReference<InvokerClassLoader>(loader));
+                    }
+                    return loader;
+                }
+            }
+        });
+    }
+
+    private static boolean isAccessible(Method method) {
+        if (!Modifier.isPublic(method.getModifiers()) || Modifier.isStatic(method.getModifiers()))
+            return false;
+
+        if (!isPublic(method.getDeclaringClass()))
+            return false;
+
+        for (Class<?> p : method.getParameterTypes()) {
+            if (!isPublic(p))
+                return false;
+        }
+
+        return true;
+    }
+
+    private static boolean isPublic(Class<?> c) {
+        while (c.isArray()) {
+            c = c.getComponentType();
+        }
+
+        if (c.isPrimitive())
+            return true;
+
+        for (Class<?> e = c; e != null; e = e.getEnclosingClass()) {
+            if (!Modifier.isPublic(e.getModifiers()))
+                return false;
+        }
+        return true;
+    }
+
+    private static byte[] generate(String className, Method method) {
+        final ClassWriter cw = new ClassWriter(ClassWriter.COMPUTE_MAXS);
+        cw.visit(V1_5, ACC_PUBLIC | ACC_FINAL | ACC_SUPER, className, null,
+                "java/lang/Object", new String[] {INVOKER_NAME});
+
+        MethodVisitor mv = cw.visitMethod(ACC_PUBLIC, "<init>", "()V", null, null);
+        mv.visitCode();
+        mv.visitVarInsn(ALOAD, 0);
+        mv.visitMethodInsn(INVOKESPECIAL, "java/lang/Object", "<init>", "()V", false);
+        mv.visitInsn(RETURN);
+        mv.visitMaxs(0, 0);
+        mv.visitEnd();
+
+        mv = cw.visitMethod(ACC_PUBLIC, "invoke", INVOKE_DESCRIPTOR, null,
+                new String[] {INVOCATION_TARGET_EXCEPTION_NAME});
+        mv.visitCode();
+
+        final Class<?> declaringClass = method.getDeclaringClass();
+        final String owner = Type.getInternalName(declaringClass);
+
+        final Class<?>[] parameterTypes = method.getParameterTypes();
+
+        // As with reflection the resource must not be null
+        final Label nonNull = new Label();
+        mv.visitVarInsn(ALOAD, 2);
+        mv.visitJumpInsn(IFNONNULL, nonNull);
+        mv.visitTypeInsn(NEW, "java/lang/NullPointerException");
+        mv.visitInsn(DUP);
+        mv.visitMethodInsn(INVOKESPECIAL, "java/lang/NullPointerException", "<init>", "()V", false);
+        mv.visitInsn(ATHROW);
+        mv.visitLabel(nonNull);
+
+        // The number of arguments, null is equivalent to no arguments
+        final Label wrongNumber = new Label();
+        final Label argsChecked = new Label();
+        if (parameterTypes.length == 0) {
+            mv.visitVarInsn(ALOAD, 3);
+            mv.visitJumpInsn(IFNULL, argsChecked);
+            mv.visitVarInsn(ALOAD, 3);
+            mv.visitInsn(ARRAYLENGTH);
+            mv.visitJumpInsn(IFEQ, argsChecked);
+        } else {
+            mv.visitVarInsn(ALOAD, 3);
+            mv.visitJumpInsn(IFNULL, wrongNumber);
+            mv.visitVarInsn(ALOAD, 3);
+            mv.visitInsn(ARRAYLENGTH);
+            pushInt(mv, parameterTypes.length);
+            mv.visitJumpInsn(IF_ICMPEQ, argsChecked);
+        }
+        mv.visitLabel(wrongNumber);
+        throwIllegalArgument(mv, "wrong number of arguments", false);
+        mv.visitLabel(argsChecked);
+
+        // The resource and the parameters, a cast or unboxing failure is an
+        // argument type mismatch
+        final Label argsStart = new Label();
+        final Label argsEnd = new Label();
+        final Label argsHandler = new Label();
+        mv.visitTryCatchBlock(argsStart, argsEnd, argsHandler, "java/lang/ClassCastException");
+        mv.visitTryCatchBlock(argsStart, argsEnd, argsHandler, "java/lang/NullPointerException");
+
+        mv.visitLabel(argsStart);
+        mv.visitVarInsn(ALOAD, 2);
+        mv.visitTypeInsn(CHECKCAST, owner);
+        for (int i = 0; i < parameterTypes.length; i++) {
+            mv.visitVarInsn(ALOAD, 3);
+            pushInt(mv, i);
+            mv.visitInsn(AALOAD);
+            unbox(mv, parameterTypes[i]);
+        }
+        mv.visitLabel(argsEnd);
+
+        // Only the exceptions thrown from the invocation are wrapped
+        final Label start = new Label();
+        final Label end = new Label();
+        final Label handler = new Label();
+        mv.visitTryCatchBlock(start, end, handler, "java/lang/Throwable");
+
+        mv.visitLabel(start);
+        if (declaringClass.isInterface()) {
+            mv.visitMethodInsn(INVOKEINTERFACE, owner, method.getName(),
+                    Type.getMethodDescriptor(method), true);
+        } else {
+            mv.visitMethodInsn(INVOKEVIRTUAL, owner, method.getName(),
+                    Type.getMethodDescriptor(method), false);
+        }
+        mv.visitLabel(end);
+
+        box(mv, method.getReturnType());
+        mv.visitInsn(ARETURN);
+
+        mv.visitLabel(handler);
+        mv.visitVarInsn(ASTORE, 4);
+        mv.visitTypeInsn(NEW, INVOCATION_TARGET_EXCEPTION_NAME);
+        mv.visitInsn(DUP);
+        mv.visitVarInsn(ALOAD, 4);
+        mv.visitMethodInsn(INVOKESPECIAL, INVOCATION_TARGET_EXCEPTION_NAME, "<init>",
+                "(Ljava/lang/Throwable;)V", false);
+        mv.visitInsn(ATHROW);
+
+        mv.visitLabel(argsHandler);
+        mv.visitVarInsn(ASTORE, 4);
+        throwIllegalArgument(mv, "argument type mismatch", true);
+
+        mv.visitMaxs(0, 0);
+        mv.visitEnd();
+
+        cw.visitEnd();
+        return cw.toByteArray();
+    }
+
+    private static void throwIllegalArgument(MethodVisitor mv, String message, boolean cause) {
+        mv.visitTypeInsn(NEW, ILLEGAL_ARGUMENT_EXCEPTION_NAME);
+        mv.visitInsn(DUP);
+        mv.visitLdcInsn(message);
+        if (cause) {
+            mv.visitVarInsn(ALOAD, 4);
+            mv.visitMethodInsn(INVOKESPECIAL, ILLEGAL_ARGUMENT_EXCEPTION_NAME, "<init>",
+                    "(Ljava/lang/String;Ljava/lang/Throwable;)V", false);
+        } else {
+            mv.visitMethodInsn(INVOKESPECIAL, ILLEGAL_ARGUMENT_EXCEPTION_NAME, "<init>",
+                    "(Ljava/lang/String;)V", false);
+        }
+        mv.visitInsn(ATHROW);
+    }
+
+    private static void pushInt(MethodVisitor mv, int i) {
+        if (i <= 5) {
+            mv.visitInsn(ICONST_0 + i);
+        } else if (i <= Byte.MAX_VALUE) {
+            mv.visitIntInsn(BIPUSH, i);
+        } else {
+            mv.visitIntInsn(SIPUSH, i);
+        }
+    }
+
+    private static void unbox(MethodVisitor mv, Class<?> c) {
+        if (!c.isPrimitive()) {
+            if (c != Object.class) {
+                mv.visitTypeInsn(CHECKCAST, Type.getInternalName(c));
+            }
+            return;
+        }
+
+        // As with reflection unwrap the wrapper of a primitive type that
+        // may be widened to the parameter type
+        final Label done = new Label();
+        for (Class<?> w : widened(c)) {
+            final String wrapper = Type.getInternalName(wrapper(w));
+            final Label next = new Label();
+            mv.visitInsn(DUP);
+            mv.visitTypeInsn(INSTANCEOF, wrapper);
+            mv.visitJumpInsn(IFEQ, next);
+            mv.visitTypeInsn(CHECKCAST, wrapper);
+            mv.visitMethodInsn(INVOKEVIRTUAL, wrapper, w.getName() + "Value",
+                    "()" + Type.getDescriptor(w), false);
+            widen(mv, w, c);
+            mv.visitJumpInsn(GOTO, done);
+            mv.visitLabel(next);
+        }
+
+        // Otherwise the cast, or unboxing of null, fails
+        final String wrapper = Type.getInternalName(wrapper(c));
+        mv.visitTypeInsn(CHECKCAST, wrapper);
+        mv.visitMethodInsn(INVOKEVIRTUAL, wrapper, c.getName() + "Value",
+                "()" + Type.getDescriptor(c), false);
+        mv.visitLabel(done);
+    }
+
+    /**
+     * Get the primitive types that may be widened to a primitive type.
+     */
+    private static Class<?>[] widened(Class<?> c) {
+        if (c == short.class)
+            return new Class<?>[] {byte.class};
+        if (c == int.class)
+            return new Class<?>[] {byte.class, short.class, char.class};
+        if (c == long.class)
+            return new Class<?>[] {byte.class, short.class, char.class, int.class};
+        if (c == float.class)
+            return new Class<?>[] {byte.class, short.class, char.class, int.class, long.class};
+        if (c == double.class)
+            return new Class<?>[] {byte.class, short.class, char.class, int.class, long.class, float.class};
+        return new Class<?>[0];
+    }
+
+    private static void widen(MethodVisitor mv, Class<?> from, Class<?> to) {
+        if (from == long.class) {
+            mv.visitInsn(to == float.class ? L2F : L2D);
+        } else if (from == float.class) {
+            mv.visitInsn(F2D);
+        } else if (to == long.class) {
+            mv.visitInsn(I2L);
+        } else if (to == float.class) {
+            mv.visitInsn(I2F);
+        } else if (to == double.class) {
+            mv.visitInsn(I2D);
+        }
+    }
+
+    private static void box(MethodVisitor mv, Class<?> c) {
+        if (c == void.class) {
+            mv.visitInsn(ACONST_NULL);
+        } else if (c.isPrimitive()) {
+            final String wrapper = Type.getInternalName(wrapper(c));
+            mv.visitMethodInsn(INVOKESTATIC, wrapper, "valueOf",
+                    "(" + Type.getDescriptor(c) + ")L" + wrapper + ";", false);
+        }
+    }
+
+    private static Class<?> wrapper(Class<?> c) {
+        if (c == boolean.class) return Boolean.class;
+        if (c == byte.class) return Byte.class;
+        if (c == char.class) return Character.class;
+        if (c == short.class) return Short.class;
+        if (c == int.class) return Integer.class;
+        if (c == long.class) return Long.class;
+        if (c == float.class) return Float.class;
+        return Double.class;
+    }
+
+    /**
+     * Defines invoker classes. Classes are resolved from the parent class
+     * loader, except for {@link JavaMethodInvoker} which may not be visible
+     * from the class loader of the resource class.
+     */
+    private static final class InvokerClassLoader extends ClassLoader {
+
+        /**
+         * The invokers keyed by Java method. Access must be synchronized on
+         * the class loader.
+         */
+        private final Map<Method, JavaMethodInvoker> invokers =
+                new HashMap<Method, JavaMethodInvoker>();
+
+        InvokerClassLoader(ClassLoader parent) {
+            super(parent);
+        }
+
+        synchronized JavaMethodInvoker getInvoker(Method method)
+                throws InstantiationException, IllegalAccessException {
+            JavaMethodInvoker invoker = invokers.get(method);
+            if (invoker == null) {
+                final String name = method.getDeclaringClass().getName() +
+                        "$$JerseyInvoker$" + COUNTER.incrementAndGet();
+                final byte[] b = generate(name.replace('.', '/'), method);
+                invoker = (JavaMethodInvoker)defineClass(name, b, 0, b.length).newInstance();
+                invokers.put(method, invoker);
+            }
+            return invoker;
+        }
+
+        @Override
+        protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+            if (name.equals(JavaMethodInvoker.class.getName()))
+                return JavaMethodInvoker.class;
+
+            return super.loadClass(name, resolve);
+        }
+    }
+}
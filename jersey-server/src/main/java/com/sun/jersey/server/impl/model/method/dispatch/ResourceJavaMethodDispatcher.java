@@ -41,6 +41,7 @@
 package com.sun.jersey.server.impl.model.method.dispatch;
 
 import com.sun.jersey.spi.container.JavaMethodInvoker;
+import com.sun.jersey.spi.container.JavaMethodInvokerFactory;
 import com.sun.jersey.api.container.ContainerException;
 import com.sun.jersey.api.container.MappableContainerException;
 import com.sun.jersey.api.core.HttpContext;
@@ -65,7 +66,11 @@ public abstract class ResourceJavaMethodDispatcher implements RequestDispatcher
     public ResourceJavaMethodDispatcher(AbstractResourceMethod abstractResourceMethod, JavaMethodInvoker invoker) {
         this.method = abstractResourceMethod.getMethod();
         this.annotations = abstractResourceMethod.getAnnotations();
-        this.invoker = invoker;
+        // Replace the reflective invoker with a generated invoker
+        // that directly invokes the Java method
+        this.invoker = (invoker == JavaMethodInvokerFactory.getDefault())
+                ? JavaMethodInvokerGenerator.getInvoker(method, invoker)
+                : invoker;
     }    
     
     @Override
@@ -66,6 +66,7 @@ import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import javax.ws.rs.core.SecurityContext;
 
 /**
@@ -77,6 +78,13 @@ public final class HttpMethodRule implements UriRule {
     public static final String CONTENT_TYPE_PROPERTY =
             "com.sun.jersey.server.impl.uri.rules.HttpMethodRule.Content-Type";
 
+    /**
+     * The maximum number of negotiated selections cached per HTTP method.
+     * Selections for further Content-Type and Accept combinations are
+     * computed for each request.
+     */
+    private static final int SELECTION_CACHE_LIMIT = 64;
+
     private final Map<String, ResourceMethodListPair> map;
 
     private final String allow;
@@ -97,6 +105,9 @@ public final class HttpMethodRule implements UriRule {
 
         final List<QualitySourceMediaType> priorityMediaTypes;
 
+        private final ConcurrentHashMap<NegotiationKey, Selection> selections =
+                new ConcurrentHashMap<NegotiationKey, Selection>();
+
         ResourceMethodListPair(List<ResourceMethod> normal) {
             this.normal = normal;
             if (correctOrder(normal)) {
@@ -153,6 +164,71 @@ public final class HttpMethodRule implements UriRule {
 
             return true;
         }
+
+        /**
+         * Select the resource method and media type for a request.
+         * <p>
+         * The selection depends only on the values of the 'Content-Type' and
+         * 'Accept' request headers so it is cached using those values as the
+         * key, and the headers are only parsed when the selection is not
+         * cached.
+         *
+         * @param request the HTTP request.
+         * @return the selection.
+         */
+        Selection select(HttpRequestContext request) {
+            final NegotiationKey key = new NegotiationKey(
+                    request.getHeaderValue(HttpHeaders.CONTENT_TYPE),
+                    request.getHeaderValue(HttpHeaders.ACCEPT));
+
+            Selection s = selections.get(key);
+            if (s == null) {
+                final List<MediaType> accept = getSpecificAcceptableMediaTypes(
+                        request.getAcceptableMediaTypes(),
+                        priorityMediaTypes);
+                s = match(this, request.getMediaType(), accept);
+                if (selections.size() < SELECTION_CACHE_LIMIT) {
+                    selections.putIfAbsent(key, s);
+                }
+            }
+            return s;
+        }
+    }
+
+    /**
+     * The key of a cached selection, the 'Content-Type' and 'Accept' header
+     * values. An absent and an empty 'Accept' are equivalent.
+     */
+    private static final class NegotiationKey {
+        private final String contentType;
+
+        private final String accept;
+
+        private final int hash;
+
+        NegotiationKey(String contentType, String accept) {
+            this.contentType = contentType;
+            this.accept = (accept == null || accept.length() == 0) ? null : accept;
+
+            int h = (this.contentType != null) ? this.contentType.hashCode() : 0;
+            this.hash = 31 * h + ((this.accept != null) ? this.accept.hashCode() : 0);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof NegotiationKey)) return false;
+
+            final NegotiationKey that = (NegotiationKey)o;
+            return hash == that.hash &&
+                    (contentType == null ? that.contentType == null : contentType.equals(that.contentType)) &&
+                    (accept == null ? that.accept == null : accept.equals(that.accept));
+        }
     }
 
     public HttpMethodRule(
@@ -224,13 +300,9 @@ public final class HttpMethodRule implements UriRule {
             return false;
         }
 
-        // Get the list of matching methods
-        List<MediaType> accept = getSpecificAcceptableMediaTypes(
-                request.getAcceptableMediaTypes(),
-                methods.priorityMediaTypes);
-
-        final Matcher m = new Matcher();
-        final MatchStatus s = m.match(methods, request.getMediaType(), accept);
+        // Select the matching method for the 'Content-Type' and 'Accept'
+        final Selection m = methods.select(request);
+        final MatchStatus s = m.status;
 
         if (s == MatchStatus.MATCH) {
             // If there is a match choose the first method
@@ -341,56 +413,71 @@ public final class HttpMethodRule implements UriRule {
         MATCH, NO_MATCH_FOR_CONSUME, NO_MATCH_FOR_PRODUCE
     }
 
-    private static class Matcher extends LinkedList<ResourceMethod> {
-        private MediaType mSelected = null;
+    /**
+     * The immutable result of matching the resource methods against the
+     * 'Content-Type' and 'Accept'.
+     */
+    private static final class Selection {
+        static final Selection NO_MATCH_FOR_CONSUME =
+                new Selection(MatchStatus.NO_MATCH_FOR_CONSUME, null, null);
 
-        private ResourceMethod rmSelected = null;
+        static final Selection NO_MATCH_FOR_PRODUCE =
+                new Selection(MatchStatus.NO_MATCH_FOR_PRODUCE, null, null);
 
-        /**
-         * Find the subset of methods that match the 'Content-Type' and 'Accept'.
-         *
-         * @param methods the list of resource methods
-         * @param contentType the 'Content-Type'.
-         * @param acceptableMediaTypes the 'Accept' as a list. This list
-         *        MUST be ordered with the highest quality acceptable Media type
-         *        occurring first (see {@link MediaTypes#MEDIA_TYPE_COMPARATOR}).
-         * @return the match status.
-         */
-        private MatchStatus match(
-                ResourceMethodListPair methods,
-                MediaType contentType,
-                List<MediaType> acceptableMediaTypes) {
-
-            List<ResourceMethod> selected;
-            if (contentType != null) {
-                // Find all methods that consume the MIME type of 'Content-Type'
-                for (ResourceMethod method : methods.normal)
-                    if (method.consumes(contentType))
-                        add(method);
-
-                if (isEmpty())
-                    return MatchStatus.NO_MATCH_FOR_CONSUME;
-
-                selected = this;
-            } else {
-                selected = methods.wildPriority;
-            }
+        final MatchStatus status;
 
+        final ResourceMethod rmSelected;
 
-            for (MediaType amt : acceptableMediaTypes) {
-                for (ResourceMethod rm : selected) {
-                    for (MediaType p : rm.getProduces()) {
-                        if (p.isCompatible(amt)) {
-                            mSelected = MediaTypes.mostSpecific(p, amt);
-                            rmSelected = rm;
-                            return MatchStatus.MATCH;
-                        }
+        final MediaType mSelected;
+
+        Selection(MatchStatus status, ResourceMethod rmSelected, MediaType mSelected) {
+            this.status = status;
+            this.rmSelected = rmSelected;
+            this.mSelected = mSelected;
+        }
+    }
+
+    /**
+     * Find the method that matches the 'Content-Type' and 'Accept'.
+     *
+     * @param methods the list of resource methods
+     * @param contentType the 'Content-Type'.
+     * @param acceptableMediaTypes the 'Accept' as a list. This list
+     *        MUST be ordered with the highest quality acceptable Media type
+     *        occurring first (see {@link MediaTypes#MEDIA_TYPE_COMPARATOR}).
+     * @return the selection.
+     */
+    private static Selection match(
+            ResourceMethodListPair methods,
+            MediaType contentType,
+            List<MediaType> acceptableMediaTypes) {
+
+        List<ResourceMethod> selected;
+        if (contentType != null) {
+            // Find all methods that consume the MIME type of 'Content-Type'
+            selected = new ArrayList<ResourceMethod>(methods.normal.size());
+            for (ResourceMethod method : methods.normal)
+                if (method.consumes(contentType))
+                    selected.add(method);
+
+            if (selected.isEmpty())
+                return Selection.NO_MATCH_FOR_CONSUME;
+        } else {
+            selected = methods.wildPriority;
+        }
+
+        for (MediaType amt : acceptableMediaTypes) {
+            for (ResourceMethod rm : selected) {
+                for (MediaType p : rm.getProduces()) {
+                    if (p.isCompatible(amt)) {
+                        return new Selection(MatchStatus.MATCH, rm,
+                                MediaTypes.mostSpecific(p, amt));
                     }
                 }
             }
-
-            return MatchStatus.NO_MATCH_FOR_PRODUCE;
         }
+
+        return Selection.NO_MATCH_FOR_PRODUCE;
     }
 
     /**
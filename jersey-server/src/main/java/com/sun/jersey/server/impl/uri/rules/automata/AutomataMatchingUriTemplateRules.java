@@ -40,242 +40,159 @@
 
 package com.sun.jersey.server.impl.uri.rules.automata;
 
-import com.sun.jersey.server.impl.uri.PathPattern;
 import com.sun.jersey.server.impl.uri.rules.PatternRulePair;
 import com.sun.jersey.spi.uri.rules.UriMatchResultContext;
 import com.sun.jersey.spi.uri.rules.UriRules;
 import java.util.ArrayList;
-import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
-import java.util.Set;
-import java.util.Stack;
+import java.util.NoSuchElementException;
+import java.util.regex.MatchResult;
 
 /**
  * UriRules implementation based on a TRIE/Finite Automata.
- *
- * This class has been made abstract because it needs to fixed in terms
- * of supporting the UriRules interface and matching using more general regular
- * expressions.
+ * <p>
+ * Rules are matched to return at most one match, in the same order and with
+ * the same match result as {@link com.sun.jersey.server.impl.uri.rules.AtomicMatchingPatterns}.
+ * <p>
+ * URI patterns generated from templates whose template variables match a
+ * single path segment are compiled to a matcher that does not use regular
+ * expressions. The leading literal characters of such patterns are added to
+ * a trie, which is walked once, left to right, over the path to obtain the
+ * ordered set of candidate patterns. Any other patterns, for example those
+ * with template variables declaring regular expressions, are always
+ * candidates and are matched using their regular expression.
  * 
  * @author Frank D. Martinez. fmartinez@asimovt.com
  */
 public class AutomataMatchingUriTemplateRules<R> implements UriRules<R> {
+    /** The rules */
+    private final List<PatternRulePair<R>> rules;
+
+    /** The compiled matchers, or null, for each rule */
+    private final PathPatternMatcher[] matchers;
+
     /** Trie/Automata Index */
-    private final TrieNode<R> automata;
+    private final TrieNode automata;
 
     public AutomataMatchingUriTemplateRules(List<PatternRulePair<R>> rules) {
-        this.automata = initTrie(rules);
+        this.rules = new ArrayList<PatternRulePair<R>>(rules);
+        this.matchers = new PathPatternMatcher[this.rules.size()];
+        this.automata = initTrie();
     }
     
     public Iterator<R> match(CharSequence path, UriMatchResultContext resultContext) {
-        List<String> capturingGroupValues = new ArrayList<String>();
-        TrieNode<R> node = find(path, capturingGroupValues);
-        if (node != null) {
-            return node.getValue();
+        if (resultContext.isTracingEnabled()) {
+            StringBuilder sb = new StringBuilder();
+            sb.append("match path \"").append(path).append("\" -> ");
+            boolean first = true;
+            for (PatternRulePair<R> prp : rules) {
+                if (!first)
+                    sb.append(", ");
+                sb.append("\"").append(prp.p.toString()).append("\"");
+                first = false;
+            }
+            resultContext.trace(sb.toString());
         }
-        return new TrieNodeValue.EmptyIterator<R>();
+
+        for (int i : find(path)) {
+            final PathPatternMatcher m = matchers[i];
+            final PatternRulePair<R> prp = rules.get(i);
+            final MatchResult mr = (m != null) ? m.match(path) : prp.p.match(path);
+            if (mr != null) {
+                resultContext.setMatchResult(mr);
+                return new SingleEntryIterator<R>(prp.r);
+            }
+        }
+
+        return new EmptyIterator<R>();
     }
 
     /** 
      * Trie initialization 
      */
-    private TrieNode<R> initTrie(List<PatternRulePair<R>> rules) {
-        TrieNode<R> a = new TrieNode<R>();
-        for (PatternRulePair<R> prp : rules) {
-            if (prp.p instanceof PathPattern) {
-                PathPattern p = (PathPattern)prp.p;            
-                a.add(p.getTemplate().getTemplate(), prp.r, prp.p);
+    private TrieNode initTrie() {
+        TrieNode a = new TrieNode();
+        List<Integer> regexes = new ArrayList<Integer>();
+        for (int i = 0; i < rules.size(); i++) {
+            matchers[i] = PathPatternMatcher.compile(rules.get(i).p);
+            if (matchers[i] != null) {
+                a.add(matchers[i].getLeadingLiteral(), i);
             } else {
-                throw new IllegalArgumentException(
-                        "The automata matching algorithm currently only works" +
-                        "for UriPattern instance that are instances of " +
-                        "PathPattern");
+                regexes.add(i);
             }
         }
+
+        // Patterns matched using regular expressions are always candidates
+        int[] inherited = new int[regexes.size()];
+        for (int i = 0; i < inherited.length; i++) {
+            inherited[i] = regexes.get(i);
+        }
+        a.index(inherited);
         a.pack();
         return a;
     }
-    
-    /**
-     * Backtracking state struct
-     */
-    private static final class SearchState<E> {
-        
-        // Saved node
-        final TrieNode<E> node;
-        
-        // Saved arch
-        final TrieArc<E> arc;
-        
-        // Saved input position
-        final int i;
-        
-        /** Constructor */
-        public SearchState(TrieNode<E> node, TrieArc<E> arc, int i) {
-            this.node = node;
-            this.arc = arc;
-            this.i = i;
-        }
-
-    }
 
     /**
      * Trie/Automata search algorithm.
+     * <p>
+     * Follow the arcs matching the path and return the candidates of the
+     * last node reached.
      */
-    private TrieNode<R> find(CharSequence uri, List<String> templateValues) {
-        
-        // URI Length
-        final int length = uri.length();
-        
-        // Backtracking stack
-        final Stack<SearchState<R>> stack = new Stack<SearchState<R>>();
-        
-        // Candidates saved by the way
-        final Stack<TrieNode<R>> candidates = new Stack<TrieNode<R>>();
-        
-        // Arcs marked as visited
-        final Set<TrieArc<R>> visitedArcs = new HashSet<TrieArc<R>>();
-        
-        // Actual node
-        TrieNode<R> node = automata;
-        
-        // Actual matching arc
-        TrieArc<R> nextArc = node.getFirstArc();
-        
-        // URI character pointer
+    private int[] find(CharSequence path) {
+        TrieNode node = automata;
+        if (path == null)
+            return node.getCandidates();
+
+
         int i = 0;
-        
-        // =====================================================================
-        // Trie Search with backtracking
-        // NFA simulation
-        // =====================================================================
-        
         while (true) {
-            
-            // End of input reached
-            if (i >= length) {
-                
-                // Resource matched
-                if (node.hasValue()) break; // <<< EXIT POINT <<<<<<<<<<<<<<<<<<
-                
-                // Restore backtracking state
-                nextArc = null;
-                while (!stack.isEmpty() && nextArc == null) {
-                    SearchState<R> state = stack.pop();
-                    nextArc = state.arc.next;
-                    node = state.node;
-                    i = state.i;
-                }
-                
-                // Skip visited arcs if necesary
-                if (nextArc != null) {
-                    while (visitedArcs.contains(nextArc)) {
-                        nextArc = nextArc.next;
-                    }
-                    if (nextArc != null) visitedArcs.add(nextArc);
-                }
-                
-                // No more chance to match
-                if (nextArc == null) break; // <<< EXIT POINT <<<<<<<<<<<<<<<<<<
-                
-                // Go backtrack
-                continue;
-                
-            }
-            
-            // Accept a wildcard (Parameter)
-            if (nextArc == null && node.isWildcard()) {
-                int p = 0;
-                TrieArc<R> exitArc = null;
-                while ((i+p) < length && 
-                    (exitArc = node.matchExitArc(uri, i+p)) == null) p++;
-                if (exitArc != null) {
-                    nextArc = exitArc;
-                }
-                i = i+p;
-                continue;
-            }
-            
-            // No wildcard and no more paths, end.
-            else if (nextArc == null && !node.isWildcard()) {
-                break; // <<< EXIT POINT <<<<<<<<<<<<<<<<<<<<<<<<<<<<<<<<<<<<<<<
-            }
-            
-            // Save backtracking point
-            if (nextArc.next != null && node.isWildcard()) {
-                stack.push(new SearchState<R>(node, nextArc, i));
-            }
-            
-            // Save candidate
-            if (node.hasValue()) {
-                candidates.push(node);
-            }
-            
-            // Matching cases ==================================================
-            
-            // CASE 0 ----------------------------------------------------------
-            // If wildcard matches, exit wildcard.
-            if (node.isWildcard() && nextArc.match(uri, i) > 0) {
-                i += nextArc.length();
-                node = nextArc.target;
-                nextArc = node.getFirstArc();
-                continue;
-            }
-            
-            // CASE 1 ----------------------------------------------------------
-            // If wildcard does not match, try another escape sequence. 
-            //    if nothing matches, consume input.
-            else if (node.isWildcard() && nextArc.match(uri, i) == 0) {
-                nextArc = nextArc.next;
-                if (nextArc == null) {
-                    i++;
-                }
-                continue;
-            }
-            
-            // CASE 2 ----------------------------------------------------------
-            // Fixed sequence matches, consume input and follow the arc.
-            else if (!node.isWildcard() && nextArc.match(uri, i) > 0) {
-                i += nextArc.length();
-                node = nextArc.target;
-                nextArc = node.getFirstArc();
-                continue;
-            }
-            
-            // CASE 3 ----------------------------------------------------------
-            // Fixed sequence does not match, try the next.
-            else if (!node.isWildcard() && nextArc.match(uri, i) == 0) {
-                nextArc = nextArc.next;
-                continue;
-            }
-            
+            final TrieArc arc = node.matchArc(path, i);
+            if (arc == null)
+                return node.getCandidates();
+
+            i += arc.length();
+            node = arc.target;
         }
+    }
+
+    private static final class SingleEntryIterator<T> implements Iterator<T> {
+        private T t;
         
-        // =====================================================================
-        // Select a matching candidate 
-        // =====================================================================
-        
-        // A perfect match
-        if (node.hasValue()) {
-            if (node.getPattern().match(uri, templateValues)) {
-                return node;
-            }
+        SingleEntryIterator(T t) {
+            this.t = t;
         }
         
-        // No direct matches, looking for a secondary candidate
-        while (!candidates.isEmpty()) {
-            TrieNode<R> s = candidates.pop();
-            if (s.getPattern().match(uri, templateValues)) {
-                return s;
+        public boolean hasNext() {
+            return t != null;
+        }
+
+        public T next() {
+            if (hasNext()) {
+                final T _t = t;
+                t = null;
+                return _t;
+            } else {
+                throw new NoSuchElementException();
             }
         }
-        
-        // Definitively it does not match
-        templateValues.clear();
-        return null;
-        
+
+        public void remove() {
+            throw new UnsupportedOperationException();
+        }
     }
     
-    
+    private static final class EmptyIterator<T> implements Iterator<T> {        
+        public boolean hasNext() {
+            return false;
+        }
+
+        public T next() {
+            throw new NoSuchElementException();
+        }
+
+        public void remove() {
+            throw new UnsupportedOperationException();
+        }
+    }
 }
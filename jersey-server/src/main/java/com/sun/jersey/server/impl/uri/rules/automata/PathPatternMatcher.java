@@ -0,0 +1,319 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2026 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+
+package com.sun.jersey.server.impl.uri.rules.automata;
+
+import com.sun.jersey.api.uri.UriPattern;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.MatchResult;
+
+/**
+ * A matcher compiled from the regular expression of a {@link UriPattern}
+ * that matches without using {@link java.util.regex}.
+ * <p>
+ * Only regular expressions generated from URI path templates whose template
+ * variables match a single path segment, namely "([^/]+?)" or "([^/]+)",
+ * followed by the right hand path "(/.*)?" or "(/)?" are supported. For such
+ * expressions the matcher reproduces the backtracking order of the regular
+ * expression engine so the match result, including the capturing group
+ * values, is identical to that obtained using the regular expression.
+ *
+ * @author agent@local
+ */
+final class PathPatternMatcher {
+
+    private static final String RELUCTANT_SEGMENT = "([^/]+?)";
+
+    private static final String GREEDY_SEGMENT = "([^/]+)";
+
+    private static final String RIGHT_HAND_PATH = "(/.*)?";
+
+    private static final String RIGHT_HAND_SLASH = "(/)?";
+
+    private static final String META_CHARACTERS = "\\^$.|?*+()[]{}";
+
+    /**
+     * The literal characters that precede, separate and follow the
+     * template variables. There is always one more literal than
+     * template variables, any of which may be empty.
+     */
+    private final char[][] literals;
+
+    /**
+     * True at an index if the template variable at that index is matched
+     * greedily.
+     */
+    private final boolean[] greedy;
+
+    /**
+     * True if the right hand path may be any path starting with '/',
+     * otherwise the right hand path may only be '/'.
+     */
+    private final boolean anyRightHandPath;
+
+    private PathPatternMatcher(List<String> literals, List<Boolean> greedy, boolean anyRightHandPath) {
+        this.literals = new char[literals.size()][];
+        for (int i = 0; i < this.literals.length; i++) {
+            this.literals[i] = literals.get(i).toCharArray();
+        }
+        this.greedy = new boolean[greedy.size()];
+        for (int i = 0; i < this.greedy.length; i++) {
+            this.greedy[i] = greedy.get(i);
+        }
+        this.anyRightHandPath = anyRightHandPath;
+    }
+
+    /**
+     * Compile a URI pattern.
+     *
+     * @param p the URI pattern.
+     * @return the matcher, otherwise null if the regular expression of the
+     *         pattern is not supported and must be matched using
+     *         {@link UriPattern#match(java.lang.CharSequence) }.
+     */
+    static PathPatternMatcher compile(UriPattern p) {
+        // The empty pattern and nested capturing groups are not supported
+        if (p.getGroupIndexes() == null || p.getGroupIndexes().length > 0)
+            return null;
+
+        final String regex = p.getRegex();
+        final boolean anyRightHandPath;
+        final int length;
+        if (regex.endsWith(RIGHT_HAND_PATH)) {
+            anyRightHandPath = true;
+            length = regex.length() - RIGHT_HAND_PATH.length();
+        } else if (regex.endsWith(RIGHT_HAND_SLASH)) {
+            anyRightHandPath = false;
+            length = regex.length() - RIGHT_HAND_SLASH.length();
+        } else {
+            return null;
+        }
+
+        final List<String> literals = new ArrayList<String>();
+        final List<Boolean> greedy = new ArrayList<Boolean>();
+        final StringBuilder literal = new StringBuilder();
+        int i = 0;
+        while (i < length) {
+            if (regex.startsWith(RELUCTANT_SEGMENT, i)) {
+                literals.add(literal.toString());
+                literal.setLength(0);
+                greedy.add(false);
+                i += RELUCTANT_SEGMENT.length();
+                continue;
+            } else if (regex.startsWith(GREEDY_SEGMENT, i)) {
+                literals.add(literal.toString());
+                literal.setLength(0);
+                greedy.add(true);
+                i += GREEDY_SEGMENT.length();
+                continue;
+            }
+
+            char c = regex.charAt(i++);
+            if (c == '\\') {
+                if (i == length)
+                    return null;
+
+                // A back slash before a letter or digit is a construct
+                c = regex.charAt(i++);
+                if (Character.isLetterOrDigit(c))
+                    return null;
+            } else if (META_CHARACTERS.indexOf(c) != -1) {
+                return null;
+            }
+
+            // Regular expressions match code points, avoid splitting pairs
+            if (c >= Character.MIN_SURROGATE && c <= Character.MAX_SURROGATE)
+                return null;
+
+            literal.append(c);
+        }
+        literals.add(literal.toString());
+        return new PathPatternMatcher(literals, greedy, anyRightHandPath);
+    }
+
+    /**
+     * Get the literal characters preceding the first template variable,
+     * or the right hand path if there are no template variables.
+     *
+     * @return the leading literal characters.
+     */
+    String getLeadingLiteral() {
+        return new String(literals[0]);
+    }
+
+    /**
+     * Match a path.
+     *
+     * @param path the path.
+     * @return the match result, otherwise null if the path does not match.
+     */
+    MatchResult match(CharSequence path) {
+        if (path == null || path.length() == 0)
+            return null;
+
+        final String s = path.toString();
+        final int[] groups = new int[2 * (greedy.length + 1)];
+        return match(s, 0, 0, groups) ? new PathMatchResult(s, groups) : null;
+    }
+
+    private boolean match(String s, int i, int v, int[] groups) {
+        final char[] literal = literals[v];
+        final int length = s.length();
+        if (i + literal.length > length)
+            return false;
+        for (char c : literal) {
+            if (c != s.charAt(i++))
+                return false;
+        }
+
+        if (v == greedy.length)
+            return matchRightHandPath(s, i, groups);
+
+        int segmentEnd = s.indexOf('/', i);
+        if (segmentEnd == -1)
+            segmentEnd = length;
+        if (segmentEnd == i)
+            return false;
+
+        groups[2 * v] = i;
+        if (greedy[v]) {
+            for (int e = segmentEnd; e > i; e--) {
+                if (!isSplitPair(s, e)) {
+                    groups[2 * v + 1] = e;
+                    if (match(s, e, v + 1, groups))
+                        return true;
+                }
+            }
+        } else {
+            for (int e = i + 1; e <= segmentEnd; e++) {
+                if (!isSplitPair(s, e)) {
+                    groups[2 * v + 1] = e;
+                    if (match(s, e, v + 1, groups))
+                        return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private boolean matchRightHandPath(String s, int i, int[] groups) {
+        final int length = s.length();
+        final int g = 2 * greedy.length;
+        if (i == length) {
+            // The optional group did not participate in the match
+            groups[g] = groups[g + 1] = -1;
+            return true;
+        }
+
+        if (s.charAt(i) != '/')
+            return false;
+
+        if (anyRightHandPath) {
+            // '.' does not match line terminators
+            for (int j = i + 1; j < length; j++) {
+                if (isLineTerminator(s.charAt(j)))
+                    return false;
+            }
+        } else if (i + 1 != length) {
+            return false;
+        }
+
+        groups[g] = i;
+        groups[g + 1] = length;
+        return true;
+    }
+
+    private static boolean isSplitPair(String s, int i) {
+        return i < s.length()
+                && Character.isLowSurrogate(s.charAt(i))
+                && Character.isHighSurrogate(s.charAt(i - 1));
+    }
+
+    private static boolean isLineTerminator(char c) {
+        return c == '\n' || c == '\r' || c == '\u0085' || c == '\u2028' || c == '\u2029';
+    }
+
+    private static final class PathMatchResult implements MatchResult {
+        private final String s;
+
+        private final int[] groups;
+
+        PathMatchResult(String s, int[] groups) {
+            this.s = s;
+            this.groups = groups;
+        }
+
+        public int start() {
+            return 0;
+        }
+
+        public int start(int group) {
+            if (group < 0 || group > groupCount())
+                throw new IndexOutOfBoundsException();
+
+            return (group > 0) ? groups[2 * (group - 1)] : start();
+        }
+
+        public int end() {
+            return s.length();
+        }
+
+        public int end(int group) {
+            if (group < 0 || group > groupCount())
+                throw new IndexOutOfBoundsException();
+
+            return (group > 0) ? groups[2 * (group - 1) + 1] : end();
+        }
+
+        public String group() {
+            return s;
+        }
+
+        public String group(int group) {
+            final int start = start(group);
+            return (start != -1) ? s.substring(start, end(group)) : null;
+        }
+
+        public int groupCount() {
+            return groups.length / 2;
+        }
+    }
+}
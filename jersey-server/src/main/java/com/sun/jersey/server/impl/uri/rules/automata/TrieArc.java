@@ -44,23 +44,23 @@ package com.sun.jersey.server.impl.uri.rules.automata;
  * Represents an arc (transition) between trie nodes.
  * @author Frank D. Martinez. fmartinez@asimovt.com
  */
-public class TrieArc<T> {
+public class TrieArc {
     
     /** Character that match this arc. */
     protected char[] code;
     
     /** Target node at the end of this arc. */
-    protected TrieNode<T> target;
+    protected TrieNode target;
     
     /** Next alternative node if this node does not match. */
-    protected TrieArc<T> next;
+    protected TrieArc next;
     
     /** 
      * Creates a new instance of TrieArc.
      * @param target Target node at the end of this arc.
      * @param code Matching character.
      */
-    public TrieArc(TrieNode<T> target, char code) {
+    public TrieArc(TrieNode target, char code) {
         this.target = target;
         this.code = new char[] {code};
     }
@@ -68,14 +68,14 @@ public class TrieArc<T> {
     /**
      * Merge neighbour nodes if they are degenerated trees.
      */
-    private void merge(TrieArc<T> arc) {
+    private void merge(TrieArc arc) {
         int p = code.length;
         // Cannot depend on SE 6 specific features
         // code = Arrays.copyOf(code, code.length + arc.code.length);
         code = copyOf(code, code.length + arc.code.length);
         System.arraycopy(arc.code, 0, code, p, arc.code.length);
         this.target = arc.target;
-        if (target.getArcs() == 1 && !target.hasValue() && !target.isWildcard()) {
+        if (target.getArcs() == 1 && !target.hasValue()) {
             merge(target.getFirstArc());
         }
     }
@@ -84,7 +84,7 @@ public class TrieArc<T> {
      * Merge neighbour nodes if they are degenerated trees.
      */
     public void pack() {
-        if (target.getArcs() == 1 && !target.hasValue() && !target.isWildcard()) {
+        if (target.getArcs() == 1 && !target.hasValue()) {
             merge(target.getFirstArc());
         }
         target.pack();
@@ -109,12 +109,7 @@ public class TrieArc<T> {
     }
     
     @Override public String toString() {
-        if (target.hasValue()) {
-            return "ARC(" + new String(code) + ") --> " + target.getPattern().getRegex();
-        }
-        else {
-            return "ARC(" + new String(code) + ") --> null";
-        }
+        return "ARC(" + new String(code) + ") --> " + target;
     }
     
     // Copied from SE 6 source
@@ -40,77 +40,52 @@
 
 package com.sun.jersey.server.impl.uri.rules.automata;
 
-import com.sun.jersey.api.uri.UriPattern;
-import com.sun.jersey.api.uri.UriTemplate;
-import java.util.Iterator;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 
 /**
  * Represents a trie automata node.
+ * <p>
+ * The trie is built from the leading literal characters of URI patterns.
+ * A node has a value if one or more patterns have leading literal characters
+ * equal to the characters of the arcs leading to the node. Once built the
+ * trie is indexed so that the value of a node is the ordered set of indexes
+ * of the patterns whose leading literal characters are a prefix of,
+ * or equal to, the characters leading to the node.
+ *
  * @author Frank D. Martinez. fmartinez@asimovt.com
  */
-public final class TrieNode<T> {
+public final class TrieNode {
 
-    /** TemplateParameters pattern regexp. */
-    public static final Pattern PARAMETER_PATTERN = 
-            Pattern.compile("\\{([\\w-\\._~]+?)\\}");
-    
-    /** Wildcard character */
-    private static final char WILDCARD_CHAR = '\0';
-    
     /** First child arc (this is a linked tree structure) */
-    private TrieArc<T> firstArc;
+    private TrieArc firstArc;
     
     /** Last child arc (this is a linked tree structure) */
-    private TrieArc<T> lastArc;
+    private TrieArc lastArc;
     
     /** arc counter */
     private int arcs = 0;
     
-    /** Node's data */
-    private TrieNodeValue<T> value = new TrieNodeValue<T>();
-    
-    /** Node's UriPattern used to match. */
-    private UriPattern pattern;
+    /** Indexes of the patterns added to this node */
+    private List<Integer> values;
 
-    /** Tells if this node is a wildcard node */
-    private boolean wildcard = false;
-    
-    /** wildcard setter. 
-     * @param b New wildcard value.
-     */
-    protected void setWildcard(boolean b) { 
-        wildcard = b; 
-    }
-    
-    /** value setter. 
-     * @param value New value.
-     * @param template Associated template.
-     */
-    protected void setValue(T value, UriPattern pattern) {
-        this.value.set(value);
-        this.pattern = pattern;
-    }
+    /** Ordered indexes of the candidate patterns, set when indexed */
+    private int[] candidates;
     
     /** Creates a new instance of TrieNode */
     protected TrieNode() {
         super();
     }
     
-    /** Creates a new instance of TrieNode 
-     * @param value Initial value.
-     */
-    protected TrieNode(T value) {
-        this.value.set(value);
-    }
-    
     /**
-     * Search for a matching escape character in a wildcard sequence.
-     * @param c Test char.
+     * Search for the arc matching a sequence.
+     * @param seq Input sequence.
+     * @param i Current position in seq.
+     * @return the matching arc, otherwise null.
      */
-    protected TrieArc<T> matchExitArc(CharSequence seq, int i) {
-        TrieArc<T> arc = firstArc;
+    protected TrieArc matchArc(CharSequence seq, int i) {
+        TrieArc arc = firstArc;
         while (arc != null) {
             if (arc.match(seq, i) > 0) {
                 return arc;
@@ -124,14 +99,14 @@ public final class TrieNode<T> {
      * Tells if there is a value in this node.
      */
     protected boolean hasValue() {
-        return !value.isEmpty();
+        return values != null;
     }
     
     /**
      * Adds an arc at the end.
      * @param arc New arc.
      */
-    private void addArc(TrieArc<T> arc) {
+    private void addArc(TrieArc arc) {
         if (firstArc == null) {
             firstArc = arc;
         }
@@ -144,70 +119,59 @@ public final class TrieNode<T> {
     
     /**
      * Adds a new node in the tree.
-     * @param path Tree position (URI)
+     * @param path Tree position (leading literal characters).
      * @param i Current position in path.
-     * @param value Value to be added at the end of path.
-     * @param pattern UriPattern associated with value.
+     * @param index Index of the pattern to be added at the end of path.
      */
-    private boolean add(CharSequence path, int i, T value, 
-            UriPattern pattern) {
-        
-        // Case 1: NULL, The Last ----------------------------------------------
+    private void add(CharSequence path, int i, int index) {
         if (i >= path.length()) {
-            setValue(value, pattern);
-            return true;
-        }
-        
-        // Case 2: Recursive add -----------------------------------------------
-        char input = path.charAt(i);
-        boolean added = false;
-        TrieArc<T> arc = firstArc;
-        while (arc != null) {
-            if (arc.match(path, i) > 0) {
-                added = arc.target.add(path, i+1, value, pattern);
-                if (added) {
-                    return added;
-                }
+            if (values == null) {
+                values = new ArrayList<Integer>(1);
             }
-            arc = arc.next;
+            values.add(index);
+            return;
         }
         
-        // Case 3: Set as wildcard ---------------------------------------------
-        TrieNode<T> node;
-        if (input == WILDCARD_CHAR) {
-            setWildcard(true);
-            return add(path, i+1, value, pattern);
-        }
-        
-        // Case 4: Just Add ----------------------------------------------------
-        else {
-            node = new TrieNode<T>();
-            addArc(new TrieArc<T>(node, input));
-            return node.add(path, i+1, value, pattern);
+        TrieArc arc = matchArc(path, i);
+        if (arc == null) {
+            arc = new TrieArc(new TrieNode(), path.charAt(i));
+            addArc(arc);
         }
-        
+        arc.target.add(path, i + 1, index);
     }
     
     /**
-     * Adds a new node to the tree.
-     * @param path Matching URI
-     * @param value Value to be added.
-     * @param template Associated UriPattern.
+     * Adds a pattern to the tree.
+     * @param path Leading literal characters of the pattern.
+     * @param index Index of the pattern.
      */
-    protected void add(String path, T value, UriPattern pattern) {
-        
-        // Replace All parameter macro by a WILDCARD character.
-        Matcher matcher = PARAMETER_PATTERN.matcher(path);
-        String uri = matcher.replaceAll(String.valueOf(WILDCARD_CHAR));
-        
-        // If ends with '/', add the parent
-        if (uri.endsWith("/") && uri.length() > 1) {
-            add(uri.substring(0, uri.length()-1), 0, value, pattern);
+    protected void add(String path, int index) {
+        add(path, 0, index);
+    }
+    
+    /**
+     * Index the tree, see {@link #getCandidates() }. This must be called
+     * on the root node before the tree is packed.
+     * @param inherited Ordered indexes of candidate patterns inherited by
+     *        all nodes.
+     */
+    protected void index(int[] inherited) {
+        if (values != null) {
+            final int[] c = new int[inherited.length + values.size()];
+            System.arraycopy(inherited, 0, c, 0, inherited.length);
+            for (int i = 0; i < values.size(); i++) {
+                c[inherited.length + i] = values.get(i);
+            }
+            Arrays.sort(c);
+            inherited = c;
+        }
+        candidates = inherited;
+
+        TrieArc arc = firstArc;
+        while (arc != null) {
+            arc.target.index(inherited);
+            arc = arc.next;
         }
-        
-        // Add to root
-        add(uri, 0, value, pattern);
-        
     }
     
     /**
@@ -228,34 +192,29 @@ public final class TrieNode<T> {
     private void toStringRepresentation(StringBuilder out, int level, char[] c) {
         for (int i=0; i<level; i++) out.append(' ');
         out.append("ARC(" + new String(c) + ") ->");
-        out.append(getClass().getSimpleName() + (wildcard?"*":""));
+        out.append(getClass().getSimpleName());
         out.append(" ");
-        out.append(value);
+        out.append(values);
         out.append('\n');
-        TrieArc<T> arc = firstArc;
+        TrieArc arc = firstArc;
         while (arc != null) {
             arc.target.toStringRepresentation(out, level+2, arc.code);
             arc = arc.next;
         }
     }
 
-    /** pattern getter. */
-    public UriPattern getPattern() {
-        return pattern;
-    }
-
-    /** value getter. */
-    public Iterator<T> getValue() {
-        return value.getIterator();
-    }
-
-    /** wildcard getter. */
-    protected boolean isWildcard() {
-        return wildcard;
+    /**
+     * Get the ordered indexes of the candidate patterns. These are the
+     * patterns whose leading literal characters are a prefix of, or equal
+     * to, the characters leading to this node, and the patterns inherited
+     * by all nodes.
+     */
+    public int[] getCandidates() {
+        return candidates;
     }
 
     /** firstArch getter. */
-    protected TrieArc<T> getFirstArc() {
+    protected TrieArc getFirstArc() {
         return firstArc;
     }
 
@@ -268,7 +227,7 @@ public final class TrieNode<T> {
      * Pack and optimize the automata.
      */
     public void pack() {
-        TrieArc<T> arc = firstArc;
+        TrieArc arc = firstArc;
         while (arc != null) {
             arc.pack();
             arc = arc.next;
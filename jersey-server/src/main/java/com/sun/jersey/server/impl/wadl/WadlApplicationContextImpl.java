@@ -78,7 +78,8 @@ public class WadlApplicationContextImpl implements WadlApplicationContext {
     private boolean wadlGenerationEnabled = true;
     private final Set<AbstractResource> rootResources;
     private final WadlGeneratorConfig wadlGeneratorConfig;
-    private JAXBContext jaxbContext;
+    private volatile JAXBContext jaxbContext;
+    private boolean jaxbContextInitialized;
     private final Providers providers;
     private final FeaturesAndProperties fap;
 
@@ -90,25 +91,6 @@ public class WadlApplicationContextImpl implements WadlApplicationContext {
         this.wadlGeneratorConfig = WadlGeneratorConfigLoader.loadWadlGeneratorsFromConfig(resourceConfig);
         this.providers = providers;
         this.fap = resourceConfig;
-
-        try {
-            // TODO perhaps this should be done another way for the moment
-            // create a temporary generator just to do this one task
-            final WadlGenerator wadlGenerator = this.wadlGeneratorConfig.createWadlGenerator();
-            final String requiredJaxbContextPath = wadlGenerator.getRequiredJaxbContextPath();
-
-            this.jaxbContext = null;
-            try {
-                // the following works fine in WLS and non-GF environment
-                this.jaxbContext = JAXBContext.newInstance(requiredJaxbContextPath, wadlGenerator.getClass().getClassLoader());
-            } catch (JAXBException ex) {
-                // fallback for GF
-                LOG.log(Level.FINE, ex.getMessage(), ex);
-                this.jaxbContext = JAXBContext.newInstance(requiredJaxbContextPath);
-            }
-        } catch (JAXBException ex) {
-            LOG.log(Level.SEVERE, ex.getMessage(), ex);
-        }
     }
 
 //    public ApplicationDescription getApplication() {
@@ -168,7 +150,39 @@ public class WadlApplicationContextImpl implements WadlApplicationContext {
      */
     @Override
     public JAXBContext getJAXBContext() {
-        return jaxbContext;
+        JAXBContext c = jaxbContext;
+        if (c == null) {
+            synchronized (this) {
+                if (!jaxbContextInitialized) {
+                    // created on first use to keep it off the deployment path
+                    jaxbContext = createJAXBContext();
+                    jaxbContextInitialized = true;
+                }
+                c = jaxbContext;
+            }
+        }
+        return c;
+    }
+
+    private JAXBContext createJAXBContext() {
+        try {
+            // TODO perhaps this should be done another way for the moment
+            // create a temporary generator just to do this one task
+            final WadlGenerator wadlGenerator = this.wadlGeneratorConfig.createWadlGenerator();
+            final String requiredJaxbContextPath = wadlGenerator.getRequiredJaxbContextPath();
+
+            try {
+                // the following works fine in WLS and non-GF environment
+                return JAXBContext.newInstance(requiredJaxbContextPath, wadlGenerator.getClass().getClassLoader());
+            } catch (JAXBException ex) {
+                // fallback for GF
+                LOG.log(Level.FINE, ex.getMessage(), ex);
+                return JAXBContext.newInstance(requiredJaxbContextPath);
+            }
+        } catch (JAXBException ex) {
+            LOG.log(Level.SEVERE, ex.getMessage(), ex);
+            return null;
+        }
     }
 
     private WadlBuilder getWadlBuilder() {
@@ -40,13 +40,15 @@
 
 package com.sun.jersey.server.impl.wadl;
 
-import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.lang.annotation.Annotation;
 import java.net.URI;
-import java.text.SimpleDateFormat;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.Date;
 import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -55,6 +57,7 @@ import javax.ws.rs.Path;
 import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
 import javax.ws.rs.core.Context;
+import javax.ws.rs.core.EntityTag;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Request;
 import javax.ws.rs.core.Response;
@@ -72,6 +75,14 @@ import com.sun.jersey.spi.resource.Singleton;
 import com.sun.research.ws.wadl.Application;
 
 /**
+ * The resource serving the WADL of the application and the external grammars
+ * it refers to.
+ * <p>
+ * The WADL is generated on the first request for a given base URI and media
+ * type, serialized to bytes and then served from memory with a strong entity
+ * tag, such that conditional requests may be answered with 304 Not Modified.
+ * A reload of the application creates a new instance of this resource and
+ * hence regenerates the WADL.
  *
  * @author Paul.Sandoz@Sun.Com
  */
@@ -81,21 +92,31 @@ public final class WadlResource {
     public static final String HTTPDATEFORMAT = "EEE, dd MMM yyyy HH:mm:ss zzz";
     private static final Logger LOGGER = Logger.getLogger(WadlResource.class.getName());
 
-    private WadlApplicationContext wadlContext;
-    private URI lastBaseUri;
-    private byte[] cachedWadl;
-    private String lastModified;
-    private Variant lastVariant;
-    private ApplicationDescription applicationDescription;
+    /**
+     * The maximum number of cached representations, the base URI varies
+     * with the host name a client uses.
+     */
+    private static final int MAX_CACHED = 32;
+
+    private static final List<Variant> VARIANTS = Variant.mediaTypes(
+            MediaTypes.WADL, MediaTypes.WADL_JSON, MediaType.APPLICATION_XML_TYPE).add().build();
+
+    private final WadlApplicationContext wadlContext;
+    private final Date lastModified;
+    private final ConcurrentMap<URI, ApplicationDescription> descriptions =
+            new ConcurrentHashMap<URI, ApplicationDescription>();
+    private final ConcurrentMap<Key, CachedRepresentation> representations =
+            new ConcurrentHashMap<Key, CachedRepresentation>();
 
     public WadlResource(@Context WadlApplicationContext wadlContext) {
         this.wadlContext = wadlContext;
-        this.lastModified = new SimpleDateFormat(HTTPDATEFORMAT).format(new Date());
+        // HTTP dates have a precision of seconds
+        this.lastModified = new Date(System.currentTimeMillis() / 1000 * 1000);
     }
 
     @Produces({MediaTypes.WADL_STRING, MediaTypes.WADL_JSON_STRING, "application/xml"})
     @GET
-    public synchronized Response getWadl(
+    public Response getWadl(
             @Context Request request,
             @Context UriInfo uriInfo,
             @Context Providers providers) {
@@ -104,20 +125,15 @@ public final class WadlResource {
         }
 
         // Select the right variant based on the request type
-        List<Variant> vl = Variant.mediaTypes(MediaTypes.WADL, MediaTypes.WADL_JSON, MediaType.APPLICATION_XML_TYPE)
-            .add().build();
-        Variant v = request.selectVariant(vl);
+        Variant v = request.selectVariant(VARIANTS);
         if (v==null) {
-            return Response.notAcceptable(vl).build();
+            return Response.notAcceptable(VARIANTS).build();
         }
-        
-        // Update the last modified stamp
-        if (applicationDescription == null || ((lastBaseUri != null) && !lastBaseUri.equals(uriInfo.getBaseUri()) && !lastVariant.equals(v))) {
-            this.lastBaseUri = uriInfo.getBaseUri();
-            this.lastModified = new SimpleDateFormat(HTTPDATEFORMAT).format(new Date());
-            this.lastVariant = v;
-
-            applicationDescription = wadlContext.getApplication(uriInfo);
+
+        final Key key = new Key(uriInfo.getAbsolutePath(), v.getMediaType());
+        CachedRepresentation r = representations.get(key);
+        if (r == null) {
+            final ApplicationDescription applicationDescription = wadlContext.getApplication(uriInfo);
             final Application application = applicationDescription.getApplication();
 
             final ByteArrayOutputStream os = new ByteArrayOutputStream();
@@ -127,7 +143,6 @@ public final class WadlResource {
                     final Marshaller marshaller = wadlContext.getJAXBContext().createMarshaller();
                     marshaller.setProperty(Marshaller.JAXB_FORMATTED_OUTPUT, true);
                     marshaller.marshal(application, os);
-                    cachedWadl = os.toByteArray();
                     os.close();
                 } catch (Exception e) {
                     LOGGER.log(Level.WARNING, "Could not marshal wadl Application.", e);
@@ -142,22 +157,25 @@ public final class WadlResource {
 
                 try {
                     messageBodyWriter.writeTo(application, Application.class, null, new Annotation[0], v.getMediaType(), null  /* headers */, os);
-                    cachedWadl = os.toByteArray();
                     os.close();
                 } catch (Exception e) {
                     LOGGER.log(Level.WARNING, "Could not serialize wadl Application.", e);
                     return Response.serverError().build();
                 }
             }
+
+            cache(descriptions, uriInfo.getBaseUri(), applicationDescription);
+            r = cache(representations, key, new CachedRepresentation(v.getMediaType(), os.toByteArray()));
         }
 
-        return Response.ok(new ByteArrayInputStream(cachedWadl)).header("Last-modified", lastModified).build();
+        return ok(request, r);
     }
 
     @Produces({"*/*"})
     @GET
     @Path("{path}")
-    public synchronized Response geExternalGramar(
+    public Response geExternalGramar(
+        @Context Request request,
         @Context UriInfo uriInfo,
         @PathParam("path") String path) {
 
@@ -166,19 +184,97 @@ public final class WadlResource {
             return Response.status(Response.Status.NOT_FOUND).build();
         }
 
-        ApplicationDescription applicationDescription =
-            wadlContext.getApplication(uriInfo);
+        final Key key = new Key(uriInfo.getAbsolutePath(), null);
+        CachedRepresentation r = representations.get(key);
+        if (r == null) {
+            ApplicationDescription applicationDescription = descriptions.get(uriInfo.getBaseUri());
+            if (applicationDescription == null) {
+                applicationDescription = cache(descriptions, uriInfo.getBaseUri(),
+                        wadlContext.getApplication(uriInfo));
+            }
 
-        // Fail is we don't have any metadata for this path
-        ApplicationDescription.ExternalGrammar externalMetadata = applicationDescription.getExternalGrammar( path );
+            // Fail is we don't have any metadata for this path
+            ApplicationDescription.ExternalGrammar externalMetadata = applicationDescription.getExternalGrammar( path );
 
-        if( externalMetadata==null ) {
-            return Response.status(Response.Status.NOT_FOUND).build();
+            if( externalMetadata==null ) {
+                return Response.status(Response.Status.NOT_FOUND).build();
+            }
+
+            r = cache(representations, key,
+                    new CachedRepresentation(externalMetadata.getType(), externalMetadata.getContent()));
         }
 
         // Return the data
-        return Response.ok().type( externalMetadata.getType() )
-            .entity(externalMetadata.getContent())
-            .build();
+        return ok(request, r);
+    }
+
+    private Response ok(Request request, CachedRepresentation r) {
+        Response.ResponseBuilder rb = request.evaluatePreconditions(lastModified, r.tag);
+        if (rb != null) {
+            return rb.build();
+        }
+
+        return Response.ok(r.content, r.type).tag(r.tag).lastModified(lastModified).build();
+    }
+
+    private static <K, V> V cache(ConcurrentMap<K, V> m, K key, V value) {
+        if (m.size() >= MAX_CACHED) {
+            m.clear();
+        }
+        final V existing = m.putIfAbsent(key, value);
+        return (existing != null) ? existing : value;
+    }
+
+    private static final class Key {
+        private final URI uri;
+        private final MediaType mediaType;
+
+        Key(URI uri, MediaType mediaType) {
+            this.uri = uri;
+            this.mediaType = mediaType;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            final Key that = (Key) o;
+            return uri.equals(that.uri) &&
+                    (mediaType == null ? that.mediaType == null : mediaType.equals(that.mediaType));
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * uri.hashCode() + (mediaType == null ? 0 : mediaType.hashCode());
+        }
+    }
+
+    private static final class CachedRepresentation {
+        private final MediaType type;
+        private final byte[] content;
+        private final EntityTag tag;
+
+        CachedRepresentation(MediaType type, byte[] content) {
+            this.type = type;
+            this.content = content;
+            this.tag = new EntityTag(digest(content));
+        }
+
+        private static String digest(byte[] content) {
+            final MessageDigest md;
+            try {
+                md = MessageDigest.getInstance("MD5");
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException(e);
+            }
+
+            final StringBuilder sb = new StringBuilder();
+            for (byte b : md.digest(content)) {
+                sb.append(Character.forDigit((b >> 4) & 0xF, 16)).
+                        append(Character.forDigit(b & 0xF, 16));
+            }
+            return sb.toString();
+        }
     }
 }
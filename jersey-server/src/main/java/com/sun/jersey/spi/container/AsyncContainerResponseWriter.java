@@ -0,0 +1,80 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2026 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+
+package com.sun.jersey.spi.container;
+
+/**
+ * Containers that can complete a response after the container has returned
+ * from {@link WebApplication#handleRequest(ContainerRequest, ContainerResponseWriter)}
+ * implement this interface, enabling requests to be suspended using
+ * {@link com.sun.jersey.api.core.AsyncResponse} without blocking the
+ * container thread.
+ * <p>
+ * When a request is suspended {@link #suspend()} is invoked before
+ * {@link WebApplication#handleRequest(ContainerRequest, ContainerResponseWriter) }
+ * returns, after which the response may be written, from any thread, with
+ * {@link #resume()} invoked after the response has been written.
+ * <p>
+ * Otherwise, if the request is not suspended, the response is written, and
+ * neither {@link #suspend()} nor {@link #resume()} are invoked, before
+ * {@link WebApplication#handleRequest(ContainerRequest, ContainerResponseWriter) }
+ * returns.
+ *
+ * @author agent@local
+ */
+public interface AsyncContainerResponseWriter extends ContainerResponseWriter {
+
+    /**
+     * Suspend the response such that the response is not completed when
+     * the container returns from handling the request.
+     *
+     * @throws IllegalStateException if the response cannot be suspended,
+     *         in which case the container thread will wait until the request
+     *         is resumed.
+     */
+    void suspend() throws IllegalStateException;
+
+    /**
+     * Resume, and complete, the suspended response. The response has been
+     * written, or an attempt to write the response failed, when this method
+     * is invoked.
+     */
+    void resume();
+}
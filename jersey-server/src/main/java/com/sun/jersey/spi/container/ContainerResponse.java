@@ -45,8 +45,10 @@ import com.sun.jersey.api.Responses;
 import com.sun.jersey.api.container.MappableContainerException;
 import com.sun.jersey.api.core.HttpResponseContext;
 import com.sun.jersey.api.core.TraceInformation;
+import com.sun.jersey.api.representation.FileRegion;
 import com.sun.jersey.core.reflection.ReflectionHelper;
 import com.sun.jersey.core.spi.factory.ResponseImpl;
+import com.sun.jersey.core.util.FileRegionTransferable;
 import com.sun.jersey.server.impl.uri.rules.HttpMethodRule;
 import com.sun.jersey.spi.MessageBodyWorkers;
 import java.io.IOException;
@@ -114,7 +116,7 @@ public class ContainerResponse implements HttpResponseContext {
 
     private Annotation[] annotations = EMPTY_ANNOTATIONS;
 
-    private final class CommittingOutputStream extends OutputStream {
+    private final class CommittingOutputStream extends OutputStream implements FileRegionTransferable {
         private final long size;
 
         private OutputStream o;
@@ -152,6 +154,14 @@ public class ContainerResponse implements HttpResponseContext {
             o.close();
         }
 
+        @Override
+        public boolean transfer(FileRegion region) throws IOException {
+            commitWrite();
+            return (o instanceof FileRegionTransferable)
+                    ? ((FileRegionTransferable)o).transfer(region)
+                    : false;
+        }
+
         private void commitWrite() throws IOException {
             if (!isCommitted) {
                 if (getStatus() == 204)
@@ -42,6 +42,7 @@ package com.sun.jersey.spi.scanning;
 import java.io.IOException;
 import java.io.InputStream;
 import java.lang.annotation.Annotation;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.LinkedHashSet;
 import java.util.Set;
@@ -71,6 +72,9 @@ import jersey.repackaged.org.objectweb.asm.Opcodes;
  * <p>
  * Such an annotated Java class of a Java class file is loaded if the class
  * is public or is an inner class that is static and public.
+ * <p>
+ * Class files may be processed concurrently, for example by a
+ * {@link com.sun.jersey.core.spi.scanning.ParallelScannerListener}.
  *
  * @author Paul.Sandoz@Sun.Com
  */
@@ -81,8 +85,6 @@ public class AnnotationScannerListener implements ScannerListener {
 
     private final Set<String> annotations;
 
-    private final AnnotatedClassVisitor classVisitor;
-
     /**
      * Create a scanner listener to check for annotated Java classes in Java
      * class files.
@@ -106,9 +108,8 @@ public class AnnotationScannerListener implements ScannerListener {
     public AnnotationScannerListener(ClassLoader classloader,
                                      Class<? extends Annotation>... annotations) {
         this.classloader = classloader;
-        this.classes = new LinkedHashSet<Class<?>>();
+        this.classes = Collections.synchronizedSet(new LinkedHashSet<Class<?>>());
         this.annotations = getAnnotationSet(annotations);
-        this.classVisitor = new AnnotatedClassVisitor();
     }
 
     /**
@@ -135,7 +136,9 @@ public class AnnotationScannerListener implements ScannerListener {
     }
 
     public void onProcess(String name, InputStream in) throws IOException {
-        new ClassReader(in).accept(classVisitor, 0);
+        // A visitor per class file, since class files may be processed
+        // concurrently
+        new ClassReader(in).accept(new AnnotatedClassVisitor(), 0);
     }
 
     //
@@ -0,0 +1,550 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2026 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+
+package com.sun.jersey.spi.scanning;
+
+import com.sun.jersey.core.osgi.OsgiRegistry;
+import com.sun.jersey.core.reflection.ReflectionHelper;
+import com.sun.jersey.core.spi.scanning.ScannerListener;
+import java.io.BufferedInputStream;
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.MalformedURLException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLConnection;
+import java.security.AccessController;
+import java.security.PrivilegedActionException;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.jar.JarFile;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.zip.ZipEntry;
+import javax.ws.rs.Path;
+import javax.ws.rs.ext.Provider;
+
+/**
+ * Reads the index of root resource and provider classes written, at build
+ * time, by the {@link ResourceIndexProcessor} to a class path root, such as
+ * a directory or a jar file.
+ * <p>
+ * Classes are obtained from the index only if every class path root that
+ * would be scanned has an index, otherwise {@code null} is returned and the
+ * class path roots should be scanned. Indexed classes that are no longer
+ * annotated with {@link Path} or {@link Provider} are ignored.
+ * <p>
+ * An index declares the packages that were compiled when the index was
+ * written. The class files of the packages declared by the index are not
+ * scanned. The class files of other packages of a directory or jar file,
+ * for example those of libraries merged into a shaded jar file, are scanned.
+ * Several indexes appended to each other, for example when the indexes of
+ * several jar files are merged into a shaded jar file, are read as one index.
+ * <p>
+ * An index declaring a class that cannot be found, or an index of a
+ * directory or jar file containing a class file, of a package declared by
+ * the index, of a class that is not declared in the index, for example
+ * since the class has been added after the index was written, is considered
+ * out of date and is not utilized. A class file added to a package that is
+ * not declared in the index is scanned. The class files of a class path root
+ * that is not a directory or jar file cannot be verified or scanned, so an
+ * index of such a root is utilized as is.
+ *
+ * @author agent@local
+ */
+public final class ResourceIndex {
+    private static final Logger LOGGER = Logger.getLogger(ResourceIndex.class.getName());
+
+    /**
+     * The name of the index resource relative to a class path root.
+     * <p>
+     * The index is a UTF-8 encoded text file containing the binary name of a
+     * root resource or provider class on each line, or, prefixed with
+     * {@link #CLASS_PREFIX}, the binary name of another top-level class
+     * compiled to the class path root, or, prefixed with
+     * {@link #PACKAGE_PREFIX}, the name of a package compiled to the class
+     * path root. Empty lines and lines starting with '#' are ignored.
+     */
+    public static final String INDEX_RESOURCE = "META-INF/jersey/resource-index";
+
+    /**
+     * The prefix of a line of the index declaring a top-level class that is
+     * not a root resource or provider class.
+     */
+    public static final String CLASS_PREFIX = "class ";
+
+    /**
+     * The prefix of a line of the index declaring a package. The packages
+     * of the classes declared by the index are also declared.
+     */
+    public static final String PACKAGE_PREFIX = "package ";
+
+    private ResourceIndex() {
+    }
+
+    /**
+     * Get the indexed root resource and provider classes in packages, and
+     * their sub-packages.
+     *
+     * @param classloader the class loader to obtain the package resources
+     *        and load the classes.
+     * @param packages the package names.
+     * @return the classes, otherwise {@code null} if there is a class path root
+     *         of one of the packages without an index.
+     * @throws IOException if an error occurs reading an index.
+     */
+    public static Set<Class<?>> getPackageClasses(ClassLoader classloader, String[] packages)
+            throws IOException {
+        final Map<String, Index> indexes = new HashMap<String, Index>();
+        final Set<Class<?>> classes = new LinkedHashSet<Class<?>>();
+        final AnnotationScannerListener asl = new PathProviderScannerListener(classloader);
+        for (String p : packages) {
+            final String path = p.replace('.', '/');
+            if (path.length() == 0)
+                return null;
+
+            final Enumeration<URL> urls = classloader.getResources(path);
+            while (urls.hasMoreElements()) {
+                final String root = getRoot(urls.nextElement(), path);
+                if (root == null)
+                    return null;
+
+                Index index = indexes.get(root);
+                if (index == null) {
+                    index = read(root);
+                    if (index == null)
+                        return null;
+                    indexes.put(root, index);
+                }
+
+                if (!addClasses(classes, classloader, index, p + '.', path + '/', asl))
+                    return null;
+            }
+        }
+        classes.addAll(asl.getAnnotatedClasses());
+        return classes;
+    }
+
+    /**
+     * Get the indexed root resource and provider classes in directories
+     * and jar files.
+     *
+     * @param classloader the class loader to load the classes.
+     * @param files the directories and jar files.
+     * @return the classes, otherwise {@code null} if there is a directory
+     *         or jar file without an index.
+     * @throws IOException if an error occurs reading an index.
+     */
+    public static Set<Class<?>> getFileClasses(ClassLoader classloader, File[] files)
+            throws IOException {
+        final Set<Class<?>> classes = new LinkedHashSet<Class<?>>();
+        final AnnotationScannerListener asl = new PathProviderScannerListener(classloader);
+        for (File f : files) {
+            final Index index = read(f);
+            if (index == null)
+                return null;
+
+            if (!addClasses(classes, classloader, index, "", "", asl))
+                return null;
+        }
+        classes.addAll(asl.getAnnotatedClasses());
+        return classes;
+    }
+
+    private static String getRoot(URL u, String path) {
+        String s = u.toExternalForm();
+        if (s.endsWith("/")) {
+            s = s.substring(0, s.length() - 1);
+        }
+
+        return s.endsWith(path) ? s.substring(0, s.length() - path.length()) : null;
+    }
+
+    /**
+     * A read index.
+     */
+    private static final class Index {
+        final String location;
+
+        /**
+         * The directory or jar file, otherwise {@code null} if the class
+         * path root is not a file.
+         */
+        final File file;
+
+        /**
+         * The root resource and provider classes.
+         */
+        final Set<String> classNames = new LinkedHashSet<String>();
+
+        /**
+         * All the top-level classes.
+         */
+        final Set<String> topLevelClassNames = new HashSet<String>();
+
+        /**
+         * The packages.
+         */
+        final Set<String> packageNames = new HashSet<String>();
+
+        Index(String location, File file) {
+            this.location = location;
+            this.file = file;
+        }
+    }
+
+    private static Index read(String root) throws IOException {
+        final URL u;
+        final InputStream in;
+        try {
+            u = new URL(root + INDEX_RESOURCE);
+            // Do not cache, and lock, the jar file
+            final URLConnection uc = u.openConnection();
+            uc.setUseCaches(false);
+            in = uc.getInputStream();
+        } catch (MalformedURLException ex) {
+            return null;
+        } catch (IOException ex) {
+            // No index
+            return null;
+        }
+
+        final File f = getFile(root);
+        final Index index = read(u.toExternalForm(), f, in);
+        if (f == null) {
+            LOGGER.log(Level.INFO, "Using the resource index " + index.location +
+                    ", the index cannot be verified to be up to date");
+        }
+        return index;
+    }
+
+    private static Index read(File f) throws IOException {
+        if (f.isDirectory()) {
+            final File indexFile = new File(f, INDEX_RESOURCE);
+            if (!indexFile.isFile())
+                return null;
+
+            return read(indexFile.getPath(), f, new FileInputStream(indexFile));
+        } else if (f.isFile()) {
+            final JarFile jar = new JarFile(f);
+            try {
+                final ZipEntry e = jar.getEntry(INDEX_RESOURCE);
+                if (e == null)
+                    return null;
+
+                return read(f.getPath() + "!/" + INDEX_RESOURCE, f, jar.getInputStream(e));
+            } finally {
+                jar.close();
+            }
+        } else {
+            return null;
+        }
+    }
+
+    private static Index read(String location, File f, InputStream in) throws IOException {
+        final Index index = new Index(location, f);
+        final BufferedReader r = new BufferedReader(new InputStreamReader(in, "UTF-8"));
+        try {
+            String line;
+            while ((line = r.readLine()) != null) {
+                line = line.trim();
+                if (line.length() == 0 || line.charAt(0) == '#')
+                    continue;
+
+                if (line.startsWith(PACKAGE_PREFIX)) {
+                    index.packageNames.add(line.substring(PACKAGE_PREFIX.length()).trim());
+                } else if (line.startsWith(CLASS_PREFIX)) {
+                    addTopLevelClassName(index,
+                            line.substring(CLASS_PREFIX.length()).trim());
+                } else {
+                    index.classNames.add(line);
+                    addTopLevelClassName(index, line);
+                }
+            }
+        } finally {
+            r.close();
+        }
+        return index;
+    }
+
+    private static void addTopLevelClassName(Index index, String className) {
+        final String topLevelClassName = getTopLevelClassName(className);
+        index.topLevelClassNames.add(topLevelClassName);
+        index.packageNames.add(getPackageName(topLevelClassName));
+    }
+
+    /**
+     * Get the directory or jar file of a class path root URL.
+     *
+     * @return the directory or jar file, otherwise {@code null} if the class
+     *         path root is not a file.
+     */
+    private static File getFile(String root) {
+        String s = root;
+        if (s.startsWith("jar:") && s.endsWith("!/")) {
+            s = s.substring("jar:".length(), s.length() - "!/".length());
+        }
+        if (!s.startsWith("file:"))
+            return null;
+
+        try {
+            return new File(new URI(s));
+        } catch (URISyntaxException ex) {
+            return null;
+        } catch (IllegalArgumentException ex) {
+            return null;
+        }
+    }
+
+    /**
+     * Add the indexed classes under a path of a class path root, and scan
+     * the class files under the path of the packages not declared by the
+     * index.
+     *
+     * @param prefix the prefix of the names of the indexed classes to add.
+     * @param path the path of the class files to verify and scan, relative
+     *        to the class path root.
+     * @return false if the index is out of date.
+     */
+    private static boolean addClasses(Set<Class<?>> classes, ClassLoader classloader,
+            Index index, String prefix, String path, ScannerListener sl) throws IOException {
+        if (index.file != null && !isUpToDate(index, path, sl))
+            return false;
+
+        for (String className : index.classNames) {
+            if (className.startsWith(prefix) &&
+                    !addClass(classes, classloader, className))
+                return false;
+        }
+        return true;
+    }
+
+    /**
+     * Verify that every class file, of a package declared by the index,
+     * under a path of a directory or jar file is of a class declared by the
+     * index, and scan the class files of packages not declared by the index.
+     */
+    private static boolean isUpToDate(Index index, String path, ScannerListener sl) throws IOException {
+        final List<String> unindexed = new ArrayList<String>();
+        final String undeclared;
+        if (index.file.isDirectory()) {
+            undeclared = findUndeclaredFile(index, new File(index.file, path), path, unindexed);
+        } else {
+            undeclared = findUndeclaredFile(index, path, unindexed);
+        }
+
+        if (undeclared != null) {
+            LOGGER.log(Level.INFO, "The resource index " + index.location +
+                    " is out of date, the file " + undeclared +
+                    " is not declared in the index, the index is ignored");
+            return false;
+        }
+
+        if (unindexed.isEmpty()) {
+            LOGGER.log(Level.INFO, "Using the resource index " + index.location);
+        } else {
+            LOGGER.log(Level.INFO, "Using the resource index " + index.location +
+                    ", scanning " + unindexed.size() +
+                    " class files of packages not declared in the index");
+            scan(index.file, unindexed, sl);
+        }
+        return true;
+    }
+
+    private static String findUndeclaredFile(Index index, File dir, String path,
+            List<String> unindexed) {
+        final File[] files = dir.listFiles();
+        if (files == null)
+            return null;
+
+        for (File f : files) {
+            final String name = path + f.getName();
+            if (f.isDirectory()) {
+                if (!name.equals("META-INF")) {
+                    final String undeclared = findUndeclaredFile(index, f, name + '/', unindexed);
+                    if (undeclared != null)
+                        return undeclared;
+                }
+            } else if (name.endsWith(".jar")) {
+                // Jar files in a directory are scanned
+                return name;
+            } else if (!isIndexed(index, name, unindexed)) {
+                return name;
+            }
+        }
+        return null;
+    }
+
+    private static String findUndeclaredFile(Index index, String path,
+            List<String> unindexed) throws IOException {
+        final JarFile jar = new JarFile(index.file);
+        try {
+            final Enumeration<? extends ZipEntry> entries = jar.entries();
+            while (entries.hasMoreElements()) {
+                final ZipEntry e = entries.nextElement();
+                final String name = e.getName();
+                if (!e.isDirectory() && name.startsWith(path) &&
+                        !name.startsWith("META-INF/") && !isIndexed(index, name, unindexed))
+                    return name;
+            }
+        } finally {
+            jar.close();
+        }
+        return null;
+    }
+
+    /**
+     * Check if a file is of a class declared by the index, adding the class
+     * files of packages not declared by the index to the unindexed files.
+     *
+     * @return false if the file is a class file of a package declared by the
+     *         index of a class that is not declared.
+     */
+    private static boolean isIndexed(Index index, String path, List<String> unindexed) {
+        if (!path.endsWith(".class"))
+            return true;
+
+        final String className = toClassName(path);
+        final String simpleName = className.substring(className.lastIndexOf('.') + 1);
+        if (simpleName.equals("package-info") || simpleName.equals("module-info"))
+            return true;
+
+        if (!index.packageNames.contains(getPackageName(className))) {
+            unindexed.add(path);
+            return true;
+        }
+
+        return index.topLevelClassNames.contains(getTopLevelClassName(className));
+    }
+
+    private static void scan(File f, List<String> paths, ScannerListener sl) throws IOException {
+        if (f.isDirectory()) {
+            for (String path : paths) {
+                if (!sl.onAccept(path))
+                    continue;
+
+                final InputStream in = new BufferedInputStream(
+                        new FileInputStream(new File(f, path)));
+                try {
+                    sl.onProcess(path, in);
+                } finally {
+                    in.close();
+                }
+            }
+        } else {
+            final JarFile jar = new JarFile(f);
+            try {
+                for (String path : paths) {
+                    if (!sl.onAccept(path))
+                        continue;
+
+                    final InputStream in = jar.getInputStream(jar.getEntry(path));
+                    try {
+                        sl.onProcess(path, in);
+                    } finally {
+                        in.close();
+                    }
+                }
+            } finally {
+                jar.close();
+            }
+        }
+    }
+
+    private static String toClassName(String path) {
+        return path.substring(0, path.length() - ".class".length()).replace('/', '.');
+    }
+
+    private static String getPackageName(String className) {
+        final int i = className.lastIndexOf('.');
+        return (i == -1) ? "" : className.substring(0, i);
+    }
+
+    /**
+     * Get the name of the top-level class of a class, assuming the binary
+     * names of member, local and anonymous classes.
+     */
+    private static String getTopLevelClassName(String className) {
+        final int i = className.indexOf('$', className.lastIndexOf('.') + 1);
+        return (i == -1) ? className : className.substring(0, i);
+    }
+
+    private static boolean addClass(Set<Class<?>> classes, ClassLoader classloader, String className) {
+        final Class<?> c = getClassForName(classloader, className);
+        if (c == null) {
+            LOGGER.log(Level.CONFIG, "The class " + className +
+                    " is declared in a resource index but the class could not be found, " +
+                    "the index is ignored");
+            return false;
+        }
+
+        if (c.isAnnotationPresent(Path.class) || c.isAnnotationPresent(Provider.class)) {
+            classes.add(c);
+        }
+        return true;
+    }
+
+    private static Class<?> getClassForName(ClassLoader classloader, String className) {
+        try {
+            final OsgiRegistry osgiRegistry = ReflectionHelper.getOsgiRegistryInstance();
+
+            if (osgiRegistry != null) {
+                return osgiRegistry.classForNameWithException(className);
+            } else {
+                return AccessController.doPrivileged(ReflectionHelper.classForNameWithExceptionPEA(className, classloader));
+            }
+        } catch (ClassNotFoundException ex) {
+            return null;
+        } catch (PrivilegedActionException ex) {
+            return null;
+        }
+    }
+}
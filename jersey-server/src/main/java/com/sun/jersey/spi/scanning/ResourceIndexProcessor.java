@@ -0,0 +1,185 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2026 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+
+package com.sun.jersey.spi.scanning;
+
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.util.Set;
+import java.util.TreeSet;
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.TypeElement;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+
+/**
+ * An annotation processor that writes the index of root resource and
+ * provider classes, classes annotated with {@link javax.ws.rs.Path} or
+ * {@link javax.ws.rs.ext.Provider}, to the class output as the resource
+ * {@link ResourceIndex#INDEX_RESOURCE}.
+ * <p>
+ * When the index is present {@link com.sun.jersey.api.core.PackagesResourceConfig}
+ * and {@link com.sun.jersey.api.core.ClasspathResourceConfig} obtain the
+ * classes from the index rather than scanning the class files.
+ * <p>
+ * The processor is not registered as a service, and is enabled explicitly,
+ * for example with the javac option
+ * {@code -processor com.sun.jersey.spi.scanning.ResourceIndexProcessor}.
+ * The index is written from the classes compiled, so all the sources of the
+ * class output must be compiled together. A partial, incremental, compilation
+ * writes an incomplete index.
+ * <p>
+ * As for scanning, only classes that are public, or are public and static
+ * member classes, are indexed. All other top-level classes compiled, and
+ * their packages, are also declared in the index, such that a class file
+ * that is added to a package of the class output after the index is written,
+ * and is not declared in the index, identifies the index as out of date.
+ * The class files of other packages are scanned.
+ * <p>
+ * The index of a jar file applies to the packages compiled to the jar file,
+ * so a shaded jar file merging several jar files may contain the index of
+ * each jar file. The indexes should be appended to each other, for example
+ * with the {@code AppendingTransformer} of the Maven Shade Plugin and the
+ * resource {@value ResourceIndex#INDEX_RESOURCE}, otherwise the class files
+ * of the jar files whose index is not retained are scanned.
+ *
+ * @author agent@local
+ */
+@SupportedAnnotationTypes({"javax.ws.rs.Path", "javax.ws.rs.ext.Provider"})
+public class ResourceIndexProcessor extends AbstractProcessor {
+
+    private final Set<String> classNames = new TreeSet<String>();
+
+    private final Set<String> topLevelClassNames = new TreeSet<String>();
+
+    private final Set<String> packageNames = new TreeSet<String>();
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        if (roundEnv.processingOver()) {
+            write();
+            return false;
+        }
+
+        for (Element e : roundEnv.getRootElements()) {
+            if (e instanceof TypeElement) {
+                topLevelClassNames.add(processingEnv.getElementUtils().
+                        getBinaryName((TypeElement)e).toString());
+                packageNames.add(processingEnv.getElementUtils().
+                        getPackageOf(e).getQualifiedName().toString());
+            }
+        }
+
+        for (TypeElement annotation : annotations) {
+            for (Element e : roundEnv.getElementsAnnotatedWith(annotation)) {
+                if (e instanceof TypeElement && isScoped((TypeElement)e)) {
+                    classNames.add(processingEnv.getElementUtils().
+                            getBinaryName((TypeElement)e).toString());
+                }
+            }
+        }
+
+        // Do not claim the annotations
+        return false;
+    }
+
+    private boolean isScoped(TypeElement e) {
+        if (!e.getModifiers().contains(Modifier.PUBLIC))
+            return false;
+
+        switch (e.getNestingKind()) {
+            case TOP_LEVEL:
+                return true;
+            case MEMBER:
+                return e.getModifiers().contains(Modifier.STATIC) ||
+                        e.getKind().isInterface();
+            default:
+                return false;
+        }
+    }
+
+    private void write() {
+        try {
+            final FileObject f = processingEnv.getFiler().createResource(
+                    StandardLocation.CLASS_OUTPUT, "", ResourceIndex.INDEX_RESOURCE);
+            final Writer w = new OutputStreamWriter(f.openOutputStream(), "UTF-8");
+            try {
+                w.write("# Jersey root resource and provider classes\n");
+                for (String packageName : packageNames) {
+                    if (packageName.length() > 0) {
+                        w.write(ResourceIndex.PACKAGE_PREFIX);
+                        w.write(packageName);
+                        w.write('\n');
+                    }
+                }
+                for (String className : classNames) {
+                    w.write(className);
+                    w.write('\n');
+                }
+                for (String className : topLevelClassNames) {
+                    if (!classNames.contains(className)) {
+                        w.write(ResourceIndex.CLASS_PREFIX);
+                        w.write(className);
+                        w.write('\n');
+                    }
+                }
+            } finally {
+                w.close();
+            }
+        } catch (IOException ex) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                    "Error writing the Jersey resource index " +
+                    ResourceIndex.INDEX_RESOURCE + ": " + ex.getMessage());
+        }
+    }
+}
@@ -41,6 +41,7 @@ package com.sun.jersey.server.impl.application;
 
 import com.sun.jersey.core.header.InBoundHeaders;
 import com.sun.jersey.spi.container.ContainerRequest;
+import java.util.Arrays;
 import javax.ws.rs.core.UriBuilder;
 import org.junit.AfterClass;
 import org.junit.BeforeClass;
@@ -87,4 +88,43 @@ public class WebApplicationContextTest {
         assertEquals("one%20two/", instance.getMatchedURIs(false).get(0));
         assertEquals("one two/", instance.getMatchedURIs(true).get(0));
     }
+
+    @Test
+    public void testMatchedResourcesOrder() {
+        WebApplicationContext instance = new WebApplicationContext(wa,
+                new ContainerRequest(wa, "GET", UriBuilder.fromPath("http://localhost/").build(),
+                    UriBuilder.fromPath("http://localhost/a/b").build(), new InBoundHeaders(), null)
+                , null);
+        instance.pushResource("a");
+        instance.pushResource("b");
+        assertEquals(Arrays.asList("b", "a"), instance.getMatchedResources());
+    }
+
+    @Test
+    public void testReleaseAndRecycle() {
+        WebApplicationContext instance = new WebApplicationContext(wa,
+                new ContainerRequest(wa, "GET", UriBuilder.fromPath("http://localhost/").build(),
+                    UriBuilder.fromPath("http://localhost/one%20two/three%20four").build(), new InBoundHeaders(), null)
+                , null);
+        instance.pushResource("a");
+        instance.pushRightHandPathLength(12);
+        instance.release();
+
+        try {
+            instance.getMatchedURIs();
+            fail("IllegalStateException expected");
+        } catch (IllegalStateException e) {
+            // expected
+        }
+
+        instance.recycle(new ContainerRequest(wa, "GET", UriBuilder.fromPath("http://localhost/").build(),
+                    UriBuilder.fromPath("http://localhost/x/y").build(), new InBoundHeaders(), null)
+                , null);
+        assertTrue(instance.getMatchedURIs().isEmpty());
+        assertTrue(instance.getMatchedResources().isEmpty());
+        assertNull(instance.getMatchedMethod());
+
+        instance.pushRightHandPathLength(1);
+        assertEquals("x/", instance.getMatchedURIs().get(0));
+    }
 }
\ No newline at end of file
@@ -42,17 +42,48 @@ package com.sun.jersey.server.impl.application;
 
 import org.junit.*;
 import static org.junit.Assert.*;
+import com.sun.jersey.api.core.DefaultResourceConfig;
 import com.sun.jersey.spi.container.WebApplication;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
 
 /**
  * @author Yegor Bugayenko (yegor256@java.net)
  */
 public class WebApplicationImplTest {
 
+    @Path("/")
+    public static class Resource {
+        @GET
+        public String get() {
+            return "GET";
+        }
+    }
+
     @Test
     public void testInstantiatesWebApplicationImpl() {
         WebApplication app = new WebApplicationImpl();
         assertFalse(app.isInitiated());
     }
 
+    @Test
+    public void testScheduleTimeoutAfterDestroy() {
+        WebApplicationImpl app = new WebApplicationImpl();
+        app.initiate(new DefaultResourceConfig(Resource.class));
+        app.destroy();
+
+        try {
+            app.scheduleTimeout(new Runnable() {
+                @Override
+                public void run() {
+                }
+            }, 1, TimeUnit.SECONDS);
+            fail();
+        } catch (RejectedExecutionException e) {
+            // expected
+        }
+    }
+
 }
\ No newline at end of file
@@ -0,0 +1,290 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2026 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+
+package com.sun.jersey.server.impl.model.method.dispatch;
+
+import com.sun.jersey.spi.container.JavaMethodInvoker;
+import com.sun.jersey.spi.container.JavaMethodInvokerFactory;
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ *
+ * @author agent@local
+ */
+public class JavaMethodInvokerGeneratorTest {
+
+    public static class Resource {
+        public String concat(String s, int i, long l, boolean b, char c) {
+            return s + i + l + b + c;
+        }
+
+        public String widen(short s, int i, long l, float f, double d) {
+            return s + "," + i + "," + l + "," + f + "," + d;
+        }
+
+        public int primitive() {
+            return 42;
+        }
+
+        public void noReturn() {
+        }
+
+        public String[] array(String[] a) {
+            return a;
+        }
+
+        public String exception() throws IOException {
+            throw new IOException("exception");
+        }
+    }
+
+    public interface Interface {
+        String get();
+    }
+
+    public static class InterfaceResource implements Interface {
+        @Override
+        public String get() {
+            return "interface";
+        }
+    }
+
+    static class NonPublicResource {
+        public String get() {
+            return "non-public";
+        }
+    }
+
+    private static Method method(Class<?> c, String name) {
+        for (Method m : c.getDeclaredMethods()) {
+            if (m.getName().equals(name))
+                return m;
+        }
+        throw new IllegalArgumentException(name);
+    }
+
+    private static JavaMethodInvoker generate(Method m) {
+        final JavaMethodInvoker invoker = JavaMethodInvokerGenerator.getInvoker(m,
+                JavaMethodInvokerFactory.getDefault());
+        assertNotSame(JavaMethodInvokerFactory.getDefault(), invoker);
+        return invoker;
+    }
+
+    @Test
+    public void testParameters() throws Exception {
+        Method m = method(Resource.class, "concat");
+        assertEquals("a12truec", generate(m).invoke(m, new Resource(), "a", 1, 2L, true, 'c'));
+    }
+
+    @Test
+    public void testWidening() throws Exception {
+        Method m = method(Resource.class, "widen");
+        Object[][] args = {
+            {(byte)1, (byte)2, (byte)3, (byte)4, (byte)5},
+            {(short)1, (short)2, (short)3, (short)4, (short)5},
+            {(short)1, 'a', 'b', 'c', 'd'},
+            {(short)1, 2, 3, 4, 5},
+            {(short)1, 2, 3L, 4L, 5L},
+            {(short)1, 2, Long.MAX_VALUE, Long.MAX_VALUE, Long.MAX_VALUE},
+            {(short)1, 2, 3L, 4.5f, 5.5f},
+            {(short)1, 2, 3L, 4.5f, 5.5d}
+        };
+        for (Object[] a : args) {
+            assertEquals(m.invoke(new Resource(), a), generate(m).invoke(m, new Resource(), a));
+        }
+    }
+
+    @Test
+    public void testNarrowingArgumentTypeMismatch() throws Exception {
+        Method m = method(Resource.class, "widen");
+        Object[][] args = {
+            {1, 2, 3L, 4f, 5d},
+            {(short)1, 2L, 3L, 4f, 5d},
+            {(short)1, 2, 3f, 4f, 5d},
+            {(short)1, 2, 3L, 4d, 5d},
+            {(short)1, 2, 3L, 4f, true}
+        };
+        for (Object[] a : args) {
+            try {
+                m.invoke(new Resource(), a);
+                fail("IllegalArgumentException expected");
+            } catch (IllegalArgumentException e) {
+            }
+            try {
+                generate(m).invoke(m, new Resource(), a);
+                fail("IllegalArgumentException expected");
+            } catch (IllegalArgumentException e) {
+                assertTrue(e.getCause() instanceof ClassCastException);
+            }
+        }
+    }
+
+    @Test
+    public void testPrimitiveReturn() throws Exception {
+        Method m = method(Resource.class, "primitive");
+        assertEquals(42, generate(m).invoke(m, new Resource()));
+    }
+
+    @Test
+    public void testVoidReturn() throws Exception {
+        Method m = method(Resource.class, "noReturn");
+        assertNull(generate(m).invoke(m, new Resource()));
+    }
+
+    @Test
+    public void testArray() throws Exception {
+        Method m = method(Resource.class, "array");
+        String[] a = {"a"};
+        assertSame(a, generate(m).invoke(m, new Resource(), (Object)a));
+    }
+
+    @Test
+    public void testException() throws Exception {
+        Method m = method(Resource.class, "exception");
+        try {
+            generate(m).invoke(m, new Resource());
+            fail("InvocationTargetException expected");
+        } catch (InvocationTargetException e) {
+            assertTrue(e.getTargetException() instanceof IOException);
+        }
+    }
+
+    @Test
+    public void testInterface() throws Exception {
+        Method m = method(Interface.class, "get");
+        assertEquals("interface", generate(m).invoke(m, new InterfaceResource()));
+    }
+
+    @Test
+    public void testArgumentTypeMismatch() throws Exception {
+        Method m = method(Resource.class, "concat");
+        try {
+            generate(m).invoke(m, new Resource(), "a", "1", 2L, true, 'c');
+            fail("IllegalArgumentException expected");
+        } catch (IllegalArgumentException e) {
+            assertTrue(e.getCause() instanceof ClassCastException);
+        }
+    }
+
+    @Test
+    public void testNullPrimitiveArgument() throws Exception {
+        Method m = method(Resource.class, "concat");
+        try {
+            generate(m).invoke(m, new Resource(), "a", null, 2L, true, 'c');
+            fail("IllegalArgumentException expected");
+        } catch (IllegalArgumentException e) {
+            assertTrue(e.getCause() instanceof NullPointerException);
+        }
+    }
+
+    @Test
+    public void testResourceTypeMismatch() throws Exception {
+        Method m = method(Resource.class, "primitive");
+        try {
+            generate(m).invoke(m, new InterfaceResource());
+            fail("IllegalArgumentException expected");
+        } catch (IllegalArgumentException e) {
+        }
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void testNullResource() throws Exception {
+        Method m = method(Resource.class, "primitive");
+        generate(m).invoke(m, null);
+    }
+
+    @Test
+    public void testWrongNumberOfArguments() throws Exception {
+        Method m = method(Resource.class, "array");
+        try {
+            generate(m).invoke(m, new Resource());
+            fail("IllegalArgumentException expected");
+        } catch (IllegalArgumentException e) {
+        }
+        try {
+            generate(m).invoke(m, new Resource(), (Object[])null);
+            fail("IllegalArgumentException expected");
+        } catch (IllegalArgumentException e) {
+        }
+
+        m = method(Resource.class, "primitive");
+        assertEquals(42, generate(m).invoke(m, new Resource(), (Object[])null));
+        try {
+            generate(m).invoke(m, new Resource(), "a");
+            fail("IllegalArgumentException expected");
+        } catch (IllegalArgumentException e) {
+        }
+    }
+
+    @Test
+    public void testSharedClassLoader() throws Exception {
+        ClassLoader a = generate(method(Resource.class, "primitive")).getClass().getClassLoader();
+        ClassLoader b = generate(method(Resource.class, "noReturn")).getClass().getClassLoader();
+        assertSame(a, b);
+        assertSame(Resource.class.getClassLoader(), a.getParent());
+    }
+
+    @Test
+    public void testCachedInvoker() throws Exception {
+        Method m = method(Resource.class, "primitive");
+        assertSame(generate(m), generate(m));
+        assertSame(generate(m), generate(Resource.class.getMethod("primitive")));
+        assertNotSame(generate(m), generate(method(Resource.class, "noReturn")));
+    }
+
+    @Test
+    public void testNotVarArgs() throws Exception {
+        Method m = method(Resource.class, "primitive");
+        Method invoke = generate(m).getClass().getMethod("invoke",
+                Method.class, Object.class, Object[].class);
+        assertFalse(invoke.isVarArgs());
+    }
+
+    @Test
+    public void testNonPublicFallback() {
+        Method m = method(NonPublicResource.class, "get");
+        assertSame(JavaMethodInvokerFactory.getDefault(),
+                JavaMethodInvokerGenerator.getInvoker(m, JavaMethodInvokerFactory.getDefault()));
+    }
+}
@@ -1,7 +1,7 @@
 /*
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
  *
- * Copyright (c) 2010-2011 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2010-2013 Oracle and/or its affiliates. All rights reserved.
  *
  * The contents of this file are subject to the terms of either the GNU
  * General Public License Version 2 only ("GPL") or the Common Development
@@ -178,7 +178,9 @@ public class JerseyServletContainerInitializer implements ServletContainerInitia
             final Set<Class<?>> x = getRootResourceAndProviderClasses(classes);
             final ServletContainer s = new ServletContainer(
                     new DefaultResourceConfig(x));
-            appReg = sc.addServlet(appReg.getName(), s);
+            final ServletRegistration.Dynamic dynamicReg = sc.addServlet(appReg.getName(), s);
+            dynamicReg.setAsyncSupported(true);
+            appReg = dynamicReg;
 
             if (appReg.getMappings().isEmpty()) {
                 // Error
@@ -204,8 +206,9 @@ public class JerseyServletContainerInitializer implements ServletContainerInitia
 
             final String mapping = createMappingPath(ap);
             if (!mappingExists(sc, mapping)) {
-                sc.addServlet(a.getName(), s).
-                        addMapping(mapping);
+                final ServletRegistration.Dynamic dynamicReg = sc.addServlet(a.getName(), s);
+                dynamicReg.setAsyncSupported(true);
+                dynamicReg.addMapping(mapping);
 
                 LOGGER.info("Registering the Jersey servlet application, named " +
                         a.getName() +
@@ -235,7 +238,9 @@ public class JerseyServletContainerInitializer implements ServletContainerInitia
             rc.setPropertiesAndFeatures(initParams);
 
             final ServletContainer s = new ServletContainer(rc);
-            sr = sc.addServlet(a.getName(), s);
+            final ServletRegistration.Dynamic dynamicReg = sc.addServlet(a.getName(), s);
+            dynamicReg.setAsyncSupported(true);
+            sr = dynamicReg;
             if (sr.getMappings().isEmpty()) {
                 final ApplicationPath ap = a.getAnnotation(ApplicationPath.class);
                 if (ap != null) {
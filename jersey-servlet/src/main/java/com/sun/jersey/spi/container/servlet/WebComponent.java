@@ -40,10 +40,10 @@
 
 package com.sun.jersey.spi.container.servlet;
 
-import java.io.BufferedInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.io.PushbackInputStream;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Proxy;
 import java.lang.reflect.Type;
@@ -70,6 +70,7 @@ import javax.ws.rs.core.Response;
 import javax.ws.rs.core.SecurityContext;
 
 import javax.naming.NamingException;
+import javax.servlet.AsyncContext;
 import javax.servlet.ServletContext;
 import javax.servlet.ServletException;
 import javax.servlet.http.HttpServletRequest;
@@ -87,7 +88,6 @@ import com.sun.jersey.api.representation.Form;
 import com.sun.jersey.core.header.InBoundHeaders;
 import com.sun.jersey.core.header.MediaTypes;
 import com.sun.jersey.core.reflection.ReflectionHelper;
-import com.sun.jersey.core.util.ReaderWriter;
 import com.sun.jersey.server.impl.InitialContextHelper;
 import com.sun.jersey.server.impl.ThreadLocalInvoker;
 import com.sun.jersey.server.impl.application.DeferredResourceConfig;
@@ -98,11 +98,11 @@ import com.sun.jersey.server.impl.managedbeans.ManagedBeanComponentProviderFacto
 import com.sun.jersey.server.impl.model.method.dispatch.FormDispatchProvider;
 import com.sun.jersey.server.impl.monitoring.GlassFishMonitoringInitializer;
 import com.sun.jersey.server.probes.UriRuleProbeProvider;
+import com.sun.jersey.spi.container.AsyncContainerResponseWriter;
 import com.sun.jersey.spi.container.ContainerListener;
 import com.sun.jersey.spi.container.ContainerNotifier;
 import com.sun.jersey.spi.container.ContainerRequest;
 import com.sun.jersey.spi.container.ContainerResponse;
-import com.sun.jersey.spi.container.ContainerResponseWriter;
 import com.sun.jersey.spi.container.ReloadListener;
 import com.sun.jersey.spi.container.WebApplication;
 import com.sun.jersey.spi.container.WebApplicationFactory;
@@ -232,7 +232,9 @@ public class WebComponent implements ContainerListener {
             application.destroy();
     }
 
-    private final static class Writer extends OutputStream implements ContainerResponseWriter {
+    private final static class Writer extends OutputStream implements AsyncContainerResponseWriter {
+        final HttpServletRequest request;
+
         final HttpServletResponse response;
 
         ContainerResponse cResponse;
@@ -243,10 +245,35 @@ public class WebComponent implements ContainerListener {
 
         boolean statusAndHeadersWritten = false;
 
-        Writer(HttpServletResponse response) {
+        volatile AsyncContext asyncContext;
+
+        Writer(HttpServletRequest request, HttpServletResponse response) {
+            this.request = request;
             this.response = response;
         }
 
+        public void suspend() {
+            try {
+                if (!request.isAsyncSupported()) {
+                    throw new IllegalStateException("Asynchronous processing is not " +
+                            "supported for the request, the Servlet or Filter is not " +
+                            "configured to support asynchronous processing");
+                }
+
+                final AsyncContext ac = request.startAsync();
+                // Jersey times out suspended requests
+                ac.setTimeout(0);
+                asyncContext = ac;
+            } catch (NoSuchMethodError e) {
+                throw new IllegalStateException("Asynchronous processing requires " +
+                        "a Servlet 3.0 container", e);
+            }
+        }
+
+        public void resume() {
+            asyncContext.complete();
+        }
+
         public OutputStream writeStatusAndHeaders(long contentLength,
                                                   ContainerResponse cResponse) throws IOException {
             this.contentLength = contentLength;
@@ -354,7 +381,9 @@ public class WebComponent implements ContainerListener {
      * @param response   the {@link HttpServletResponse} object that
      *                   contains the response the Web component returns
      *                   to the client.
-     * @return the status code of the response.
+     * @return the status code of the response, or -1 if the request has
+     *         been suspended and the response will be written
+     *         asynchronously.
      * @throws IOException      if an input or output error occurs
      *                          while the Web component is handling the
      *                          HTTP request.
@@ -405,9 +434,9 @@ public class WebComponent implements ContainerListener {
             requestInvoker.set(request);
             responseInvoker.set(response);
 
-            final Writer w = new Writer(response);
+            final Writer w = new Writer(request, response);
             _application.handleRequest(cRequest, w);
-            return w.cResponse.getStatus();
+            return (w.asyncContext != null) ? -1 : w.cResponse.getStatus();
         } catch (WebApplicationException ex) {
             final Response exResponse = ex.getResponse();
             final String entity = exResponse.getEntity() != null ? exResponse.getEntity().toString() : null;
@@ -859,16 +888,25 @@ public class WebComponent implements ContainerListener {
 
     private boolean isEntityPresent(ContainerRequest cr) throws IOException {
         InputStream in = cr.getEntityInputStream();
-        if (!in.markSupported()) {
-            in = new BufferedInputStream(in, ReaderWriter.BUFFER_SIZE);
-            cr.setEntityInputStream(in);
+        if (in.markSupported()) {
+            in.mark(1);
+            if (in.read() == -1)
+                return false;
+            else {
+                in.reset();
+                return true;
+            }
         }
 
-        in.mark(1);
-        if (in.read() == -1)
+        // Only one byte is required to be read ahead so avoid
+        // buffering the entity
+        final PushbackInputStream pin = new PushbackInputStream(in, 1);
+        final int b = pin.read();
+        if (b == -1)
             return false;
         else {
-            in.reset();
+            pin.unread(b);
+            cr.setEntityInputStream(pin);
             return true;
         }
     }
@@ -0,0 +1,260 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2026 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+
+package com.sun.jersey.spi.container.servlet;
+
+import com.sun.jersey.api.core.AsyncResponse;
+import com.sun.jersey.api.core.DefaultResourceConfig;
+import com.sun.jersey.api.core.ResourceConfig;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.net.URI;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import javax.servlet.AsyncContext;
+import javax.servlet.ServletContext;
+import javax.servlet.ServletException;
+import javax.servlet.ServletInputStream;
+import javax.servlet.ServletOutputStream;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.core.Context;
+import junit.framework.TestCase;
+
+/**
+ * Tests the suspension of requests using the Servlet 3.0 asynchronous
+ * processing of a request.
+ *
+ * @author agent@local
+ */
+public class WebComponentAsyncTest extends TestCase {
+
+    private static volatile AsyncResponse asyncResponse;
+
+    @Path("/")
+    public static class AsyncResource {
+        @Context AsyncResponse ar;
+
+        @GET
+        @Path("suspend")
+        public void suspend() {
+            ar.suspend();
+            asyncResponse = ar;
+        }
+
+        @GET
+        @Path("not-suspended")
+        public String notSuspended() {
+            asyncResponse = ar;
+            return "NOT SUSPENDED";
+        }
+    }
+
+    /**
+     * Records the invoked methods of a proxy and returns the configured
+     * value, or the default value, of a method.
+     */
+    private static class Recorder implements InvocationHandler {
+        final List<String> invoked = new CopyOnWriteArrayList<String>();
+
+        final Map<String, Object> values = new HashMap<String, Object>();
+
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            invoked.add(method.getName());
+            if (values.containsKey(method.getName())) {
+                return values.get(method.getName());
+            }
+
+            final Class<?> type = method.getReturnType();
+            if (type == boolean.class) {
+                return false;
+            } else if (type == int.class) {
+                return 0;
+            } else if (type == long.class) {
+                return 0L;
+            } else if (type == Enumeration.class) {
+                return Collections.enumeration(Collections.emptyList());
+            } else {
+                return null;
+            }
+        }
+    }
+
+    private static <T> T proxy(Class<T> c, Recorder recorder) {
+        return c.cast(Proxy.newProxyInstance(WebComponentAsyncTest.class.getClassLoader(),
+                new Class[] { c }, recorder));
+    }
+
+    public WebComponentAsyncTest(String testName) {
+        super(testName);
+    }
+
+    private final Recorder request = new Recorder();
+
+    private final Recorder response = new Recorder();
+
+    private final Recorder asyncContext = new Recorder();
+
+    private final ByteArrayOutputStream entity = new ByteArrayOutputStream();
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        asyncResponse = null;
+
+        request.values.put("getMethod", "GET");
+        request.values.put("getInputStream", new ServletInputStream() {
+            @Override
+            public int read() {
+                return -1;
+            }
+        });
+        request.values.put("startAsync", proxy(AsyncContext.class, asyncContext));
+
+        response.values.put("getOutputStream", new ServletOutputStream() {
+            @Override
+            public void write(int b) {
+                entity.write(b);
+            }
+        });
+    }
+
+    private static WebComponent createWebComponent(ResourceConfig rc) throws ServletException {
+        final ServletContext sc = proxy(ServletContext.class, new Recorder());
+
+        final WebComponent wc = new WebComponent(rc);
+        wc.init(new WebConfig() {
+            public ConfigType getConfigType() {
+                return ConfigType.ServletConfig;
+            }
+
+            public String getName() {
+                return "async";
+            }
+
+            public String getInitParameter(String name) {
+                return null;
+            }
+
+            public Enumeration getInitParameterNames() {
+                return Collections.enumeration(Collections.emptyList());
+            }
+
+            public ServletContext getServletContext() {
+                return sc;
+            }
+
+            public ResourceConfig getDefaultResourceConfig(Map<String, Object> props) {
+                throw new UnsupportedOperationException();
+            }
+        });
+        return wc;
+    }
+
+    private int service(WebComponent wc, String path) throws ServletException, IOException {
+        return wc.service(URI.create("http://localhost/"), URI.create("http://localhost/" + path),
+                proxy(HttpServletRequest.class, request), proxy(HttpServletResponse.class, response));
+    }
+
+    public void testSuspend() throws Exception {
+        request.values.put("isAsyncSupported", true);
+        final WebComponent wc = createWebComponent(new DefaultResourceConfig(AsyncResource.class));
+        try {
+            assertEquals(-1, service(wc, "suspend"));
+            assertTrue(request.invoked.contains("startAsync"));
+            assertTrue(asyncContext.invoked.contains("setTimeout"));
+            assertFalse(asyncContext.invoked.contains("complete"));
+            assertFalse(response.invoked.contains("setStatus"));
+
+            final Thread t = new Thread() {
+                @Override
+                public void run() {
+                    asyncResponse.resume("RESUMED");
+                }
+            };
+            t.start();
+            t.join();
+
+            assertTrue(response.invoked.contains("setStatus"));
+            assertEquals("RESUMED", entity.toString("UTF-8"));
+            assertTrue(asyncContext.invoked.contains("complete"));
+            assertFalse(asyncResponse.resume("AGAIN"));
+        } finally {
+            wc.destroy();
+        }
+    }
+
+    public void testNotSuspended() throws Exception {
+        request.values.put("isAsyncSupported", true);
+        final WebComponent wc = createWebComponent(new DefaultResourceConfig(AsyncResource.class));
+        try {
+            assertEquals(200, service(wc, "not-suspended"));
+            assertFalse(request.invoked.contains("startAsync"));
+            assertEquals("NOT SUSPENDED", entity.toString("UTF-8"));
+            assertTrue(asyncResponse.isDone());
+            assertFalse(asyncResponse.resume("LATE"));
+        } finally {
+            wc.destroy();
+        }
+    }
+
+    public void testAsyncNotSupported() throws Exception {
+        final ResourceConfig rc = new DefaultResourceConfig(AsyncResource.class);
+        rc.getProperties().put(ResourceConfig.PROPERTY_ASYNC_BLOCKING_TIMEOUT, 100);
+        final WebComponent wc = createWebComponent(rc);
+        try {
+            // The container thread waits for the blocking timeout
+            assertEquals(503, service(wc, "suspend"));
+            assertFalse(request.invoked.contains("startAsync"));
+            assertTrue(asyncResponse.isDone());
+        } finally {
+            wc.destroy();
+        }
+    }
+}
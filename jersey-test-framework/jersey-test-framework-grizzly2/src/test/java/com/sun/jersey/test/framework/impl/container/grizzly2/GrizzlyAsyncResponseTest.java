@@ -0,0 +1,139 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2026 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+
+package com.sun.jersey.test.framework.impl.container.grizzly2;
+
+import com.sun.jersey.api.client.ClientResponse;
+import com.sun.jersey.api.client.WebResource;
+import com.sun.jersey.api.core.AsyncResponse;
+import com.sun.jersey.api.core.DefaultResourceConfig;
+import com.sun.jersey.api.core.ResourceConfig;
+import com.sun.jersey.test.framework.JerseyTest;
+import com.sun.jersey.test.framework.LowLevelAppDescriptor;
+import com.sun.jersey.test.framework.spi.container.TestContainerFactory;
+import com.sun.jersey.test.framework.spi.container.grizzly2.GrizzlyTestContainerFactory;
+import java.util.concurrent.TimeUnit;
+import org.junit.Assert;
+import org.junit.Test;
+
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.core.Context;
+
+/**
+ *
+ * @author agent@local
+ */
+public class GrizzlyAsyncResponseTest extends JerseyTest {
+
+    @Override
+    protected TestContainerFactory getTestContainerFactory() {
+        return new GrizzlyTestContainerFactory();
+    }
+
+    @Path("root")
+    public static class AsyncResource {
+        @GET
+        @Path("resume")
+        public void resume(@Context final AsyncResponse ar) {
+            ar.suspend();
+            new Thread() {
+                @Override
+                public void run() {
+                    try {
+                        Thread.sleep(100);
+                    } catch (InterruptedException ex) {
+                    }
+                    ar.resume("RESUMED");
+                }
+            }.start();
+        }
+
+        @GET
+        @Path("timeout")
+        public void timeout(@Context AsyncResponse ar) {
+            ar.suspend();
+            ar.setTimeout(100, TimeUnit.MILLISECONDS);
+        }
+
+        @GET
+        @Path("not-suspended")
+        public String notSuspended(@Context AsyncResponse ar) {
+            return "NOT SUSPENDED";
+        }
+    }
+
+    protected static ResourceConfig getResourceConfig() {
+        return new DefaultResourceConfig(AsyncResource.class);
+    }
+
+    public GrizzlyAsyncResponseTest() {
+        this(getResourceConfig());
+    }
+
+    protected GrizzlyAsyncResponseTest(ResourceConfig rc) {
+        super(new LowLevelAppDescriptor.Builder(rc).
+                contextPath("context").
+                build());
+    }
+
+    @Test
+    public void testResume() {
+        WebResource r = resource().path("root/resume");
+
+        for (int i = 0; i < 3; i++) {
+            Assert.assertEquals("RESUMED", r.get(String.class));
+        }
+    }
+
+    @Test
+    public void testTimeout() {
+        WebResource r = resource().path("root/timeout");
+
+        Assert.assertEquals(503, r.get(ClientResponse.class).getStatus());
+    }
+
+    @Test
+    public void testNotSuspended() {
+        WebResource r = resource().path("root/not-suspended");
+
+        Assert.assertEquals("NOT SUSPENDED", r.get(String.class));
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2026 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+
+package com.sun.jersey.test.framework.impl.container.grizzly2;
+
+import com.sun.jersey.api.client.ClientResponse;
+import com.sun.jersey.api.client.WebResource;
+import com.sun.jersey.api.container.grizzly2.GrizzlyServerFactory;
+import com.sun.jersey.api.core.DefaultResourceConfig;
+import com.sun.jersey.api.core.ResourceConfig;
+import com.sun.jersey.test.framework.JerseyTest;
+import com.sun.jersey.test.framework.LowLevelAppDescriptor;
+import com.sun.jersey.test.framework.spi.container.TestContainerFactory;
+import com.sun.jersey.test.framework.spi.container.grizzly2.GrizzlyTestContainerFactory;
+import java.util.concurrent.ExecutorService;
+import org.junit.Assert;
+import org.junit.Test;
+
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+
+/**
+ *
+ * @author agent@local
+ */
+public class GrizzlyExecutorTest extends JerseyTest {
+
+    private static final ExecutorService EXECUTOR = GrizzlyServerFactory.createRequestExecutor(4);
+
+    @Override
+    protected TestContainerFactory getTestContainerFactory() {
+        return new GrizzlyTestContainerFactory();
+    }
+
+    @Path("root")
+    public static class TestResource {
+        @GET
+        public String get() {
+            // Virtual threads are unnamed
+            final String name = Thread.currentThread().getName();
+            return (name.length() == 0 || name.startsWith("jersey-grizzly2-request-"))
+                    ? "executor" : name;
+        }
+
+        @Path("exception")
+        @GET
+        public String getException() {
+            throw new IllegalStateException();
+        }
+    }
+
+    private static ResourceConfig getResourceConfig() {
+        ResourceConfig rc = new DefaultResourceConfig(TestResource.class);
+        rc.getProperties().put(GrizzlyServerFactory.PROPERTY_REQUEST_EXECUTOR, EXECUTOR);
+        return rc;
+    }
+
+    public GrizzlyExecutorTest() {
+        super(new LowLevelAppDescriptor.Builder(getResourceConfig()).
+                contextPath("context").
+                build());
+    }
+
+    @Test
+    public void testGet() {
+        WebResource r = resource().path("root");
+
+        for (int i = 0; i < 10; i++) {
+            Assert.assertEquals("executor", r.get(String.class));
+        }
+    }
+
+    @Test
+    public void testException() {
+        WebResource r = resource().path("root/exception");
+
+        Assert.assertEquals(500, r.get(ClientResponse.class).getStatus());
+    }
+}
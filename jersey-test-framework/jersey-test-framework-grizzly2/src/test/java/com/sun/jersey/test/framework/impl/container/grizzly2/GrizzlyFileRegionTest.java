@@ -0,0 +1,198 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2026 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+
+package com.sun.jersey.test.framework.impl.container.grizzly2;
+
+import com.sun.jersey.api.client.ClientResponse;
+import com.sun.jersey.api.client.WebResource;
+import com.sun.jersey.api.container.filter.RangeFilter;
+import com.sun.jersey.api.core.DefaultResourceConfig;
+import com.sun.jersey.api.core.ResourceConfig;
+import com.sun.jersey.api.representation.FileRegion;
+import com.sun.jersey.test.framework.JerseyTest;
+import com.sun.jersey.test.framework.LowLevelAppDescriptor;
+import com.sun.jersey.test.framework.spi.container.TestContainerFactory;
+import com.sun.jersey.test.framework.spi.container.grizzly2.GrizzlyTestContainerFactory;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Random;
+import org.junit.AfterClass;
+import org.junit.Assert;
+import org.junit.Test;
+
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.Produces;
+
+/**
+ * Files and file regions are transferred by the Grizzly container using
+ * sendfile when the region is the sole entity of the response, otherwise
+ * they are copied.
+ *
+ * @author agent@local
+ */
+public class GrizzlyFileRegionTest extends JerseyTest {
+
+    private static final int SIZE = 256 * 1024 + 7;
+
+    private static final byte[] CONTENT = new byte[SIZE];
+
+    private static final File FILE;
+
+    static {
+        new Random(SIZE).nextBytes(CONTENT);
+        try {
+            FILE = File.createTempFile("region", "bin");
+            final FileOutputStream out = new FileOutputStream(FILE);
+            try {
+                out.write(CONTENT);
+            } finally {
+                out.close();
+            }
+        } catch (IOException ex) {
+            throw new ExceptionInInitializerError(ex);
+        }
+    }
+
+    @AfterClass
+    public static void deleteFile() {
+        FILE.delete();
+    }
+
+    @Override
+    protected TestContainerFactory getTestContainerFactory() {
+        return new GrizzlyTestContainerFactory();
+    }
+
+    @Path("root")
+    public static class TestResource {
+        @GET
+        @Produces("application/octet-stream")
+        public File get() {
+            return FILE;
+        }
+
+        @Path("region")
+        @GET
+        @Produces("application/octet-stream")
+        public FileRegion getRegion() {
+            return new FileRegion(FILE, 1000, 100 * 1024);
+        }
+    }
+
+    private static ResourceConfig getResourceConfig() {
+        ResourceConfig rc = new DefaultResourceConfig(TestResource.class);
+        rc.getProperties().put(ResourceConfig.PROPERTY_CONTAINER_RESPONSE_FILTERS,
+                RangeFilter.class.getName());
+        return rc;
+    }
+
+    public GrizzlyFileRegionTest() {
+        super(new LowLevelAppDescriptor.Builder(getResourceConfig()).
+                contextPath("context").
+                build());
+    }
+
+    private static byte[] content(int from, int to) {
+        return Arrays.copyOfRange(CONTENT, from, to);
+    }
+
+    @Test
+    public void testFile() {
+        WebResource r = resource().path("root");
+
+        for (int i = 0; i < 3; i++) {
+            ClientResponse cr = r.get(ClientResponse.class);
+            Assert.assertEquals(200, cr.getStatus());
+            Assert.assertEquals(Integer.toString(SIZE), cr.getHeaders().getFirst("Content-Length"));
+            Assert.assertNull(cr.getHeaders().getFirst("Transfer-Encoding"));
+            Assert.assertArrayEquals(CONTENT, cr.getEntity(byte[].class));
+        }
+    }
+
+    @Test
+    public void testFileRegion() {
+        WebResource r = resource().path("root/region");
+
+        ClientResponse cr = r.get(ClientResponse.class);
+        Assert.assertEquals(200, cr.getStatus());
+        Assert.assertEquals(Integer.toString(100 * 1024), cr.getHeaders().getFirst("Content-Length"));
+        Assert.assertArrayEquals(content(1000, 1000 + 100 * 1024), cr.getEntity(byte[].class));
+    }
+
+    @Test
+    public void testSingleRange() {
+        WebResource r = resource().path("root");
+
+        ClientResponse cr = r.header("Range", "bytes=10-70009").get(ClientResponse.class);
+        Assert.assertEquals(206, cr.getStatus());
+        Assert.assertEquals("bytes 10-70009/" + SIZE, cr.getHeaders().getFirst("Content-Range"));
+        Assert.assertArrayEquals(content(10, 70010), cr.getEntity(byte[].class));
+    }
+
+    @Test
+    public void testMultipleRanges() {
+        // The regions are written after the part headers so are copied
+        WebResource r = resource().path("root");
+
+        ClientResponse cr = r.header("Range", "bytes=0-1,20000-20002").get(ClientResponse.class);
+        Assert.assertEquals(206, cr.getStatus());
+        String contentType = cr.getHeaders().getFirst("Content-Type");
+        Assert.assertTrue(contentType.startsWith("multipart/byteranges; boundary="));
+
+        byte[] entity = cr.getEntity(byte[].class);
+        Assert.assertTrue(contains(entity, content(0, 2)));
+        Assert.assertTrue(contains(entity, content(20000, 20003)));
+    }
+
+    private static boolean contains(byte[] b, byte[] sub) {
+        outer:
+        for (int i = 0; i <= b.length - sub.length; i++) {
+            for (int j = 0; j < sub.length; j++) {
+                if (b[i + j] != sub[j])
+                    continue outer;
+            }
+            return true;
+        }
+        return false;
+    }
+}
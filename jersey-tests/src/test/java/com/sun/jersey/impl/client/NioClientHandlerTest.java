@@ -0,0 +1,480 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2026 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+
+package com.sun.jersey.impl.client;
+
+import com.sun.jersey.api.client.AsyncWebResource;
+import com.sun.jersey.api.client.Client;
+import com.sun.jersey.api.client.ClientHandlerException;
+import com.sun.jersey.api.client.ClientRequest;
+import com.sun.jersey.api.client.ClientResponse;
+import com.sun.jersey.api.client.UniformInterfaceException;
+import com.sun.jersey.api.client.async.TypeListener;
+import com.sun.jersey.api.client.filter.ClientFilter;
+import com.sun.jersey.client.nio.NioClientHandler;
+import com.sun.jersey.impl.container.grizzly.AbstractGrizzlyServerTester;
+import java.net.UnknownHostException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import javax.ws.rs.GET;
+import javax.ws.rs.HEAD;
+import javax.ws.rs.POST;
+import javax.ws.rs.Path;
+import javax.ws.rs.PathParam;
+import javax.ws.rs.core.Response;
+
+/**
+ *
+ * @author agent@local
+ */
+public class NioClientHandlerTest extends AbstractGrizzlyServerTester {
+    @Path("/test")
+    public static class HttpMethodResource {
+        @GET
+        public String get() {
+            return "GET";
+        }
+
+        @POST
+        public String post(String entity) {
+            return entity;
+        }
+
+        @HEAD
+        public Response head() {
+            return Response.ok().header("X-Head", "HEAD").build();
+        }
+
+        @Path("{id}")
+        @GET
+        public String getId(@PathParam("id") String id) {
+            return id;
+        }
+
+        @Path("large")
+        @GET
+        public String getLarge() {
+            StringBuilder sb = new StringBuilder();
+            for (int i = 0; i < 100000; i++) {
+                sb.append(i % 10);
+            }
+            return sb.toString();
+        }
+
+        @Path("wait")
+        @GET
+        public String getWait() {
+            try {
+                Thread.sleep(4000);
+            } catch (InterruptedException ex) {
+            }
+            return "GET";
+        }
+    }
+
+    class StringListener extends TypeListener<String> {
+        final List<String> l = Collections.synchronizedList(new ArrayList<String>());
+        final List<String> threads = Collections.synchronizedList(new ArrayList<String>());
+        final CountDownLatch cdl;
+
+        StringListener(int n) {
+            super(String.class);
+            cdl = new CountDownLatch(n);
+        }
+
+        public void onComplete(Future<String> f) throws InterruptedException {
+            try {
+                threads.add(Thread.currentThread().getName());
+                l.add(f.get());
+            } catch (ExecutionException ex) {
+                throw new IllegalStateException();
+            } finally {
+                cdl.countDown();
+            }
+        }
+
+        public void await() throws InterruptedException {
+            assertTrue(cdl.await(10, TimeUnit.SECONDS));
+        }
+    }
+
+    public NioClientHandlerTest(String testName) {
+        super(testName);
+    }
+
+    public void testGet() throws Exception {
+        startServer(HttpMethodResource.class);
+        NioClientHandler h = new NioClientHandler();
+        try {
+            Client c = new Client(h);
+            AsyncWebResource r = c.asyncResource(getUri().path("test").build());
+            assertEquals("GET", r.get(String.class).get());
+        } finally {
+            h.close();
+        }
+    }
+
+    public void testPost() throws Exception {
+        startServer(HttpMethodResource.class);
+        NioClientHandler h = new NioClientHandler();
+        try {
+            Client c = new Client(h);
+            AsyncWebResource r = c.asyncResource(getUri().path("test").build());
+            assertEquals("POST", r.post(String.class, "POST").get());
+        } finally {
+            h.close();
+        }
+    }
+
+    public void testHead() throws Exception {
+        startServer(HttpMethodResource.class);
+        NioClientHandler h = new NioClientHandler();
+        try {
+            Client c = new Client(h);
+            AsyncWebResource r = c.asyncResource(getUri().path("test").build());
+            ClientResponse cr = r.head().get();
+            assertEquals(200, cr.getStatus());
+            assertEquals("HEAD", cr.getHeaders().getFirst("X-Head"));
+            assertFalse(cr.hasEntity());
+        } finally {
+            h.close();
+        }
+    }
+
+    public void testGetClient() throws Exception {
+        startServer(HttpMethodResource.class);
+        NioClientHandler h = new NioClientHandler();
+        try {
+            Client c = new Client(h);
+            AsyncWebResource r = c.asyncResource(getUri().path("test").build());
+            // The client is set before the future completes
+            assertSame(c, r.get(ClientResponse.class).get().getClient());
+        } finally {
+            h.close();
+        }
+    }
+
+    public void testGetLarge() throws Exception {
+        startServer(HttpMethodResource.class);
+        NioClientHandler h = new NioClientHandler();
+        try {
+            Client c = new Client(h);
+            AsyncWebResource r = c.asyncResource(getUri().path("test/large").build());
+            String s = r.get(String.class).get();
+            assertEquals(100000, s.length());
+            assertTrue(s.startsWith("0123456789"));
+        } finally {
+            h.close();
+        }
+    }
+
+    public void testGetNotFound() throws Exception {
+        startServer(HttpMethodResource.class);
+        NioClientHandler h = new NioClientHandler();
+        try {
+            Client c = new Client(h);
+            AsyncWebResource r = c.asyncResource(getUri().path("404").build());
+
+            boolean caught = false;
+            try {
+                r.get(String.class).get();
+            } catch (ExecutionException ex) {
+                caught = ex.getCause() instanceof UniformInterfaceException;
+            }
+            assertTrue(caught);
+        } finally {
+            h.close();
+        }
+    }
+
+    public void testGetListener() throws Exception {
+        startServer(HttpMethodResource.class);
+        NioClientHandler h = new NioClientHandler();
+        try {
+            Client c = new Client(h);
+            AsyncWebResource r = c.asyncResource(getUri().path("test").build());
+
+            StringListener l = new StringListener(1);
+            Future<?> f = r.get(l);
+
+            assertEquals("GET", f.get());
+            l.await();
+            assertEquals("GET", l.l.get(0));
+            // The listener is notified on a thread of the callback executor
+            assertTrue(l.threads.get(0).startsWith("jersey-client-callback-"));
+        } finally {
+            h.close();
+        }
+    }
+
+    public void testParallelListener() throws Exception {
+        startServer(HttpMethodResource.class);
+        NioClientHandler h = new NioClientHandler();
+        try {
+            Client c = new Client(h);
+            AsyncWebResource r = c.asyncResource(getUri().path("test").build());
+
+            int n = 100;
+            StringListener l = new StringListener(n);
+            for (int i = 0; i < n; i++) {
+                r.path(Integer.toString(i)).get(l);
+            }
+
+            l.await();
+            assertEquals(n, l.l.size());
+            for (int i = 0; i < n; i++) {
+                assertTrue(l.l.contains(Integer.toString(i)));
+            }
+            for (String t : l.threads) {
+                assertTrue(t.startsWith("jersey-client-callback-"));
+            }
+        } finally {
+            h.close();
+        }
+    }
+
+    public void testFilter() throws Exception {
+        startServer(HttpMethodResource.class);
+        NioClientHandler h = new NioClientHandler();
+        try {
+            Client c = new Client(h);
+            c.addFilter(new ClientFilter() {
+                @Override
+                public ClientResponse handle(ClientRequest cr) {
+                    cr.getHeaders().putSingle("X-Filter", "true");
+                    return getNext().handle(cr);
+                }
+            });
+            AsyncWebResource r = c.asyncResource(getUri().path("test").build());
+
+            // A filter is invoked, and blocks, on a thread of the executor
+            StringListener l = new StringListener(1);
+            assertEquals("GET", r.get(l).get());
+            l.await();
+            assertFalse(l.threads.get(0).startsWith("jersey-client-"));
+
+            assertEquals("GET", c.resource(getUri().path("test").build()).get(String.class));
+        } finally {
+            h.close();
+        }
+    }
+
+    public void testExecutor() throws Exception {
+        startServer(HttpMethodResource.class);
+        ExecutorService es = Executors.newCachedThreadPool(new ThreadFactory() {
+            public Thread newThread(Runnable r) {
+                return new Thread(r, "test-callback");
+            }
+        });
+        NioClientHandler h = new NioClientHandler(es);
+        try {
+            Client c = new Client(h);
+            AsyncWebResource r = c.asyncResource(getUri().path("test").build());
+
+            StringListener l = new StringListener(1);
+            assertEquals("GET", r.get(l).get());
+            l.await();
+            assertEquals("test-callback", l.threads.get(0));
+        } finally {
+            h.close();
+        }
+        // The executor is not shut down when the handler is closed
+        assertFalse(es.isShutdown());
+        es.shutdown();
+    }
+
+    public void testSynchronousFromListener() throws Exception {
+        startServer(HttpMethodResource.class);
+        NioClientHandler h = new NioClientHandler();
+        try {
+            final Client c = new Client(h);
+            AsyncWebResource r = c.asyncResource(getUri().path("test").build());
+
+            final List<String> l = Collections.synchronizedList(new ArrayList<String>());
+            final CountDownLatch cdl = new CountDownLatch(1);
+            r.get(new TypeListener<String>(String.class) {
+                public void onComplete(Future<String> f) throws InterruptedException {
+                    try {
+                        l.add(c.resource(getUri().path("test").path(f.get()).build()).get(String.class));
+                    } catch (ExecutionException ex) {
+                        throw new IllegalStateException();
+                    } finally {
+                        cdl.countDown();
+                    }
+                }
+            });
+
+            assertTrue(cdl.await(10, TimeUnit.SECONDS));
+            assertEquals(Collections.singletonList("GET"), l);
+        } finally {
+            h.close();
+        }
+    }
+
+    public void testUnknownHost() throws Exception {
+        NioClientHandler h = new NioClientHandler();
+        try {
+            Client c = new Client(h);
+            AsyncWebResource r = c.asyncResource("http://unknown.host.invalid/test");
+
+            boolean caught = false;
+            try {
+                r.get(String.class).get();
+            } catch (ExecutionException ex) {
+                caught = ex.getCause().getCause() instanceof UnknownHostException;
+            }
+            assertTrue(caught);
+        } finally {
+            h.close();
+        }
+    }
+
+    public void testSynchronous() throws Exception {
+        startServer(HttpMethodResource.class);
+        NioClientHandler h = new NioClientHandler();
+        try {
+            Client c = new Client(h);
+            assertEquals("GET", c.resource(getUri().path("test").build()).get(String.class));
+            assertEquals("POST", c.resource(getUri().path("test").build()).post(String.class, "POST"));
+        } finally {
+            h.close();
+        }
+    }
+
+    public void testReadTimeout() throws Exception {
+        startServer(HttpMethodResource.class);
+        NioClientHandler h = new NioClientHandler();
+        try {
+            Client c = new Client(h);
+            c.setReadTimeout(500);
+            AsyncWebResource r = c.asyncResource(getUri().path("test/wait").build());
+
+            boolean caught = false;
+            try {
+                r.get(String.class).get();
+            } catch (ExecutionException ex) {
+                caught = ex.getCause() instanceof ClientHandlerException;
+            }
+            assertTrue(caught);
+        } finally {
+            h.close();
+        }
+    }
+
+    public void testCancelListener() throws Exception {
+        startServer(HttpMethodResource.class);
+        NioClientHandler h = new NioClientHandler();
+        try {
+            Client c = new Client(h);
+            AsyncWebResource r = c.asyncResource(getUri().path("test/wait").build());
+
+            final CountDownLatch cdl = new CountDownLatch(1);
+            final List<Boolean> l = new ArrayList<Boolean>(1);
+            Future<?> f = r.get(new TypeListener<String>(String.class) {
+                public void onComplete(Future<String> t) throws InterruptedException {
+                    try {
+                        t.get();
+                    } catch (CancellationException ex) {
+                        l.add(true);
+                    } catch (ExecutionException ex) {
+                        throw new IllegalStateException();
+                    } finally {
+                        cdl.countDown();
+                    }
+                }
+            });
+
+            f.cancel(true);
+
+            cdl.await();
+            assertTrue(f.isCancelled());
+            assertEquals(1, l.size());
+            assertTrue(l.get(0));
+        } finally {
+            h.close();
+        }
+    }
+
+    public void testDestroy() throws Exception {
+        startServer(HttpMethodResource.class);
+        NioClientHandler h = new NioClientHandler();
+        Client c = new Client(h);
+        AsyncWebResource r = c.asyncResource(getUri().path("test").build());
+        assertEquals("GET", r.get(String.class).get());
+
+        // Destroying the client closes the root handler
+        c.destroy();
+
+        boolean caught = false;
+        try {
+            r.get(String.class).get();
+        } catch (ExecutionException ex) {
+            caught = ex.getCause() instanceof ClientHandlerException;
+        }
+        assertTrue(caught);
+    }
+
+    public void testClose() throws Exception {
+        startServer(HttpMethodResource.class);
+        NioClientHandler h = new NioClientHandler();
+        Client c = new Client(h);
+        AsyncWebResource r = c.asyncResource(getUri().path("test/wait").build());
+
+        Future<String> f = r.get(String.class);
+        h.close();
+
+        boolean caught = false;
+        try {
+            f.get();
+        } catch (ExecutionException ex) {
+            caught = ex.getCause() instanceof ClientHandlerException;
+        }
+        assertTrue(caught);
+    }
+}
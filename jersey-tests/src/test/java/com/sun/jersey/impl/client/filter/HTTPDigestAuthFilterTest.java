@@ -52,6 +52,7 @@ import javax.ws.rs.Path;
 import javax.ws.rs.core.Context;
 import javax.ws.rs.core.Response;
 import java.security.MessageDigest;
+import java.util.concurrent.atomic.AtomicInteger;
 
 
 /**
@@ -77,6 +78,7 @@ public class HTTPDigestAuthFilterTest extends AbstractGrizzlyServerTester {
 
         private Response verify() {
             if (context.getRequest().getHeaderValue("Authorization") == null) {
+                CHALLENGES.incrementAndGet();
                 return
                         // return http 401 - not authorized
                         Response.status(401).header("WWW-Authenticate",
@@ -150,6 +152,8 @@ public class HTTPDigestAuthFilterTest extends AbstractGrizzlyServerTester {
     static private final String DIGEST_TEST_REALM = "test";
     static private final String DIGEST_TEST_DOMAIN = "/auth-digest/";
 
+    static private final AtomicInteger CHALLENGES = new AtomicInteger();
+
     public void testHTTPDigestAuthFilter() {
         final String path = "auth-digest";
         testRequest(path);
@@ -171,6 +175,30 @@ public class HTTPDigestAuthFilterTest extends AbstractGrizzlyServerTester {
         assertTrue(response.getStatus() == 200);
     }
 
+    public void testChallengeSharedAcrossThreads() throws InterruptedException {
+        startServer(Resource.class);
+        CHALLENGES.set(0);
+
+        Client c = Client.create();
+        c.addFilter(new HTTPDigestAuthFilter(DIGEST_TEST_LOGIN, DIGEST_TEST_PASS));
+        final WebResource r = c.resource(getUri().path("auth-digest").build());
+
+        assertEquals(200, r.get(ClientResponse.class).getStatus());
+
+        final int[] status = new int[1];
+        Thread t = new Thread() {
+            @Override
+            public void run() {
+                status[0] = r.get(ClientResponse.class).getStatus();
+            }
+        };
+        t.start();
+        t.join();
+
+        assertEquals(200, status[0]);
+        assertEquals(1, CHALLENGES.get());
+    }
+
 
     // copied from HTTPDigestAuthFilter..
     // we should consider moving this test to com.sun.jersey.client.api.filter
@@ -1,7 +1,7 @@
 /*
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
  *
- * Copyright (c) 2010-2011 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2010-2013 Oracle and/or its affiliates. All rights reserved.
  *
  * The contents of this file are subject to the terms of either the GNU
  * General Public License Version 2 only ("GPL") or the Common Development
@@ -42,11 +42,19 @@ package com.sun.jersey.impl.container.config;
 
 import com.sun.jersey.api.core.ClasspathResourceConfig;
 import com.sun.jersey.api.core.ResourceConfig;
+import com.sun.jersey.core.util.ReaderWriter;
 import com.sun.jersey.impl.container.config.innerstatic.InnerStaticClass;
 import com.sun.jersey.impl.container.config.toplevel.PublicRootResourceClass;
 import com.sun.jersey.impl.container.config.toplevelinnerstatic.PublicRootResourceInnerStaticClass;
+import com.sun.jersey.spi.scanning.ResourceIndex;
 import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -147,6 +155,150 @@ public class ClasspathResourceConfigTest extends AbstractConfigTester {
         assertEquals(1, rc.getClasses().size());
     }
     
+    public void testIndexedJar() throws IOException {
+        // The jar contains no class files, the classes are obtained from the index
+        File jarFile = createJarFile(createIndex(
+                PublicRootResourceClass.class.getName(),
+                InnerStaticClass.class.getName()).getPath() + "/",
+                ResourceIndex.INDEX_RESOURCE);
+        ResourceConfig rc = createConfig(jarFile);
+
+        assertTrue(rc.getClasses().contains(PublicRootResourceClass.class));
+        assertEquals(1, rc.getClasses().size());
+    }
+
+    public void testOutOfDateIndexedJar() throws IOException {
+        File base = createIndex("com.sun.jersey.impl.container.config.toplevel.RemovedClass");
+        copy(new File("target/test-classes/com/sun/jersey/impl/container/config/toplevel/PublicRootResourceClass.class"),
+                new File(base, "com/sun/jersey/impl/container/config/toplevel/PublicRootResourceClass.class"));
+        File jarFile = createJarFile(base.getPath() + "/",
+                ResourceIndex.INDEX_RESOURCE,
+                "com/sun/jersey/impl/container/config/toplevel/PublicRootResourceClass.class");
+        ResourceConfig rc = createConfig(jarFile);
+
+        assertTrue(rc.getClasses().contains(PublicRootResourceClass.class));
+        assertEquals(1, rc.getClasses().size());
+    }
+
+    public void testIndexedJarWithUnindexedPackage() throws IOException {
+        // The class files of the package that is not indexed are scanned,
+        // the class files of the indexed package are not
+        File base = createIndexedDirectory(InnerStaticClass.class.getName());
+        File jarFile = createJarFile(base.getPath() + "/",
+                ResourceIndex.INDEX_RESOURCE,
+                "com/sun/jersey/impl/container/config/toplevel/PublicRootResourceClass.class",
+                "com/sun/jersey/impl/container/config/innerstatic/InnerStaticClass.class",
+                "com/sun/jersey/impl/container/config/innerstatic/InnerStaticClass$PublicClass.class");
+        ResourceConfig rc = createConfig(jarFile);
+
+        assertTrue(rc.getClasses().contains(PublicRootResourceClass.class));
+        assertEquals(1, rc.getClasses().size());
+    }
+
+    public void testIndexedJarWithUndeclaredClass() throws IOException {
+        // The class file was added to an indexed package after the index was written
+        File base = createIndexedDirectory(
+                ResourceIndex.PACKAGE_PREFIX + PublicRootResourceClass.class.getPackage().getName(),
+                InnerStaticClass.class.getName());
+        File jarFile = createJarFile(base.getPath() + "/",
+                ResourceIndex.INDEX_RESOURCE,
+                "com/sun/jersey/impl/container/config/toplevel/PublicRootResourceClass.class",
+                "com/sun/jersey/impl/container/config/innerstatic/InnerStaticClass.class",
+                "com/sun/jersey/impl/container/config/innerstatic/InnerStaticClass$PublicClass.class");
+        ResourceConfig rc = createConfig(jarFile);
+
+        assertTrue(rc.getClasses().contains(PublicRootResourceClass.class));
+        assertTrue(rc.getClasses().contains(InnerStaticClass.PublicClass.class));
+        assertEquals(2, rc.getClasses().size());
+    }
+
+    public void testIndexedDirectory() throws IOException {
+        File base = createIndexedDirectory(
+                PublicRootResourceClass.class.getName(),
+                ResourceIndex.CLASS_PREFIX + InnerStaticClass.class.getName());
+        ResourceConfig rc = createConfig(base);
+
+        // The member class is not declared as a root resource class by the index
+        assertTrue(rc.getClasses().contains(PublicRootResourceClass.class));
+        assertEquals(1, rc.getClasses().size());
+    }
+
+    public void testIndexedDirectoryWithAppendedIndexes() throws IOException {
+        File base = createIndexedDirectory(
+                PublicRootResourceClass.class.getName(),
+                "# Test index",
+                ResourceIndex.CLASS_PREFIX + InnerStaticClass.class.getName());
+        ResourceConfig rc = createConfig(base);
+
+        assertTrue(rc.getClasses().contains(PublicRootResourceClass.class));
+        assertEquals(1, rc.getClasses().size());
+    }
+
+    public void testIndexedDirectoryWithUnindexedPackage() throws IOException {
+        File base = createIndexedDirectory(
+                PublicRootResourceClass.class.getName());
+        ResourceConfig rc = createConfig(base);
+
+        assertTrue(rc.getClasses().contains(PublicRootResourceClass.class));
+        assertTrue(rc.getClasses().contains(InnerStaticClass.PublicClass.class));
+        assertEquals(2, rc.getClasses().size());
+    }
+
+    public void testIndexedDirectoryWithUndeclaredClass() throws IOException {
+        File base = createIndexedDirectory(
+                ResourceIndex.CLASS_PREFIX + PublicRootResourceClass.class.getName(),
+                ResourceIndex.PACKAGE_PREFIX + InnerStaticClass.class.getPackage().getName());
+        ResourceConfig rc = createConfig(base);
+
+        assertTrue(rc.getClasses().contains(PublicRootResourceClass.class));
+        assertTrue(rc.getClasses().contains(InnerStaticClass.PublicClass.class));
+        assertEquals(2, rc.getClasses().size());
+    }
+
+    private File createIndexedDirectory(String... lines) throws IOException {
+        File base = createIndex(lines);
+        for (String c : new String[] {
+                "toplevel/PublicRootResourceClass.class",
+                "innerstatic/InnerStaticClass.class",
+                "innerstatic/InnerStaticClass$PublicClass.class"}) {
+            copy(new File("target/test-classes/com/sun/jersey/impl/container/config/" + c),
+                    new File(base, "com/sun/jersey/impl/container/config/" + c));
+        }
+        return base;
+    }
+
+    private File createIndex(String... classNames) throws IOException {
+        File base = new File("target/resource-index-" + getName());
+        File index = new File(base, ResourceIndex.INDEX_RESOURCE);
+        index.getParentFile().mkdirs();
+
+        Writer w = new OutputStreamWriter(new FileOutputStream(index), "UTF-8");
+        try {
+            w.write("# Test index\n");
+            for (String className : classNames) {
+                w.write(className + "\n");
+            }
+        } finally {
+            w.close();
+        }
+        return base;
+    }
+
+    private void copy(File from, File to) throws IOException {
+        to.getParentFile().mkdirs();
+        InputStream in = new FileInputStream(from);
+        try {
+            OutputStream out = new FileOutputStream(to);
+            try {
+                ReaderWriter.writeTo(in, out);
+            } finally {
+                out.close();
+            }
+        } finally {
+            in.close();
+        }
+    }
+
     public void testJarInnerStatic() throws IOException {
         File jarFile = createJarFile("target/test-classes/",
                 "com/sun/jersey/impl/container/config/innerstatic/InnerStaticClass.class",
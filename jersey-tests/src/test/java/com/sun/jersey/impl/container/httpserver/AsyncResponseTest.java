@@ -0,0 +1,204 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2026 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+
+package com.sun.jersey.impl.container.httpserver;
+
+import com.sun.jersey.api.client.Client;
+import com.sun.jersey.api.client.ClientResponse;
+import com.sun.jersey.api.client.WebResource;
+import com.sun.jersey.api.core.AsyncResponse;
+import java.util.concurrent.TimeUnit;
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.WebApplicationException;
+import javax.ws.rs.core.Context;
+import javax.ws.rs.core.Response;
+
+/**
+ *
+ * @author agent@local
+ */
+public class AsyncResponseTest extends AbstractHttpServerTester {
+    @Path("/test")
+    public static class AsyncResource {
+        @GET
+        @Path("resume")
+        public void resume(@Context final AsyncResponse ar) {
+            ar.suspend();
+            new Thread() {
+                @Override
+                public void run() {
+                    try {
+                        Thread.sleep(100);
+                    } catch (InterruptedException ex) {
+                    }
+                    ar.resume(Response.ok("RESUMED", "text/plain").build());
+                }
+            }.start();
+        }
+
+        @GET
+        @Path("resume-early")
+        public void resumeEarly(@Context AsyncResponse ar) {
+            ar.resume(Response.ok("EARLY", "text/plain").build());
+        }
+
+        @GET
+        @Path("exception")
+        public void exception(@Context final AsyncResponse ar) {
+            ar.suspend();
+            new Thread() {
+                @Override
+                public void run() {
+                    ar.resume(new WebApplicationException(404));
+                }
+            }.start();
+        }
+
+        @GET
+        @Path("timeout")
+        public void timeout(@Context AsyncResponse ar) {
+            ar.suspend();
+            ar.setTimeout(100, TimeUnit.MILLISECONDS);
+        }
+
+        @GET
+        @Path("timeout-handler")
+        public void timeoutHandler(@Context AsyncResponse ar) {
+            ar.suspend();
+            ar.setTimeoutHandler(new AsyncResponse.TimeoutHandler() {
+                @Override
+                public void handleTimeout(AsyncResponse ar) {
+                    ar.resume(Response.ok("TIMEOUT", "text/plain").build());
+                }
+            });
+            ar.setTimeout(100, TimeUnit.MILLISECONDS);
+        }
+
+        @GET
+        @Path("cancel")
+        public void cancel(@Context final AsyncResponse ar) {
+            ar.suspend();
+            new Thread() {
+                @Override
+                public void run() {
+                    ar.cancel();
+                }
+            }.start();
+        }
+    }
+
+    @Path("/test/not-suspended")
+    public static class NotSuspendedResource {
+        @Context AsyncResponse ar;
+
+        @GET
+        public String get() {
+            return "NOT SUSPENDED";
+        }
+
+        @GET
+        @Path("suspend-after-return")
+        public String suspendAfterReturn() {
+            new Thread() {
+                @Override
+                public void run() {
+                    try {
+                        Thread.sleep(100);
+                    } catch (InterruptedException ex) {
+                    }
+                    ar.suspend();
+                    ar.resume("LATE");
+                }
+            }.start();
+            return "RETURNED";
+        }
+    }
+
+    public AsyncResponseTest(String testName) {
+        super(testName);
+    }
+
+    public void testResume() {
+        startServer(AsyncResource.class);
+        WebResource r = Client.create().resource(getUri().path("test").build());
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals("RESUMED", r.path("resume").get(String.class));
+        }
+    }
+
+    public void testResumeBeforeReturn() {
+        startServer(AsyncResource.class);
+        WebResource r = Client.create().resource(getUri().path("test").build());
+
+        assertEquals("EARLY", r.path("resume-early").get(String.class));
+    }
+
+    public void testResumeWithException() {
+        startServer(AsyncResource.class);
+        WebResource r = Client.create().resource(getUri().path("test").build());
+
+        assertEquals(404, r.path("exception").get(ClientResponse.class).getStatus());
+    }
+
+    public void testTimeout() {
+        startServer(AsyncResource.class);
+        WebResource r = Client.create().resource(getUri().path("test").build());
+
+        assertEquals(503, r.path("timeout").get(ClientResponse.class).getStatus());
+        assertEquals("TIMEOUT", r.path("timeout-handler").get(String.class));
+    }
+
+    public void testNotSuspended() {
+        startServer(NotSuspendedResource.class);
+        WebResource r = Client.create().resource(getUri().path("test/not-suspended").build());
+
+        assertEquals("NOT SUSPENDED", r.get(String.class));
+        assertEquals("RETURNED", r.path("suspend-after-return").get(String.class));
+    }
+
+    public void testCancel() {
+        startServer(AsyncResource.class);
+        WebResource r = Client.create().resource(getUri().path("test").build());
+
+        assertEquals(503, r.path("cancel").get(ClientResponse.class).getStatus());
+    }
+}
@@ -0,0 +1,147 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2026 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+
+package com.sun.jersey.impl.container.httpserver;
+
+import com.sun.jersey.api.client.Client;
+import com.sun.jersey.api.client.ClientResponse;
+import com.sun.jersey.api.client.WebResource;
+import com.sun.jersey.api.container.filter.ContentEncodingFilter;
+import com.sun.jersey.api.core.DefaultResourceConfig;
+import com.sun.jersey.api.core.ResourceConfig;
+import com.sun.jersey.core.util.ContentCoding;
+import java.util.Arrays;
+import java.util.zip.Deflater;
+import javax.ws.rs.GET;
+import javax.ws.rs.POST;
+import javax.ws.rs.Path;
+
+/**
+ *
+ * @author agent@local
+ */
+public class ContentEncodingTest extends AbstractHttpServerTester {
+
+    private static final String LARGE;
+
+    static {
+        char[] c = new char[4096];
+        Arrays.fill(c, 'x');
+        LARGE = new String(c);
+    }
+
+    @Path("/")
+    public static class Resource {
+        @GET
+        public String get() { return "GET"; }
+
+        @GET
+        @Path("large")
+        public String getLarge() { return LARGE; }
+
+        @POST
+        public String post(String content) { return content; }
+    }
+
+    public ContentEncodingTest(String testName) {
+        super(testName);
+    }
+
+    private void startServer() {
+        ResourceConfig rc = new DefaultResourceConfig(Resource.class);
+        rc.getProperties().put(ResourceConfig.PROPERTY_CONTAINER_REQUEST_FILTERS,
+                ContentEncodingFilter.class.getName());
+        rc.getProperties().put(ResourceConfig.PROPERTY_CONTAINER_RESPONSE_FILTERS,
+                ContentEncodingFilter.class.getName());
+        startServer(rc);
+    }
+
+    public void testGetBelowMinimumSize() {
+        startServer();
+
+        WebResource r = Client.create().resource(getUri().build());
+
+        ClientResponse cr = r.header("Accept-Encoding", "gzip").get(ClientResponse.class);
+        assertNull(cr.getHeaders().getFirst("Content-Encoding"));
+        assertEquals("3", cr.getHeaders().getFirst("Content-Length"));
+        assertEquals("GET", cr.getEntity(String.class));
+    }
+
+    public void testGetAboveMinimumSize() {
+        startServer();
+
+        WebResource r = Client.create().resource(getUri().path("large").build());
+
+        ClientResponse cr = r.header("Accept-Encoding", "gzip").get(ClientResponse.class);
+        assertEquals("gzip", cr.getHeaders().getFirst("Content-Encoding"));
+
+        cr = r.header("Accept-Encoding", "gzip;q=0.5, deflate").get(ClientResponse.class);
+        assertEquals("deflate", cr.getHeaders().getFirst("Content-Encoding"));
+
+        cr = r.header("Accept-Encoding", "identity, gzip;q=0.5").get(ClientResponse.class);
+        assertNull(cr.getHeaders().getFirst("Content-Encoding"));
+        assertEquals(LARGE, cr.getEntity(String.class));
+    }
+
+    public void testGetWithFilter() {
+        startServer();
+
+        Client c = Client.create();
+        c.addFilter(new com.sun.jersey.api.client.filter.ContentEncodingFilter());
+        WebResource r = c.resource(getUri().build());
+
+        assertEquals("GET", r.get(String.class));
+        assertEquals(LARGE, r.path("large").get(String.class));
+    }
+
+    public void testPost() {
+        startServer();
+
+        for (ContentCoding coding : ContentCoding.values()) {
+            Client c = Client.create();
+            c.addFilter(new com.sun.jersey.api.client.filter.ContentEncodingFilter(
+                    coding, Deflater.BEST_SPEED));
+            WebResource r = c.resource(getUri().build());
+
+            assertEquals("POST", r.post(String.class, "POST"));
+            assertEquals(LARGE, r.post(String.class, LARGE));
+        }
+    }
+}
@@ -0,0 +1,234 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2026 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+
+package com.sun.jersey.impl.container.httpserver;
+
+import com.sun.jersey.api.client.Client;
+import com.sun.jersey.api.client.ClientResponse;
+import com.sun.jersey.api.client.WebResource;
+import com.sun.jersey.api.container.filter.RangeFilter;
+import com.sun.jersey.api.core.DefaultResourceConfig;
+import com.sun.jersey.api.core.ResourceConfig;
+import com.sun.jersey.api.representation.FileRegion;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.Produces;
+import javax.ws.rs.core.Response;
+
+/**
+ *
+ * @author agent@local
+ */
+public class RangeTest extends AbstractHttpServerTester {
+
+    private static final String CONTENT;
+
+    private static File file;
+
+    static {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 10; i++) {
+            sb.append("0123456789");
+        }
+        CONTENT = sb.toString();
+    }
+
+    @Path("/")
+    public static class Resource {
+        @GET
+        @Produces("text/plain")
+        public Response get() {
+            return Response.ok(file).tag("file").build();
+        }
+
+        @GET
+        @Path("region")
+        @Produces("text/plain")
+        public FileRegion getRegion() {
+            return new FileRegion(file, 10, 20);
+        }
+    }
+
+    public RangeTest(String testName) {
+        super(testName);
+    }
+
+    @Override
+    public void setUp() throws Exception {
+        super.setUp();
+        file = File.createTempFile("range", "txt");
+        FileOutputStream out = new FileOutputStream(file);
+        try {
+            out.write(CONTENT.getBytes("US-ASCII"));
+        } finally {
+            out.close();
+        }
+    }
+
+    @Override
+    public void tearDown() {
+        super.tearDown();
+        file.delete();
+    }
+
+    private WebResource resource() {
+        ResourceConfig rc = new DefaultResourceConfig(Resource.class);
+        rc.getProperties().put(ResourceConfig.PROPERTY_CONTAINER_RESPONSE_FILTERS,
+                RangeFilter.class.getName());
+        startServer(rc);
+
+        return Client.create().resource(getUri().build());
+    }
+
+    public void testGet() {
+        WebResource r = resource();
+
+        ClientResponse cr = r.get(ClientResponse.class);
+        assertEquals(200, cr.getStatus());
+        assertEquals("bytes", cr.getHeaders().getFirst("Accept-Ranges"));
+        assertEquals("100", cr.getHeaders().getFirst("Content-Length"));
+        assertEquals(CONTENT, cr.getEntity(String.class));
+    }
+
+    public void testSingleRange() {
+        WebResource r = resource();
+
+        ClientResponse cr = r.header("Range", "bytes=10-19").get(ClientResponse.class);
+        assertEquals(206, cr.getStatus());
+        assertEquals("bytes 10-19/100", cr.getHeaders().getFirst("Content-Range"));
+        assertEquals("10", cr.getHeaders().getFirst("Content-Length"));
+        assertEquals("0123456789", cr.getEntity(String.class));
+
+        cr = r.header("Range", "bytes=-5").get(ClientResponse.class);
+        assertEquals(206, cr.getStatus());
+        assertEquals("bytes 95-99/100", cr.getHeaders().getFirst("Content-Range"));
+        assertEquals("56789", cr.getEntity(String.class));
+
+        cr = r.header("Range", "bytes=98-").get(ClientResponse.class);
+        assertEquals(206, cr.getStatus());
+        assertEquals("bytes 98-99/100", cr.getHeaders().getFirst("Content-Range"));
+        assertEquals("89", cr.getEntity(String.class));
+
+        // Overlapping ranges are coalesced
+        cr = r.header("Range", "bytes=0-4,3-9").get(ClientResponse.class);
+        assertEquals(206, cr.getStatus());
+        assertEquals("bytes 0-9/100", cr.getHeaders().getFirst("Content-Range"));
+        assertEquals("0123456789", cr.getEntity(String.class));
+    }
+
+    public void testMultipleRanges() {
+        WebResource r = resource();
+
+        ClientResponse cr = r.header("Range", "bytes=20-22,0-1").get(ClientResponse.class);
+        assertEquals(206, cr.getStatus());
+        assertNull(cr.getHeaders().getFirst("Content-Range"));
+        String contentType = cr.getHeaders().getFirst("Content-Type");
+        assertTrue(contentType.startsWith("multipart/byteranges; boundary="));
+        String boundary = contentType.substring(contentType.indexOf('=') + 1);
+
+        assertEquals(
+                "\r\n--" + boundary + "\r\n" +
+                "Content-Type: text/plain\r\n" +
+                "Content-Range: bytes 0-1/100\r\n\r\n" +
+                "01" +
+                "\r\n--" + boundary + "\r\n" +
+                "Content-Type: text/plain\r\n" +
+                "Content-Range: bytes 20-22/100\r\n\r\n" +
+                "012" +
+                "\r\n--" + boundary + "--\r\n",
+                cr.getEntity(String.class));
+    }
+
+    public void testUnsatisfiableRange() {
+        WebResource r = resource();
+
+        ClientResponse cr = r.header("Range", "bytes=100-").get(ClientResponse.class);
+        assertEquals(416, cr.getStatus());
+        assertEquals("bytes */100", cr.getHeaders().getFirst("Content-Range"));
+    }
+
+    public void testInvalidRange() {
+        WebResource r = resource();
+
+        ClientResponse cr = r.header("Range", "bytes=9-0").get(ClientResponse.class);
+        assertEquals(200, cr.getStatus());
+        assertEquals(CONTENT, cr.getEntity(String.class));
+
+        cr = r.header("Range", "lines=0-9").get(ClientResponse.class);
+        assertEquals(200, cr.getStatus());
+        assertEquals(CONTENT, cr.getEntity(String.class));
+    }
+
+    public void testIfRange() {
+        WebResource r = resource();
+
+        ClientResponse cr = r.header("Range", "bytes=0-0").
+                header("If-Range", "\"file\"").get(ClientResponse.class);
+        assertEquals(206, cr.getStatus());
+        assertEquals("0", cr.getEntity(String.class));
+
+        cr = r.header("Range", "bytes=0-0").
+                header("If-Range", "\"other\"").get(ClientResponse.class);
+        assertEquals(200, cr.getStatus());
+        assertEquals(CONTENT, cr.getEntity(String.class));
+
+        cr = r.header("Range", "bytes=0-0").
+                header("If-Range", "W/\"file\"").get(ClientResponse.class);
+        assertEquals(200, cr.getStatus());
+        assertEquals(CONTENT, cr.getEntity(String.class));
+    }
+
+    public void testFileRegion() throws IOException {
+        WebResource r = resource().path("region");
+
+        ClientResponse cr = r.get(ClientResponse.class);
+        assertEquals(200, cr.getStatus());
+        assertEquals("20", cr.getHeaders().getFirst("Content-Length"));
+        assertEquals("01234567890123456789", cr.getEntity(String.class));
+
+        cr = r.header("Range", "bytes=5-7").get(ClientResponse.class);
+        assertEquals(206, cr.getStatus());
+        assertEquals("bytes 5-7/20", cr.getHeaders().getFirst("Content-Range"));
+        assertEquals("567", cr.getEntity(String.class));
+    }
+}
@@ -136,6 +136,23 @@ public class AcceptTest extends AbstractResourceTester {
         assertEquals(400, response.getStatus());
     }
 
+    public void testAcceptGetRepeated() {
+        initiateWebApplication(Resource.class);
+        WebResource r = resource("/", false);
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals("foo", r.accept("application/foo").get(String.class));
+            assertEquals("bar", r.accept("application/bar").get(String.class));
+
+            ClientResponse response = r.accept("application/foo;q=1.1").get(ClientResponse.class);
+            assertEquals(400, response.getStatus());
+
+            assertEquals("wildcard", r.accept("application/wildcard").get(String.class));
+            assertEquals("baz", r.accept("application/foo;q=0.4", "application/baz").
+                    get(String.class));
+        }
+    }
+
     @Path("/")
     public static class MultipleResource {
         @Produces({"application/foo", "application/bar"})
@@ -40,6 +40,7 @@
 
 package com.sun.jersey.impl.uri.rules;
 
+import com.sun.jersey.api.uri.UriTemplate;
 import com.sun.jersey.server.impl.uri.rules.PatternRulePair;
 import com.sun.jersey.server.impl.uri.PathPattern;
 import com.sun.jersey.server.impl.uri.rules.automata.AutomataMatchingUriTemplateRules;
@@ -50,17 +51,20 @@ import java.util.Map;
 
 /**
  *
- * This class has been made abstract because it needs to fixed in terms
- * of supporting the UriRules interface and matching using more general regular
- * expressions.
- * 
  * @author mnesarco
  */
-public abstract class AutomataMatchingTest extends AbstractMatchingTester {
+public class AutomataMatchingTest extends AbstractMatchingTester {
     
     public AutomataMatchingTest(String testName) {
         super(testName);
     }
+
+    public boolean isTracingEnabled() {
+        return false;
+    }
+
+    public void trace(String message) {
+    }
     
     private class AutomataRulesBuilder extends RulesBuilder {
         protected UriRules<String> _build() {
@@ -73,5 +77,44 @@ public abstract class AutomataMatchingTest extends AbstractMatchingTester {
     
     protected RulesBuilder create() {
         return new AutomataRulesBuilder();
-    }    
-}
\ No newline at end of file
+    }
+
+    public void testExplicitRegexTemplates() {
+        add(new UriTemplate("/a/{p1: \\d+}"), "/a/{p1: \\d+}")
+        .add(new UriTemplate("/a/{p1}"), "/a/{p1}")
+        .add(new UriTemplate("/{p1: .+}/z"), "/{p1: .+}/z").
+                build();
+
+        String s = match("/a/123");
+        assertEquals("/a/{p1: \\d+}", s);
+        assertEquals(2, matchResult.groupCount());
+        assertEquals("123", matchResult.group(1));
+        assertEquals(null, matchResult.group(2));
+
+        s = match("/a/b");
+        assertEquals("/a/{p1}", s);
+        assertEquals(2, matchResult.groupCount());
+        assertEquals("b", matchResult.group(1));
+        assertEquals(null, matchResult.group(2));
+
+        s = match("/x/y/z");
+        assertEquals("/{p1: .+}/z", s);
+        assertEquals(2, matchResult.groupCount());
+        assertEquals("x/y", matchResult.group(1));
+        assertEquals(null, matchResult.group(2));
+    }
+
+    public void testRightHandSlash() {
+        add(new PathPattern(new UriTemplate("/a/{p1}"), "(/)?"), "/a/{p1}").
+                build();
+
+        String s = match("/a/b/");
+        assertEquals("/a/{p1}", s);
+        assertEquals(2, matchResult.groupCount());
+        assertEquals("b", matchResult.group(1));
+        assertEquals("/", matchResult.group(2));
+        assertEquals(4, matchResult.start(2));
+
+        assertNull(match("/a/b/c"));
+    }
+}
@@ -261,6 +261,29 @@ public class WadlResourceTest extends AbstractResourceTester {
         assertTrue(cr.getHeaders().containsKey("Last-modified"));
     }
 
+    public void testETagGET() {
+        initiateWebApplication(WidgetsResource.class, ExtraResource.class);
+        WebResource r = resource("/application.wadl", false);
+
+        ClientResponse cr = r.get(ClientResponse.class);
+        assertEquals(200, cr.getStatus());
+        assertNotNull(cr.getEntityTag());
+        assertFalse(cr.getEntityTag().isWeak());
+        String wadl = cr.getEntity(String.class);
+
+        // the cached WADL is served for subsequent requests
+        cr = r.get(ClientResponse.class);
+        assertEquals(200, cr.getStatus());
+        assertEquals(wadl, cr.getEntity(String.class));
+
+        cr = r.header("If-None-Match", cr.getEntityTag()).get(ClientResponse.class);
+        assertEquals(304, cr.getStatus());
+
+        cr = r.header("If-None-Match", "\"x\"").get(ClientResponse.class);
+        assertEquals(200, cr.getStatus());
+        assertEquals(wadl, cr.getEntity(String.class));
+    }
+
     public void testLastModifiedOPTIONS() {
         initiateWebApplication(WidgetsResource.class, ExtraResource.class);
         WebResource r = resource("/widgets/3/verbose");